@@ -137,7 +137,30 @@ import java.lang.Math;
 import java.util.Date;
 import java.util.Hashtable;
 import java.util.Properties;
+import java.util.concurrent.ForkJoinPool; // parallel speed sweeps
+import java.util.concurrent.RecursiveAction; // same
+import java.util.concurrent.ExecutorService; // background VPP jobs
+import java.util.concurrent.Executors; // same
+import java.util.concurrent.ThreadFactory; // same
+import java.util.concurrent.CancellationException; // same
+import java.util.concurrent.atomic.AtomicInteger; // halt point of parallel speed sweeps
+import java.util.concurrent.atomic.AtomicLongArray; // solver metrics
+import java.lang.management.ManagementFactory; // same
+import javax.management.ObjectName; // same
+import java.awt.AWTEvent; // same
+import java.awt.EventQueue; // same
+import java.awt.event.InputEvent; // same
+import java.lang.reflect.Method; // flight recorder events
+import java.lang.reflect.Constructor; // same
+import java.util.ArrayList; // same
 import java.io.File;
+import java.io.RandomAccessFile; // disk cache
+import java.io.FileOutputStream; // same
+import java.io.DataOutputStream; // same
+import java.io.IOException; // same
+import java.nio.ByteBuffer; // same
+import java.nio.channels.FileChannel; // same
+import java.security.MessageDigest; // same
 
 // imports for getTextResourceAsString
 import java.io.ByteArrayOutputStream;
@@ -148,10 +171,39 @@ import java.io.BufferedReader;
 // end imports for getTextResourceAsString
 
 /**
- * FoilBoard *is* JApplet, but it is done for two reasons,
- * mainly. They are: (1) legacy (2) SwingJS.
+ * FoilBoard is a JPanel so that the simulator (Solver, VPP, parts, flight
+ * state) can be created with no display at all, see batch mode in main().
+ * As applet (legacy, SwingJS), it runs inside FoilBoard.Applet below.
  */
-public class FoilBoard extends JApplet {
+public class FoilBoard extends JPanel {
+
+  // thin applet shell; hands the applet params over to FoilBoard
+  @SuppressWarnings("removal") // JApplet, for SwingJS
+  public static class Applet extends JApplet {
+    private static final long serialVersionUID = 1L;
+    FoilBoard foilboard;
+
+    @Override
+    public void init () {
+      foilboard = new FoilBoard();
+      foilboard.applet = this;
+      getContentPane().add(foilboard);
+      foilboard.init();
+      foilboard.startup_report_when_shown();
+    }
+  }
+
+  @SuppressWarnings("removal")
+  JApplet applet; // null unless run as applet
+
+  String getParameter (String name) {
+    return applet == null ? null : applet.getParameter(name);
+  }
+
+  // FoilBoard used to be the applet, main() still calls these
+  public void start () { }
+  public void stop () { }
+  public void destroy () { }
 
   // really, a struct
   static public class Point2D {
@@ -246,6 +298,23 @@ public class FoilBoard extends JApplet {
     cl, cd, cm, cd_profile, cd_aux;
     
     double[] t_Cd, t_Cl, t_Cm; // when this.foil, this.camber or this.thickness change, recompute!
+    // ... which check_t_tables() does: these are what t_Cd etc were computed for
+    Foil t_foil; double t_thickness, t_camber;
+
+    void check_t_tables () {
+      if (t_foil != foil || t_thickness != thickness || t_camber != camber) {
+        t_Cd = t_Cl = t_Cm = null;
+        t_foil = foil; t_thickness = thickness; t_camber = camber;
+      }
+    }
+
+    // dirty tracking, see part_inputs_changed(): inputs seen by the last
+    // cp_computeFlow() of this part (null: never computed) and a spare
+    // array to collect the current ones
+    double[] recomp_inputs, recomp_inputs_next = new double[RECOMP_INPUTS_COUNT];
+    Object recomp_foil, recomp_t_Cl, recomp_t_Cd, recomp_t_Cm;
+
+    CoeffCache coeff_cache = new CoeffCache();
 
     double area; // sq m
 
@@ -285,7 +354,7 @@ public class FoilBoard extends JApplet {
         (convert_moments_to_AC_offset ? -1*this.moment/this.lift : 0);
     }
 
-    void print (String header, JTextArea ta) {
+    void print (String header, StringBuilder ta) {
       if (header != null) {
         ta.append("\n\n *** " + header + " ***");
       }
@@ -295,6 +364,11 @@ public class FoilBoard extends JApplet {
     }
 
     String make_spec () {
+      return make_spec(this.aoa);
+    }
+
+    // with aoa in place of this.aoa
+    String make_spec (double aoa) {
       Point3D[] le  = this.mesh_LE;
       Point3D[] te  = this.mesh_TE;
       String spec = this.foil.descr.replace(" ", "_");
@@ -327,7 +401,7 @@ public class FoilBoard extends JApplet {
       spec += " " + filter3(this.span);
       spec += " " + filter1(this.thickness);
       spec += " " + filter1(this.camber);
-      spec += " " + filter1(this.aoa);
+      spec += " " + filter1(aoa);
       spec += " " + filter3(this.xpos);
 
       if (html_param_syntax) 
@@ -390,13 +464,44 @@ public class FoilBoard extends JApplet {
 
     Part make_clone () { 
       try {
-        return (Part)clone(); 
+        Part p = (Part)clone(); 
+        // do not share dirty tracking arrays with this part
+        p.recomp_inputs = null;
+        p.recomp_inputs_next = new double[RECOMP_INPUTS_COUNT];
+        p.coeff_cache = new CoeffCache();
+        return p;
       } catch (Exception e) {
         System.out.println("-- e: " + e);
         return null;
       }
     }
 
+    // unlike make_clone(), the copy belongs to the given engine: its
+    // foil and its strut/stab checks refer to that engine, not to this one
+    Part copy_to (FoilBoard engine) {
+      Part p = engine.new Part(name, foil.rebind(engine), xpos, chord, span, thickness, camber, aoa);
+      p.chord_spec = chord_spec;
+      p.chord_xoffs = chord_xoffs;
+      p.chord_zoffs = chord_zoffs;
+      p.Ci_eff = Ci_eff;
+      p.xoff_tip = xoff_tip;
+      p.mesh_LE = mesh_LE;
+      p.mesh_TE = mesh_TE;
+      p.velocity = velocity;
+      p.reynolds = reynolds;
+      p.lift = lift; p.drag = drag; p.moment = moment;
+      p.drag_profile = drag_profile; p.drag_aux = drag_aux; p.drag_junc = drag_junc; p.drag_spray = drag_spray;
+      p.cl = cl; p.cd = cd; p.cm = cm; p.cd_profile = cd_profile; p.cd_aux = cd_aux;
+      // tables are never modified in place, only replaced, hence can be shared
+      p.t_Cd = t_Cd; p.t_Cl = t_Cl; p.t_Cm = t_Cm;
+      p.t_foil = p.foil; p.t_thickness = t_thickness; p.t_camber = t_camber;
+      p.area = area;
+      p.aspect_rat = aspect_rat;
+      p.spanfac = spanfac;
+      p.use_cm = use_cm;
+      return p;
+    }
+
     // use cubic interpolation to re-map the LE, TE arrays
     // from current sizes to size n.
     void reinterpolate (int n) {
@@ -483,6 +588,100 @@ public class FoilBoard extends JApplet {
     
   } // Part
 
+  // Bounded memo of the coefficients cp_computeFlow() produces for a part
+  // on the fast path (no GUI, fast_coeffs() foil): cl, cm, cd, cd_profile
+  // and cd_aux keyed by effective AoA and Reynolds number. Open addressing
+  // with linear probing; when 3/4 full it is simply cleared. The rest of
+  // what the coefficients depend on (foil, tables, geometry, model options)
+  // is the context; a context change clears the cache.
+  //
+  // coeff_cache_aoa_quantum and coeff_cache_re_quantum, when not 0, round
+  // effaoa and Re before lookup *and* before computing, i.e. trade accuracy
+  // for hit rate. With 0 (default) only exact repeats hit and results are
+  // the same as without the cache.
+  static final int COEFF_CACHE_SIZE = 1024; // power of 2
+  static final int COEFF_CACHE_CONTEXT_COUNT = 10;
+  double coeff_cache_aoa_quantum = 0, coeff_cache_re_quantum = 0;
+  boolean coeff_cache_on = true;
+
+  class CoeffCache {
+    double[] key_aoa = new double[COEFF_CACHE_SIZE], key_re = new double[COEFF_CACHE_SIZE];
+    boolean[] used = new boolean[COEFF_CACHE_SIZE];
+    double[] vals = new double[COEFF_CACHE_SIZE*5]; // cl, cm, cd, cd_profile, cd_aux
+    int count, slot; 
+    int hits, misses, clears; 
+
+    double[] context, context_next = new double[COEFF_CACHE_CONTEXT_COUNT];
+    Object context_foil, context_t_Cl, context_t_Cd, context_t_Cm;
+
+    void clear () {
+      java.util.Arrays.fill(used, false);
+      count = 0;
+      clears++;
+    }
+
+    // clears if p's context differs from the one cached values are for
+    void check_context (Part p) {
+      double[] c = context_next;
+      int i = 0;
+      c[i++] = p.chord; c[i++] = p.span; c[i++] = p.aspect_rat; c[i++] = p.thickness; c[i++] = p.camber;
+      c[i++] = p.Ci_eff; c[i++] = p.use_cm ? 1 : 0; c[i++] = p == strut ? alt_val : 0; c[i++] = stall_model_type;
+      c[i++] = (fix_symmetry_problem ? 1 : 0) + (ar_lift_corr ? 2 : 0) + (ar_lift_corr_2 ? 4 : 0) +
+        (ar_lift_corr_3 ? 8 : 0) + (re_corr ? 16 : 0) + (induced_drag_on ? 32 : 0) + (skin_drag_on ? 64 : 0);
+      boolean same = context != null && context_foil == p.foil && 
+        context_t_Cl == p.t_Cl && context_t_Cd == p.t_Cd && context_t_Cm == p.t_Cm;
+      for (int k = 0; same && k < COEFF_CACHE_CONTEXT_COUNT; k++)
+        same = c[k] == context[k];
+      if (!same) {
+        context_next = context == null ? new double[COEFF_CACHE_CONTEXT_COUNT] : context;
+        context = c;
+        context_foil = p.foil; context_t_Cl = p.t_Cl; context_t_Cd = p.t_Cd; context_t_Cm = p.t_Cm;
+        if (count > 0) clear();
+      }
+    }
+
+    // true if found, values then are in vals[slot*5...]; otherwise slot
+    // is where put() will store them
+    boolean get (double aoa, double re) {
+      long bits = Double.doubleToLongBits(aoa) * 31 + Double.doubleToLongBits(re);
+      int h = (int)(bits ^ (bits >>> 32));
+      h ^= (h >>> 16);
+      int i = h & (COEFF_CACHE_SIZE-1);
+      while (used[i]) {
+        if (key_aoa[i] == aoa && key_re[i] == re) {
+          slot = i; hits++;
+          return true;
+        }
+        i = (i + 1) & (COEFF_CACHE_SIZE-1);
+      }
+      slot = i; misses++;
+      return false;
+    }
+
+    void put (double aoa, double re, double cl, double cm, double cd, double cd_profile, double cd_aux) {
+      if (count >= COEFF_CACHE_SIZE*3/4) { 
+        clear(); 
+        get(aoa, re); misses--; // find the slot again
+      }
+      int i = slot;
+      used[i] = true; count++;
+      key_aoa[i] = aoa; key_re[i] = re;
+      i *= 5;
+      vals[i] = cl; vals[i+1] = cm; vals[i+2] = cd; vals[i+3] = cd_profile; vals[i+4] = cd_aux;
+    }
+
+    String stats () {
+      int total = hits + misses;
+      return "hits " + hits + " misses " + misses + 
+        (total == 0 ? "" : " (" + filter1(100.0*hits/total) + "%)") + " clears " + clears;
+    }
+  }
+
+  String coeff_cache_stats () {
+    return "wing: " + wing.coeff_cache.stats() + ", stab: " + stab.coeff_cache.stats() +
+      ", fuse: " + fuse.coeff_cache.stats() + ", mast: " + strut.coeff_cache.stats();
+  }
+
   class PartPack {
     Part w, s, f, m;
   }
@@ -497,6 +696,319 @@ public class FoilBoard extends JApplet {
   }
 
   void withSavedParts (PartPack pp) { wing = pp.w; stab = pp.s; fuse = pp.f; strut = pp.m; }
+
+  static ForkJoinPool sweep_pool; // for VPP sweeps on engine copies and genFlow, created lazily
+
+  // Makes an independent engine for this craft: same parts, foils,
+  // board, rider, model options and flight state, but no GUI. All the
+  // flight state (velocity, alt_val, q0_SI, vel, pres, xg/yg flow
+  // arrays etc.) is per FoilBoard instance, and so are Solver, VPP and
+  // current_part, so a copy can run recomp_all_parts() or VPP goal
+  // seeks on its own thread without disturbing this one, and gets the
+  // same numbers this one would get.
+  FoilBoard make_engine_copy () {
+    FoilBoard e = new FoilBoard();
+    e.runAsApplication = runAsApplication;
+    e.can_do_gui_updates = false;
+
+    // model options
+    e.convert_moments_to_AC_offset = convert_moments_to_AC_offset;
+    e.fix_symmetry_problem = fix_symmetry_problem;
+    e.rider_xpos_tilt_correction = rider_xpos_tilt_correction;
+    e.ar_lift_corr = ar_lift_corr; e.ar_lift_corr_2 = ar_lift_corr_2; e.ar_lift_corr_3 = ar_lift_corr_3;
+    e.re_corr = re_corr; e.induced_drag_on = induced_drag_on; e.skin_drag_on = skin_drag_on;
+    e.stab_aoa_correction = stab_aoa_correction;
+    e.ignore_drive_moment = ignore_drive_moment;
+    e.ignore_drag_moments = ignore_drag_moments;
+    e.ignore_aux_weight_moments = ignore_aux_weight_moments;
+    e.ignore_air_resistance = ignore_air_resistance;
+    e.stall_model_type = stall_model_type;
+    e.stall_model_apos = stall_model_apos; e.stall_model_aneg = stall_model_aneg;
+    e.use_cylinder_shapes = use_cylinder_shapes;
+    e.use_foilsim_foils = use_foilsim_foils;
+    e.lunits = lunits; e.display_units = display_units; e.planet = planet; e.dragOut = dragOut; e.bdragflag = bdragflag;
+
+    // craft, board and rig
+    e.t_foil_name = t_foil_name; e.make_name = make_name; e.model_name = model_name; e.year_etc = year_etc;
+    e.craft_type = craft_type;
+    e.FRONT_FOOTSTRAP_XPOS = FRONT_FOOTSTRAP_XPOS; e.BACK_FOOTSTRAP_XPOS = BACK_FOOTSTRAP_XPOS;
+    e.BOARD_THICKNESS = BOARD_THICKNESS; e.BOARD_LENGTH = BOARD_LENGTH; e.BOARD_WEIGHT = BOARD_WEIGHT; e.BOARD_WIDTH = BOARD_WIDTH;
+    e.BOARD_CG_K = BOARD_CG_K; e.BOARD_HYDRO_LIFT_LOC = BOARD_HYDRO_LIFT_LOC;
+    e.RIG_WEIGHT = RIG_WEIGHT; e.FOIL_WEIGHT = FOIL_WEIGHT;
+    e.MAST_LE_TO_TRANSOM = MAST_LE_TO_TRANSOM; e.WS_MASTBASE_MAST_LE = WS_MASTBASE_MAST_LE;
+    e.RIDER_CG_HEIGHT = RIDER_CG_HEIGHT; e.DRIVING_FORCE_HEIGHT = DRIVING_FORCE_HEIGHT;
+    e.mast_foot_pressure_k = mast_foot_pressure_k; e.mast_foot_dist_from_strut_le = mast_foot_dist_from_strut_le;
+    e.board.drag = board.drag;
+    e.rider.weight = rider.weight; e.rider.drag = rider.drag; e.rider.force_countering_x_offest = rider.force_countering_x_offest;
+    e.motor.diameter = motor.diameter; e.motor.length = motor.length; e.motor.cowl_length = motor.cowl_length;
+    e.motor.duct_diameter = motor.duct_diameter; e.motor.duct_length = motor.duct_length;
+    e.wing_chord = wing_chord; e.wing_span = wing_span; e.wing_area = wing_area;
+
+    // value ranges and unit conversions
+    e.v_min = v_min; e.alt_min = alt_min; e.aoa_min = aoa_min; e.v_max = v_max; e.alt_max = alt_max; e.aoa_max = aoa_max;
+    e.camber_min = camber_min; e.thickness_min = thickness_min; e.camber_max = camber_max; e.thickness_max = thickness_max;
+    e.chord_min = chord_min; e.span_min = span_min; e.ar_min = ar_min; e.chord_max = chord_max; e.span_max = span_max; e.ar_max = ar_max;
+    e.rad_min = rad_min; e.spin_min = spin_min; e.rad_max = rad_max; e.spin_max = spin_max;
+    e.vconv = vconv; e.vmax = vmax;
+    e.pconv = pconv; e.pmax = pmax; e.pmin = pmin; e.lconv = lconv; e.rconv = rconv; e.fconv = fconv; e.fmax = fmax; e.fmaxb = fmaxb;
+    e.load_min = load_min; e.load_max = load_max;
+    e.fact = fact;
+
+    // flight state
+    e.viscos = viscos; e.usq = usq; e.vsq = vsq; e.alt_val = alt_val; e.altmax = altmax;
+    e.q0_EN = q0_EN; e.q0_SI = q0_SI; e.ps0 = ps0; e.ts0 = ts0; e.rho_EN = rho_EN; e.rho_SI = rho_SI; e.rlhum = rlhum;
+    e.xflow = xflow; e.delx = delx; e.delt = delt; e.velocity = velocity; e.spin = spin; e.spindr = spindr; e.yoff = yoff; e.radius = radius;
+    e.vel = vel; e.pres = pres; e.side = side; e.omega = omega; e.radcrv = radcrv; e.relsy = relsy; e.angr = angr;
+    e.load = load;
+    e.craft_pitch = craft_pitch;
+    e.cg_pos = cg_pos; e.cg_pos_board_level = cg_pos_board_level; 
+    e.cg_pos_of_rider = cg_pos_of_rider; e.cg_pos_of_rider_at_drive_height = cg_pos_of_rider_at_drive_height;
+
+    // parts
+    e.fuse  = fuse.copy_to(e);
+    e.wing  = wing.copy_to(e);
+    e.strut = strut.copy_to(e);
+    e.stab  = stab.copy_to(e);
+    e.current_part = current_part == fuse ? e.fuse : current_part == wing ? e.wing : current_part == strut ? e.strut : e.stab;
+
+    e.vpp.set_mast_aoa_for_given_drag_auto = vpp.set_mast_aoa_for_given_drag_auto;
+    return e;
+  }
+
+  // the reverse of make_engine_copy() for what VPP routines change:
+  // takes flight state and VPP results of the engine e
+  void take_flight_state (FoilBoard e) {
+    velocity = e.velocity; craft_pitch = e.craft_pitch; alt_val = e.alt_val; load = e.load;
+    strut.aoa = e.strut.aoa;
+    max_speed_info = e.max_speed_info; max_speed_cg = e.max_speed_cg;
+    max_speed_speed = e.max_speed_speed; max_speed_lift = e.max_speed_lift; max_speed_drag = e.max_speed_drag;
+    min_takeoff_speed_info = e.min_takeoff_speed_info; min_takeoff_cg = e.min_takeoff_cg;
+    min_takeoff_speed = e.min_takeoff_speed; min_takeoff_lift = e.min_takeoff_lift; min_takeoff_drag = e.min_takeoff_drag;
+    cruising_info = e.cruising_info; cruising_cg = e.cruising_cg;
+    cruising_speed = e.cruising_speed; cruising_lift = e.cruising_lift; cruising_drag = e.cruising_drag;
+  }
+
+  // Results of the takeoff, cruise and max speed goal seeks kept
+  // between runs, so that an unchanged design, or one switched back to,
+  // gets them without solving. The key is a hash of everything a goal
+  // seek depends on, see vpp_spec(). An entry holds the goal's results
+  // and the flight state the goal seek ended in.
+  static DiskCache vpp_cache = new DiskCache("vpp");
+  static final int VPP_CACHE_FORMAT = 1;
+  static final int GOAL_TAKEOFF = 0, GOAL_CRUISE = 1, GOAL_MAX_SPEED = 2;
+
+  // canonical text of the parts, board, rig, rider, environment and model
+  // options. Inputs only: values updateTotals derives from the flight
+  // state (aero drags, rider.force_countering_x_offest) would make the key
+  // depend on where the craft happens to be flying
+  String vpp_spec () {
+    StringBuilder sb = new StringBuilder(1024);
+    // with auto mast AoA every trim sets strut.aoa, see
+    // set_mast_aoa_for_given_drag, so then it is an output, not an input
+    sb.append(wing.make_spec()).append('|').append(stab.make_spec()).append('|')
+      .append(fuse.make_spec()).append('|')
+      .append(strut.make_spec(vpp.set_mast_aoa_for_given_drag_auto ? 0 : strut.aoa));
+    double[] board_rig = {
+      BOARD_THICKNESS, BOARD_LENGTH, BOARD_WEIGHT, BOARD_WIDTH, BOARD_CG_K, BOARD_HYDRO_LIFT_LOC,
+      RIG_WEIGHT, FOIL_WEIGHT, MAST_LE_TO_TRANSOM, WS_MASTBASE_MAST_LE, RIDER_CG_HEIGHT, DRIVING_FORCE_HEIGHT,
+      FRONT_FOOTSTRAP_XPOS, BACK_FOOTSTRAP_XPOS, mast_foot_pressure_k, mast_foot_dist_from_strut_le,
+      rider.weight, rho_EN, viscos,
+      motor.diameter, motor.length, motor.cowl_length, motor.duct_diameter, motor.duct_length,
+      stall_model_apos, stall_model_aneg };
+    for (double v : board_rig) sb.append('|').append(v);
+    // polars at more Re of the parts' foils, as given, see load_polars
+    Part[] parts = {wing, stab, fuse, strut};
+    for (Part p : parts) {
+      if (!(p.foil instanceof Tab15Foil)) continue;
+      String name = p.foil.descr.replace(" ", "_");
+      String res = getParamOrProp("Polars_" + name, null);
+      if (res == null) continue;
+      sb.append('|').append(name).append(':').append(res.trim());
+      for (String re : res.trim().split("[\\s,;]+")) 
+        sb.append('|').append(re).append(':').append(getParamOrProp("Polar_" + name + "_" + re, ""));
+    }
+    boolean[] flags = {
+      convert_moments_to_AC_offset, fix_symmetry_problem, rider_xpos_tilt_correction,
+      ar_lift_corr, ar_lift_corr_2, ar_lift_corr_3, re_corr, induced_drag_on, skin_drag_on,
+      stab_aoa_correction, ignore_drive_moment, ignore_drag_moments, ignore_aux_weight_moments,
+      ignore_air_resistance, vpp.set_mast_aoa_for_given_drag_auto };
+    sb.append('|');
+    for (boolean f : flags) sb.append(f ? '1' : '0');
+    // units: the info texts are in display units
+    sb.append('|').append(craft_type).append('|').append(stall_model_type).append('|').append(planet)
+      .append('|').append(lunits).append('|').append(display_units);
+    return sb.toString();
+  }
+
+  String vpp_cache_key (int goal, double load, double min_lift, double max_drag) {
+    return DiskCache.hash(null, vpp_spec() + "|" + goal + "|" + load + "|" + min_lift + "|" + max_drag + "|" + VPP_CACHE_FORMAT);
+  }
+
+  // with_flight_state false: only the goal's results, the craft stays as is
+  boolean vpp_cache_load (String key, int goal, boolean with_flight_state) {
+    ByteBuffer in = vpp_cache.get(key);
+    if (in == null) return false;
+    try {
+      if (in.getInt() != VPP_CACHE_FORMAT || in.getInt() != goal) throw new IOException("format");
+      double v = in.getDouble(), pitch = in.getDouble(), alt = in.getDouble(), ld = in.getDouble(), strut_aoa = in.getDouble();
+      String info = DiskCache.get_string(in), cg = DiskCache.get_string(in);
+      double speed = in.getDouble(), lift = in.getDouble(), drag = in.getDouble();
+      if (with_flight_state) {
+        velocity = v; craft_pitch = pitch; alt_val = alt; load = ld; strut.aoa = strut_aoa;
+      }
+      switch (goal) {
+      case GOAL_TAKEOFF:
+        min_takeoff_speed_info = info; min_takeoff_cg = cg;
+        min_takeoff_speed = speed; min_takeoff_lift = lift; min_takeoff_drag = drag;
+        break;
+      case GOAL_CRUISE:
+        cruising_info = info; cruising_cg = cg;
+        cruising_speed = speed; cruising_lift = lift; cruising_drag = drag;
+        break;
+      default:
+        max_speed_info = info; max_speed_cg = cg;
+        max_speed_speed = speed; max_speed_lift = lift; max_speed_drag = drag;
+      }
+      System.out.println("-- VPP goal " + goal + " from cache " + key);
+      return true;
+    } catch (Exception e) { // RuntimeExceptions of a bad entry too
+      System.out.println("-- VPP cache entry " + key + " ignored: " + e);
+      return false;
+    }
+  }
+
+  void vpp_cache_store (String key, int goal) {
+    if (key == null) return;
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      out.writeInt(VPP_CACHE_FORMAT); out.writeInt(goal);
+      out.writeDouble(velocity); out.writeDouble(craft_pitch); out.writeDouble(alt_val); out.writeDouble(load); out.writeDouble(strut.aoa);
+      switch (goal) {
+      case GOAL_TAKEOFF:
+        DiskCache.put_string(out, min_takeoff_speed_info); DiskCache.put_string(out, min_takeoff_cg);
+        out.writeDouble(min_takeoff_speed); out.writeDouble(min_takeoff_lift); out.writeDouble(min_takeoff_drag);
+        break;
+      case GOAL_CRUISE:
+        DiskCache.put_string(out, cruising_info); DiskCache.put_string(out, cruising_cg);
+        out.writeDouble(cruising_speed); out.writeDouble(cruising_lift); out.writeDouble(cruising_drag);
+        break;
+      default:
+        DiskCache.put_string(out, max_speed_info); DiskCache.put_string(out, max_speed_cg);
+        out.writeDouble(max_speed_speed); out.writeDouble(max_speed_lift); out.writeDouble(max_speed_drag);
+      }
+      out.close();
+      vpp_cache.put(key, bytes.toByteArray());
+    } catch (IOException e) {
+      System.out.println("-- VPP cache: " + e);
+    }
+  }
+
+  // shows what the In.Flight goal seek buttons found for this design in
+  // an earlier run, with the constraints their boxes start with
+  void vpp_cache_preload () {
+    In.Flight f = in.flt;
+    double tkl = f.constr_tkoff_min_lift, tkd = f.constr_tkoff_max_drag;
+    double crl = f.constr_cruise_min_lift;
+    double rsl = f.constr_race_min_lift, rsd = f.constr_race_max_drag;
+    boolean own_load = f.use_load_ctrl_in_vpp;
+    vpp_cache_load(vpp_cache_key(GOAL_TAKEOFF,   own_load ? load : tkl, tkl, tkd), GOAL_TAKEOFF,   false);
+    vpp_cache_load(vpp_cache_key(GOAL_CRUISE,    own_load ? load : crl, crl, tkd), GOAL_CRUISE,    false);
+    vpp_cache_load(vpp_cache_key(GOAL_MAX_SPEED, own_load ? load : rsl, rsl, rsd), GOAL_MAX_SPEED, false);
+  }
+
+  // Background VPP jobs. compute() runs off the EDT on an engine copy made
+  // at submit time; publish() then runs on the EDT and takes the results
+  // over. A newer job supersedes the one in flight: its engine gets
+  // cancel_requested and bails out at its next recomp_all_parts(), and
+  // a superseded job never publishes, so the latest request wins. Edits
+  // that do not submit a job (Options, Env, mesh drags, the pitch box)
+  // do not supersede one either, so publish() is also skipped when the
+  // inputs differ from those the engine was copied with: the result
+  // would put back the flight state the edit replaced. No threads in
+  // SwingJS: there a job runs right away.
+  volatile boolean cancel_requested = false; // set on engine copies only
+
+  abstract class VPPJob implements Runnable {
+    String name;
+    FoilBoard engine;
+    String inputs; // vpp_job_inputs() at submit
+    int generation;
+    VPPJob (String name) { this.name = name; }
+
+    abstract void compute (FoilBoard engine); // off EDT
+    abstract void publish (FoilBoard engine); // on EDT
+
+    public void run () {
+      long t0 = System.currentTimeMillis();
+      try {
+        compute(engine);
+      } catch (CancellationException e) {
+        System.out.println("-- VPP job " + name + ": superseded");
+        return; // vpp_job is the newer job's
+      } catch (Throwable t) {
+        System.out.println("-- VPP job " + name + ": got: " + t);
+        t.printStackTrace(System.out);
+        SwingUtilities.invokeLater(new Runnable() {
+            public void run () {
+              if (generation == vpp_job_generation) vpp_job = null;
+            }});
+        return;
+      }
+      System.out.println("-- VPP job " + name + ": done in " + (System.currentTimeMillis() - t0) + " ms");
+      SwingUtilities.invokeLater(new Runnable() {
+          public void run () {
+            if (generation != vpp_job_generation) return; // superseded meanwhile
+            vpp_job = null;
+            if (!inputs.equals(vpp_job_inputs())) {
+              System.out.println("-- VPP job " + name + ": inputs changed meanwhile, result dropped");
+              return;
+            }
+            publish(engine);
+          }});
+    }
+  }
+
+  // what a VPP job starts from: the design and options, see vpp_spec(),
+  // and the flight state take_flight_state() would overwrite
+  String vpp_job_inputs () {
+    return vpp_spec() + "|" + velocity + "|" + craft_pitch + "|" + alt_val + "|" + load + "|" + strut.aoa;
+  }
+
+  ExecutorService vpp_executor;
+  VPPJob vpp_job; // in flight, if any
+  int vpp_job_generation = 0;
+
+  void submit_vpp_job (VPPJob job) {
+    metrics.note_action();
+    if (vpp_job != null) vpp_job.engine.cancel_requested = true;
+    job.generation = ++vpp_job_generation;
+    job.engine = make_engine_copy();
+    job.inputs = vpp_job_inputs();
+    boolean threads = false;
+    /**
+     * @j2sNative
+     * 
+     *    var dummy = 0;
+     */
+    { // only in Java, no threads in JavaScript
+      threads = true;
+    }
+    if (!threads) {
+      job.compute(job.engine);
+      job.publish(job.engine);
+      return;
+    }
+    vpp_job = job;
+    if (vpp_executor == null) 
+      vpp_executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+          public Thread newThread (Runnable r) {
+            Thread t = new Thread(r, "VPP");
+            t.setDaemon(true);
+            return t;
+          }});
+    vpp_executor.execute(job);
+  }
   
   boolean runAsApplication = false; // main() sets this to true
   boolean fix_symmetry_problem = false; // true; // legacy
@@ -520,44 +1032,22 @@ public class FoilBoard extends JApplet {
    *  
    */ 
   public static void main (String argv[]) {
-    if (argv.length > 0) { // read params as props from file
-      String params_file = argv[0];
-      File file = new File(params_file);
-      String path  = file.getPath();
-      int path_last_sep_idx = path.lastIndexOf(File.separator);
-      String dirpath = path_last_sep_idx > -1 ? path.substring(0, path_last_sep_idx+1) : "";
-
-      if (params_file.endsWith(".html") || params_file.endsWith(".htm")) { // apllet html file
-        html_param_syntax = true;
-        try {
-          javax.xml.parsers.DocumentBuilderFactory dbFactory = javax.xml.parsers.DocumentBuilderFactory.newInstance();
-          javax.xml.parsers.DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-          org.w3c.dom.Document doc = dBuilder.parse(file);
-          doc.getDocumentElement().normalize();
-          org.w3c.dom.NodeList nList = doc.getElementsByTagName("PARAM");
-          props = new Properties();
-          for (int temp = 0; temp < nList.getLength(); temp++) {
-            org.w3c.dom.Node nNode = nList.item(temp);
-            if (nNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-              org.w3c.dom.Element eElement = (org.w3c.dom.Element) nNode;
-              String name = eElement.getAttribute("NAME");
-              String value = eElement.getAttribute("VALUE");
-              props.setProperty(name, value);
-            }
-          }
-        } catch (Exception e) {
-          System.out.println("-- e: " + e);
-        }
-        
-      } else { // java props syntax 
-        try { (props = new Properties()).load(FoilBoard.class.getClassLoader().getResourceAsStream(params_file)); } 
-        catch (Exception ex) { ex.printStackTrace(); }
-      }
-      props.setProperty("__def_file_dirpath",  dirpath);
+    if (argv.length > 0 && argv[0].equals("-batch")) { // no GUI, see batch()
+      batch(argv);
+      return;
     }
+    if (argv.length > 0 && argv[0].equals("-bench")) { // no GUI, see bench()
+      bench(argv);
+      return;
+    }
+
+    long t0 = System.nanoTime();
+    if (argv.length > 0) // read params as props from file
+      props = readParamsFile(argv[0]);
         
     frame = new JFrame();
     final FoilBoard  foilboard = new FoilBoard();
+    foilboard.startup_t0 = t0;
     Runtime.getRuntime().addShutdownHook(new Thread() { 
         public void run() { 
           System.out.println(foilboard.wing.make_spec());
@@ -589,6 +1079,609 @@ public class FoilBoard extends JApplet {
 
     foilboard.start();
     frame.setVisible(true);
+    foilboard.startup_report_when_shown();
+  }
+
+  // Startup timing, from main() or else from init() to the first time
+  // the EDT gets to run after the window was shown (all the initial
+  // painting is queued by then). Printed as one line of phases.
+  long startup_t0, startup_last;
+  String startup_phases = "";
+
+  void startup_phase (String name) {
+    long now = System.nanoTime();
+    if (startup_t0 == 0) startup_t0 = now;
+    if (startup_last == 0) startup_last = startup_t0;
+    startup_phases += " " + name + " " + (now - startup_last)/1000000 + " ms,";
+    startup_last = now;
+  }
+
+  void startup_report_when_shown () {
+    SwingUtilities.invokeLater(new Runnable() {
+        public void run () {
+          startup_phase("show");
+          System.out.println("-- startup:" + startup_phases + " total " + (startup_last - startup_t0)/1000000 + " ms");
+        }});
+  }
+
+  // Process-wide solver and VPP metrics, registered with the platform
+  // MBean server as FoilBoard:type=SolverMetrics for JConsole or
+  // VisualVM. Updates are striped by thread over separate cache lines,
+  // so the sweep threads do not contend: an update is one or three
+  // uncontended atomic adds, cheap enough to leave on. Latencies go into
+  // power-of-2 nanosecond buckets, percentiles are bucket upper bounds.
+  static class OpMetrics {
+    static final int STRIPES = 8, BUCKETS = 40, COUNT = BUCKETS, SUM = BUCKETS+1,
+      STRIDE = BUCKETS+8; // buckets, count, sum, pad to next cache line
+    AtomicLongArray cells = new AtomicLongArray(STRIPES*STRIDE);
+    long action_start; // count when the latest user action started
+
+    int stripe () { return ((int)Thread.currentThread().getId() & (STRIPES-1))*STRIDE; }
+
+    void inc () { cells.getAndIncrement(stripe() + COUNT); }
+
+    void record (long ns) {
+      int base = stripe();
+      cells.getAndIncrement(base + COUNT);
+      cells.getAndAdd(base + SUM, ns);
+      cells.getAndIncrement(base + Math.min(BUCKETS-1, 63 - Long.numberOfLeadingZeros(Math.max(ns, 1))));
+    }
+
+    long sum (int slot) {
+      long sum = 0;
+      for (int s = 0; s < STRIPES; s++) sum += cells.get(s*STRIDE + slot);
+      return sum;
+    }
+
+    void reset () {
+      for (int i = 0; i < cells.length(); i++) cells.set(i, 0);
+      action_start = 0;
+    }
+
+    OpStats stats (long actions) {
+      long[] buckets = new long[BUCKETS];
+      long timed = 0;
+      for (int b = 0; b < BUCKETS; b++) timed += buckets[b] = sum(b);
+      long count = sum(COUNT);
+      return new OpStats(count, count - action_start, actions == 0 ? 0 : (double)count/actions,
+                         timed == 0 ? 0 : sum(SUM)/1e3/timed, 
+                         percentile(buckets, timed, 0.5), percentile(buckets, timed, 0.9),
+                         percentile(buckets, timed, 0.99), percentile(buckets, timed, 1));
+    }
+
+    // upper bound of the bucket holding the q-th fraction, microseconds
+    static double percentile (long[] buckets, long timed, double q) {
+      if (timed == 0) return 0;
+      long n = 0;
+      for (int b = 0; b < BUCKETS; b++) 
+        if ((n += buckets[b]) >= Math.ceil(q*timed)) return (1L << (b+1))/1e3;
+      return (1L << BUCKETS)/1e3;
+    }
+  }
+
+  // what JConsole shows per operation. Latency fields stay 0 for the
+  // operations that are only counted.
+  public static class OpStats {
+    long calls, calls_in_last_action;
+    double calls_per_action, mean_us, p50_us, p90_us, p99_us, max_us;
+    OpStats (long calls, long calls_in_last_action, double calls_per_action, 
+             double mean_us, double p50_us, double p90_us, double p99_us, double max_us) {
+      this.calls = calls; this.calls_in_last_action = calls_in_last_action; 
+      this.calls_per_action = calls_per_action; this.mean_us = mean_us; 
+      this.p50_us = p50_us; this.p90_us = p90_us; this.p99_us = p99_us; this.max_us = max_us;
+    }
+    public long getCalls () { return calls; }
+    public long getCallsInLastAction () { return calls_in_last_action; }
+    public double getCallsPerAction () { return calls_per_action; }
+    public double getMeanMicros () { return mean_us; }
+    public double getP50Micros () { return p50_us; }
+    public double getP90Micros () { return p90_us; }
+    public double getP99Micros () { return p99_us; }
+    public double getMaxMicros () { return max_us; }
+  }
+
+  public interface SolverMetricsMXBean {
+    long getUserActions ();
+    long getRecompReentryGuardHits ();
+    OpStats getRecompAllParts ();
+    OpStats getCpComputeFlow ();
+    OpStats getGenFlow ();
+    OpStats getSteadyFlightAtGivenSpeed ();
+    OpStats getSteadyFlightSweep ();
+    OpStats getFindMinTakeoffV ();
+    OpStats getEasyRide ();
+    OpStats getMaxSpeed ();
+    long getSliderEvents ();
+    long getSliderDropped ();
+    void reset ();
+  }
+
+  static class SolverMetrics implements SolverMetricsMXBean {
+    OpMetrics user_actions = new OpMetrics(), recomp_reentry_guard = new OpMetrics(),
+      recomp_all_parts = new OpMetrics(), cp_computeFlow = new OpMetrics(), 
+      genFlow = new OpMetrics(), steady_flight_at_given_speed = new OpMetrics(), steady_flight_sweep = new OpMetrics(),
+      find_min_takeoff_v = new OpMetrics(), easy_ride = new OpMetrics(), max_speed = new OpMetrics(),
+      slider_events = new OpMetrics(), slider_dropped = new OpMetrics(); // see InputCoalescer
+    OpMetrics[] all = {user_actions, recomp_reentry_guard, recomp_all_parts, cp_computeFlow, genFlow, 
+                       steady_flight_at_given_speed, steady_flight_sweep, find_min_takeoff_v, easy_ride, max_speed,
+                       slider_events, slider_dropped};
+    boolean registered = false;
+    Object last_action_event; // EDT only
+
+    synchronized void register () {
+      /**
+       * @j2sNative
+       * 
+       *    return;
+       */
+      {}
+      if (registered) return;
+      registered = true;
+      try {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName("FoilBoard:type=SolverMetrics"));
+      } catch (Exception e) {
+        System.out.println("-- SolverMetrics: not registered: " + e);
+      }
+    }
+
+    // A user action is an input event whose dispatch makes the solver
+    // work. Counts since its start are the "in last action" values; the
+    // VPP jobs it submits still add to them when they run later.
+    void note_action () {
+      AWTEvent e = EventQueue.getCurrentEvent(); // null off the EDT
+      if (!(e instanceof InputEvent) || e == last_action_event) return;
+      last_action_event = e;
+      user_actions.inc();
+      for (int i = 0; i < all.length; i++) all[i].action_start = all[i].sum(OpMetrics.COUNT);
+    }
+
+    long actions () { return user_actions.sum(OpMetrics.COUNT); }
+
+    public long getUserActions () { return actions(); }
+    public long getRecompReentryGuardHits () { return recomp_reentry_guard.sum(OpMetrics.COUNT); }
+    public OpStats getRecompAllParts () { return recomp_all_parts.stats(actions()); }
+    public OpStats getCpComputeFlow () { return cp_computeFlow.stats(actions()); }
+    public OpStats getGenFlow () { return genFlow.stats(actions()); }
+    public OpStats getSteadyFlightAtGivenSpeed () { return steady_flight_at_given_speed.stats(actions()); }
+    public OpStats getSteadyFlightSweep () { return steady_flight_sweep.stats(actions()); }
+    public OpStats getFindMinTakeoffV () { return find_min_takeoff_v.stats(actions()); }
+    public OpStats getEasyRide () { return easy_ride.stats(actions()); }
+    public OpStats getMaxSpeed () { return max_speed.stats(actions()); }
+    public long getSliderEvents () { return slider_events.sum(OpMetrics.COUNT); }
+    public long getSliderDropped () { return slider_dropped.sum(OpMetrics.COUNT); }
+    public void reset () { for (int i = 0; i < all.length; i++) all[i].reset(); }
+  }
+
+  static SolverMetrics metrics = new SolverMetrics();
+
+  // A Java Flight Recorder event type in the FoilBoard category. Made at
+  // run time with jdk.jfr.EventFactory by reflection, so that the code
+  // still builds and runs on Java 7 and in SwingJS, where there is no JFR
+  // and all this is a no-op. When JFR is there but not recording, begin()
+  // costs one reflective isEnabled() call. Record with e.g.
+  //   java -XX:StartFlightRecording=filename=fb.jfr -jar foilboard.jar 
+  // and open fb.jfr in JDK Mission Control or run: jfr print --categories FoilBoard fb.jfr
+  static class JfrEventType {
+    static Constructor<?> annotation_element, value_descriptor;
+    static Method create, get_event_type, is_enabled, new_event, begin, end, should_commit, set, commit;
+    static boolean available = init();
+
+    static boolean init () {
+      /**
+       * @j2sNative
+       * 
+       *    return false;
+       */
+      {}
+      try {
+        Class<?> factory = Class.forName("jdk.jfr.EventFactory"), event = Class.forName("jdk.jfr.Event");
+        annotation_element = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+        value_descriptor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class);
+        create = factory.getMethod("create", java.util.List.class, java.util.List.class);
+        get_event_type = factory.getMethod("getEventType");
+        new_event = factory.getMethod("newEvent");
+        is_enabled = Class.forName("jdk.jfr.EventType").getMethod("isEnabled");
+        begin = event.getMethod("begin");
+        end = event.getMethod("end");
+        should_commit = event.getMethod("shouldCommit");
+        set = event.getMethod("set", int.class, Object.class);
+        commit = event.getMethod("commit");
+        return true;
+      } catch (Throwable e) { // older Java, no jdk.jfr module
+        return false;
+      }
+    }
+
+    Object factory, type;
+
+    JfrEventType (String name, String label, boolean stack_trace, String[] field_names, Class<?>[] field_types) {
+      if (!available) return;
+      try {
+        ArrayList<Object> annotations = new ArrayList<Object>(), fields = new ArrayList<Object>();
+        annotations.add(annotation_element.newInstance(Class.forName("jdk.jfr.Name"), name));
+        annotations.add(annotation_element.newInstance(Class.forName("jdk.jfr.Label"), label));
+        annotations.add(annotation_element.newInstance(Class.forName("jdk.jfr.Category"), new String[] {"FoilBoard"}));
+        annotations.add(annotation_element.newInstance(Class.forName("jdk.jfr.StackTrace"), stack_trace));
+        for (int i = 0; i < field_names.length; i++) 
+          fields.add(value_descriptor.newInstance(field_types[i], field_names[i]));
+        factory = create.invoke(null, annotations, fields);
+        type = get_event_type.invoke(factory);
+      } catch (Exception e) {
+        System.out.println("-- JFR event " + name + " not available: " + e);
+        factory = null;
+      }
+    }
+
+    // starts timing an event; null when this type is not being recorded
+    Object begin () {
+      if (factory == null) return null;
+      try {
+        if (!(Boolean)is_enabled.invoke(type)) return null;
+        Object event = new_event.invoke(factory);
+        begin.invoke(event);
+        return event;
+      } catch (Exception e) {
+        return null;
+      }
+    }
+
+    // ends event, a non-null result of begin(); values in field order
+    void commit (Object event, Object... values) {
+      try {
+        end.invoke(event);
+        if (!(Boolean)should_commit.invoke(event)) return;
+        for (int i = 0; i < values.length; i++) set.invoke(event, i, values[i]);
+        commit.invoke(event);
+      } catch (Exception e) {
+        System.out.println("-- JFR commit: " + e);
+      }
+    }
+  }
+
+  // config is t_foil_name; velocity in the units of FoilBoard.velocity,
+  // pitch in degrees, recomps counts recomp_all_parts calls. No stack
+  // traces for RecompAllParts and Trim, there are tens of thousands per
+  // second of the former during a sweep and thousands of the latter
+  static final JfrEventType 
+    jfr_goal_seek = new JfrEventType("foilboard.GoalSeek", "VPP Goal Seek", true,
+                                     new String[] {"config", "goal", "velocity", "pitch", "lift", "drag", "recomps", "converged"},
+                                     new Class<?>[] {String.class, String.class, double.class, double.class, double.class, double.class, int.class, boolean.class}),
+    jfr_trim = new JfrEventType("foilboard.Trim", "VPP Trim", false,
+                                new String[] {"config", "velocity", "pitch", "lift", "drag", "recomps", "converged"},
+                                new Class<?>[] {String.class, double.class, double.class, double.class, double.class, int.class, boolean.class}),
+    jfr_recomp = new JfrEventType("foilboard.RecompAllParts", "Recompute All Parts", false,
+                                  new String[] {"config", "velocity", "pitch"},
+                                  new Class<?>[] {String.class, double.class, double.class}),
+    jfr_load_plot = new JfrEventType("foilboard.LoadPlot", "Load Plot", true,
+                                     new String[] {"config", "plotType", "part", "points"},
+                                     new Class<?>[] {String.class, String.class, String.class, int.class}),
+    jfr_foil_import = new JfrEventType("foilboard.FoilImport", "Foil Import", true,
+                                       new String[] {"file", "foil", "fromCache"},
+                                       new Class<?>[] {String.class, String.class, boolean.class});
+
+  // reads applet html file or a properties file into props
+  static Properties readParamsFile (String params_file) {
+    Properties props = null;
+    File file = new File(params_file);
+    String path  = file.getPath();
+    int path_last_sep_idx = path.lastIndexOf(File.separator);
+    String dirpath = path_last_sep_idx > -1 ? path.substring(0, path_last_sep_idx+1) : "";
+
+    if (params_file.endsWith(".html") || params_file.endsWith(".htm")) { // apllet html file
+      html_param_syntax = true;
+      try {
+        javax.xml.parsers.DocumentBuilderFactory dbFactory = javax.xml.parsers.DocumentBuilderFactory.newInstance();
+        javax.xml.parsers.DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
+        org.w3c.dom.Document doc = dBuilder.parse(file);
+        doc.getDocumentElement().normalize();
+        org.w3c.dom.NodeList nList = doc.getElementsByTagName("PARAM");
+        props = new Properties();
+        for (int temp = 0; temp < nList.getLength(); temp++) {
+          org.w3c.dom.Node nNode = nList.item(temp);
+          if (nNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
+            org.w3c.dom.Element eElement = (org.w3c.dom.Element) nNode;
+            String name = eElement.getAttribute("NAME");
+            String value = eElement.getAttribute("VALUE");
+            props.setProperty(name, value);
+          }
+        }
+      } catch (Exception e) {
+        System.out.println("-- e: " + e);
+      }
+        
+    } else { // java props syntax 
+      try { (props = new Properties()).load(FoilBoard.class.getClassLoader().getResourceAsStream(params_file)); } 
+      catch (Exception ex) { ex.printStackTrace(); }
+    }
+    if (props == null) props = new Properties(); // bad file, go with defaults
+    props.setProperty("__def_file_dirpath",  dirpath);
+    return props;
+  }
+
+  /**
+   * Batch mode: java FoilBoard -batch kite/a.html sail/b.html ...
+   *
+   * For each config file, sets up the craft like init() does but
+   * without any GUI and runs the three VPP goal seeks of the Flight tab
+   * (takeoff, cruise, max speed).  Prints one CSV line per file to
+   * stdout; all the usual "-- ..." chatter goes to stderr.  Speeds are
+   * km/h, forces Newtons, NaN when a goal seek found no solution.
+   * With -diag as the first arg, prints the SeekDiag CSV line of each goal
+   * seek instead.
+   *
+   * @j2sNative
+   *
+   * // not supported in JS 
+   * var dummy;
+   *  
+   */
+  static void batch (String argv[]) {
+    System.setProperty("java.awt.headless", "true");
+    java.io.PrintStream out = System.out;
+    System.setOut(System.err);
+    boolean diag = argv.length > 1 && argv[1].equals("-diag");
+    if (diag) 
+      out.println("file," + SeekDiag.CSV_HEADER);
+    else
+      out.println("file,type,name,takeoff_speed,takeoff_lift,takeoff_drag,cruise_speed,cruise_lift,cruise_drag,max_speed,max_speed_lift,max_speed_drag");
+    for (int i = diag ? 2 : 1; i < argv.length; i++) {
+      String name = argv[i];
+      try {
+        props = readParamsFile(name);
+        FoilBoard fb = new FoilBoard();
+        fb.runAsApplication = true;
+        fb.init_headless();
+        clear_seek_log();
+        fb.vpp.run_goal_seeks();
+        System.out.println("-- batch: " + name + ": coeff cache " + fb.coeff_cache_stats());
+        if (diag) {
+          SeekDiag[] seeks = recent_seeks();
+          for (int k = 0; k < seeks.length; k++) out.println(name + "," + seeks[k].csv());
+        } else {
+          out.println(name + "," + 
+                      craft_drive_type_name[fb.craft_type] + "," + 
+                      "\"" + fb.t_foil_name.replace("\"", "'") + "\"," +
+                      fb.min_takeoff_speed + "," + fb.min_takeoff_lift + "," + fb.min_takeoff_drag + "," +
+                      fb.cruising_speed + "," + fb.cruising_lift + "," + fb.cruising_drag + "," +
+                      fb.max_speed_speed + "," + fb.max_speed_lift + "," + fb.max_speed_drag);
+        }
+      } catch (Throwable t) {
+        System.out.println("-- batch: " + name + ": got: " + t);
+        t.printStackTrace(System.out);
+        if (!diag) out.println(name + ",,,NaN,NaN,NaN,NaN,NaN,NaN,NaN,NaN,NaN");
+      }
+      out.flush();
+    }
+  }
+
+  // forget what dirty tracking and coefficient caches know, so that the
+  // next recomp starts from scratch (benchmarks)
+  void drop_caches () {
+    Part[] parts = {wing, stab, fuse, strut};
+    for (int i = 0; i < parts.length; i++) {
+      parts[i].recomp_inputs = null;
+      parts[i].coeff_cache.clear();
+    }
+  }
+
+  // One benchmarked operation; setup() runs once per config before
+  // warmup, op() is what gets timed.
+  static abstract class BenchCase {
+    String name;
+    boolean gui; // needs the panels of init(), not just init_headless()
+    BenchCase (String name) { this.name = name; }
+    BenchCase (String name, boolean gui) { this.name = name; this.gui = gui; }
+    void setup (FoilBoard fb) { }
+    abstract void op (FoilBoard fb, int i);
+  }
+
+  // golden ratio sequence in [0, 1): inputs that never repeat exactly, so
+  // the coefficient caches do not make ops look cheaper than they are
+  static double bench_seq (int i) {
+    double x = i * 0.6180339887498949;
+    return x - Math.floor(x);
+  }
+
+  // a get_Cl or get_Cd case on the wing temporarily fitted with the first
+  // foil of the given class found in this engine
+  static BenchCase bench_foil_case (final String foil_class, final boolean cd) {
+    return new BenchCase((cd ? "Foil.get_Cd:" : "Solver.get_Cl:") + foil_class) {
+      Foil foil;
+      void setup (FoilBoard fb) {
+        foil = null;
+        for (int i = 0; i < fb.foil_arr.length && foil == null; i++) 
+          if (fb.foil_arr[i].getClass().getSimpleName().equals(foil_class)) 
+            foil = fb.foil_arr[i];
+      }
+      void op (FoilBoard fb, int i) {
+        if (foil == null) return;
+        Foil saved = fb.wing.foil;
+        fb.current_part = fb.wing;
+        fb.wing.foil = foil;
+        double aoa = -10 + 20*bench_seq(i);
+        if (cd) 
+          foil.get_Cd(0.5, aoa, fb.wing.thickness, fb.wing.camber, false);
+        else
+          fb.solver.get_Cl(aoa);
+        fb.wing.foil = saved;
+      }
+    };
+  }
+
+  // one Viewer frame of the given view, drawn offscreen
+  static BenchCase bench_paint_case (final String view_name, final int view) {
+    return new BenchCase("Viewer.paint:" + view_name, true) {
+      Graphics g;
+      void setup (FoilBoard fb) {
+        fb.viewer.viewflg = view;
+        g = new BufferedImage(fb.viewer.getWidth(), fb.viewer.getHeight(), BufferedImage.TYPE_INT_RGB).getGraphics();
+      }
+      void op (FoilBoard fb, int i) { fb.viewer.paint(g); }
+    };
+  }
+
+  // one Plot.loadPlot of the given type; the speed sweeps run the VPP
+  static BenchCase bench_plot_case (final String plot_name, final int type) {
+    return new BenchCase("Plot.loadPlot:" + plot_name, true) {
+      void setup (FoilBoard fb) { fb.plot_type = type; }
+      void op (FoilBoard fb, int i) { fb.out_top.plot.loadPlot(); }
+    };
+  }
+
+  static BenchCase[] bench_cases () {
+    return new BenchCase[] {
+      bench_foil_case("NACA4Foil", false), bench_foil_case("NACA4Foil", true),
+      bench_foil_case("Tab15Foil", false), bench_foil_case("Tab15Foil", true),
+      bench_foil_case("Tab25Foil", false), bench_foil_case("Tab25Foil", true),
+      bench_foil_case("NACA_R540_3pct_round_Foil", false), bench_foil_case("NACA_R540_3pct_round_Foil", true),
+      new BenchCase("recomp_all_parts") {
+        void op (FoilBoard fb, int i) {
+          fb.craft_pitch = 4*bench_seq(i);
+          fb.recomp_all_parts();
+        }},
+      new BenchCase("steady_flight_at_given_speed") {
+        void op (FoilBoard fb, int i) {
+          fb.velocity = 15 + 30*bench_seq(i);
+          fb.vpp.steady_flight_at_given_speed(5, 0);
+        }},
+      new BenchCase("find_min_takeoff_v") {
+        void op (FoilBoard fb, int i) {
+          fb.bench_goal_reset(0, 20);
+          fb.vpp.find_min_takeoff_v(fb.load, Double.parseDouble(fb.vpp.takeoff_max_drag_dflt()), false);
+        }},
+      new BenchCase("easy_ride") {
+        void op (FoilBoard fb, int i) {
+          fb.bench_goal_reset(80, 20);
+          fb.vpp.easy_ride(fb.load);
+        }},
+      new BenchCase("max_speed") {
+        void op (FoilBoard fb, int i) {
+          fb.bench_goal_reset(70, 20);
+          fb.vpp.max_speed(fb.load, Double.parseDouble(fb.vpp.race_max_drag_dflt()), false);
+        }},
+      // the speed sweep of Plot.loadPlot PLOT_TYPE_CG_VS_SPEED; loadPlot
+      // itself needs the GUI. Allocation is of the calling thread only.
+      new BenchCase("steady_flight_sweep") {
+        double[] speeds = new double[90];
+        void op (FoilBoard fb, int i) {
+          for (int k = 0; k < speeds.length; k++) speeds[k] = 50 - k*0.5;
+          fb.vpp.steady_flight_sweep(speeds, fb.load);
+        }},
+      bench_paint_case("forces", Viewer.VIEW_FORCES),
+      bench_paint_case("edge", Viewer.VIEW_EDGE),
+      bench_paint_case("mesh", Viewer.VIEW_3D_MESH),
+      bench_plot_case("pressure", PLOT_TYPE_PRESSURE),
+      bench_plot_case("angle", PLOT_TYPE_ANGLE),
+      bench_plot_case("camber", PLOT_TYPE_CAMBER),
+      bench_plot_case("polars", PLOT_TYPE_LIFT_DRAG_POLARS),
+      bench_plot_case("cg_vs_speed", PLOT_TYPE_CG_VS_SPEED),
+      bench_plot_case("drag_totals_vs_speed", PLOT_TYPE_DRAG_TOTALS_VS_SPEED),
+      new BenchCase("Plot.paint", true) {
+        Graphics g;
+        void setup (FoilBoard fb) {
+          fb.plot_type = PLOT_TYPE_LIFT_DRAG_POLARS;
+          fb.out_top.plot.loadPlot();
+          g = new BufferedImage(fb.out_top.plot.getWidth(), fb.out_top.plot.getHeight(), BufferedImage.TYPE_INT_RGB).getGraphics();
+        }
+        void op (FoilBoard fb, int i) { fb.out_top.plot.paint(g); }
+      },
+    };
+  }
+
+  double bench_load, bench_strut_aoa;
+  void bench_goal_reset (double alt, double speed) {
+    load = bench_load;
+    alt_val = alt; velocity = speed; craft_pitch = 0; strut.aoa = bench_strut_aoa;
+    drop_caches();
+  }
+
+  // a board as batch mode makes it or, for gui cases, with the panels
+  // built. Headless components have no peers, so the offscreen images
+  // are plain BufferedImages and the panels get the sizes a frame would
+  // give them. Repaints go nowhere without peers.
+  static FoilBoard bench_board (boolean gui) {
+    if (!gui) {
+      FoilBoard fb = new FoilBoard();
+      fb.runAsApplication = true;
+      fb.init_headless();
+      return fb;
+    }
+    FoilBoard fb = new FoilBoard() {
+        public Image createImage (int w, int h) {
+          return new BufferedImage(Math.max(w, 1), Math.max(h, 1), BufferedImage.TYPE_INT_RGB);
+        }};
+    fb.runAsApplication = true;
+    fb.init();
+    fb.viewer.setSize(450, 300);
+    fb.out_top.plot.setSize(450, 300);
+    fb.viewer.anim_timer = null; // no animation ticks
+    return fb;
+  }
+
+  // -bench [-ms N] file...: throughput and allocation rate of the solver
+  // and VPP hot paths, per config. For each case, ops run for N ms
+  // (default 500) as warmup, then again for N ms measured. One CSV line
+  // per config and case to stdout.
+  static void bench (String argv[]) {
+    /**
+     * @j2sNative
+     * 
+     *    return;
+     */
+    {}
+    System.setProperty("java.awt.headless", "true");
+    java.io.PrintStream out = System.out;
+    // VPP is chatty. Discard: a buffer would grow over the run and its
+    // copying would be charged to the measured ops
+    System.setOut(new java.io.PrintStream(new java.io.OutputStream() {
+        public void write (int b) {}
+        public void write (byte[] b, int off, int len) {}
+      }));
+    long ms = 500;
+    int i = 1;
+    if (argv.length > 2 && argv[1].equals("-ms")) {
+      ms = Long.parseLong(argv[2]);
+      i = 3;
+    }
+    com.sun.management.ThreadMXBean mx = null;
+    try {
+      mx = (com.sun.management.ThreadMXBean)java.lang.management.ManagementFactory.getThreadMXBean();
+    } catch (Throwable t) {
+      System.err.println("-- bench: no allocation counter: " + t);
+    }
+    long tid = Thread.currentThread().getId();
+    out.println("file,case,ops_per_s,us_per_op,bytes_per_op");
+    for (; i < argv.length; i++) {
+      String name = argv[i];
+      BenchCase[] cases = bench_cases();
+      for (int c = 0; c < cases.length; c++) {
+        BenchCase bc = cases[c];
+        try {
+          props = readParamsFile(name);
+          FoilBoard fb = bench_board(bc.gui);
+          fb.bench_load = fb.load; fb.bench_strut_aoa = fb.strut.aoa;
+          bc.setup(fb);
+          int n = 0;
+          for (long end = System.currentTimeMillis() + ms; System.currentTimeMillis() < end; n++) 
+            bc.op(fb, n);
+          long bytes0 = mx == null ? 0 : mx.getThreadAllocatedBytes(tid);
+          long t0 = System.nanoTime();
+          int ops = 0;
+          for (long end = t0 + ms*1000000; System.nanoTime() < end; ops++) 
+            bc.op(fb, n + ops);
+          long dt = System.nanoTime() - t0;
+          long bytes = mx == null ? 0 : mx.getThreadAllocatedBytes(tid) - bytes0;
+          out.println(name + "," + bc.name + "," + 
+                      filter0(ops*1e9/dt) + "," + filter3(dt/1e3/ops) + "," + 
+                      (mx == null ? "NaN" : ""+(bytes/ops)));
+        } catch (Throwable t) {
+          System.err.println("-- bench: " + name + " " + bc.name + ": got: " + t);
+          t.printStackTrace(System.err);
+          out.println(name + "," + bc.name + ",NaN,NaN,NaN");
+        }
+        out.flush();
+      }
+    }
   }
 
   boolean on_cg_plotting = false;
@@ -666,6 +1759,36 @@ public class FoilBoard extends JApplet {
       notified = true;
     }
   }
+  // A tab whose panel is only made, and first loaded, when the tab is
+  // first selected. Until then the tab holds this empty placeholder;
+  // realize_lazy_tab(), called by the tabbed pane's change listener,
+  // swaps in the real panel. make() must also set the field that refers
+  // to the panel, code that uses that field checks for null.
+  abstract class LazyTab extends Panel {
+    private static final long serialVersionUID = 1L;
+    String name;
+    Panel panel;
+    LazyTab (String name) { this.name = name; }
+
+    abstract Panel make ();
+
+    Panel get () {
+      if (panel == null) {
+        long t0 = System.nanoTime();
+        panel = make();
+        panel.loadPanel();
+        System.out.println("-- tab " + name + ": made in " + (System.nanoTime() - t0)/1000000 + " ms");
+      }
+      return panel;
+    }
+  }
+
+  void realize_lazy_tab (javax.swing.JTabbedPane pane) {
+    Component c = pane.getSelectedComponent();
+    if (c instanceof LazyTab)
+      pane.setComponentAt(pane.getSelectedIndex(), ((LazyTab)c).get());
+  }
+
 
   class Button extends JButton {
     public Button(String text) { 
@@ -674,8 +1797,8 @@ public class FoilBoard extends JApplet {
     }
   }
 
-  static int next_foil_id = 0;
-  static Hashtable foils = new Hashtable();
+  int next_foil_id = 0;
+  Hashtable foils = new Hashtable();
   void setFoil (Foil foil) {
     // if (current_part == xxxx) new Exception(("-- setFoil foil: " + foil)).printStackTrace(System.out);
     current_part.foil = foil;
@@ -746,7 +1869,7 @@ public class FoilBoard extends JApplet {
         // (expt (/ 300000 200000.0) 0.11) 1.0456107473217757
         // (expt (/ 300000 100000.0) 0.11) 1.1284526429021564
         // (expt (/ 700000 300000.0) 0.11) 1.097684284266364
-        dragco = dragco * Math.pow((reynolds_correction_fixpt/current_part.reynolds),.11);
+        dragco = dragco * Math.pow((re_corr_fixpt()/current_part.reynolds),.11);
       }
       if (skin_drag_on) { // see [Gudmundsson] Ch.15 p 678
         double Cflam  = 1.328/Math.sqrt(current_part.reynolds);
@@ -760,6 +1883,12 @@ public class FoilBoard extends JApplet {
       return dragco;
     }
 
+    // Re at which Cd needs no correction. Foils with polars at several
+    // Re override this, see Tab15Foil
+    double re_corr_fixpt () {
+      return reynolds_correction_fixpt;
+    }
+
     // this is mainly induced drag 
     double getCdragAux (double cldin, double thickness) {
 
@@ -812,6 +1941,21 @@ public class FoilBoard extends JApplet {
 
     // if false, perform FoilSimII style slow cp_computeFlow() calc
     boolean fast_coeffs () { return false; }
+
+    // Foil methods work on current_part and solver of the FoilBoard
+    // that made them, so an engine copy needs its own foil with this name
+    Foil rebind (FoilBoard engine) {
+      Foil foil = (Foil)engine.foils.get(descr);
+      return foil != null ? foil : this;
+    }
+
+    void copy_geometry_to (Foil foil) {
+      foil.reynolds_correction_fixpt = reynolds_correction_fixpt;
+      foil.points_x = points_x;
+      foil.points_y = points_y;
+      foil.geometry = geometry;
+      foil.camber_line = camber_line;
+    }
   } // class Foil
 
   class RoundFoil extends Foil {
@@ -855,20 +1999,28 @@ public class FoilBoard extends JApplet {
 
     @Override
     double get_Cl (double effaoa) {
+      current_part.check_t_tables();
       if (current_part.t_Cl == null)
-        current_part.t_Cl = solver.compute_t_Cl(solver.t_lift_NACA4, current_part.thickness, current_part.camber);
+        current_part.t_Cl = solver.compute_t_Cl(NACA4Polars.t_lift_NACA4, current_part.thickness, current_part.camber);
       return solver.ci15(current_part.t_Cl, effaoa);
     }
 
     @Override
     double getCdragIdeal (double cldin, double effaoa, double thickness, double camber) {
-      // todo: why cache like above does not work?
-      return solver.ci15_from_javafoil_data(solver.t_drag_NACA4, effaoa, thickness, camber);
+      // plots ask for thickness/camber other than the part's, these can not use the cache
+      // (this is also why caching like above did not work before)
+      if (thickness != current_part.thickness || camber != current_part.camber)
+        return solver.ci15_from_javafoil_data(NACA4Polars.t_drag_NACA4, effaoa, thickness, camber);
+      current_part.check_t_tables();
+      if (current_part.t_Cd == null)
+        current_part.t_Cd = solver.compute_t_Cd(NACA4Polars.t_drag_NACA4, thickness, camber);
+      return solver.ci15(current_part.t_Cd, effaoa);
     }
 
     double getCmoment (double effaoa) {
+      current_part.check_t_tables();
       if (current_part.t_Cm == null)
-        current_part.t_Cm = solver.compute_t_Cm(solver.t_mmnt_NACA4, current_part.thickness, current_part.camber);
+        current_part.t_Cm = solver.compute_t_Cm(NACA4Polars.t_mmnt_NACA4, current_part.thickness, current_part.camber);
       return solver.ci15(current_part.t_Cm, effaoa);
     }
 
@@ -895,3731 +2047,4488 @@ public class FoilBoard extends JApplet {
     }
   } // class NACA4Foil
   
-  class Tab15Foil extends Foil {
-    // not yet double re;
-    double thickness;
-    double camber;
-    double[] t_lift; // Cl
-    double[] t_drag; // Cd
-    double[] t_moment; // Cm
-    String report_text;
+  // Natural cubic spline through evenly spaced knots (x0 + i*h, y[i]),
+  // with all the segment polynomials precomputed. eval() is a multiply,
+  // one clamp, a cast and a Horner step: no allocation, no warnings.
+  // Outside the table it clamps to the end values. At the knots it
+  // returns y[i] exactly.
+  static class Spline {
+    double x0, inv_h;
+    int segs; // knots - 1
+    double[] a, b, c, d; // segment i: a + t*(b + t*(c + t*d)), t = (x - x_i)/h in [0,1]
+
+    Spline (double x0, double h, double[] y) {
+      int n = y.length;
+      this.x0 = x0; this.inv_h = 1/h; segs = n - 1;
+      // second derivatives times h^2, natural ends: m[0] = m[n-1] = 0.
+      // Uniform knots: m[i-1] + 4 m[i] + m[i+1] = 6 (y[i-1] - 2 y[i] + y[i+1]),
+      // solved by the Thomas algorithm
+      double[] m = new double[n], cp = new double[n];
+      for (int i = 1; i < n - 1; i++) {
+        double rhs = 6 * (y[i-1] - 2*y[i] + y[i+1]);
+        double den = 4 - cp[i-1];
+        cp[i] = 1 / den;
+        m[i] = (rhs - m[i-1]) / den;
+      }
+      for (int i = n - 3; i >= 1; i--) 
+        m[i] -= cp[i] * m[i+1];
+      a = new double[n]; b = new double[n]; c = new double[n]; d = new double[n];
+      for (int i = 0; i < segs; i++) {
+        a[i] = y[i];
+        b[i] = (y[i+1] - y[i]) - (2*m[i] + m[i+1]) / 6;
+        c[i] = m[i] / 2;
+        d[i] = (m[i+1] - m[i]) / 6;
+      }
+      a[segs] = y[segs]; // the right end, t = 0
+    }
 
-    Tab15Foil (String descr, String print_line, String report_text, double thickness, double camber, double[] t_lift, double[] t_drag, double[] t_moment) {
-      super(descr, print_line);
-      this.report_text = report_text;
-      this.thickness = thickness;
-      this.camber = camber;
-      this.t_lift = t_lift;
-      this.t_drag = t_drag;
-      this.t_moment = t_moment;
-      check_arrays(size());
-      reynolds_correction_fixpt = 300000;
+    double eval (double x) {
+      double u = (x - x0) * inv_h;
+      if (!(u > 0)) return a[0]; // NaN too
+      if (u >= segs) return a[segs];
+      int i = (int)u;
+      double t = u - i;
+      return a[i] + t*(b[i] + t*(c[i] + t*d[i]));
     }
 
-    int size () { return 15; }
-    @Override
-    boolean fast_coeffs () { return true; }
-
-    void check_arrays (int sz) {
-      if (t_lift.length != sz) 
-        System.out.println("ERROR: foil " + descr + "has wrong length of Cl array: " + t_lift.length);
-      if (t_drag.length != sz) 
-        System.out.println("ERROR: foil " + descr + "has wrong length of Cd array: " + t_drag.length);
+    // batch version, out[k] = eval(x[k]) 
+    void eval (double[] x, double[] out, int count) {
+      for (int k = 0; k < count; k++) out[k] = eval(x[k]);
     }
 
-    @Override
-    double get_Cl (double effaoa) {
-      return solver.ci15(t_lift, effaoa);
+    // the spline of table y, made once and shared by all FoilBoard
+    // instances. Keyed by the array itself: arrays have identity equals
+    // and hashCode, and tables are never modified in place. Weak keys,
+    // so that tables of imported foils that are gone again do not stay;
+    // a Spline keeps no reference to its y
+    static java.util.WeakHashMap<double[], Spline> shared = new java.util.WeakHashMap<double[], Spline>();
+    static synchronized Spline of (double x0, double h, double[] y) {
+      Spline s = shared.get(y);
+      if (s == null || s.x0 != x0 || s.inv_h != 1/h) {
+        s = new Spline(x0, h, y);
+        shared.put(y, s);
+      }
+      return s;
     }
+  }
 
-    @Override
-    double getCdragIdeal (double cldin, double effaoa, double thickness, double camber) {
-      return solver.ci15(t_drag, effaoa);
-    }
+  // The polar tables of the built-in foils, in a class of their own:
+  // the JVM builds them once, the first time any of them is used, and
+  // all FoilBoard instances (engine copies too) share them. Tables are
+  // never modified in place.
+  static class TabPolars {
+    // Name = AQUILA 9.3% smoothed
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finis    // h = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      //     Cd       Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     //     [-]      [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.1    // 25   0.39381 -0.021  0.893   0.006   0.931   0.015   -0.317  0.278   0.082
+    // -24.0    -0.1    // 63   0.29085 -0.020  0.887   0.007   0.931   0.014   -0.561  0.272   0.128
+    // -20.0    -0.2    // 16   0.21866 -0.019  0.881   0.006   0.933   0.011   -0.989  0.259   0.162
+    // -16.0    -0.2    // 83   0.16381 -0.019  0.862   0.006   0.937   0.010   -1.727  0.251   0.183
+    // -12.0    -0.3    // 36   0.09896 -0.019  0.823   0.006   0.943   0.009   -3.398  0.241   0.194
+    // -8.0     -0.2    // 88   0.06640 -0.019  0.728   0.005   0.960   0.007   -4.342  0.253   0.184
+    // -4.0     -0.0    // 45   0.03735 -0.020  0.593   0.005   0.975   0.006   -1.216  0.310   -0.186
+    // -0.0     0.40    // 0    0.00847 -0.060  0.462   0.012   0.982   0.989   47.277  0.300   0.400
+    // 4.0      0.86    // 4    0.00661 -0.066  0.307   0.946   0.986   0.988   130.772 0.263   0.326
+    // 8.0      1.29    // 4    0.01596 -0.071  0.152   0.998   0.955   0.998   81.085  0.263   0.305
+    // 12.0     1.38    // 8    0.03889 -0.072  0.002   1.000   0.635   1.000   35.696  0.403   0.302
+    // 16.0     1.00    // 4    0.14560 -0.027  0.001   1.000   0.003   1.000   6.895   0.311   0.277
+    // 20.0     0.68    // 5    0.24856 -0.029  0.001   1.000   0.003   1.000   2.758   0.235   0.293
+    // 24.0     0.44    // 3    0.33959 -0.036  0.001   1.000   0.005   1.000   1.304   0.221   0.331
+    // 28.0     0.29    // 2    0.48325 -0.041  0.001   0.999   0.007   0.999   0.604   0.218   0.389
+    //                  // 
+    static final double[] t_lift_AQUILA_9p3 = {-0.1 ,-0.1 ,-0.2 ,-0.2 ,-0.3 ,-0.2 ,-0.0 ,0.40 ,0.86 ,1.29 ,1.38 ,1.00 ,0.68 ,0.44 ,0.29 };
+    static final double[] t_drag_AQUILA_9p3 = {0.39381, 0.29085, 0.21866, 0.16381, 0.09896, 0.06640, 0.03735, 0.00847, 0.00661, 0.01596, 0.03889, 0.14560, 0.24856, 0.33959, 0.48325 };
+    static final double[] t_mmnt_AQUILA_9p3 = {-0.021, -0.020, -0.019, -0.019, -0.019, -0.019, -0.020, -0.060, -0.066, -0.071, -0.072, -0.027, -0.029, -0.036, -0.041};
 
-    @Override
-    double getCmoment (double effaoa) {
-      return t_moment == null ? 0 : solver.ci15(t_moment, effaoa);
-    }
 
-    @Override
-    void adjust_foil_shape_in_tab () {
-      current_part.thickness = thickness;
-      current_part.camber = camber;
-      // current_part.camber/25 = current_part.camber / 25.0;
-      in.shp.set_camber_and_thickness_controls(false);
-    }
+    // Name = NACA 63-412 AIRFOIL
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.246  0.48435 -0.015  0.945   0.002   1.000   0.011   -0.508  0.246   0.188
+    // -24.0    -0.341  0.38844 -0.016  0.930   0.002   1.000   0.008   -0.878  0.237   0.204
+    // -20.0    -0.474  0.25074 -0.018  0.920   0.003   1.000   0.009   -1.889  0.231   0.212
+    // -16.0    -0.614  0.14833 -0.021  0.900   0.004   1.000   0.010   -4.138  0.225   0.216
+    // -12.0    -0.641  0.08843 -0.022  0.845   0.007   1.000   0.008   -7.245  0.274   0.215
+    // -8.0     -0.425  0.05258 -0.025  0.751   0.008   1.000   0.009   -8.089  0.338   0.190
+    // -4.0     -0.087  0.01062 -0.071  0.647   0.009   1.000   0.931   -8.197  0.316   -0.567
+    // -0.0     0.386   0.00814 -0.079  0.547   0.517   1.000   0.954   47.401  0.266   0.455
+    // 4.0      0.856   0.01400 -0.087  0.006   0.660   1.000   0.954   61.186  0.173   0.351
+    // 8.0      0.981   0.05228 -0.033  0.004   0.705   0.005   0.955   18.765  0.029   0.284
+    // 12.0     1.087   0.08887 -0.036  0.005   0.838   0.005   0.957   12.228  0.935   0.283
+    // 16.0     0.989   0.15306 -0.038  0.004   0.888   0.006   0.951   6.461   0.232   0.289
+    // 20.0     0.708   0.22957 -0.043  0.004   0.922   0.007   0.951   3.085   0.232   0.310
+    // 24.0     0.480   0.34907 -0.048  0.003   0.930   0.009   0.956   1.375   0.226   0.350
+    // 28.0     0.329   0.46304 -0.052  0.002   0.930   0.011   0.956   0.710   0.223   0.408
 
-    @Override
-    String genReportText (double thickness, double camber) {
-      return report_text;
-    }
-  }
+    static final double[] t_lift_NACA_63_412 = {-0.246, -0.341, -0.474, -0.614, -0.641, -0.425, -0.087, 0.386 , 0.856 , 0.981 , 1.087 , 0.989 , 0.708 , 0.480 , 0.329     };
 
-  class Tab25Foil extends Tab15Foil {
+    static final double[] t_drag_NACA_63_412 = {0.48435, 0.38844, 0.25074, 0.14833, 0.08843, 0.05258, 0.01062, 0.00814, 0.01400, 0.05228, 0.08887, 0.15306, 0.22957, 0.34907, 0.46304  };
+    static final double[] t_mmnt_NACA_63_412 = {-0.015, -0.016, -0.018, -0.021, -0.022, -0.025, -0.071, -0.079, -0.087, -0.033, -0.036, -0.038, -0.043, -0.048, -0.052};
 
-    Tab25Foil (String descr, String print_line, String report_text, double thickness, double camber, double[] t_lift, double[] t_drag, double[] t_moment) {
-      super(descr, print_line, report_text, thickness, camber, t_lift, t_drag, t_moment);
-      reynolds_correction_fixpt = 300000;
-    }
+    // attempt to model Bladerider foil. Bladerider foil is modified NACA_63_412 with flap down.
+    // the following is produced with (1) NACA_63_412 data from airfoils site inserted in javafoil
+    // (2) that foil is modded with trailing gap = 1, flaps: 3- 1, 25 1, 20 1.
 
-    @Override
-    int size () { return 25; }
+    // Name = NACA 63-412 AIRFOIL modded
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.264  0.45319 -0.024  0.999   0.002   0.999   0.010   -0.582  0.231   0.160
+    // -24.0    -0.364  0.37355 -0.026  0.999   0.002   0.999   0.008   -0.974  0.224   0.179
+    // -20.0    -0.493  0.22506 -0.030  0.999   0.003   0.999   0.010   -2.191  0.219   0.190
+    // -16.0    -0.599  0.14758 -0.033  0.862   0.005   0.999   0.010   -4.055  0.135   0.195
+    // -12.0    -0.542  0.09361 -0.035  0.824   0.007   0.999   0.008   -5.788  0.270   0.185
+    // -8.0     -0.255  0.06026 -0.040  0.799   0.008   0.999   0.009   -4.232  0.358   0.094
+    // -4.0     0.148   0.01756 -0.110  0.751   0.416   0.999   0.956   8.449   0.340   0.991
+    // -0.0     0.625   0.01845 -0.119  0.568   0.520   0.999   0.958   33.893  0.269   0.440
+    // 4.0      1.086   0.02570 -0.128  0.006   0.650   0.999   0.958   42.265  0.108   0.368
+    // 8.0      1.124   0.06436 -0.048  0.004   0.677   0.005   0.959   17.464  -0.733  0.293
+    // 12.0     1.165   0.10404 -0.051  0.005   0.699   0.005   0.960   11.194  0.216   0.294
+    // 16.0     0.974   0.17417 -0.053  0.004   0.951   0.005   0.952   5.593   0.238   0.305
+    // 20.0     0.676   0.24795 -0.057  0.004   0.951   0.006   0.952   2.728   0.228   0.334
+    // 24.0     0.456   0.37413 -0.065  0.002   0.960   0.010   0.961   1.219   0.220   0.392
+    // 28.0     0.314   0.51586 -0.068  0.002   0.960   0.011   0.961   0.608   0.229   0.466
+    // 
 
-    @Override
-    double get_Cl (double effaoa) {
-      return solver.ci25(t_lift, effaoa);
-    }
+    static final double[] t_lift_NACA_63_412_mod_flap_v1 = {-0.264, -0.364, -0.493, -0.599, -0.542, -0.255, 0.148 , 0.625 , 1.086 , 1.124 , 1.165 , 0.974 , 0.676 , 0.456 , 0.314   };
+    static final double[] t_drag_NACA_63_412_mod_flap_v1 = {0.45319, 0.37355, 0.22506, 0.14758, 0.09361, 0.06026, 0.01756, 0.01845, 0.02570, 0.06436, 0.10404, 0.17417, 0.24795, 0.37413, 0.51586  };
+    static final double[] t_mmnt_NACA_63_412_mod_flap_v1 = {-0.024, -0.026, -0.030, -0.033, -0.035, -0.040, -0.110, -0.119, -0.128, -0.048, -0.051, -0.053, -0.057, -0.065, -0.068};
 
-    @Override
-    double getCdragIdeal (double cldin, double effaoa, double thickness, double camber) {
-      return solver.ci25(t_drag, effaoa);
-    }
 
-    @Override
-    double getCmoment (double effaoa) {
-      return t_moment == null ? 0 : solver.ci25(t_moment, effaoa);
-    }
+    // Name = SD7084 (9.6%)
+    // Mach = 0; Re = 700000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    // Alpha   Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    //         [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0   -0.134  0.38042 -0.012  1.000   0.002   1.000   0.022   -0.353  0.253   0.161
+    // -24.0   -0.192  0.27887 -0.012  0.989   0.002   1.000   0.020   -0.690  0.251   0.189
+    // -20.0   -0.285  0.20817 -0.012  0.953   0.002   1.000   0.016   -1.370  0.251   0.209
+    // -16.0   -0.421  0.16472 -0.012  0.918   0.002   1.000   0.011   -2.555  0.252   0.223
+    // -12.0   -0.548  0.09257 -0.011  0.882   0.003   1.000   0.006   -5.916  0.215   0.229
+    // -8.0    -0.475  0.05259 -0.013  0.843   0.005   1.000   0.009   -9.030  0.330   0.222
+    // -4.0    -0.214  0.00829 -0.038  0.784   0.007   1.000   0.998   -25.880 0.290   0.072
+    // -0.0    0.251   0.00531 -0.043  0.581   0.766   1.000   0.998   47.285  0.260   0.420
+    // 4.0     0.717   0.00687 -0.047  0.238   0.972   0.992   0.991   104.263 0.261   0.316
+    // 8.0     1.111   0.01504 -0.052  0.007   0.981   0.940   0.992   73.861  0.261   0.297
+    // 12.0    1.068   0.03960 -0.051  0.001   0.988   0.517   0.992   26.978  0.316   0.298
+    // 16.0    0.706   0.13343 -0.025  0.001   0.989   0.009   0.993   5.293   0.288   0.286
+    // 20.0    0.452   0.20179 -0.028  0.001   0.990   0.010   0.994   2.238   0.235   0.311
+    // 24.0    0.286   0.29604 -0.031  0.001   0.991   0.012   0.994   0.966   0.216   0.360
+    // 28.0    0.189   0.38724 -0.037  0.001   0.991   0.018   0.996   0.488   0.197   0.444
 
-  }
 
+    static final double[] t_lift_SD7084 = {-0.134, -0.192, -0.285, -0.421, -0.548, -0.475, -0.214, 0.251, 0.717, 1.111, 1.068, 0.706, 0.452, 0.286, 0.189};
+    static final double[] t_drag_SD7084 = {0.38042, 0.27887, 0.20817, 0.16472, 0.09257, 0.05259, 0.00829, 0.00531, 0.00687, 0.01504, 0.03960, 0.13343, 0.20179, 0.29604, 0.38724};
+    static final double[] t_mmnt_SD7084 = {-0.012, -0.012, -0.012, -0.012, -0.011, -0.013, -0.038, -0.043, -0.047, -0.052, -0.051, -0.025, -0.028, -0.031, -0.037};
 
-  // see [Gudmundsson, App C1], p46-47
-  // get_Cl, get_Cd and getCmoment are polynomial,
-  // approximating experimental data
-  class NACA_R540_3pct_round_Foil extends Foil {
-    // not yet double re;
-    String report_text;
 
-    NACA_R540_3pct_round_Foil (String descr, String print_line, String report_text) {
-      super(descr, print_line);
-      this.report_text = report_text;
-    }
 
-    @Override
-    boolean fast_coeffs () { return true; }
+    // Name = SD8040 (10%)
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    // alpha   Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0   -0.214  0.42136 -0.021  0.977   0.005   0.988   0.015   -0.508  0.263   0.150
+    // -24.0   -0.285  0.31478 -0.021  0.973   0.004   0.988   0.013   -0.904  0.259   0.178
+    // -20.0   -0.380  0.22511 -0.020  0.958   0.004   0.988   0.011   -1.690  0.260   0.198
+    // -16.0   -0.488  0.17173 -0.019  0.928   0.003   0.989   0.007   -2.845  0.262   0.212
+    // -12.0   -0.543  0.09601 -0.018  0.889   0.004   0.990   0.005   -5.651  0.270   0.217
+    // -8.0    -0.423  0.05525 -0.020  0.837   0.004   0.990   0.007   -7.648  0.344   0.203
+    // -4.0    -0.139  0.00857 -0.056  0.758   0.011   0.992   0.996   -16.265 0.302   -0.151
+    // -0.0    0.331   0.00658 -0.059  0.563   0.718   0.994   0.998   50.258  0.257   0.429
+    // 4.0     0.797   0.00897 -0.063  0.252   0.956   0.990   0.992   88.852  0.258   0.329
+    // 8.0     1.208   0.01785 -0.066  0.037   0.990   0.928   0.996   67.647  0.255   0.305
+    // 12.0    1.391   0.03665 -0.066  0.008   0.997   0.642   0.997   37.960  0.746   0.297
+    // 16.0    1.153   0.13607 -0.039  0.004   0.997   0.035   0.997   8.475   0.312   0.284
+    // 20.0    0.909   0.21938 -0.036  0.002   0.997   0.017   0.997   4.145   0.261   0.290
+    // 24.0    0.659   0.33062 -0.034  0.001   0.998   0.009   0.998   1.993   0.256   0.302
+    // 28.0    0.470   0.48375 -0.033  0.001   0.998   0.006   0.998   0.971   0.254   0.321
 
-    @Override
-    double get_Cl (double effaoa) {
-      double pos_aoa = Math.abs(effaoa);
-      double cl_17pst = 0.0009223 *pos_aoa + 0.001153 * pos_aoa * pos_aoa;
-      if (effaoa < 0) cl_17pst = -cl_17pst;
-      return cl_17pst / 2.5;
-    }
 
-    @Override
-    double get_Cd (double cldin, double effaoa, double thickness, double camber, boolean save_p) {
-      double cd_17pst =  0.06672 - 0.001406 * effaoa + 0.00036 * effaoa * effaoa;
-      double _cd = cd_17pst / 3.5;
-      if (save_p) {
-        current_part.cd_profile = _cd;
-        current_part.cd_aux = 0;
-        current_part.cd = _cd;
-      }
-      return _cd;
-    }
+    static final double[] t_lift_SD8040 = {-0.214, -0.285, -0.380, -0.488, -0.543, -0.423, -0.139, 0.331, 0.797, 1.208, 1.391, 1.153, 0.909, 0.659, 0.470};
+    static final double[] t_drag_SD8040 = {0.42136, 0.31478, 0.22511, 0.17173, 0.09601, 0.05525, 0.00857, 0.00658, 0.00897, 0.01785, 0.03665, 0.13607, 0.21938, 0.33062, 0.48375};
 
-    @Override
-    double getCmoment (double effaoa) {
-      return 0.01 * effaoa // very rough but good enough. 
-        // compensate AR corrections of compute_cm 
-        * (4/0.03);
-    }
+    // the same at AoA -24 to 24 step 2, as used by the built-in SD8040 (Tab25Foil)
+    static final double[] t_lift_SD8040_25 = {-0.285, -0.329, -0.380, -0.435, -0.488, -0.530, -0.543, -0.510, -0.423, -0.285, -0.139, 0.094, 0.331, 0.565, 0.797, 1.016, 1.208, 1.347, 1.391, 1.246, 1.153, 1.040, 0.909, 0.778, 0.659};
+    static final double[] t_drag_SD8040_25 = {0.31478, 0.26102, 0.22511, 0.18655, 0.17173, 0.13065, 0.09601, 0.07197, 0.05525, 0.04206, 0.00857, 0.00694, 0.00658, 0.00724, 0.00897, 0.01362, 0.01785, 0.02344, 0.03665, 0.09541, 0.13607, 0.17206, 0.21938, 0.27645, 0.33062};
+    static final double[] t_mmnt_SD8040_25 = {-0.021, -0.020, -0.020, -0.019, -0.019, -0.018, -0.018, -0.019, -0.020, -0.024, -0.056, -0.058, -0.059, -0.061, -0.063, -0.065, -0.066, -0.067, -0.066, -0.050, -0.039, -0.036, -0.036, -0.035, -0.034};
 
-    @Override
-    String genReportText (double thickness, double camber) {
-      return report_text;
-    }
 
-    @Override
-    void adjust_foil_shape_in_tab () {
-      current_part.thickness = 3;
-      current_part.camber = 0;
-      // current_part.camber/25 = current_part.camber / 25.0;
-      in.shp.set_camber_and_thickness_controls(false);
-    }
 
-  }
+    // NACA 6 series variants
+    // use this to convert excel column of 25 values to array initializer:
+    /* 
+       (fset 'conv_25_rows_to_array_initializer
+       [?\C-y ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\C-a ?\{ ?\C-e ?\} ?\C-  ?\C-\M-b ?\C-e ?\C-  ?\C-a ?\C-x ?n ?n ?\C-a ?\M-x ?r ?e ?p ?l ?  ?s ?t ?r ?i ?n ?g return ?  return ?, ?  return ?\C-b ?\C-b ?\C-d ?\C-d ?\C-a ?\C-x ?n ?w])
+    */
 
+    // NACA 64_814 with TE gap = 0.5%
+    static final double[] t_lift_NACA_64_814_teg05 = {-0.436, -0.495, -0.549, -0.585, -0.585, -0.521, -0.415, -0.271, -0.097, 0.112, 0.353, 0.596, 0.835, 1.073, 1.302, 1.494, 1.644, 1.715, 1.408, 1.315, 1.167, 1.003, 0.843, 0.702, 0.584};
+    static final double[] t_drag_NACA_64_814_teg05 = {0.31324, 0.2687, 0.21301, 0.17075, 0.13549, 0.1072, 0.08288, 0.06413, 0.05002, 0.01114, 0.00998, 0.00805, 0.00833, 0.00811, 0.00777, 0.021, 0.02575, 0.03206, 0.08869, 0.11247, 0.14528, 0.18438, 0.23803, 0.29672, 0.34426};
+  } // TabPolars
 
-  Foil foil_arr[] = {
-    new NACA4Foil("NACA 4 Series", "\n NACA 4 Series Foil"),
-    // Tabulated Foils go here
-    new Tab15Foil("Aquila 9.3%", "\n Aquila 9.3% Airfoil", 
-                  "\n\n Tabulated Foil. Get geometry from this link:" +
-                  "\n  http://airfoiltools.com/airfoil/details?airfoil=aquilasm-il",
-                  9.3, 4, 
-                  // Name = AQUILA 9.3% smoothed
-                  // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-                  // Surface Finis    // h = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-                  //       Cl         //      Cd       Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-                  // [ ]   [-]        //      [-]      [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-                  // -28.0    -0.1    // 25   0.39381 -0.021  0.893   0.006   0.931   0.015   -0.317  0.278   0.082
-                  // -24.0    -0.1    // 63   0.29085 -0.020  0.887   0.007   0.931   0.014   -0.561  0.272   0.128
-                  // -20.0    -0.2    // 16   0.21866 -0.019  0.881   0.006   0.933   0.011   -0.989  0.259   0.162
-                  // -16.0    -0.2    // 83   0.16381 -0.019  0.862   0.006   0.937   0.010   -1.727  0.251   0.183
-                  // -12.0    -0.3    // 36   0.09896 -0.019  0.823   0.006   0.943   0.009   -3.398  0.241   0.194
-                  // -8.0     -0.2    // 88   0.06640 -0.019  0.728   0.005   0.960   0.007   -4.342  0.253   0.184
-                  // -4.0     -0.0    // 45   0.03735 -0.020  0.593   0.005   0.975   0.006   -1.216  0.310   -0.186
-                  // -0.0     0.40    // 0    0.00847 -0.060  0.462   0.012   0.982   0.989   47.277  0.300   0.400
-                  // 4.0      0.86    // 4    0.00661 -0.066  0.307   0.946   0.986   0.988   130.772 0.263   0.326
-                  // 8.0      1.29    // 4    0.01596 -0.071  0.152   0.998   0.955   0.998   81.085  0.263   0.305
-                  // 12.0     1.38    // 8    0.03889 -0.072  0.002   1.000   0.635   1.000   35.696  0.403   0.302
-                  // 16.0     1.00    // 4    0.14560 -0.027  0.001   1.000   0.003   1.000   6.895   0.311   0.277
-                  // 20.0     0.68    // 5    0.24856 -0.029  0.001   1.000   0.003   1.000   2.758   0.235   0.293
-                  // 24.0     0.44    // 3    0.33959 -0.036  0.001   1.000   0.005   1.000   1.304   0.221   0.331
-                  // 28.0     0.29    // 2    0.48325 -0.041  0.001   0.999   0.007   0.999   0.604   0.218   0.389
-                  //                  // 
-                  new double[]{-0.1 ,-0.1 ,-0.2 ,-0.2 ,-0.3 ,-0.2 ,-0.0 ,0.40 ,0.86 ,1.29 ,1.38 ,1.00 ,0.68 ,0.44 ,0.29 },
-                  new double[]{0.39381, 0.29085, 0.21866, 0.16381, 0.09896, 0.06640, 0.03735, 0.00847, 0.00661, 0.01596, 0.03889, 0.14560, 0.24856, 0.33959, 0.48325 },
-                  new double[]{-0.021, -0.020, -0.019, -0.019, -0.019, -0.019, -0.020, -0.060, -0.066, -0.071, -0.072, -0.027, -0.029, -0.036, -0.041}),
-    new Tab15Foil("NACA 63-412", "\n NACA 63-412 Foil",
-                  "\n\n Tabulated Foil. Get geometry from this link:" +
-                  "\n  http://airfoiltools.com/airfoil/details?airfoil=n63412-il",
-                  12, 3.3, 
-                  // Name = NACA 63-412 AIRFOIL
-                  // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-                  // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-                  //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-                  // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-                  // -28.0    -0.246  0.48435 -0.015  0.945   0.002   1.000   0.011   -0.508  0.246   0.188
-                  // -24.0    -0.341  0.38844 -0.016  0.930   0.002   1.000   0.008   -0.878  0.237   0.204
-                  // -20.0    -0.474  0.25074 -0.018  0.920   0.003   1.000   0.009   -1.889  0.231   0.212
-                  // -16.0    -0.614  0.14833 -0.021  0.900   0.004   1.000   0.010   -4.138  0.225   0.216
-                  // -12.0    -0.641  0.08843 -0.022  0.845   0.007   1.000   0.008   -7.245  0.274   0.215
-                  // -8.0     -0.425  0.05258 -0.025  0.751   0.008   1.000   0.009   -8.089  0.338   0.190
-                  // -4.0     -0.087  0.01062 -0.071  0.647   0.009   1.000   0.931   -8.197  0.316   -0.567
-                  // -0.0     0.386   0.00814 -0.079  0.547   0.517   1.000   0.954   47.401  0.266   0.455
-                  // 4.0      0.856   0.01400 -0.087  0.006   0.660   1.000   0.954   61.186  0.173   0.351
-                  // 8.0      0.981   0.05228 -0.033  0.004   0.705   0.005   0.955   18.765  0.029   0.284
-                  // 12.0     1.087   0.08887 -0.036  0.005   0.838   0.005   0.957   12.228  0.935   0.283
-                  // 16.0     0.989   0.15306 -0.038  0.004   0.888   0.006   0.951   6.461   0.232   0.289
-                  // 20.0     0.708   0.22957 -0.043  0.004   0.922   0.007   0.951   3.085   0.232   0.310
-                  // 24.0     0.480   0.34907 -0.048  0.003   0.930   0.009   0.956   1.375   0.226   0.350
-                  // 28.0     0.329   0.46304 -0.052  0.002   0.930   0.011   0.956   0.710   0.223   0.408
+  // javafoil polars of NACA 4 digit foils, see Solver.ci15_from_javafoil_data.
+  // Built the first time a part with the NACA 4 Series foil needs its tables
+  static class NACA4Polars {
+    // NACA(camber)4(thickness) airfoil drag tables computed by
+    // javafoil for NAcA 4 digit geometry and -28 to +28 step 4 AoA
+    // and for Re=300000 and infine aspect ratio, Used for
+    // interpolation instead of original FoilSim III polynomials.  The
+    // reynolds correction and induced drag low aspect corrections of
+    // FoilSim would then apply (see the end of get_Cd() method).
+    // Tables produced by dmitrynizh 2016.
 
-                  new double[]{-0.246, -0.341, -0.474, -0.614, -0.641, -0.425, -0.087, 0.386 , 0.856 , 0.981 , 1.087 , 0.989 , 0.708 , 0.480 , 0.329     },
-                  new double[]{0.48435, 0.38844, 0.25074, 0.14833, 0.08843, 0.05258, 0.01062, 0.00814, 0.01400, 0.05228, 0.08887, 0.15306, 0.22957, 0.34907, 0.46304  },
-                  new double[]{-0.015, -0.016, -0.018, -0.021, -0.022, -0.025, -0.071, -0.079, -0.087, -0.033, -0.036, -0.038, -0.043, -0.048, -0.052}),
-    new Tab15Foil("Moth Bladerider V1", "\n Bladerider, modded NACA 63-412 with flap",
-                  "\n\n Tabulated Foil." +
-                  "\nAttempt to model Bladerider foil of International Moth Hydrofoiling Dinghy." +
-                  "\nBladerider foil is modified NACA_63_412 with flap down." +
-                  "\n  http://mothballone.blogspot.com/2013/07/bladerider-foil-mods.html" +
-                  "\nGet geometry from Javafoil by:" +
-                  "\n(1) obtaining geometry from " +
-                  "\n  http://airfoiltools.com/airfoil/details?airfoil=n63412-il" +
-                  "\n(2) inserting that into javafoil" +
-                  "\n(3) mod it with trailing gap = 1, flaps: 3- 1, 25 1, 20 1.",
-                  12, 4,
-                  // attempt to model Bladerider foil. Bladerider foil is modified NACA_63_412 with flap down.
-                  // the following is produced with (1) NACA_63_412 data from airfoils site inserted in javafoil
-                  // (2) that foil is modded with trailing gap = 1, flaps: 3- 1, 25 1, 20 1.
+    // Name = NACA 0005
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.034  0.41708 0.007   1.000   0.004   1.000   0.016   -0.082  0.208   0.467
+    // -24.0    -0.052  0.31201 0.007   1.000   0.003   1.000   0.016   -0.167  0.214   0.377
+    // -20.0    -0.086  0.22381 0.006   1.000   0.003   1.000   0.013   -0.386  0.227   0.314
+    // -16.0    -0.156  0.23465 0.004   1.000   0.002   1.000   0.009   -0.667  0.238   0.277
+    // -12.0    -0.302  0.12617 0.003   1.000   0.002   1.000   0.006   -2.396  0.242   0.260
+    // -8.0     -0.489  0.06937 0.002   1.000   0.001   1.000   0.003   -7.043  0.212   0.254
+    // -4.0     -0.353  0.03531 0.001   0.990   0.005   1.000   0.008   -9.988  0.254   0.253
+    // -0.0     -0.000  0.00661 -0.000  0.909   0.909   1.000   0.999   -0.000  0.253   0.250
+    // 4.0      0.353   0.03531 -0.001  0.005   0.990   0.008   0.998   9.988   0.254   0.253
+    // 8.0      0.489   0.06937 -0.002  0.001   0.998   0.003   0.998   7.043   0.212   0.254
+    // 12.0     0.302   0.12617 -0.003  0.002   0.998   0.006   0.998   2.396   0.242   0.260
+    // 16.0     0.156   0.23465 -0.004  0.002   0.998   0.009   0.999   0.667   0.238   0.277
+    // 20.0     0.086   0.22381 -0.006  0.003   0.998   0.013   0.999   0.386   0.227   0.314
+    // 24.0     0.052   0.31201 -0.007  0.003   0.998   0.016   0.999   0.167   0.214   0.377
+    // 28.0     0.034   0.41708 -0.007  0.004   0.998   0.016   0.998   0.082   0.208   0.467
 
-                  // Name = NACA 63-412 AIRFOIL modded
-                  // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-                  // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-                  //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-                  // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-                  // -28.0    -0.264  0.45319 -0.024  0.999   0.002   0.999   0.010   -0.582  0.231   0.160
-                  // -24.0    -0.364  0.37355 -0.026  0.999   0.002   0.999   0.008   -0.974  0.224   0.179
-                  // -20.0    -0.493  0.22506 -0.030  0.999   0.003   0.999   0.010   -2.191  0.219   0.190
-                  // -16.0    -0.599  0.14758 -0.033  0.862   0.005   0.999   0.010   -4.055  0.135   0.195
-                  // -12.0    -0.542  0.09361 -0.035  0.824   0.007   0.999   0.008   -5.788  0.270   0.185
-                  // -8.0     -0.255  0.06026 -0.040  0.799   0.008   0.999   0.009   -4.232  0.358   0.094
-                  // -4.0     0.148   0.01756 -0.110  0.751   0.416   0.999   0.956   8.449   0.340   0.991
-                  // -0.0     0.625   0.01845 -0.119  0.568   0.520   0.999   0.958   33.893  0.269   0.440
-                  // 4.0      1.086   0.02570 -0.128  0.006   0.650   0.999   0.958   42.265  0.108   0.368
-                  // 8.0      1.124   0.06436 -0.048  0.004   0.677   0.005   0.959   17.464  -0.733  0.293
-                  // 12.0     1.165   0.10404 -0.051  0.005   0.699   0.005   0.960   11.194  0.216   0.294
-                  // 16.0     0.974   0.17417 -0.053  0.004   0.951   0.005   0.952   5.593   0.238   0.305
-                  // 20.0     0.676   0.24795 -0.057  0.004   0.951   0.006   0.952   2.728   0.228   0.334
-                  // 24.0     0.456   0.37413 -0.065  0.002   0.960   0.010   0.961   1.219   0.220   0.392
-                  // 28.0     0.314   0.51586 -0.068  0.002   0.960   0.011   0.961   0.608   0.229   0.466
-                  // 
+    static final double[] t_lift_NACA4_0005 = {-0.034, -0.052, -0.086, -0.156, -0.302, -0.489, -0.353, -0.000, 0.353 , 0.489 , 0.302 , 0.156 , 0.086 , 0.052 , 0.034     };
 
-                  new double[]{-0.264, -0.364, -0.493, -0.599, -0.542, -0.255, 0.148 , 0.625 , 1.086 , 1.124 , 1.165 , 0.974 , 0.676 , 0.456 , 0.314   },
-                  new double[]{0.45319, 0.37355, 0.22506, 0.14758, 0.09361, 0.06026, 0.01756, 0.01845, 0.02570, 0.06436, 0.10404, 0.17417, 0.24795, 0.37413, 0.51586  },
-                  new double[]{-0.024, -0.026, -0.030, -0.033, -0.035, -0.040, -0.110, -0.119, -0.128, -0.048, -0.051, -0.053, -0.057, -0.065, -0.068}),
-    new Tab15Foil("SD7084", "\n Selig/Donovan 9.6% low Reynolds number foil",
-                  "\n\n Tabulated Foil. Get geometry from this link:" +
-                  "\n  http://airfoiltools.com/airfoil/details?airfoil=sd7084-il",
-                  9.6, 2.3,
-                  // Name = SD7084 (9.6%)
-                  // Mach = 0; Re = 700000; T.U. = 1.0; T.L. = 1.0
-                  // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-                  // Alpha   Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-                  //         [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-                  // -28.0   -0.134  0.38042 -0.012  1.000   0.002   1.000   0.022   -0.353  0.253   0.161
-                  // -24.0   -0.192  0.27887 -0.012  0.989   0.002   1.000   0.020   -0.690  0.251   0.189
-                  // -20.0   -0.285  0.20817 -0.012  0.953   0.002   1.000   0.016   -1.370  0.251   0.209
-                  // -16.0   -0.421  0.16472 -0.012  0.918   0.002   1.000   0.011   -2.555  0.252   0.223
-                  // -12.0   -0.548  0.09257 -0.011  0.882   0.003   1.000   0.006   -5.916  0.215   0.229
-                  // -8.0    -0.475  0.05259 -0.013  0.843   0.005   1.000   0.009   -9.030  0.330   0.222
-                  // -4.0    -0.214  0.00829 -0.038  0.784   0.007   1.000   0.998   -25.880 0.290   0.072
-                  // -0.0    0.251   0.00531 -0.043  0.581   0.766   1.000   0.998   47.285  0.260   0.420
-                  // 4.0     0.717   0.00687 -0.047  0.238   0.972   0.992   0.991   104.263 0.261   0.316
-                  // 8.0     1.111   0.01504 -0.052  0.007   0.981   0.940   0.992   73.861  0.261   0.297
-                  // 12.0    1.068   0.03960 -0.051  0.001   0.988   0.517   0.992   26.978  0.316   0.298
-                  // 16.0    0.706   0.13343 -0.025  0.001   0.989   0.009   0.993   5.293   0.288   0.286
-                  // 20.0    0.452   0.20179 -0.028  0.001   0.990   0.010   0.994   2.238   0.235   0.311
-                  // 24.0    0.286   0.29604 -0.031  0.001   0.991   0.012   0.994   0.966   0.216   0.360
-                  // 28.0    0.189   0.38724 -0.037  0.001   0.991   0.018   0.996   0.488   0.197   0.444
-                  new double[]{-0.134, -0.192, -0.285, -0.421, -0.548, -0.475, -0.214, 0.251, 0.717, 1.111, 1.068, 0.706, 0.452, 0.286, 0.189},
-                  new double[]{0.38042, 0.27887, 0.20817, 0.16472, 0.09257, 0.05259, 0.00829, 0.00531, 0.00687, 0.01504, 0.03960, 0.13343, 0.20179, 0.29604, 0.38724},
-                  new double[]{-0.012, -0.012, -0.012, -0.012, -0.011, -0.013, -0.038, -0.043, -0.047, -0.052, -0.051, -0.025, -0.028, -0.031, -0.037}),
-    new Tab25Foil("SD8040", "\n Selig/Donovan 10% low Reynolds number foil",
-                  "\n\n Tabulated Foil. Get geometry from this link:" +
-                  "\n http://airfoiltools.com/airfoil/details?airfoil=sd8040-il",
-                  10, 2.1, 
 
-   // Name = SD8040 (10%)
-   // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-   // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-   //     Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-   // []  [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-   // -24.0   -0.285  0.31478 -0.021  0.973   0.004   0.988   0.013   -0.904  0.259   0.178
-   // -22.0   -0.329  0.26102 -0.020  0.969   0.004   0.988   0.012   -1.262  0.257   0.189
-   // -20.0   -0.380  0.22511 -0.020  0.958   0.004   0.988   0.011   -1.690  0.259   0.198
-   // -18.0   -0.435  0.18655 -0.019  0.945   0.003   0.988   0.009   -2.333  0.263   0.206
-   // -16.0   -0.488  0.17173 -0.019  0.928   0.003   0.989   0.007   -2.845  0.262   0.212
-   // -14.0   -0.530  0.13065 -0.018  0.909   0.003   0.989   0.006   -4.053  0.259   0.216
-   // -12.0   -0.543  0.09601 -0.018  0.889   0.004   0.990   0.005   -5.651  0.282   0.217
-   // -10.0   -0.510  0.07197 -0.019  0.864   0.004   0.990   0.006   -7.090  0.265   0.213
-   // -8.0    -0.423  0.05525 -0.020  0.837   0.004   0.990   0.007   -7.648  0.275   0.203
-   // -6.0    -0.285  0.04206 -0.024  0.806   0.005   0.991   0.018   -6.771  0.378   0.164
-   // -4.0    -0.139  0.00857 -0.056  0.758   0.011   0.992   0.996   -16.265 0.337   -0.151
-   // -2.0    0.094   0.00694 -0.058  0.678   0.435   0.993   0.997   13.546  0.257   0.862
-   // -0.0    0.331   0.00658 -0.059  0.563   0.718   0.994   0.998   50.258  0.257   0.429
-   // 2.0     0.565   0.00724 -0.061  0.418   0.882   0.992   0.997   78.092  0.258   0.358
-   // 4.0     0.797   0.00897 -0.063  0.252   0.956   0.990   0.992   88.852  0.258   0.329
-   // 6.0     1.016   0.01362 -0.065  0.120   0.981   0.972   0.992   74.627  0.258   0.314
-   // 8.0     1.208   0.01785 -0.066  0.037   0.990   0.928   0.996   67.647  0.258   0.305
-   // 10.0    1.347   0.02344 -0.067  0.014   0.994   0.851   0.997   57.455  0.247   0.300
-   // 12.0    1.391   0.03665 -0.066  0.008   0.997   0.642   0.997   37.960  0.424   0.297
-   // 14.0    1.246   0.09541 -0.050  0.005   0.997   0.136   0.997   13.063  0.361   0.290
-   // 16.0    1.153   0.13607 -0.039  0.004   0.997   0.035   0.997   8.475   0.317   0.284
-   // 18.0    1.040   0.17206 -0.036  0.003   0.997   0.019   0.997   6.043   0.263   0.285
-   // 20.0    0.909   0.21938 -0.036  0.002   0.997   0.017   0.997   4.145   0.255   0.290
-   // 22.0    0.778   0.27645 -0.035  0.001   0.997   0.012   0.998   2.815   0.258   0.295
-   // 24.0    0.659   0.33062 -0.034  0.001   0.998   0.009   0.998   1.993   0.256   0.302
+    static final double[] t_drag_NACA4_0005 = {0.41708, 0.31201, 0.22381, 0.23465, 0.12617, 0.06937, 0.03531, 0.00661, 0.03531, 0.06937, 0.12617, 0.23465, 0.22381, 0.31201, 0.41708};
 
-                  new double[]{-0.285, -0.329, -0.380, -0.435, -0.488, -0.530, -0.543, -0.510, -0.423, -0.285, -0.139, 0.094, 0.331, 0.565, 0.797, 1.016, 1.208, 1.347, 1.391, 1.246, 1.153, 1.040, 0.909, 0.778, 0.659},
-                  new double[]{0.31478, 0.26102, 0.22511, 0.18655, 0.17173, 0.13065, 0.09601, 0.07197, 0.05525, 0.04206, 0.00857, 0.00694, 0.00658, 0.00724, 0.00897, 0.01362, 0.01785, 0.02344, 0.03665, 0.09541, 0.13607, 0.17206, 0.21938, 0.27645, 0.33062},
-                  new double[]{-0.021, -0.020, -0.020, -0.019, -0.019, -0.018, -0.018, -0.019, -0.020, -0.024, -0.056, -0.058, -0.059, -0.061, -0.063, -0.065, -0.066, -0.067, -0.066, -0.050, -0.039, -0.036, -0.036, -0.035, -0.034}),
+    static final double[] t_mmnt_NACA4_0005 = {0.007, 0.007, 0.006, 0.004, 0.003, 0.002, 0.001, -0.000, -0.001, -0.002, -0.003, -0.004, -0.006, -0.007, -0.007};
 
-    new Tab25Foil("NACA 64-814", "\n NACA 64-814 with trailing gap 0.5%",
-                  "\n\n Tabulated Foil. Get geometry from this link:" +
-                  "\n  http://www.airfoiltools.com/search/index?m%5Bgrp%5D=naca6&m%5Bsort%5D=1",
-                  14, 5, 
-                  // NACA 6 series variants
-                  // use this to convert excel column of 25 values to array initializer:
-                  // NACA 64_814 with TE gap = 0.5%
-                  new double[]{-0.436, -0.495, -0.549, -0.585, -0.585, -0.521, -0.415, -0.271, -0.097, 0.112, 0.353, 0.596, 0.835, 1.073, 1.302, 1.494, 1.644, 1.715, 1.408, 1.315, 1.167, 1.003, 0.843, 0.702, 0.584},
-                  new double[]{0.31324, 0.2687, 0.21301, 0.17075, 0.13549, 0.1072, 0.08288, 0.06413, 0.05002, 0.01114, 0.00998, 0.00805, 0.00833, 0.00811, 0.00777, 0.021, 0.02575, 0.03206, 0.08869, 0.11247, 0.14528, 0.18438, 0.23803, 0.29672, 0.34426},
-                  null)
+    // Name = NACA 5405
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.025  0.37907 -0.047  0.970   0.005   0.984   0.018   -0.066  0.271   -1.640
+    // -24.0    -0.036  0.28615 -0.047  0.966   0.004   0.985   0.017   -0.126  0.312   -1.054
+    // -20.0    -0.055  0.20679 -0.045  0.962   0.004   0.985   0.013   -0.264  0.309   -0.578
+    // -16.0    -0.087  0.21957 -0.044  0.951   0.003   0.988   0.010   -0.398  0.299   -0.251
+    // -12.0    -0.138  0.12871 -0.041  0.930   0.003   0.994   0.007   -1.072  0.354   -0.048
+    // -8.0     -0.141  0.06818 -0.038  0.886   0.002   1.000   0.004   -2.070  0.256   -0.021
+    // -4.0     0.113   0.03873 -0.043  0.807   0.004   1.000   0.006   2.924   0.363   0.628
+    // -0.0     0.602   0.00810 -0.122  0.660   0.998   1.000   0.998   74.366  0.340   0.452
+    // 4.0      1.039   0.01528 -0.126  0.006   0.998   1.000   0.998   67.990  -0.015  0.371
+    // 8.0      0.924   0.06111 -0.037  0.001   0.999   0.002   0.999   15.128  0.411   0.290
+    // 12.0     0.531   0.11562 -0.045  0.001   0.998   0.004   0.998   4.597   0.229   0.334
+    // 16.0     0.250   0.21581 -0.051  0.001   0.998   0.006   0.999   1.158   0.217   0.453
+    // 20.0     0.127   0.22715 -0.058  0.001   0.999   0.010   0.999   0.560   0.180   0.704
+    // 24.0     0.072   0.31187 -0.063  0.002   0.999   0.014   0.999   0.232   0.149   1.126
+    // 28.0     0.045   0.42785 -0.066  0.003   0.998   0.015   0.998   0.105   0.148   1.718
 
-    ,new NACA_R540_3pct_round_Foil("Round Slender Fuse 3%", "\nRound Slender Fuse 3% D/L," +
-                                   "\n based on NACA R540 report. See Gudmundsson, Appendix C1, p46-47", "\n ---")
-                  
-    // FoilSim foils
-    // these foils - Joukowski, Ellipse, Flat - 
-    // work Ok but too slow for swipe-plots. See use_foilsim_foils
-    //, new Foil("Joukowski","\n Joukowski Foil")
-    //, new Foil("Ellipse", "\n Elliptical Foil")
-    //, new Foil("Flat Plate", "\n Plate")
-    // these come together with the Ball tab and not very useful for 
-    // Hydrofoil sim by default. See flag use_cylinder_shapes
-    // , new RoundFoil("Rotating Cylinder", "\n Rotating Cylinder")
-    //, new RoundFoil("Spinning Ball","\n Spinning Ball")
-  };
+    static final double[] t_lift_NACA4_0505 = {-0.025, -0.036, -0.055, -0.087, -0.138, -0.141, 0.113 , 0.602 , 1.039 , 0.924 , 0.531 , 0.250 , 0.127 , 0.072 , 0.045     };
 
-  Foil  FOIL_JOUKOWSKI     = (Foil)foils.get("Joukowski"),
-    FOIL_ELLIPTICAL        = (Foil)foils.get("Ellipse"),
-    FOIL_FLAT_PLATE        = (Foil)foils.get("Flat Plate"),
-    FOIL_CYLINDER          = (Foil)foils.get("Rotating Cylinder"),
-    FOIL_BALL              = (Foil)foils.get("Spinning Ball"),
-    FOIL_NACA4             = (Foil)foils.get("NACA 4 Series");
 
+    static final double[] t_drag_NACA4_0505 = { 0.37907, 0.28615, 0.20679, 0.21957, 0.12871, 0.06818, 0.03873, 0.00810, 0.01528, 0.06111, 0.11562, 0.21581, 0.22715, 0.31187, 0.42785};
 
-  // need to grow foil_arr
-  void addFoil(Foil foil) {
-    Foil[] arr = new Foil[foil_arr.length+1];
-    int ai = 0;
-    for (; ai < foil_arr.length; ai++) arr[ai] = foil_arr[ai];
-    arr[ai] = foil;
-    foil_arr = arr;
-  }
-  
-  static String dateString () {
-    Date date = new Date();
-    String date_str = "";
-    /**
-     * @j2sNative
-     * 
-     * var idx = date_str.indexOf("GMT");
-     * if (idx>-1)date_str=date_str.substring(0,idx);
-     *  
-     */ {
-      date_str = java.text.DateFormat.getDateInstance(java.text.DateFormat.MEDIUM).format(date);
-    }
-    return date_str;
-  }
+    static final double[] t_mmnt_NACA4_0505 = {-0.047, -0.047, -0.045, -0.044, -0.041, -0.038, -0.043, -0.122, -0.126, -0.037, -0.045, -0.051, -0.058, -0.063, -0.066 };
 
-  static final int  IMPERIAL = 0, METRIC = 1, METRIC_2 = 2, NAVAL = 3, IMPERIAL_FEET = 4;
-  static Font largeFont = new Font("TimesRoman", Font.PLAIN, 24);
-  static Font boldFont  = new Font("TimesRoman", Font.BOLD, 16);
- 
-  static double convdr = Math.PI /180.;
-  static double pid2 = Math.PI /2.0;
+    // Name = NACA 10405
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.018  0.36031 -0.096  0.933   0.005   0.968   0.019   -0.049  0.741   -5.123
+    // -24.0    -0.024  0.26584 -0.093  0.918   0.005   0.972   0.016   -0.089  0.629   -3.672
+    // -20.0    -0.032  0.37840 -0.091  0.900   0.004   0.976   0.014   -0.084  0.569   -2.609
+    // -16.0    -0.039  0.21784 -0.088  0.872   0.004   0.979   0.011   -0.181  -1.092  -1.976
+    // -12.0    -0.027  0.12650 -0.085  0.827   0.002   0.984   0.008   -0.215  0.190   -2.856
+    // -8.0     0.111   0.06993 -0.079  0.765   0.002   0.989   0.005   1.593   0.236   0.958
+    // -4.0     0.538   0.04199 -0.076  0.680   0.002   0.996   0.004   12.820  0.400   0.392
+    // -0.0     1.188   0.01390 -0.241  0.442   0.012   1.000   1.000   85.498  0.407   0.453
+    // 4.0      1.623   0.02178 -0.247  0.008   0.999   0.965   0.999   74.544  -0.534  0.402
+    // 8.0      1.402   0.05662 -0.074  0.001   0.998   0.002   0.998   24.755  0.458   0.303
+    // 12.0     0.812   0.10739 -0.078  0.000   0.998   0.002   0.998   7.561   0.232   0.346
+    // 16.0     0.363   0.19528 -0.093  0.001   0.998   0.004   0.998   1.860   0.208   0.505
+    // 20.0     0.175   0.34912 -0.104  0.001   0.998   0.007   0.998   0.500   0.156   0.848
+    // 24.0     0.095   0.30416 -0.118  0.001   0.998   0.011   0.999   0.312   0.066   1.494
+    // 28.0     0.057   0.42323 -0.126  0.002   0.998   0.013   0.999   0.135   0.035   2.463
 
-  static double viscos;
+    static final double[] t_lift_NACA4_1005 = {-0.018, -0.024, -0.032, -0.039, -0.027, 0.111 , 0.538 , 1.188 , 1.623 , 1.402 , 0.812 , 0.363 , 0.175 , 0.095 , 0.057     };
 
-  static double usq,vsq,alt_val,altmax;
+    static final double[] t_drag_NACA4_1005 = { 0.36031, 0.26584, 0.37840, 0.21784, 0.12650, 0.06993, 0.04199, 0.01390, 0.02178, 0.05662, 0.10739, 0.19528, 0.34912, 0.30416, 0.42323};
 
-  static double q0_EN,q0_SI,ps0,ts0,rho_EN,rho_SI,rlhum; // free stream vars
+    static final double[] t_mmnt_NACA4_1005 = {-0.096, -0.093, -0.091, -0.088, -0.085, -0.079, -0.076, -0.241, -0.247, -0.074, -0.078, -0.093, -0.104, -0.118, -0.126 };
 
-  final static double STEP_X = 0.4;
-  static double xflow;             /* MODS  20 Jul 99 */
-  static double delx,delt,velocity,spin,spindr,yoff,radius;
-  static double vel,pres,side,omega,radcrv,relsy,angr;
+    // Name = NACA 15405
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.012  0.32283 -0.134  0.887   0.006   0.962   0.019   -0.039  1.795   -10.522
+    // -24.0    -0.015  0.24936 -0.131  0.864   0.005   0.965   0.016   -0.058  3.235   -8.773
+    // -20.0    -0.015  0.31099 -0.128  0.834   0.005   0.968   0.013   -0.047  -0.436  -8.445
+    // -16.0    -0.005  0.19555 -0.124  0.794   0.004   0.971   0.010   -0.024  0.175   -26.339
+    // -12.0    0.052   0.12269 -0.123  0.742   0.003   0.974   0.008   0.425   0.229   2.600
+    // -8.0     0.302   0.07011 -0.118  0.680   0.002   0.974   0.006   4.305   0.229   0.641
+    // -4.0     0.914   0.04890 -0.104  0.596   0.001   0.970   0.003   18.695  0.276   0.364
+    // -0.0     1.398   0.04196 -0.147  0.423   0.009   0.956   0.013   33.316  0.458   0.355
+    // 4.0      2.153   0.02201 -0.362  0.402   0.117   0.934   1.000   97.804  0.152   0.418
+    // 8.0      1.874   0.05406 -0.100  0.000   0.998   0.001   0.998   34.664  0.502   0.303
+    // 12.0     1.117   0.09799 -0.101  0.000   0.998   0.001   0.998   11.399  0.232   0.340
+    // 16.0     0.488   0.16991 -0.126  0.000   0.998   0.003   0.998   2.874   0.203   0.507
+    // 20.0     0.226   0.29952 -0.143  0.000   0.998   0.004   0.998   0.755   0.147   0.882
+    // 24.0     0.119   0.29247 -0.164  0.000   0.998   0.007   0.998   0.406   -0.018  1.629
+    // 28.0     0.070   0.38894 -0.185  0.000   0.998   0.012   0.998   0.179   -0.179  2.909
+    static final double[] t_lift_NACA4_1505 = {-0.012, -0.015, -0.015, -0.005, 0.052 , 0.302 , 0.914 , 1.398 , 2.153 , 1.874 , 1.117 , 0.488 , 0.226 , 0.119 , 0.070     };
 
-  // 
-  String t_foil_name, make_name, model_name, year_etc;
-  // note on *speed*: here and below, it is velocity of the craft in
-  // forvard direction.
-  static String speed_kts_mph_kmh_ms_info = "";
-  static String max_speed_info = "-", max_speed_cg = "-";
-  double        max_speed_speed, max_speed_lift, max_speed_drag;
-  static String min_takeoff_speed_info = "-", min_takeoff_cg = "-";
-  double        min_takeoff_speed, min_takeoff_lift, min_takeoff_drag;
-  static String cruising_info = "-", cruising_cg = "-";
-  double        cruising_speed, cruising_lift, cruising_drag;
-  static String constraint_lift_text_auw = "all-up weight (AUW)";
-  static String constraint_lift_text_uplift = "required uplift force";
+    static final double[] t_drag_NACA4_1505 = { 0.32283, 0.24936, 0.31099, 0.19555, 0.12269, 0.07011, 0.04890, 0.04196, 0.02201, 0.05406, 0.09799, 0.16991, 0.29952, 0.29247, 0.38894};
 
-  //  the board comonent of the foiling craft
-  Board board = new Board();
-  Rider rider = new Rider();
-  MotorUnit motor = new MotorUnit();
+    static final double[] t_mmnt_NACA4_1505 = {-0.134, -0.131, -0.128, -0.124, -0.123, -0.118, -0.104, -0.147, -0.362, -0.100, -0.101, -0.126, -0.143, -0.164, -0.185};
+    // Name = NACA 20405
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.008  0.57582 -0.160  0.842   0.006   0.959   0.016   -0.014  -4.904  -19.221
+    // -24.0    -0.007  0.40338 -0.154  0.808   0.006   0.961   0.012   -0.018  -0.403  -21.406
+    // -20.0    -0.001  0.26903 -0.155  0.769   0.005   0.962   0.011   -0.003  0.299   0.250
+    // -16.0    0.024   0.17489 -0.156  0.726   0.004   0.961   0.010   0.139   0.245   6.654
+    // -12.0    0.119   0.11192 -0.154  0.676   0.003   0.957   0.008   1.068   0.241   1.540
+    // -8.0     0.468   0.07128 -0.152  0.618   0.002   0.949   0.006   6.571   0.232   0.574
+    // -4.0     1.259   0.05833 -0.134  0.438   0.001   0.935   0.003   21.578  0.274   0.357
+    // -0.0     1.803   0.04912 -0.184  0.417   0.008   0.913   0.011   36.714  0.330   0.352
+    // 4.0      2.145   0.03163 -0.205  0.015   0.998   0.014   0.998   67.810  0.031   0.346
+    // 8.0      2.320   0.05230 -0.071  0.000   0.188   0.000   0.999   44.360  0.385   0.280
+    // 12.0     1.427   0.09462 -0.108  0.000   0.998   0.000   0.998   15.077  0.201   0.326
+    // 16.0     0.621   0.15797 -0.154  0.000   0.998   0.002   0.998   3.932   0.189   0.498
+    // 20.0     0.282   0.25769 -0.178  0.000   0.998   0.003   0.998   1.094   0.156   0.881
+    // 24.0     0.145   0.40268 -0.199  0.000   0.998   0.004   0.998   0.360   0.007   1.620
+    // 28.0     0.083   0.37534 -0.226  0.000   0.998   0.007   0.998   0.222   -0.194  2.963
 
-  // Hydrofoil parts with default values
-  Part //              name; airfoil     xpos             chord  span  thk camb aoa
-  fuse    = new Part("Fuse", FOIL_NACA4, 0,               0.8,   0.02, 04, 0,   0),
-    wing  = new Part("Wing", FOIL_NACA4, 0,               0.11,  0.56, 12, 3.34,0), 
-    strut = new Part("Mast", FOIL_NACA4, fuse.chord/3,    0.111, 0.95, 12, 0,   0), 
-    stab  = new Part("Stab", FOIL_NACA4, fuse.chord-0.05, 0.05,  0.3,  12, -3,  0)
-    ;
-  
-  Part current_part = stab;  // anything goes here, avoid null
+    static final double[] t_lift_NACA4_2005 = {-0.008, -0.007, -0.001, 0.024 , 0.119 , 0.468 , 1.259 , 1.803 , 2.145 , 2.320 , 1.427 , 0.621 , 0.282 , 0.145 , 0.083     };
 
-  static double BOARD_THICKNESS;
-  static double BOARD_LENGTH;
-  static double BOARD_WEIGHT;
-  static double BOARD_WIDTH;
-  static double BOARD_CG_K = 0.4; // CG is located approx at 60% distance from the nose, 40% from the tail
-  static double BOARD_HYDRO_LIFT_LOC = 0.25; // Center of the lift of the board in displacement mode is appox 25% from the tail
+    static final double[] t_drag_NACA4_2005 = {0.57582, 0.40338, 0.26903, 0.17489, 0.11192, 0.07128, 0.05833, 0.04912, 0.03163, 0.05230, 0.09462, 0.15797, 0.25769, 0.40268, 0.37534};
 
-  static double RIG_WEIGHT;
-  static double FOIL_WEIGHT = 5; // Newtons, weight of typical semi-submerged foil (dry weight - floatation)
-  static double MAST_LE_TO_TRANSOM = 0.3;
-  static double WS_MASTBASE_MAST_LE = 1.04; // 1.04 is typical rig mast base from strut LE distance...
 
-  static double RIDER_CG_HEIGHT = 1.05; // this is where the waist is typically
+    static final double[] t_mmnt_NACA4_2005 = {-0.160, -0.154, -0.155, -0.156, -0.154, -0.152, -0.134, -0.184, -0.205, -0.071, -0.108, -0.154, -0.178, -0.199, -0.226};
 
-  // DRIVING_FORCE_HEIGHT - when driving force is transferred through
-  // rider's body, this height is in reference to the board deck; if
-  // attached to the foil, then it is in reference to the board bottom.
-  // 
-  // Thus, this has different reference points for different craft types.
-  // For EFOIL this is height relative to the y-coord of the fuselage/strut
-  // intersection point. For sail, wing and kite, for convenience, this is
-  // relative to the y-coord of the point on the deck above the mast LE.
-  //
-  // (a) for the rider with harness it
-  //     is where the harness hook is
-  // (b) for winger/sailor unhookedor tow - at
-  //     shoulder level
-  // (c) efoil - where the motor is mounted
-  static double DRIVING_FORCE_HEIGHT = 1.05; 
+    // Name = NACA 0010
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.312  0.58589 0.011   1.000   0.002   1.000   0.010   -0.532  0.239   0.286
+    // -24.0    -0.442  0.39243 0.010   1.000   0.002   1.000   0.009   -1.126  0.239   0.272
+    // -20.0    -0.626  0.24464 0.008   1.000   0.003   1.000   0.006   -2.561  0.242   0.262
+    // -16.0    -0.831  0.15129 0.007   1.000   0.004   1.000   0.007   -5.494  0.241   0.258
+    // -12.0    -0.877  0.09026 0.005   0.980   0.005   1.000   0.010   -9.720  0.313   0.256
+    // -8.0     -0.873  0.01804 0.009   0.953   0.007   1.000   0.972   -48.387 0.252   0.261
+    // -4.0     -0.470  0.01248 0.005   0.887   0.157   1.000   0.999   -37.657 0.261   0.260
+    // -0.0     0.000   0.00939 -0.000  0.683   0.683   1.000   0.999   0.000   0.260   0.250
+    // 4.0      0.470   0.01243 -0.005  0.157   0.887   1.000   0.999   37.800  0.261   0.260
+    // 8.0      0.873   0.01805 -0.009  0.007   0.953   0.971   0.999   48.340  0.252   0.261
+    // 12.0     0.877   0.09026 -0.005  0.005   0.980   0.010   0.998   9.720   0.313   0.256
+    // 16.0     0.831   0.15130 -0.007  0.004   0.998   0.007   0.998   5.494   0.241   0.258
+    // 20.0     0.626   0.24464 -0.008  0.003   0.998   0.006   0.998   2.561   0.242   0.262
+    // 24.0     0.442   0.39243 -0.010  0.002   0.998   0.009   0.999   1.126   0.239   0.272
+    // 28.0     0.312   0.58589 -0.011  0.002   0.998   0.010   0.999   0.532   0.239   0.286
 
-  double craft_pitch = 0;
-  double mast_foot_pressure_k = 0.0;
-  double mast_foot_dist_from_strut_le = 1;
-  static Button part_button, wing_bt, stab_bt;
+    static final double[] t_lift_NACA4_0010 = {-0.312, -0.442, -0.626, -0.831, -0.877, -0.873, -0.470, 0.000 , 0.470 , 0.873 , 0.877 , 0.831 , 0.626 , 0.442 , 0.312     };
 
-  // CRAFT_TYPE options
-  static final int KITEFOIL = 0, WINDFOIL = 1, WINGFOIL = 2, EFOIL = 3, SURFFOIL = 4;
-  static String[]  craft_drive_type_name  = 
-    {"Kite", "Sail", "Wing", "Prop", "Wave"};
-  static String[]  craft_drive_type_name_ru = 
-    {"%u041A%u0430%u0439%u0442", "\u041f\u0430\u0440\u0443\u0441", "", "Wing", "Prop", "Wave"};
-  static String[]  craft_type_dflt_board_thk  = 
-    {"0.06", "0.1", "0.1", "0.1", "0.06"};
-  static String[]  craft_type_dflt_board_len  = 
-    {"1.25", "2.2", "1.7", "1.7", "1.6"};
-  static String[]  craft_type_dflt_board_wd  = 
-    {"0.5", "0.85", "0.62", "0.65", "0.65"};
-  static String[]  craft_type_dflt_board_wght  = 
-    {"29", "80", "39", "120", "45"};
-  int craft_type = WINDFOIL; // default
 
-  static final Color color_sky_blue_light = new Color(102, 204, 255);
-  static final Color color_water_dark = new Color(0, 136, 200);
-  static final Color color_dark = new Color(90, 90, 90);
-  static final Color color_dark_2 = new Color(50, 50, 50);
-  static final Color color_very_dark = new Color(10, 10, 10);
-  static final Color color_beige = new Color(245,245,220);
-  static final Color color_light_cyan = new Color(224, 255, 255);
-  static final Color color_dark_green = Color.decode("#009000");
+    static final double[] t_drag_NACA4_0010 = {0.58589, 0.39243, 0.24464, 0.15129, 0.09026, 0.01804, 0.01248, 0.00939, 0.01243, 0.01805, 0.09026, 0.15130, 0.24464, 0.39243, 0.58589};
 
+    static final double[] t_mmnt_NACA4_0010 = {0.011, 0.010, 0.008, 0.007, 0.005, 0.009, 0.005, -0.000, -0.005, -0.009, -0.005, -0.007, -0.008, -0.010, -0.011};
 
-  String foil_descr (Foil foil) {
-    return foil.getDescr(current_part.thickness, current_part.camber);
-  }
+    // Name = NACA 5410
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.225  0.57593 -0.043  0.968   0.002   0.988   0.012   -0.391  0.269   0.060
+    // -24.0    -0.302  0.43337 -0.041  0.961   0.002   0.986   0.010   -0.698  0.256   0.113
+    // -20.0    -0.403  0.26078 -0.042  0.945   0.003   0.988   0.010   -1.544  0.251   0.146
+    // -16.0    -0.493  0.16004 -0.041  0.922   0.005   1.000   0.008   -3.079  0.216   0.166
+    // -12.0    -0.469  0.09461 -0.044  0.882   0.006   1.000   0.010   -4.962  0.280   0.156
+    // -8.0     -0.230  0.05678 -0.049  0.818   0.007   1.000   0.015   -4.045  0.369   0.036
+    // -4.0     0.159   0.01223 -0.119  0.716   0.019   1.000   0.999   12.979  0.337   1.000
+    // -0.0     0.635   0.01243 -0.124  0.507   0.234   1.000   0.999   51.108  0.262   0.446
+    // 4.0      1.103   0.01368 -0.130  0.382   0.998   1.000   0.998   80.657  0.262   0.368
+    // 8.0      1.474   0.02429 -0.135  0.012   0.998   0.928   0.998   60.678  -0.045  0.341
+    // 12.0     1.325   0.08785 -0.065  0.003   0.999   0.019   0.999   15.084  0.552   0.299
+    // 16.0     1.202   0.14406 -0.053  0.002   0.998   0.005   0.998   8.346   0.277   0.294
+    // 20.0     0.891   0.23484 -0.053  0.002   0.998   0.004   0.998   3.793   0.246   0.310
+    // 24.0     0.603   0.36941 -0.055  0.001   0.999   0.004   0.999   1.632   0.229   0.342
+    // 28.0     0.409   0.55037 -0.063  0.001   0.999   0.007   0.999   0.743   0.209   0.405
 
-  static double wing_chord, wing_span, wing_area;
+    static final double[] t_lift_NACA4_0510 = {-0.225, -0.302, -0.403, -0.493, -0.469, -0.230, 0.159 , 0.635 , 1.103 , 1.474 , 1.325 , 1.202 , 0.891 , 0.603 , 0.409     };
 
-  // FoilSimIII legacy. Cryptic variables, state shared
-  // across classes Viewer, Solve, Plot, Geometry
-  static double[][] rg  = new double[20][40]; 
-  static double[][] thg = new double[20][40]; 
-  static double[][] xg  = new double[20][40]; 
-  static double[][] yg  = new double[20][40]; 
-  static double[][] xm  = new double[20][62]; 
-  static double[][] ym  = new double[20][62]; 
-  static double[][] xpl  = new double[20][62]; 
-  static double[][] ypl  = new double[20][62]; 
-  static double[] plp   = new double[40];
-  static double[] plv   = new double[40];
-
-  static double stall_model_apos = 10, stall_model_aneg = -10;
-  
-  static final boolean DEBUG_SPEED_SUPPR_ADJ = false;
-  static final boolean DEBUG_SPEED_SUPPR     = false;
-  static void debug_speed_suppr_adj (AdjustmentEvent e) {
-    System.out.println("-- AdjustmentEvent"); }
 
-  
-  static final int STALL_MODEL_IDEAL_FLOW = 0,
-    STALL_MODEL_DFLT = 1, // default 0.5 + 0.1A + 0.005A^2 and +-10
-    STALL_MODEL_REFINED = 2; // this is per foil type.
+    static final double[] t_drag_NACA4_0510 = {0.57593, 0.43337, 0.26078, 0.16004, 0.09461, 0.05678, 0.01223, 0.01243, 0.01368, 0.02429, 0.08785, 0.14406, 0.23484, 0.36941, 0.55037};
 
-  // wing downwash influence: makes effective stab AOA more negative. 
-  // See [Gudmundsson, App C1].
-  static boolean stab_aoa_correction = false; 
-  
-  static final int POINTS_COUNT = 35;
-  static final int POINTS_COUNT_HALF = POINTS_COUNT/2 + 1;
-  static final int STREAMLINES_COUNT = 15;
-  static final int STREAMLINES_COUNT_HALF = STREAMLINES_COUNT/2 + 1;
-  static final int STREAMLINES_SKIP_BOTTOM = 4; // how many lines not to paint at the bottom
+    static final double[] t_mmnt_NACA4_0510 = {-0.043, -0.041, -0.042, -0.041, -0.044, -0.049, -0.119, -0.124, -0.130, -0.135, -0.065, -0.053, -0.053, -0.055, -0.063 };
 
-  int stall_model_type;
+    // Name = NACA10410
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.156  0.55779 -0.092  0.927   0.003   0.978   0.014   -0.280  0.347   -0.342
+    // -24.0    -0.194  0.42638 -0.089  0.909   0.002   0.978   0.011   -0.456  0.364   -0.206
+    // -20.0    -0.231  0.27471 -0.084  0.880   0.002   0.979   0.008   -0.840  0.281   -0.113
+    // -16.0    -0.228  0.17306 -0.088  0.841   0.003   0.982   0.010   -1.317  0.277   -0.134
+    // -12.0    -0.098  0.09841 -0.087  0.785   0.007   0.985   0.009   -1.001  0.266   -0.637
+    // -8.0     0.216   0.05836 -0.095  0.716   0.008   0.984   0.012   3.705   0.291   0.688
+    // -4.0     0.617   0.03798 -0.117  0.616   0.012   0.983   0.030   16.237  0.394   0.440
+    // -0.0     1.250   0.01607 -0.244  0.429   0.051   0.972   0.999   77.811  0.375   0.445
+    // 4.0      1.696   0.01798 -0.252  0.396   0.998   0.950   0.998   94.302  0.269   0.399
+    // 8.0      2.078   0.02261 -0.260  0.357   0.998   0.913   0.999   91.919  0.274   0.375
+    // 12.0     2.136   0.04955 -0.263  0.001   0.998   0.786   0.999   43.120  0.599   0.373
+    // 16.0     1.593   0.13978 -0.091  0.000   0.998   0.003   0.999   11.398  0.433   0.307
+    // 20.0     1.162   0.22691 -0.084  -0.000  0.998   0.002   0.998   5.123   0.253   0.322
+    // 24.0     0.764   0.34279 -0.088  -0.001  0.998   0.002   0.998   2.228   0.219   0.365
+    // 28.0     0.502   0.50645 -0.105  -0.000  0.998   0.004   0.998   0.992   0.186   0.459
 
-  int lunits, out_aux_idx, planet, dragOut;
-  int display_units = METRIC;
+    static final double[] t_lift_NACA4_1010 = {-0.156, -0.194, -0.231, -0.228, -0.098, 0.216 , 0.617 , 1.250 , 1.696 , 2.078 , 2.136 , 1.593 , 1.162 , 0.764 , 0.502     };
 
-  static final int PLOT_TYPE_PRESSURE = 0, // pressure variation 
-    PLOT_TYPE_VELOCITY = 1,  // velocity variation
-    PLOT_TYPE_ANGLE = 2, // lift/cl/drag/cd versus angle
-    PLOT_TYPE_THICKNESS = 3, // lift/cl/drag/cd versus thickness
-    PLOT_TYPE_CAMBER = 4, // lift/cl/drag/cd versus camber
-    PLOT_TYPE_CURR_PART_VS_SPEED = 5, // lift and drag versus speed
-    PLOT_TYPE_ALTITUDE = 6,  // lift and drag versus altitude
-    PLOT_TYPE_WING_AREA = 7, // lift and drag versus area
-    PLOT_TYPE_DENSITY = 8,  // lift and drag versus density
-    PLOT_TYPE_LIFT_DRAG_POLARS = 9,  // lift/drag polar
-    PLOT_TYPE_CG_VS_SPEED = 10,  // cg position at various sppeds @ given load andA of min drag
-    PLOT_TYPE_DRAG_TOTALS_VS_SPEED = 11,  // cg position at various sppeds @ given load andA of min drag
+    static final double[] t_drag_NACA4_1010 = {0.55779, 0.42638, 0.27471, 0.17306, 0.09841, 0.05836, 0.03798, 0.01607, 0.01798, 0.02261, 0.04955, 0.13978, 0.22691, 0.34279, 0.50645};
 
-    PLOT_TYPE_GAGES = 20;
+    static final double[] t_mmnt_NACA4_1010 = {-0.092, -0.089, -0.084, -0.088, -0.087, -0.095, -0.117, -0.244, -0.252, -0.260, -0.263, -0.091, -0.084, -0.088, -0.105};
 
-  int plot_type = PLOT_TYPE_LIFT_DRAG_POLARS;
+    // Name = NACA 15410
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.104  0.56368 -0.136  0.881   0.003   0.971   0.016   -0.184  0.933   -1.064
+    // -24.0    -0.114  0.38568 -0.129  0.850   0.003   0.973   0.012   -0.296  42.400  -0.882
+    // -20.0    -0.104  0.26987 -0.125  0.812   0.003   0.974   0.010   -0.385  0.119   -0.950
+    // -16.0    -0.027  0.17805 -0.118  0.766   0.003   0.974   0.007   -0.154  0.269   -4.044
+    // -12.0    0.202   0.10790 -0.131  0.713   0.003   0.971   0.010   1.870   0.277   0.897
+    // -8.0     0.620   0.06455 -0.136  0.643   0.008   0.965   0.011   9.606   0.272   0.469
+    // -4.0     1.079   0.04598 -0.150  0.538   0.011   0.955   0.016   23.467  0.367   0.389
+    // -0.0     1.513   0.03854 -0.240  0.419   0.029   0.934   0.141   39.263  0.438   0.409
+    // 4.0      2.235   0.02495 -0.368  0.400   0.123   0.906   0.999   89.592  0.375   0.415
+    // 8.0      2.634   0.03055 -0.380  0.374   0.998   0.868   0.998   86.238  0.291   0.394
+    // 12.0     2.681   0.06598 -0.386  -0.000  0.998   0.759   0.998   40.632  0.680   0.394
+    // 16.0     2.008   0.13522 -0.111  -0.001  0.998   0.001   0.998   14.853  0.490   0.305
+    // 20.0     1.410   0.21574 -0.081  -0.002  0.998   0.000   0.998   6.533   0.268   0.307
+    // 24.0     0.905   0.33285 -0.091  -0.001  0.997   0.000   0.998   2.718   0.209   0.351
+    // 28.0     0.580   0.51209 -0.115  -0.001  0.997   0.001   0.997   1.133   0.176   0.448
 
+    static final double[] t_lift_NACA4_1510 = {-0.104, -0.114, -0.104, -0.027, 0.202 , 0.620 , 1.079 , 1.513 , 2.235 , 2.634 , 2.681 , 2.008 , 1.410 , 0.905 , 0.580     };
 
-  // applicable to PLOT_TYPE_ANGLE, PLOT_TYPE_THICKNESS, PLOT_TYPE_CAMBER
-  static final int PLOT_OUT_LIFT = 0,
-    PLOT_OUT_CL = 1,
-    PLOT_OUT_DRAG = 2,
-    PLOT_OUT_CD = 3, 
-    PLOT_OUT_CM = 4;
+    static final double[] t_drag_NACA4_1510 = {0.56368, 0.38568, 0.26987, 0.17805, 0.10790, 0.06455, 0.04598, 0.03854, 0.02495, 0.03055, 0.06598, 0.13522, 0.21574, 0.33285, 0.51209};
 
-  static final int PLOT_OUT_2_LIFT = 0,
-    PLOT_OUT_2_DRAG = 1,
-    PLOT_OUT_2_BOARD_DRAG = 2;
+    static final double[] t_mmnt_NACA4_1510 = {-0.136, -0.129, -0.125, -0.118, -0.131, -0.136, -0.150, -0.240, -0.368, -0.380, -0.386, -0.111, -0.081, -0.091, -0.115};
 
-  int plot_y_val, plot_y_val_2;
+    // Name = NACA 20410
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.064  0.50315 -0.170  0.830   0.004   0.968   0.016   -0.128  -0.384  -2.397
+    // -24.0    -0.054  0.36072 -0.163  0.794   0.004   0.967   0.013   -0.149  0.050   -2.791
+    // -20.0    -0.008  0.25522 -0.159  0.753   0.003   0.965   0.011   -0.032  0.178   -19.222
+    // -16.0    0.128   0.18811 -0.150  0.707   0.003   0.960   0.007   0.679   0.226   1.426
+    // -12.0    0.448   0.11397 -0.148  0.654   0.002   0.951   0.006   3.933   0.277   0.580
+    // -8.0     0.978   0.06955 -0.174  0.587   0.005   0.940   0.011   14.056  0.284   0.427
+    // -4.0     1.521   0.05437 -0.185  0.436   0.010   0.919   0.013   27.966  0.332   0.371
+    // -0.0     1.903   0.05042 -0.250  0.416   0.018   0.895   0.048   37.747  0.399   0.381
+    // 4.0      2.706   0.03367 -0.361  0.402   0.083   0.865   0.251   80.377  0.459   0.384
+    // 8.0      3.077   0.04065 -0.495  0.384   0.183   0.828   0.999   75.687  0.542   0.411
+    // 12.0     3.202   0.08594 -0.506  -0.001  0.997   0.732   0.997   37.261       0.408
+    // 16.0     2.347   0.13276 -0.600  -0.002  0.998   -0.000  0.998   17.682        
+    // 20.0     1.618   0.21740 -0.600  -0.002  0.998   -0.001  0.998   7.441         
+    // 24.0     1.018   0.32675 -0.600  -0.001  0.998   -0.001  0.998   3.114         
+    // 28.0     0.640   0.47934 -0.600  -0.001  0.998   -0.002  0.998   1.336         
     
-  int zoom_slider_pos_y; 
+    static final double[] t_lift_NACA4_2010 = {-0.064, -0.054, -0.008, 0.128 , 0.448 , 0.978 , 1.521 , 1.903 , 2.706 , 3.077 , 3.202 , 2.347 , 1.618 , 1.018 , 0.640     };
 
-  int bdragflag = 1;
+    static final double[] t_drag_NACA4_2010 = {0.50315, 0.36072, 0.25522, 0.18811, 0.11397, 0.06955, 0.05437, 0.05042, 0.03367, 0.04065, 0.08594, 0.13276, 0.21740, 0.32675, 0.47934};
 
-  boolean  ar_lift_corr = true, ar_lift_corr_2 = false, ar_lift_corr_3 = false,
-    re_corr = true, induced_drag_on = true, skin_drag_on = true;
+    static final double[] t_mmnt_NACA4_2010 = {-0.170, -0.163, -0.159, -0.150, -0.148, -0.174, -0.185, -0.250, -0.361, -0.495, -0.506, -0.600, -0.600, -0.600, -0.600}    ;
 
-  /* Value Ranges */
-  static double v_min, alt_min, aoa_min, v_max, alt_max, aoa_max;
-  static double camber_min, thickness_min, camber_max, thickness_max;
-  static double chord_min, span_min, ar_min, chord_max, span_max, ar_max;
-  static double rad_min, spin_min, rad_max, spin_max;
-  static double vconv,vmax;
-  static double pconv,pmax, pmin, lconv,rconv,fconv,fmax, fmaxb;
-  static double load_min = 30, // Newtons
-    load_max = 2000; // Newtons
+    // Name = NACA 0015
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.909  0.37476 0.021   1.000   0.005   1.000   0.024   -2.425  0.248   0.273
+    // -24.0    -1.075  0.27558 0.020   1.000   0.006   1.000   0.038   -3.902  0.245   0.269
+    // -20.0    -1.207  0.18765 0.019   0.978   0.007   1.000   0.057   -6.432  0.240   0.266
+    // -16.0    -1.247  0.11477 0.019   0.961   0.011   1.000   0.135   -10.862 0.271   0.265
+    // -12.0    -1.230  0.03657 0.020   0.935   0.017   1.000   0.641   -33.619 0.264   0.266
+    // -8.0     -0.942  0.01998 0.014   0.879   0.038   1.000   0.938   -47.139 0.267   0.265
+    // -4.0     -0.490  0.01435 0.007   0.758   0.231   1.000   0.998   -34.131 0.265   0.265
+    // -0.0     0.000   0.01263 -0.000  0.504   0.504   1.000   0.998   0.000   0.265   0.250
+    // 4.0      0.490   0.01434 -0.007  0.231   0.757   1.000   0.999   34.175  0.265   0.265
+    // 8.0      0.942   0.01998 -0.014  0.038   0.879   0.938   0.999   47.133  0.267   0.265
+    // 12.0     1.230   0.03657 -0.020  0.017   0.935   0.641   0.998   33.620  0.264   0.266
+    // 16.0     1.247   0.11477 -0.019  0.011   0.961   0.135   0.999   10.862  0.271   0.265
+    // 20.0     1.207   0.18765 -0.019  0.007   0.978   0.057   0.999   6.432   0.240   0.266
+    // 24.0     1.075   0.27559 -0.020  0.006   0.990   0.038   0.999   3.902   0.245   0.269
+    // 28.0     0.909   0.37476 -0.021  0.005   0.998   0.024   0.999   2.425   0.248   0.273
 
-  static double load = load_min;
+    static final double[] t_lift_NACA4_0015 = {-0.909, -1.075, -1.207, -1.247, -1.230, -0.942, -0.490, 0.000 , 0.490 , 0.942 , 1.230 , 1.247 , 1.207 , 1.075 , 0.909     };
 
-  /*  probe data */ 
-  static double prg,pthg,pxg,pyg,pxm,pym,pxpl,pypl; // Cryptic FoilSimIII names...
+    static final double[] t_drag_NACA4_0015 = {0.37476, 0.27558, 0.18765, 0.11477, 0.03657, 0.01998, 0.01435, 0.01263, 0.01434, 0.01998, 0.03657, 0.11477, 0.18765, 0.27559, 0.37476};
 
-  // Cryptic FoilSimIII names...
-  int xt1,yt1,xt2,yt2;
-  static double fact,xpval,ypval,pbval;
-  int pboflag,xt,yt;
+    static final double[] t_mmnt_NACA4_0015 = {0.021, 0.020, 0.019, 0.019, 0.020, 0.014, 0.007, -0.000, -0.007, -0.014, -0.020, -0.019, -0.019, -0.020, -0.021};
 
-  Solver solver = new Solver();
-  VPP vpp       = new VPP();
+    // Name = NACA 5415
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.691  0.37662 -0.040  0.956   0.008   0.984   0.016   -1.835  0.225   0.191
+    // -24.0    -0.814  0.27866 -0.044  0.940   0.008   0.984   0.021   -2.919  0.208   0.197
+    // -20.0    -0.857  0.19629 -0.047  0.916   0.009   0.985   0.029   -4.365  0.685   0.195
+    // -16.0    -0.790  0.12841 -0.054  0.882   0.010   0.986   0.044   -6.156  0.307   0.182
+    // -12.0    -0.584  0.07936 -0.063  0.829   0.015   0.990   0.077   -7.358  0.344   0.142
+    // -8.0     -0.283  0.02303 -0.101  0.751   0.024   1.000   0.622   -12.299 0.323   -0.108
+    // -4.0     0.176   0.01448 -0.118  0.626   0.059   1.000   0.998   12.148  0.276   0.923
+    // -0.0     0.669   0.01257 -0.126  0.433   0.239   0.983   0.999   53.266  0.266   0.438
+    // 4.0      1.147   0.01587 -0.134  0.367   0.960   0.964   0.998   72.246  0.268   0.367
+    // 8.0      1.583   0.02096 -0.142  0.262   0.998   0.921   0.998   75.521  0.267   0.340
+    // 12.0     1.872   0.03973 -0.146  0.020   0.998   0.776   0.998   47.114  0.269   0.328
+    // 16.0     1.913   0.06716 -0.148  0.009   0.998   0.603   0.998   28.482  0.279   0.327
+    // 20.0     1.706   0.13226 -0.142  0.004   0.999   0.361   0.999   12.896  0.320   0.333
+    // 24.0     1.374   0.26459 -0.110  0.003   0.998   0.079   0.999   5.193   0.321   0.330
+    // 28.0     1.114   0.37281 -0.100  0.002   0.999   0.037   0.999   2.988   0.291   0.340
 
-  DashBoard dash;
+    static final double[] t_lift_NACA4_0515 = {-0.691, -0.814, -0.857, -0.790, -0.584, -0.283, 0.176 , 0.669 , 1.147 , 1.583 , 1.872 , 1.913 , 1.706 , 1.374 , 1.114     };
 
-  In in;
-  DashBoardOrPlot out_top;
-  Out out_bottom;
-  Viewer viewer;
+    static final double[] t_drag_NACA4_0515 = {0.37662, 0.27866, 0.19629, 0.12841, 0.07936, 0.02303, 0.01448, 0.01257, 0.01587, 0.02096, 0.03973, 0.06716, 0.13226, 0.26459, 0.37281};
 
-  PerfWeb perfweb;
+    static final double[] t_mmnt_NACA4_0515 = {-0.040, -0.044, -0.047, -0.054, -0.063, -0.101, -0.118, -0.126, -0.134, -0.142, -0.146, -0.148, -0.142, -0.110, -0.100};
 
-  // CardLayout layin,layout,layplt;
-  Image offImg1;
-  Graphics off1Gg;
-  Image offImg2;
-  Graphics off2Gg;
-  Image offImg3;
-  Graphics off3Gg;
+    // Name = NACA 10415
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.488  0.39183 -0.092  0.911   0.008   0.977   0.015   -1.246  0.215   0.062
+    // -24.0    -0.539  0.28429 -0.094  0.884   0.009   0.978   0.017   -1.896  0.142   0.076
+    // -20.0    -0.530  0.20067 -0.097  0.849   0.009   0.979   0.019   -2.643  0.307   0.068
+    // -16.0    -0.398  0.13467 -0.102  0.804   0.010   0.979   0.023   -2.958  0.291   -0.006
+    // -12.0    -0.120  0.08682 -0.114  0.742   0.013   0.979   0.035   -1.380  0.294   -0.698
+    // -8.0     0.256   0.05511 -0.131  0.667   0.019   0.976   0.061   4.647   0.334   0.760
+    // -4.0     0.704   0.03087 -0.183  0.550   0.033   0.968   0.272   22.816  0.360   0.510
+    // -0.0     1.315   0.01847 -0.247  0.420   0.091   0.949   0.999   71.164  0.320   0.438
+    // 4.0      1.764   0.02077 -0.257  0.388   0.998   0.922   0.998   84.921  0.274   0.396
+    // 8.0      2.195   0.02592 -0.268  0.352   0.998   0.881   0.999   84.666  0.278   0.372
+    // 12.0     2.496   0.03499 -0.278  0.296   0.999   0.820   0.999   71.328  0.293   0.361
+    // 16.0     2.488   0.07778 -0.281  0.006   0.999   0.672   0.999   31.992  0.220   0.363
+    // 20.0     2.241   0.11730 -0.285  0.001   0.999   0.573   0.999   19.102  0.243   0.377
+    // 24.0     1.841   0.18043 -0.285  -0.001  0.999   0.453   0.999   10.202  0.311   0.405
+    // 28.0     1.368   0.34584 -0.232  -0.001  0.999   0.129   1.000   3.956   0.363   0.420
 
-  String getParameter (String name, String default_val) {
-    String val = runAsApplication ? getProperty(name, default_val) : getParameter(name);
-    if (val == null) val = default_val;
-    return val;
-  }
+    static final double[] t_lift_NACA4_1015 = {-0.488, -0.539, -0.530, -0.398, -0.120, 0.256 , 0.704 , 1.315 , 1.764 , 2.195 , 2.496 , 2.488 , 2.241 , 1.841 , 1.368     };
 
-  boolean use_cylinder_shapes = false; // Cylinders not useful for Hydrofoil
-  boolean use_foilsim_foils = false; // these foils make swipe plots too slow
-  boolean foil_is_cylinder_or_ball (Foil foil) {
-    return foil  == FOIL_CYLINDER || foil == FOIL_BALL;
-  }
+    static final double[] t_drag_NACA4_1015 = {0.39183, 0.28429, 0.20067, 0.13467, 0.08682, 0.05511, 0.03087, 0.01847, 0.02077, 0.02592, 0.03499, 0.07778, 0.11730, 0.18043, 0.34584};
 
-  /**
-   * 
-   * @j2sNative
-   * 
-   *  console.log(args);
-   *  this.traceArray(args);
-   */
-  void trace (Object... args) {
-    traceArray(args);
-  }
-  
- 
-  void traceArray (Object[] args) {
-    for (int i = 0; i < args.length; ++i) {
-      System.out.print("|" + args[i] + "| ");
-    }
-    System.out.println("");
-  }
+    static final double[] t_mmnt_NACA4_1015 = {-0.092, -0.094, -0.097, -0.102, -0.114, -0.131, -0.183, -0.247, -0.257, -0.268, -0.278, -0.281, -0.285, -0.285, -0.232};
 
-  boolean parseParameters (Part p, String p_name, String defaults) {
-    String p_data   = getParamOrProp(p_name, defaults);
-    if (p_data == null)
-      return false;
-    return parseParamData(p, p_name, p_data);
-  }
-      
-  boolean parseParamData_debug = false;
-  boolean parseParamData (Part p, String p_name, String p_data) {
-    if (parseParamData_debug) trace("parseParamData, before:", p_name, p_data);
-    String[] params = p_data.split("\\s+");
-    int i = 0;
-    
-    String name = params[i++];
-    p.foil = (Foil)foils.get(name);
-    if (p.foil == null) { // convert _ to space
-      p.foil = (Foil)foils.get(name.replace("_", " "));
-    }
-    if (p.foil == null) { 
+    // Name = NACA 15415
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.329  0.40223 -0.142  0.861   0.005   0.973   0.019   -0.819  0.210   -0.181
+    // -24.0    -0.323  0.29105 -0.142  0.827   0.006   0.972   0.019   -1.109  0.177   -0.189
+    // -20.0    -0.244  0.20322 -0.136  0.785   0.010   0.971   0.015   -1.199  0.248   -0.307
+    // -16.0    -0.040  0.13660 -0.141  0.736   0.011   0.968   0.017   -0.291  0.276   -3.298
+    // -12.0    0.306   0.09048 -0.150  0.679   0.012   0.963   0.021   3.379   0.285   0.740
+    // -8.0     0.727   0.06098 -0.168  0.609   0.015   0.953   0.032   11.921  0.307   0.481
+    // -4.0     1.166   0.04689 -0.199  0.444   0.026   0.937   0.063   24.879  0.369   0.421
+    // -0.0     1.635   0.03655 -0.276  0.417   0.055   0.913   0.266   44.728  0.402   0.419
+    // 4.0      2.322   0.02820 -0.374  0.398   0.140   0.883   0.999   82.358  0.354   0.411
+    // 8.0      2.726   0.03441 -0.390  0.370   0.998   0.844   0.998   79.228  0.290   0.393
+    // 12.0     3.073   0.04338 -0.404  0.350   0.998   0.791   0.998   70.832  0.324   0.382
+    // 16.0     3.029   0.09726 -0.412  0.002   0.998   0.679   0.999   31.139  0.193   0.386
+    // 20.0     2.721   0.13509 -0.424  -0.003  0.998   0.616   0.999   20.142  0.221   0.406
+    // 24.0     2.243   0.18511 -0.435  -0.003  0.998   0.555   0.998   12.118  0.231   0.444
+    // 28.0     1.750   0.25303 -0.442  -0.003  0.999   0.483   0.999   6.916   0.236   0.503
 
-      /**
-       * @j2sNative
-       * 
-       *    var dummy = 0;
-       */
-      { // only in Java, not in JavaScript
-        String path = getParamOrProp("__def_file_dirpath", "") + name;
-        System.out.println("-- path: " + path);
-        if (new File(path).exists()) {
-          // create from file
-          Import imp = new Import(path);
-          imp.analyze();
-          if (p == strut && imp.camber_pst != 0)
-            imp.fixSymmetry("Mast"); // most import data leads to slight assymetric shape
-          p.foil = new Tab25Foil(imp.getName(), "Imorted foil " + imp.getName(), "\n\n Geometry: \n" + imp.getGeometryAsText() + "\n\n Table: \n" + imp.descr,
-                                 imp.thickness_pst, imp.camber_pst, 
-                                 imp.Cl, imp.Cd,
-                                 imp.Cm);
-
-          p.foil.geometry = imp.getGeometry();
-          p.foil.camber_line = imp.getCamberLine();
-              
-          int count  = imp.points_count();
-          System.out.println("-- count: " + count);
-          p.foil.points_x = new double[count];
-          p.foil.points_y = new double[count];
-          imp.getPoints(p.foil.points_x, p.foil.points_y);
+    static final double[] t_lift_NACA4_1515 = {-0.329, -0.323, -0.244, -0.040, 0.306 , 0.727 , 1.166 , 1.635 , 2.322 , 2.726 , 3.073 , 3.029 , 2.721 , 2.243 , 1.750     };
 
-          // need to ad p.foil to foil_arr
-          addFoil(p.foil);
-        }
-      }
+    static final double[] t_drag_NACA4_1515 = {0.40223, 0.29105, 0.20322, 0.13660, 0.09048, 0.06098, 0.04689, 0.03655, 0.02820, 0.03441, 0.04338, 0.09726, 0.13509, 0.18511, 0.25303};
 
-      if (p.foil == null) { 
-        System.out.println("WARNING: foil name: " + name + " is not recognized, assigning NACA 4 Series...");
-        p.foil = (Foil)foils.get("NACA 4 Series");
-      }
-    }
+    static final double[] t_mmnt_NACA4_1515 = {-0.142, -0.142, -0.136, -0.141, -0.150, -0.168, -0.199, -0.276, -0.374, -0.390, -0.404, -0.412, -0.424, -0.435, -0.442};
 
-    // if (p_name.equals("Stab")) System.out.println("-- stab foil: " + p.foil);
-    
-    String[] chord_spec = params[i++].split("[:;]"); // possible chord value separators 
-    p.chord_spec = chord_spec;
+    // Name = NACA 20415
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.204  0.41542 -0.172  0.815   0.004   0.967   0.016   -0.492  0.296   -0.594
+    // -24.0    -0.151  0.29248 -0.175  0.775   0.005   0.965   0.018   -0.518  0.284   -0.905
+    // -20.0    -0.011  0.21007 -0.179  0.732   0.005   0.961   0.019   -0.053  0.265   -15.854
+    // -16.0    0.266   0.14033 -0.181  0.684   0.009   0.953   0.018   1.899   0.258   0.930
+    // -12.0    0.687   0.09525 -0.184  0.631   0.012   0.942   0.018   7.213   0.270   0.518
+    // -8.0     1.170   0.06669 -0.199  0.565   0.014   0.926   0.022   17.548  0.301   0.420
+    // -4.0     1.610   0.05493 -0.231  0.434   0.018   0.903   0.038   29.306  0.367   0.394
+    // -0.0     2.020   0.05076 -0.298  0.415   0.038   0.878   0.110   39.797  0.369   0.398
+    // 4.0      2.809   0.03721 -0.374  0.401   0.099   0.848   0.272   75.474  0.430   0.383
+    // 8.0      3.182   0.04496 -0.507  0.383   0.190   0.812   0.999   70.765  0.472   0.409
+    // 12.0     3.506   0.05533 -0.529  0.364   0.997   0.769   0.997   63.361  0.351   0.401
+    // 16.0     3.536   0.12258 -0.543  -0.005  0.998   0.672   0.998   28.850  0.146   0.403
+    // 20.0     3.177   0.16124 -0.563  -0.005  0.998   0.626   0.998   19.702  0.206   0.427
+    // 24.0     2.624   0.21018 -0.583  -0.005  0.998   0.583   0.998   12.484  0.217   0.472
+    // 28.0     2.053   0.26914 -0.600  -0.005  0.997   0.540   0.998   7.628   0.219   0.542
 
-    // span value
-    p.span = Double.parseDouble(params[i++]);
+    static final double[] t_lift_NACA4_2015 = {-0.204, -0.151, -0.011, 0.266 , 0.687 , 1.170 , 1.610 , 2.020 , 2.809 , 3.182 , 3.506 , 3.536 , 3.177 , 2.624 , 2.053     };
 
-    // thickness value. optional, default is 12
-    String thickness = params.length > i ? params[i++] : "12";
-    int pst_pos = thickness.indexOf("%");
-    if (pst_pos > -1)
-      p.thickness = Double.parseDouble(thickness.substring(0, pst_pos));
-    else {
-      p.thickness = Double.parseDouble(thickness);
-      if (p.thickness < 0.5) // user entered thickness in meters, convert to %
-        p.thickness = 100* p.thickness / p.chord;
-    }
+    static final double[] t_drag_NACA4_2015 = {0.41542, 0.29248, 0.21007, 0.14033, 0.09525, 0.06669, 0.05493, 0.05076, 0.03721, 0.04496, 0.05533, 0.12258, 0.16124, 0.21018, 0.26914};
 
-    // camber value. optional, default is 0
-    thickness = params.length > i ? params[i++] : "0";
-    pst_pos = thickness.indexOf("%");
-    if (pst_pos > -1)
-      p.camber = Double.parseDouble(thickness.substring(0, pst_pos));
-    else {
-      p.camber = Double.parseDouble(thickness);
-      if (Math.abs(p.camber) < 0.1) // user likely entererd camber in meters, convert to %
-        p.camber = 100* p.camber / p.chord;
-    }
+    static final double[] t_mmnt_NACA4_2015 = {-0.172, -0.175, -0.179, -0.181, -0.184, -0.199, -0.231, -0.298, -0.374, -0.507, -0.529, -0.543, -0.563, -0.583, -0.600};
 
-    p.aoa = Double.parseDouble(params.length > i ? params[i++] : "0");
+    // Name = NACA 0020
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -1.475  0.31137 0.040   0.978   0.013   1.000   0.103   -4.736  0.242   0.277
+    // -24.0    -1.605  0.21713 0.039   0.966   0.015   1.000   0.156   -7.390  0.237   0.274
+    // -20.0    -1.658  0.13342 0.038   0.949   0.018   1.000   0.269   -12.425 0.414   0.273
+    // -16.0    -1.578  0.06898 0.035   0.921   0.027   1.000   0.467   -22.871 0.279   0.272
+    // -12.0    -1.353  0.03465 0.029   0.876   0.045   1.000   0.714   -39.052 0.274   0.272
+    // -8.0     -0.979  0.02160 0.021   0.789   0.108   1.000   0.901   -45.316 0.272   0.271
+    // -4.0     -0.505  0.01676 0.011   0.622   0.247   1.000   0.969   -30.149 0.271   0.271
+    // -0.0     -0.000  0.01576 -0.000  0.421   0.421   1.000   0.999   -0.000  0.271   0.250
+    // 4.0      0.505   0.01676 -0.011  0.247   0.622   0.969   0.999   30.149  0.271   0.271
+    // 8.0      0.979   0.02160 -0.021  0.108   0.789   0.901   0.999   45.316  0.272   0.271
+    // 12.0     1.353   0.03465 -0.029  0.045   0.876   0.714   0.998   39.052  0.274   0.272
+    // 16.0     1.578   0.06898 -0.035  0.027   0.921   0.467   0.999   22.871  0.279   0.272
+    // 20.0     1.658   0.13342 -0.038  0.018   0.949   0.269   0.999   12.425  0.414   0.273
+    // 24.0     1.605   0.21713 -0.039  0.015   0.966   0.156   1.000   7.390   0.237   0.274
+    // 28.0     1.475   0.31137 -0.040  0.013   0.978   0.103   0.999   4.736   0.242   0.277
 
-    // X axis position is LE position and is optional
-    if (params.length > i)
-      p.xpos = Double.parseDouble(params[i++]);
-    else {  // recalc using actual fuse length 
-      if (p == stab)
-        p.xpos = fuse.chord - p.chord;
-      else if (p == strut) 
-        p.xpos = 0.3 * fuse.chord;
-    }
+    static final double[] t_lift_NACA4_0020 = {-1.475, -1.605, -1.658, -1.578, -1.353, -0.979, -0.505, -0.000, 0.505 , 0.979 , 1.353 , 1.578 , 1.658 , 1.605 , 1.475     };
 
-    if (chord_spec.length == 1) { // simple rectangular shape
-      p.chord = Double.parseDouble(chord_spec[0]);
-      // *very* simple mesh
-      if (p == strut) {
-        p.mesh_LE = new Point3D[]{
-          new Point3D(p.xpos, 0, 0),
-          new Point3D(p.xpos, 0, p.span),
-        };
-        p.mesh_TE = new Point3D[]{
-          new Point3D(p.xpos + p.chord, 0, 0),
-          new Point3D(p.xpos + p.chord, 0, p.span),
-        };
-        p.chord_zoffs = p.span/2;
-      } else { 
-        double z_offset = 0;
-        if (p == wing) z_offset = -0.04; // 4cm down 
-        else if (p == stab) z_offset = 0.03; // 3 cm up
-        p.chord_zoffs = z_offset;
-        p.mesh_LE = new Point3D[]{
-          new Point3D(p.xpos, -p.span/2, z_offset),
-          new Point3D(p.xpos, p.span/2, z_offset),
-        };
-        p.mesh_TE = new Point3D[]{
-          new Point3D(p.xpos + p.chord, -p.span/2, z_offset),
-          new Point3D(p.xpos + p.chord,  p.span/2, z_offset),
-        };
-      }
-    } else { // segments: chord[/xshift[/zshift]]:....
-      double chords[] = new double[chord_spec.length];
-      double xoffs[] = new double[chord_spec.length];
-      double zoffs[] = new double[chord_spec.length];
-      int specs_len = 0;
-      boolean seen_zoff = false;
-      double xoffs_prev = 0, zoffs_prev = 0;
-      for (int ci = 0; ci < chord_spec.length; ci++) {
-        String[] ch_x_z = chord_spec[ci].split("/");
-        specs_len = Math.max(specs_len,ch_x_z.length);
-        chords[ci] = Double.parseDouble(ch_x_z[0]);
-        xoffs[ci] = xoffs_prev = xoffs_prev + 
-          ((ch_x_z.length > 1) 
-          ? Double.parseDouble(ch_x_z[1])
-           : 0);
-        double z_off = 0;
-        if (ch_x_z.length > 2) {
-          seen_zoff = true;
-          z_off = Double.parseDouble(ch_x_z[2]);
-        }
-        zoffs[ci] = zoffs_prev = zoffs_prev + z_off;
-        p.chord_zoffs+= zoffs_prev;
-      }
-      if (seen_zoff) p.chord_zoffs /= chord_spec.length;
-      else if (p == wing) p.chord_zoffs = -0.04; // 4cm down 
-      else if (p == stab) p.chord_zoffs = 0.03; // 3 cm up
-      if (parseParamData_debug) System.out.println("-- chord_zoffs: " + p.chord_zoffs);
-      
-      double xoff_tip  = xoffs_prev;
-      // System.out.println("-- xoff_tip: " + xoff_tip);
-      p.xoff_tip = xoff_tip;
-      
-      int segment_count = chord_spec.length -1;
-      // compute MAC value. this is silly straightfoward
-      // also approxinate MAC xpos... 
-      // the idea is that mac_xpos*MAC*segment_count*segment_width = SUM each segement xpos * area...
-      // which because width is the same for each segement becomes
-      // mac_xpos*MAC*segment_count = SUM each segement xpos * median chord
-      double MAC = 0, segment_moments = 0;
-      for (int ci = 0; ci < segment_count; ci++) {
-        // effectibe chord of this segment
-        double median_chord = (chords[ci] + chords[ci+1]) / 2;
-        double median_xoff = (xoffs[ci] + xoffs[ci+1]) / 2;
-        // effectibe chord of thsi segment added
-        MAC += median_chord;
-        segment_moments += median_xoff * median_chord;
-      }
-      MAC /= segment_count;
-      p.chord = MAC;
-      // now we derive mac xoffset!
-      double mac_xoffs = segment_moments/(MAC*segment_count);
-      if (parseParamData_debug) System.out.println("-- part: "+p_name+" MAC: " + MAC + " mac_xoffs: " + mac_xoffs);
-      p.chord_xoffs = mac_xoffs;
+    static final double[] t_drag_NACA4_0020 = {0.31137, 0.21713, 0.13342, 0.06898, 0.03465, 0.02160, 0.01676, 0.01576, 0.01676, 0.02160, 0.03465, 0.06898, 0.13342, 0.21713, 0.31137};
 
-      // estimate Ci_eff... how root chord RC, MAC and tip chord TC differ?
-      // // old: too conservative: (- 1 (* 0.15 tip/mac))
-      // (1) appoximate Taper ratio as: TCeff = RC - 2*(RC-MAC); tr = TCeff/RC
-      // (2) polynomial approxaimation - https://www.desmos.com/calculator/zgxg590b65
-      //     quick curve fit - not ideal but good enough. See Gudmundsson ch 15 p 690
-      double TC = chords[segment_count], RC = chords[0], TCeff = RC - 2 *(RC-MAC); 
-      double tr = Math.min(1, TCeff/RC); // taper ratio. why min(): mast can be > 1, see efoil/lift-5p6-170.html
-      System.out.println("-- taper ratio: " + tr);
-      // old p.Ci_eff = 1 - 0.15 * (Math.min(1, chords[segment_count]/MAC));
-      tr += 0.99;
-      // note: factored AR into the last coeff as follows: 
-      // it is 1.24 at AR=1, 1.28 at AR=22 .. so, d =  1.24 + (AR*0.0018)
-      double oswald_e = -0.011*Math.pow(tr,6) + 0.256 * tr*tr*tr + 0.1659*tr*tr - 1.56*tr + 1.24 + (0.0018*p.span/p.chord);
-      System.out.println("-- oswald_e: " + oswald_e);
-      p.Ci_eff = 1/(1 + oswald_e);
-      if (true || parseParamData_debug) System.out.println("-- "+p.name+" Ci_eff: " + p.Ci_eff);
-      // mesh. double segments for symmetric forms - wing, stab, fuse
-      int mesh_count = (p == strut) ?  segment_count+1 : 2*segment_count+1;
-      p.mesh_LE = new Point3D[mesh_count];
-      p.mesh_TE = new Point3D[mesh_count];
-      double z_offset = 0;
-      if (specs_len < 3) {// no z coord detected
-        if (p == wing) z_offset = -0.025; // down 
-        else if (p == stab) z_offset = 0.02; // up
-      }
-      double segment_span = p.span/(mesh_count-1);
-      if (p == strut) 
-        for (int ci = 0; ci < mesh_count; ci++) {
-          p.mesh_LE[ci] = new Point3D(p.xpos+xoffs[ci],           0, ci*segment_span);
-          p.mesh_TE[ci] = new Point3D(p.xpos+chords[ci]+xoffs[ci],0, ci*segment_span);
-        } else 
-        for (int ci = 0; ci <= segment_count; ci++) {
-          if (specs_len <  2) { // no xoffs, no z, align straight TE
-            p.mesh_LE[segment_count + ci] = new Point3D(p.xpos+chords[0]-chords[ci],  ci*segment_span, z_offset);
-            p.mesh_LE[segment_count - ci] = new Point3D(p.xpos+chords[0]-chords[ci], -ci*segment_span, z_offset);
-            p.mesh_TE[segment_count + ci] = new Point3D(p.xpos+chords[0],             ci*segment_span, z_offset);
-            p.mesh_TE[segment_count - ci] = new Point3D(p.xpos+chords[0],            -ci*segment_span, z_offset);
-          } else { // no need to align alone x
-            p.mesh_LE[segment_count + ci] = new Point3D(p.xpos+xoffs[ci],   ci*segment_span, z_offset+zoffs[ci]);
-            p.mesh_LE[segment_count - ci] = new Point3D(p.xpos+xoffs[ci],   -ci*segment_span, z_offset+zoffs[ci]);
-            p.mesh_TE[segment_count + ci] = new Point3D(p.xpos+chords[ci]+xoffs[ci],             ci*segment_span, z_offset+zoffs[ci]);
-            p.mesh_TE[segment_count - ci] = new Point3D(p.xpos+chords[ci]+xoffs[ci],            -ci*segment_span, z_offset+zoffs[ci]);
-          }
-        }
-      
-    }
+    static final double[] t_mmnt_NACA4_0020 = {0.040, 0.039, 0.038, 0.035, 0.029, 0.021, 0.011, -0.000, -0.011, -0.021, -0.029, -0.035, -0.038, -0.039, -0.040};
 
-    p.compute_aux_params(); // area AR etc
+    // Name = NACA 5420
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -1.172  0.32119 -0.046  0.937   0.013   0.980   0.064   -3.650  0.155   0.211
+    // -24.0    -1.203  0.23686 -0.049  0.914   0.015   0.981   0.077   -5.080  0.484   0.210
+    // -20.0    -1.140  0.16504 -0.053  0.883   0.020   0.981   0.095   -6.909  0.310   0.203
+    // -16.0    -0.964  0.10403 -0.063  0.840   0.024   0.982   0.160   -9.270  0.302   0.185
+    // -12.0    -0.674  0.05455 -0.077  0.774   0.034   0.983   0.311   -12.350 0.313   0.135
+    // -8.0     -0.307  0.01755 -0.104  0.682   0.055   0.983   0.908   -17.486 0.295   -0.090
+    // -4.0     0.193   0.01673 -0.116  0.547   0.113   0.978   0.998   11.558  0.272   0.852
+    // -0.0     0.704   0.01727 -0.127  0.417   0.251   0.962   1.000   40.790  0.272   0.431
+    // 4.0      1.190   0.01858 -0.138  0.357   0.835   0.934   1.000   64.050  0.273   0.366
+    // 8.0      1.645   0.02406 -0.149  0.267   0.938   0.883   1.000   68.400  0.274   0.341
+    // 12.0     2.007   0.03759 -0.158  0.123   0.972   0.782   1.000   53.405  0.276   0.329
+    // 16.0     2.207   0.06538 -0.164  0.031   0.999   0.635   1.000   33.754  0.291   0.324
+    // 20.0     2.249   0.10615 -0.168  0.017   1.000   0.505   1.000   21.185  0.167   0.325
+    // 24.0     2.126   0.16852 -0.171  0.010   1.000   0.392   1.000   12.616  0.252   0.330
+    // 28.0     1.864   0.26323 -0.168  0.007   1.000   0.269   1.000   7.081   0.261   0.340
 
-    if (parseParamData_debug) trace("parseParamData, done:", p, p.foil.id, p_name, p_data);
-        
-    return true;
-  }
+    static final double[] t_lift_NACA4_0520 = {-1.172, -1.203, -1.140, -0.964, -0.674, -0.307, 0.193 , 0.704 , 1.190 , 1.645 , 2.007 , 2.207 , 2.249 , 2.126 , 1.864     };
 
+    static final double[] t_drag_NACA4_0520 = {0.32119, 0.23686, 0.16504, 0.10403, 0.05455, 0.01755, 0.01673, 0.01727, 0.01858, 0.02406, 0.03759, 0.06538, 0.10615, 0.16852, 0.26323};
 
-  // taken from pspice-tubes/scripts/java/TopLevelMacros.jsl
-  String getTextResourceAsString (String name) {
-    String result = "[text resource " + name + " is empty or not found]";
-  
-    try {
-      String resName = "" + name;
-      ByteArrayOutputStream bos = null;
-      InputStream inFile = null;
-      inFile = getClass().getClassLoader().getResourceAsStream(resName);
-   
-      if (inFile == null) {
-        inFile = new FileInputStream(resName);
-      }
-   
-      BufferedReader reader =
-        new BufferedReader(new InputStreamReader(inFile));
-      bos = new ByteArrayOutputStream();
-      String text = "";
-   
-      for (String line = reader.readLine();
-           line != null;
-           line = reader.readLine()) text += line + "\n";
-   
-      result = text;
-    } catch (Exception e) {
-      System.out
-        .println("-- got exception when reading from text resource: " + e);
-    }
-    return result;
-  }  
-  
-  JFrame  helpWindow; // was: JDialog helpWindow;
-  JDialog aboutWindow;
+    static final double[] t_mmnt_NACA4_0520 = {-0.046, -0.049, -0.053, -0.063, -0.077, -0.104, -0.116, -0.127, -0.138, -0.149, -0.158, -0.164, -0.168, -0.171, -0.168};
 
-  void helpPopUp () {
-    if (helpWindow == null) {
-      JFrame frame = FoilBoard.frame != null ? FoilBoard.frame : new JFrame();
-      String helpContent = getTextResourceAsString("README.md") + 
-        getTextResourceAsString("docs/GUIPanels.md") + 
-        getTextResourceAsString("docs/Parameters.md");
+    // Name = NACA 10420
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.889  0.32829 -0.108  0.889   0.013   0.974   0.040   -2.707  0.347   0.129
+    // -24.0    -0.860  0.24399 -0.110  0.857   0.014   0.974   0.046   -3.526  0.304   0.122
+    // -20.0    -0.721  0.17311 -0.117  0.817   0.016   0.975   0.059   -4.163  0.287   0.088
+    // -16.0    -0.470  0.11761 -0.125  0.767   0.020   0.973   0.074   -3.997  0.282   -0.015
+    // -12.0    -0.120  0.07725 -0.136  0.703   0.028   0.970   0.097   -1.558  0.301   -0.878
+    // -8.0     0.298   0.04607 -0.164  0.620   0.038   0.963   0.201   6.472   0.351   0.799
+    // -4.0     0.875   0.01875 -0.237  0.475   0.065   0.950   0.999   46.674  0.329   0.520
+    // -0.0     1.381   0.02113 -0.249  0.415   0.134   0.927   0.999   65.347  0.277   0.430
+    // 4.0      1.832   0.02459 -0.262  0.384   0.294   0.896   0.999   74.517  0.281   0.393
+    // 8.0      2.269   0.02947 -0.276  0.348   0.999   0.851   0.999   76.997  0.284   0.372
+    // 12.0     2.641   0.03927 -0.290  0.294   0.999   0.795   0.999   67.247  0.295   0.360
+    // 16.0     2.841   0.05832 -0.302  0.202   0.999   0.720   0.999   48.709  0.351   0.356
+    // 20.0     2.817   0.11372 -0.308  0.015   0.999   0.592   0.999   24.771  0.180   0.359
+    // 24.0     2.639   0.16530 -0.316  0.004   0.999   0.513   0.999   15.964  0.220   0.370
+    // 28.0     2.299   0.23083 -0.323  0.001   0.999   0.444   0.999   9.958   0.229   0.391
 
-      JTextArea txtArea = new JTextArea(helpContent);
-      txtArea.setLineWrap(true);
-      txtArea.setWrapStyleWord(true);
-      txtArea.setEditable(false);
-      txtArea.setFont(new Font("Monospaced", Font.PLAIN, 14));
-      txtArea.setBackground(Color.decode("#F0F0F0"));
-      helpWindow = new JFrame("Help Info"); // new JDialog(frame, "help");
-      helpWindow.add(new JScrollPane(txtArea), BorderLayout.CENTER);
-      helpWindow.setLocationRelativeTo(this);
-      helpWindow.setLocation(100, 100);
-      helpWindow.setSize(800, 800);
-    }
-    helpWindow.setVisible(true);
-  }
+    static final double[] t_lift_NACA4_1020 = {-0.889, -0.860, -0.721, -0.470, -0.120, 0.298 , 0.875 , 1.381 , 1.832 , 2.269 , 2.641 , 2.841 , 2.817 , 2.639 , 2.299     };
 
-  void helpPopUp_html () {
-    if (helpWindow == null) {
-      JFrame frame = FoilBoard.frame != null ? FoilBoard.frame : new JFrame();
-      //Panel panel = new Panel();
-      String helpContent = getTextResourceAsString("README.html") 
-        // + getTextResourceAsString("docs/GUIPanels.md") + 
-        // getTextResourceAsString("docs/Parameters.md")
-        ;
+    static final double[] t_drag_NACA4_1020 = {0.32829, 0.24399, 0.17311, 0.11761, 0.07725, 0.04607, 0.01875, 0.02113, 0.02459, 0.02947, 0.03927, 0.05832, 0.11372, 0.16530, 0.23083};
 
-      JEditorPane txtArea = new JEditorPane();
-      txtArea.setAutoscrolls(true);
-      txtArea.setEditable(false);
-      txtArea.setContentType("text/html");
-      txtArea.setText(helpContent);
+    static final double[] t_mmnt_NACA4_1020 = {-0.108, -0.110, -0.117, -0.125, -0.136, -0.164, -0.237, -0.249, -0.262, -0.276, -0.290, -0.302, -0.308, -0.316, -0.323};
 
-      txtArea.setBackground(Color.decode("#F0F0F0"));
-      txtArea.putClientProperty(JEditorPane.HONOR_DISPLAY_PROPERTIES, true);
-      txtArea.setFont(new Font("TimesRoman", Font.PLAIN, 16));
-      helpWindow = new JFrame("Help Info"); // new JDialog(frame, "help");
-      helpWindow.add(new JScrollPane(txtArea));
-      helpWindow.setLocationRelativeTo(this);
-      helpWindow.setLocation(100, 100);
-      helpWindow.setSize(800, 800);
-    }
-    helpWindow.setVisible(true);
-  }
-  static String getProperty (String name, String dflt) {
-    String val = props == null ? null : props.getProperty(name);
-    if (val == null) val = System.getProperty(name, dflt);
-    return val;
-  }
+    // Name = NACA 15420
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.610  0.33188 -0.148  0.843   0.014   0.969   0.025   -1.839  0.277   0.008
+    // -24.0    -0.529  0.24819 -0.150  0.807   0.014   0.967   0.028   -2.132  0.284   -0.034
+    // -20.0    -0.341  0.17883 -0.157  0.764   0.015   0.965   0.034   -1.905  0.289   -0.211
+    // -16.0    -0.031  0.12377 -0.169  0.712   0.017   0.960   0.046   -0.253  0.287   -5.163
+    // -12.0    0.365   0.08391 -0.183  0.651   0.021   0.952   0.060   4.344   0.288   0.753
+    // -8.0     0.806   0.05803 -0.201  0.574   0.031   0.940   0.080   13.885  0.315   0.500
+    // -4.0     1.260   0.04408 -0.242  0.439   0.045   0.920   0.163   28.577  0.385   0.442
+    // -0.0     2.007   0.02681 -0.363  0.415   0.085   0.894   0.999   74.844  0.371   0.431
+    // 4.0      2.411   0.03169 -0.381  0.398   0.166   0.862   0.999   76.096  0.295   0.408
+    // 8.0      2.820   0.03844 -0.400  0.368   0.999   0.823   0.999   73.363  0.299   0.392
+    // 12.0     3.181   0.04803 -0.419  0.346   0.999   0.774   0.999   66.235  0.311   0.382
+    // 16.0     3.429   0.06302 -0.437  0.312   0.999   0.720   0.999   54.420  0.407   0.377
+    // 20.0     3.413   0.08593 -0.455  0.267   0.999   0.665   0.999   39.716  0.163   0.383
+    // 24.0     3.117   0.18356 -0.464  -0.002  0.999   0.563   0.999   16.979  0.216   0.399
+    // 28.0     2.695   0.24323 -0.479  -0.005  0.999   0.513   0.999   11.079  0.215   0.428
 
-  String getParamOrProp (String name, String dflt) {
-    String val = runAsApplication ? null 
-      : getParameter(name); // runAsApplication == false means this is applet
-    if (val == null) val = getProperty(name, dflt);
-    return val;
-  }
+    static final double[] t_lift_NACA4_1520 = {-0.610, -0.529, -0.341, -0.031, 0.365 , 0.806 , 1.260 , 2.007 , 2.411 , 2.820 , 3.181 , 3.429 , 3.413 , 3.117 , 2.695     };
 
-  String getParamOrPropAliased (String name, String alias, String dflt) {
-    String val = null; 
-    if (!runAsApplication) { // runAsApplication == false means this is applet
-      val = getParameter(name); 
-      if (val == null) val = getParameter(alias);
-    }
-    if (val == null) val = getProperty(name, null);
-    if (val == null) val = getProperty(alias, dflt);
-    return val;
-  }
+    static final double[] t_drag_NACA4_1520 = {0.33188, 0.24819, 0.17883, 0.12377, 0.08391, 0.05803, 0.04408, 0.02681, 0.03169, 0.03844, 0.04803, 0.06302, 0.08593, 0.18356, 0.24323};
 
-  String lang; 
+    static final double[] t_mmnt_NACA4_1520 = {-0.148, -0.150, -0.157, -0.169, -0.183, -0.201, -0.242, -0.363, -0.381, -0.400, -0.419, -0.437, -0.455, -0.464, -0.479};
 
-  @Override
-  public void init () {
-    //setPreferredSize(new Dimension(1000, 800));
-    setSize(900, 600);
-
-    lang = System.getProperty("user.language");
-    // mast_foot_pressure_k = Double.parseDouble(getParamOrProp("MFP","0"));
+    // Name = NACA 20420
+    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+    // -28.0    -0.384  0.33708 -0.193  0.796   0.009   0.965   0.029   -1.139  0.185   -0.253
+    // -24.0    -0.247  0.24958 -0.184  0.758   0.013   0.960   0.024   -0.988  0.233   -0.497
+    // -20.0    0.002   0.18194 -0.186  0.715   0.015   0.952   0.024   0.010   0.269   100.285
+    // -16.0    0.368   0.12932 -0.196  0.668   0.017   0.944   0.028   2.849   0.282   0.781
+    // -12.0    0.812   0.09027 -0.212  0.612   0.018   0.930   0.036   8.994   0.296   0.511
+    // -8.0     1.281   0.06551 -0.238  0.534   0.022   0.914   0.053   19.551  0.311   0.435
+    // -4.0     1.705   0.05543 -0.267  0.433   0.036   0.890   0.076   30.768  0.354   0.406
+    // -0.0     2.139   0.05160 -0.327  0.415   0.063   0.863   0.166   41.447  0.354   0.403
+    // 4.0      2.914   0.04079 -0.393  0.402   0.120   0.833   0.321   71.432  0.417   0.385
+    // 8.0      3.290   0.04952 -0.519  0.383   0.205   0.798   0.999   66.443  0.468   0.408
+    // 12.0     3.616   0.06034 -0.546  0.363   0.998   0.758   0.999   59.932  0.337   0.401
+    // 16.0     3.894   0.07538 -0.571  0.347   0.999   0.708   0.999   51.655  0.412   0.397
+    // 20.0     3.920   0.09570 -0.595  0.333   0.999   0.649   0.999   40.963  0.120   0.402
+    // 24.0     3.558   0.21309 -0.615  -0.007  0.999   0.584   0.999   16.695  0.199   0.423
+    // 28.0     3.063   0.26953 -0.639  -0.009  0.999   0.547   0.999   11.365  0.202   0.459
 
-    // System.out.println("-- lang: " + lang);
+    static final double[] t_lift_NACA4_2020 = {-0.384, -0.247, 0.002 , 0.368 , 0.812 , 1.281 , 1.705 , 2.139 , 2.914 , 3.290 , 3.616 , 3.894 , 3.920 , 3.558 , 3.063     };
 
-    // any inputs?
-    //
-    // note: defaults are typical windfoiler's, see kitefoil.sh for
-    // typical kiter's values note 2: some of these were originally
-    // constants hence uppercased, but then became initialized from
-    // props...
-    String craft_type_str = getParamOrPropAliased("TYPE","CRAFT_TYPE","WINDFOIL").toUpperCase();
-    if (craft_type_str.equals("WINDFOIL")) craft_type = WINDFOIL;
-    else if (craft_type_str.equals("KITEFOIL")) craft_type = KITEFOIL;
-    else if (craft_type_str.equals("WINGFOIL")) craft_type = WINGFOIL;
-    else if (craft_type_str.equals("EFOIL")) craft_type = EFOIL;
-    else if (craft_type_str.equals("SURFFOIL")) craft_type = SURFFOIL;
+    static final double[] t_drag_NACA4_2020 = {0.33708, 0.24958, 0.18194, 0.12932, 0.09027, 0.06551, 0.05543, 0.05160, 0.04079, 0.04952, 0.06034, 0.07538, 0.09570, 0.21309, 0.26953};
 
-    BOARD_THICKNESS = Double.parseDouble(getParamOrPropAliased("BH",  "BOARD_THICKNESS", craft_type_dflt_board_thk[craft_type]));
-    BOARD_LENGTH    = Double.parseDouble(getParamOrPropAliased("BL",  "BOARD_LENGTH", craft_type_dflt_board_len[craft_type]));
-    BOARD_WIDTH     = Double.parseDouble(getParamOrPropAliased("BWD",  "BOARD_WIDTH", craft_type_dflt_board_wd[craft_type]));
-    // Board weight force in Newtons
-    BOARD_WEIGHT    = Double.parseDouble(getParamOrPropAliased("BW",  "BOARD_WEIGHT", craft_type_dflt_board_wght[craft_type]));
-    RIG_WEIGHT      = Double.parseDouble(getParamOrPropAliased("RW",  "RIG_WEIGHT", craft_type == WINDFOIL ? "100" : "0"));
-    load            = Double.parseDouble(getParamOrPropAliased("RSL", "TOTAL_WEIGHT", "735"));
-    rider.weight    = load - BOARD_WEIGHT - RIG_WEIGHT - FOIL_WEIGHT;
+    static final double[] t_mmnt_NACA4_2020 = {-0.193, -0.184, -0.186, -0.196, -0.212, -0.238, -0.267, -0.327, -0.393, -0.519, -0.546, -0.571, -0.595, -0.615, -0.639};
 
-    MAST_LE_TO_TRANSOM = Double.parseDouble(getParamOrPropAliased("MAST_LE2TRANS",  "MAST_LE_TO_TRANSOM_DISTANCE", ""+MAST_LE_TO_TRANSOM));
-    WS_MASTBASE_MAST_LE = Double.parseDouble(getParamOrPropAliased("WSMAST2MASTLE",  "WS_MASTBASE_TO_MAST_LE_DISTANCE", ""+WS_MASTBASE_MAST_LE));
-    use_cylinder_shapes = Boolean.parseBoolean(getParamOrPropAliased("CYLS", "USE_CYLINDER_SHAPES", "false"));
-    use_foilsim_foils   = Boolean.parseBoolean(getParamOrPropAliased("FSIMFOILS", "USE_FOILSIM_FOILS", "false"));
+    static final double[][] t_lift_NACA4 = {
+      t_lift_NACA4_0005, 
+      t_lift_NACA4_0505, 
+      t_lift_NACA4_1005, 
+      t_lift_NACA4_1505, 
+      t_lift_NACA4_2005, 
 
-    FRONT_FOOTSTRAP_XPOS = Double.parseDouble(getParamOrPropAliased("FRONT_FOOTSTRAP_XPOS",  "FRONT_FOOTSTRAP_TO_MAST_LE_DISTANCE", 
-                                                                    craft_type == WINDFOIL
-                                                                    ? "-0.5"
-                                                                    : "NaN"));
-    BACK_FOOTSTRAP_XPOS = Double.parseDouble(getParamOrPropAliased("BACK_FOOTSTRAP_XPOS",  "BACK_FOOTSTRAP_TO_MAST_LE_DISTANCE", 
-                                                                    craft_type == WINDFOIL
-                                                                    ? "0.04"
-                                                                    : "NaN"));
+      t_lift_NACA4_0010,
+      t_lift_NACA4_0510,
+      t_lift_NACA4_1010,
+      t_lift_NACA4_1510,
+      t_lift_NACA4_2010,
 
-    // String footstraps_string = getParamOrProp("FOOTSTRAPS", "None").toLowerCase();
-    // if (footstraps_string.startsWith("no")) footstraps = 0; // none
-    // else if (footstraps_string.equals("front")) footstraps = 1; // front onl
-    // else footstraps = 2; // both
+      t_lift_NACA4_0015,
+      t_lift_NACA4_0515,
+      t_lift_NACA4_1015,
+      t_lift_NACA4_1515,
+      t_lift_NACA4_2015,
 
-    // Parse parameters. Parse Fuse first so that default xpos for 
-    // other foisl parts can be computed, then the rest of them.
-    parseParameters(fuse, "Fuse", 
-                    craft_type == WINDFOIL 
-                    ? "NACA_4_Series 0.80 0.02 4 0 -1"
-                    : "NACA_4_Series 0.55 0.02 4 0 -1");
-    parseParameters(wing, "Wing", craft_type == WINDFOIL
-                    ? "NACA_4_Series 0.170;0.160;0.150;0.135;0.110;0.045 0.75 12 3.34 0"
-                    : "NACA_4_Series 0.09 0.54 12 3.34 0");
-    parseParameters(stab, "Stab", craft_type == WINDFOIL
-                    ? "NACA_4_Series 0.07 0.45 12 -3 0"
-                    : "NACA_4_Series 0.061 0.315 12 -3.34 0");
-    if (getParamOrProp("Strut", null) != null)
-      parseParameters(strut, "Strut", null);
-    else 
-      parseParameters(strut, "Mast", craft_type == WINDFOIL 
-                      ? "NACA_4_Series 0.125 0.85 12 0 0 0.33"
-                      : "NACA_4_Series 0.12 1.04 12 0 0");
+      t_lift_NACA4_0020,
+      t_lift_NACA4_0520,
+      t_lift_NACA4_1020,
+      t_lift_NACA4_1520,
+      t_lift_NACA4_2020
+    };
 
-    make_name  = getParameter("Make", "Make:N/A").trim();
-    model_name = getParameter("Model", "Model:Test").trim();
-    year_etc   = getParameter("Year/Variant", null);
-    if (year_etc == null)  year_etc = getParameter("Year", "V1");
-    year_etc.trim();
-    t_foil_name = (make_name + " " + model_name + " " + year_etc).trim();
+    static final double[][] t_drag_NACA4 = {
+      t_drag_NACA4_0005, 
+      t_drag_NACA4_0505, 
+      t_drag_NACA4_1005, 
+      t_drag_NACA4_1505, 
+      t_drag_NACA4_2005, 
 
-    // adjust or set height
-    if (craft_type == WINDFOIL) 
-      DRIVING_FORCE_HEIGHT = // sail drives "from 20-50cm  above boom" - depending on mast len, sail size, etc
-        Double.parseDouble(getParamOrProp("SAIL_DRIVE_HEIGHT", "1.8"));
-    else if (craft_type == EFOIL) 
-      DRIVING_FORCE_HEIGHT = 
-        Double.parseDouble(getParamOrProp("PROP_DRIVE_HEIGHT", (""+(0.07-strut.span))));
+      t_drag_NACA4_0010,
+      t_drag_NACA4_0510,
+      t_drag_NACA4_1010,
+      t_drag_NACA4_1510,
+      t_drag_NACA4_2010,
 
-    // Meed to show FoilSim foils?
-    if (use_foilsim_foils) {
-      addFoil(new Foil("Joukowski","\n Joukowski Foil"));
-      addFoil(new Foil("Ellipse", "\n Elliptical Foil"));
-      addFoil(new Foil("Flat Plate", "\n Plate"));
-    }
+      t_drag_NACA4_0015,
+      t_drag_NACA4_0515,
+      t_drag_NACA4_1015,
+      t_drag_NACA4_1515,
+      t_drag_NACA4_2015,
 
-    // adjust pre-loaded foils
-    if (use_cylinder_shapes) {
-      addFoil(new RoundFoil("Rotating Cylinder", "\n Rotating Cylinder"));
-      addFoil(new RoundFoil("Spinning Ball","\n Spinning Ball"));
-    }
+      t_drag_NACA4_0020,
+      t_drag_NACA4_0520,
+      t_drag_NACA4_1020,
+      t_drag_NACA4_1520,
+      t_drag_NACA4_2020
+    };
 
-    if (getParamOrProp("LIST_FOILS", null) != null)
-      for(Object key: foils.keySet()) System.out.println(("    "+key).replace(" ", "_"));
 
-    offImg1 = createImage(this.size().width,
-                          this.size().height);
-    off1Gg = offImg1.getGraphics();
-    offImg2 = createImage(this.size().width,
-                          this.size().height);
-    off2Gg = offImg2.getGraphics();
-    offImg3 = createImage(this.size().width,
-                          this.size().height);
-    off3Gg = offImg3.getGraphics();
+    static final double[][] t_mmnt_NACA4 = {
+      t_mmnt_NACA4_0005, 
+      t_mmnt_NACA4_0505, 
+      t_mmnt_NACA4_1005, 
+      t_mmnt_NACA4_1505, 
+      t_mmnt_NACA4_2005, 
 
-    setLayout(new GridLayout(2,2,5,5));
+      t_mmnt_NACA4_0010,
+      t_mmnt_NACA4_0510,
+      t_mmnt_NACA4_1010,
+      t_mmnt_NACA4_1510,
+      t_mmnt_NACA4_2010,
 
-    dash = new DashBoard(this);
+      t_mmnt_NACA4_0015,
+      t_mmnt_NACA4_0515,
+      t_mmnt_NACA4_1015,
+      t_mmnt_NACA4_1515,
+      t_mmnt_NACA4_2015,
 
-    // prelim
-    lunits = METRIC;
-    setUnits();
+      t_mmnt_NACA4_0020,
+      t_mmnt_NACA4_0520,
+      t_mmnt_NACA4_1020,
+      t_mmnt_NACA4_1520,
+      t_mmnt_NACA4_2020
+    };
+  } // NACA4Polars
 
-    solver.setDefaults();
+  class Tab15Foil extends Foil {
+    // not yet double re;
+    double thickness;
+    double camber;
+    double[] t_lift; // Cl
+    double[] t_drag; // Cd
+    double[] t_moment; // Cm
+    Spline s_lift, s_drag, s_moment; // built from the above
+    String report_text;
 
-    in = new In(this);
+    // Polars at more than one Reynolds number, see add_polar(). null
+    // while the foil has just the tables above, which are taken to be
+    // at reynolds_correction_fixpt. Rows are sorted by Re, the splines
+    // of each row and the log(Re) spacing are computed once, in add_polar()
+    double[] re_rows;
+    double[] re_log;      // Math.log(re_rows[i])
+    double[] re_inv_dlog; // 1/(re_log[i+1] - re_log[i])
+    Spline[] re_lift, re_drag, re_moment;
 
-    viewer = new Viewer(this);
+    Tab15Foil (String descr, String print_line, String report_text, double thickness, double camber, double[] t_lift, double[] t_drag, double[] t_moment) {
+      super(descr, print_line);
+      this.report_text = report_text;
+      this.thickness = thickness;
+      this.camber = camber;
+      this.t_lift = t_lift;
+      this.t_drag = t_drag;
+      this.t_moment = t_moment;
+      check_arrays(size());
+      reynolds_correction_fixpt = 300000;
+      s_lift = Spline.of(aoa0(), step(), t_lift);
+      s_drag = Spline.of(aoa0(), step(), t_drag);
+      if (t_moment != null) s_moment = Spline.of(aoa0(), step(), t_moment);
+    }
 
-    perfweb = new PerfWeb(this);
+    int size () { return 15; }
+    double step () { return 4; } // deg between table rows
+    double aoa0 () { return -step() * (size() - 1) / 2; } // tables are centered at AoA 0
+
+    // adds (or replaces) the polar at Reynolds number re. cm can be
+    // null, then the moment is taken as not depending on Re
+    void add_polar (double re, double[] cl, double[] cd, double[] cm) {
+      int sz = size();
+      if (!(re > 0) || cl.length != sz || cd.length != sz || (cm != null && cm.length != sz)) {
+        System.out.println("ERROR: foil " + descr + " polar at Re " + re + " ignored, needs " + sz + " values for each of Cl, Cd, Cm");
+        return;
+      }
+      if (re_rows == null) {
+        re_rows = new double[] { reynolds_correction_fixpt };
+        re_lift = new Spline[] { s_lift };
+        re_drag = new Spline[] { s_drag };
+        re_moment = new Spline[] { s_moment };
+      }
+      Spline sl = new Spline(aoa0(), step(), cl);
+      Spline sd = new Spline(aoa0(), step(), cd);
+      Spline sm = (cm == null || s_moment == null) ? s_moment : new Spline(aoa0(), step(), cm);
+
+      int n = re_rows.length, i = 0;
+      while (i < n && re_rows[i] < re) i++;
+      if (i == n || re_rows[i] != re) {
+        double[] rows = new double[n+1];
+        Spline[] lift = new Spline[n+1], drag = new Spline[n+1], moment = new Spline[n+1];
+        for (int j = 0, k = 0; j <= n; j++) {
+          if (j == i) continue;
+          rows[j] = re_rows[k]; lift[j] = re_lift[k]; drag[j] = re_drag[k]; moment[j] = re_moment[k];
+          k++;
+        }
+        re_rows = rows; re_lift = lift; re_drag = drag; re_moment = moment;
+        n++;
+      } else {
+        re_rows = re_rows.clone(); re_lift = re_lift.clone(); re_drag = re_drag.clone(); re_moment = re_moment.clone();
+      }
+      re_rows[i] = re; re_lift[i] = sl; re_drag[i] = sd; re_moment[i] = sm;
+
+      re_log = new double[n];
+      re_inv_dlog = new double[n];
+      for (int j = 0; j < n; j++) re_log[j] = Math.log(re_rows[j]);
+      for (int j = 0; j < n - 1; j++) re_inv_dlog[j] = 1 / (re_log[j+1] - re_log[j]);
+      if (re_rows[i] == reynolds_correction_fixpt) {
+        // keep the single-Re view of the foil in sync
+        s_lift = sl; s_drag = sd; s_moment = sm;
+      }
+    }
 
-    out_top = new DashBoardOrPlot(this);
-    out_bottom = new Out(this);
+    // rows[] evaluated at effaoa and current_part.reynolds: linear in
+    // log(Re) between the two rows around it, clamped to the end rows
+    double re_eval (Spline[] rows, double effaoa) {
+      double re = current_part.reynolds;
+      int last = re_rows.length - 1;
+      if (!(re > re_rows[0])) return rows[0].eval(effaoa); // NaN too
+      if (re >= re_rows[last]) return rows[last].eval(effaoa);
+      int i = 0;
+      while (re >= re_rows[i+1]) i++;
+      double w = (Math.log(re) - re_log[i]) * re_inv_dlog[i];
+      double lo = rows[i].eval(effaoa);
+      return lo + w * (rows[i+1].eval(effaoa) - lo);
+    }
 
-    add(viewer);
-    add(out_top);
-    add(in);
-    add(out_bottom);
+    // the tables already hold the Re effect between the first and the
+    // last row, so only Re outside of that range is corrected
+    @Override
+    double re_corr_fixpt () {
+      if (re_rows == null) return reynolds_correction_fixpt;
+      return Math.min(re_rows[re_rows.length-1], Math.max(re_rows[0], current_part.reynolds));
+    }
+    @Override
+    boolean fast_coeffs () { return true; }
 
-    // 'presettings'
-    solver.getFreeStream();
-    cp_computeFlow();
-    viewer.start();
-    out_top.plot.start();
+    void check_arrays (int sz) {
+      if (t_lift.length != sz) 
+        System.out.println("ERROR: foil " + descr + "has wrong length of Cl array: " + t_lift.length);
+      if (t_drag.length != sz) 
+        System.out.println("ERROR: foil " + descr + "has wrong length of Cd array: " + t_drag.length);
+    }
 
-    // now, simulate switch to underwater, ocean water conditions
-    // with metric units
-    
-    planet = 2; // water
-    solver.getFreeStream ();
-    // in.env.rightPanel.plntch.setSelectedIndex(planet);
+    @Override
+    double get_Cl (double effaoa) {
+      return re_rows == null ? s_lift.eval(effaoa) : re_eval(re_lift, effaoa);
+    }
 
-    lunits = METRIC;
-    setUnits();
-    dash.untch.setSelectedIndex(METRIC);
+    // batch: cl[k] for effaoa[k], k < count
+    void get_Cl (double[] effaoa, double[] cl, int count) {
+      if (re_rows == null) 
+        s_lift.eval(effaoa, cl, count);
+      else
+        for (int k = 0; k < count; k++) cl[k] = re_eval(re_lift, effaoa[k]);
+    }
 
-    velocity = 20.0; // speed is 20 km/h
-    alt_val = 70; // depth: 30% of strut
+    @Override
+    double getCdragIdeal (double cldin, double effaoa, double thickness, double camber) {
+      return re_rows == null ? s_drag.eval(effaoa) : re_eval(re_drag, effaoa);
+    }
 
+    @Override
+    double getCmoment (double effaoa) {
+      if (s_moment == null) return 0;
+      return re_rows == null ? s_moment.eval(effaoa) : re_eval(re_moment, effaoa);
+    }
 
-    // Stab in downwash? if so, turn correction 'on' by default
-    if (false && // TEMPORARY OFF by default... as I expect a bug in logic - try craft aoa 10, fuse and stab aoa -10 added.
-        wing.xpos + wing.chord_xoffs < stab.xpos + stab.chord_xoffs ) {
-      stab_aoa_correction = true;
-      in.opts.chb_stab_aoa_corr.setSelected(true);
+    @Override
+    void adjust_foil_shape_in_tab () {
+      current_part.thickness = thickness;
+      current_part.camber = camber;
+      // current_part.camber/25 = current_part.camber / 25.0;
+      in.shp.set_camber_and_thickness_controls(false);
     }
-    
-    computeFlowAndRegenPlotAndAdjust();
-    // make flight tab active
-    //dash.ibt_flight_al.actionPerformed(new ActionEvent((Object)dash.ibt_flight, ActionEvent.ACTION_PERFORMED, ""));
-    // make wing part active
-    //dash.wing_bt_al.actionPerformed(new ActionEvent((Object)wing_bt, ActionEvent.ACTION_PERFORMED, ""));
-
-    inited = true;
-
-    // System.out.println("-- stab foil: " + stab.foil);
-
-    switch_to_part(wing);
-    recomp_all_parts();
-    computeFlowAndRegenPlotAndAdjust();
-
-    // note: likely excessive as the above does it.
-    // forces_totals_maybe_panels(); 
 
+    @Override
+    String genReportText (double thickness, double camber) {
+      return report_text;
+    }
 
-    vpp.steady_flight_at_given_speed(5, 0);
-    computeFlowAndRegenPlotAndAdjust();
+    // imported foils are known to this engine only, so (re)create them in the target one
+    @Override
+    Foil rebind (FoilBoard engine) {
+      Foil foil = (Foil)engine.foils.get(descr);
+      if (foil == null) {
+        foil = size() == 25 
+          ? engine.new Tab25Foil(descr, print_line, report_text, thickness, camber, t_lift, t_drag, t_moment)
+          : engine.new Tab15Foil(descr, print_line, report_text, thickness, camber, t_lift, t_drag, t_moment);
+        copy_geometry_to(foil);
+      }
+      // polars come from params the engine does not read. All of it is
+      // never modified in place, only replaced, hence can be shared
+      if (foil instanceof Tab15Foil) {
+        Tab15Foil tf = (Tab15Foil)foil;
+        tf.re_rows = re_rows; tf.re_log = re_log; tf.re_inv_dlog = re_inv_dlog;
+        tf.re_lift = re_lift; tf.re_drag = re_drag; tf.re_moment = re_moment;
+        tf.s_lift = s_lift; tf.s_drag = s_drag; tf.s_moment = s_moment;
+      }
+      return foil;
+    }
+  }
 
-    plot_type = PLOT_TYPE_CG_VS_SPEED;
+  class Tab25Foil extends Tab15Foil {
 
-    //debug
-    //DRIVING_FORCE_HEIGHT = 0;
+    Tab25Foil (String descr, String print_line, String report_text, double thickness, double camber, double[] t_lift, double[] t_drag, double[] t_moment) {
+      super(descr, print_line, report_text, thickness, camber, t_lift, t_drag, t_moment);
+      reynolds_correction_fixpt = 300000;
+    }
 
-  }
- 
-  public Insets insets () {
-    return new Insets(10,10,10,10);
+    @Override
+    int size () { return 25; }
+    @Override
+    double step () { return 2; }
   }
 
-  double effective_aoa () {
-    // strut is vertical and pitch does nto affect it and vice versa.
-    // hence for strut, effective_aoa is its own aoa.
-    if (current_part == strut)
-      return current_part.aoa;
-    else if (// false && // DEBUG aft problems...
-             current_part == stab && stab_aoa_correction) {
-      // stab is in downwash from main wing and sees some down stream.
-      double wing_Cl0 = 0.4; // very typical, true for Aquila, NACA 3412 63-412 etc
-      // the following is from "General aviation aicraft design, Appendix C1"
-      double wing_Cl = wing.cl;
-      double div = Math.PI * wing.span/wing.chord;
-      double corrected_aoa = craft_pitch * (1 - 2 * wing_Cl / div) - 
-        2 * wing_Cl0 / div - wing.aoa + current_part.aoa;
-      // double correction = corrected_aoa - (current_part.aoa + craft_pitch);
-      // System.out.println("-- correction: " + correction);
-      return Math.min(aoa_max, Math.max(aoa_min, corrected_aoa));
-    } else
-      return Math.min(aoa_max, Math.max(aoa_min, current_part.aoa + craft_pitch));
-  }
 
-  // this avoids some overhead when doing massive computation
-  boolean can_do_gui_updates = true;
+  // see [Gudmundsson, App C1], p46-47
+  // get_Cl, get_Cd and getCmoment are polynomial,
+  // approximating experimental data
+  class NACA_R540_3pct_round_Foil extends Foil {
+    // not yet double re;
+    String report_text;
 
-  // NOTE NOTE: this operates on the current_part only!  The routine
-  // exists in its form due to FoilSimIII derivative (legacy).  Due t
-  // complexity of the craft, it is rarely when only the current_part
-  // needs adjusting! a few examples: you change part geometry that
-  // does not affect other parts, an no rebalancing is required etc. 
-  // still, even after that is done, other routines need be called - see
-  // computeForces(), forces_totals_maybe_panels() etc.
-  public void cp_computeFlow () { 
-    double effaoa = effective_aoa();
-    if (!can_do_gui_updates && current_part.foil.fast_coeffs()) {
-      solver.set_q0();
-      current_part.cl = solver.get_Cl(effaoa);
-    } else {
-      solver.getFreeStream();
-      solver.getCirculation(effaoa, current_part.thickness, current_part.camber);
-      solver.compute_foil_geometry(effaoa);
-      current_part.cl = solver.get_Cl(effaoa);
-      solver.genFlow(effaoa);
-    } 
-    
-    current_part.cm = current_part.compute_cm(effaoa);
+    NACA_R540_3pct_round_Foil (String descr, String print_line, String report_text) {
+      super(descr, print_line);
+      this.report_text = report_text;
+    }
 
-    // test: is this the same value getCl_plot gives?
-    // if (false) {
-    //   double getCl_plot_val = out_top.plot.getCl_plot(current_part.camber/25, current_part.thickness/25, effaoa);
-    //   if (getCl_plot_val != current_part.cl) {
-    //     System.out.println("-- getCl_plot_val: " + getCl_plot_val + "yet current_part.cl: " + current_part.cl);
-    //   }
-    //   track_current_part.cl_changes();
-    // }
+    @Override
+    boolean fast_coeffs () { return true; }
 
-    current_part.reynolds = foil_is_cylinder_or_ball(current_part.foil) 
-      ? velocity/vconv * 2 * radius/lconv * rho_EN / viscos
-      : velocity/vconv * current_part.chord/lconv * rho_EN / viscos;
+    @Override
+    double get_Cl (double effaoa) {
+      double pos_aoa = Math.abs(effaoa);
+      double cl_17pst = 0.0009223 *pos_aoa + 0.001153 * pos_aoa * pos_aoa;
+      if (effaoa < 0) cl_17pst = -cl_17pst;
+      return cl_17pst / 2.5;
+    }
 
-    if (can_do_gui_updates)
-      solver.getProbe();
+    @Override
+    double get_Cd (double cldin, double effaoa, double thickness, double camber, boolean save_p) {
+      double cd_17pst =  0.06672 - 0.001406 * effaoa + 0.00036 * effaoa * effaoa;
+      double _cd = cd_17pst / 3.5;
+      if (save_p) {
+        current_part.cd_profile = _cd;
+        current_part.cd_aux = 0;
+        current_part.cd = _cd;
+      }
+      return _cd;
+    }
 
-    double camd = current_part.camber;
-    double alfd = effaoa; // effective_aoa();
-    //   attempt to fix symmetry problem
-    if (fix_symmetry_problem && camd < 0.0) alfd = - alfd;
-    
-    // this saved current_part's cd, cd_profile and cd_aux
-    solver.get_Cd(alfd); 
-  }
+    @Override
+    double getCmoment (double effaoa) {
+      return 0.01 * effaoa // very rough but good enough. 
+        // compensate AR corrections of compute_cm 
+        * (4/0.03);
+    }
 
-  void computeFlowAndRegenPlot () {
-    cp_computeFlow();
-    forces_totals_maybe_panels();
-    // commenting out because the above does it
-    // if (can_do_gui_updates) {
-    //   out_top.plot.loadPlot();
-    // }
-    viewer.load_drawing();
+    @Override
+    String genReportText (double thickness, double camber) {
+      return report_text;
+    }
 
-  }
+    @Override
+    void adjust_foil_shape_in_tab () {
+      current_part.thickness = 3;
+      current_part.camber = 0;
+      // current_part.camber/25 = current_part.camber / 25.0;
+      in.shp.set_camber_and_thickness_controls(false);
+    }
 
-  double limit (double min, double val, double max) {
-    if (val < min) return min;
-    if (val > max) return max;
-    return val;
   }
 
-  String pprint (int val) { return String.valueOf(val); }
-  String pprint (float val) {
-    int f0 = filter0(val);
-    if ((float)f0 == val)
-      return String.valueOf(f0);
-    else
-      return String.valueOf(val);
-  }
 
-  static public int filter0 (double inumbr) {
-    return (int) (Math.round(inumbr));
-  }
+  Foil foil_arr[] = {
+    new NACA4Foil("NACA 4 Series", "\n NACA 4 Series Foil"),
+    // Tabulated Foils go here
+    new Tab15Foil("Aquila 9.3%", "\n Aquila 9.3% Airfoil", 
+                  "\n\n Tabulated Foil. Get geometry from this link:" +
+                  "\n  http://airfoiltools.com/airfoil/details?airfoil=aquilasm-il",
+                  9.3, 4, 
+                  // Name = AQUILA 9.3% smoothed
+                  // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+                  // Surface Finis    // h = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+                  //       Cl         //      Cd       Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+                  // [ ]   [-]        //      [-]      [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+                  // -28.0    -0.1    // 25   0.39381 -0.021  0.893   0.006   0.931   0.015   -0.317  0.278   0.082
+                  // -24.0    -0.1    // 63   0.29085 -0.020  0.887   0.007   0.931   0.014   -0.561  0.272   0.128
+                  // -20.0    -0.2    // 16   0.21866 -0.019  0.881   0.006   0.933   0.011   -0.989  0.259   0.162
+                  // -16.0    -0.2    // 83   0.16381 -0.019  0.862   0.006   0.937   0.010   -1.727  0.251   0.183
+                  // -12.0    -0.3    // 36   0.09896 -0.019  0.823   0.006   0.943   0.009   -3.398  0.241   0.194
+                  // -8.0     -0.2    // 88   0.06640 -0.019  0.728   0.005   0.960   0.007   -4.342  0.253   0.184
+                  // -4.0     -0.0    // 45   0.03735 -0.020  0.593   0.005   0.975   0.006   -1.216  0.310   -0.186
+                  // -0.0     0.40    // 0    0.00847 -0.060  0.462   0.012   0.982   0.989   47.277  0.300   0.400
+                  // 4.0      0.86    // 4    0.00661 -0.066  0.307   0.946   0.986   0.988   130.772 0.263   0.326
+                  // 8.0      1.29    // 4    0.01596 -0.071  0.152   0.998   0.955   0.998   81.085  0.263   0.305
+                  // 12.0     1.38    // 8    0.03889 -0.072  0.002   1.000   0.635   1.000   35.696  0.403   0.302
+                  // 16.0     1.00    // 4    0.14560 -0.027  0.001   1.000   0.003   1.000   6.895   0.311   0.277
+                  // 20.0     0.68    // 5    0.24856 -0.029  0.001   1.000   0.003   1.000   2.758   0.235   0.293
+                  // 24.0     0.44    // 3    0.33959 -0.036  0.001   1.000   0.005   1.000   1.304   0.221   0.331
+                  // 28.0     0.29    // 2    0.48325 -0.041  0.001   0.999   0.007   0.999   0.604   0.218   0.389
+                  //                  // 
+                  TabPolars.t_lift_AQUILA_9p3,
+                  TabPolars.t_drag_AQUILA_9p3,
+                  TabPolars.t_mmnt_AQUILA_9p3),
+    new Tab15Foil("NACA 63-412", "\n NACA 63-412 Foil",
+                  "\n\n Tabulated Foil. Get geometry from this link:" +
+                  "\n  http://airfoiltools.com/airfoil/details?airfoil=n63412-il",
+                  12, 3.3, 
+                  // Name = NACA 63-412 AIRFOIL
+                  // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+                  // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+                  //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+                  // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+                  // -28.0    -0.246  0.48435 -0.015  0.945   0.002   1.000   0.011   -0.508  0.246   0.188
+                  // -24.0    -0.341  0.38844 -0.016  0.930   0.002   1.000   0.008   -0.878  0.237   0.204
+                  // -20.0    -0.474  0.25074 -0.018  0.920   0.003   1.000   0.009   -1.889  0.231   0.212
+                  // -16.0    -0.614  0.14833 -0.021  0.900   0.004   1.000   0.010   -4.138  0.225   0.216
+                  // -12.0    -0.641  0.08843 -0.022  0.845   0.007   1.000   0.008   -7.245  0.274   0.215
+                  // -8.0     -0.425  0.05258 -0.025  0.751   0.008   1.000   0.009   -8.089  0.338   0.190
+                  // -4.0     -0.087  0.01062 -0.071  0.647   0.009   1.000   0.931   -8.197  0.316   -0.567
+                  // -0.0     0.386   0.00814 -0.079  0.547   0.517   1.000   0.954   47.401  0.266   0.455
+                  // 4.0      0.856   0.01400 -0.087  0.006   0.660   1.000   0.954   61.186  0.173   0.351
+                  // 8.0      0.981   0.05228 -0.033  0.004   0.705   0.005   0.955   18.765  0.029   0.284
+                  // 12.0     1.087   0.08887 -0.036  0.005   0.838   0.005   0.957   12.228  0.935   0.283
+                  // 16.0     0.989   0.15306 -0.038  0.004   0.888   0.006   0.951   6.461   0.232   0.289
+                  // 20.0     0.708   0.22957 -0.043  0.004   0.922   0.007   0.951   3.085   0.232   0.310
+                  // 24.0     0.480   0.34907 -0.048  0.003   0.930   0.009   0.956   1.375   0.226   0.350
+                  // 28.0     0.329   0.46304 -0.052  0.002   0.930   0.011   0.956   0.710   0.223   0.408
 
-  static public float filter1 (double inumbr) {
-    //  output only to .1
-    float number;
-    int intermed;
- 
-    intermed = (int) (inumbr * 10.);
-    number = (float) (intermed / 10. );
-    return number;
-  }
- 
-  static public float filter3 (double inumbr) {
-    //  output only to .001
-    float number;
-    int intermed;
- 
-    intermed = (int) (inumbr * 1000.);
-    number = (float) (intermed / 1000. );
-    return number;
-  }
- 
-  static public float filter4 (double inumbr) {
-    //  output only to .0001
-    float number;
-    int intermed;
- 
-    intermed = (int) (inumbr * 10000.);
-    number = (float) (intermed / 10000. );
-    return number;
-  }
- 
-  static public float filter5 (double inumbr) {
-    //  output only to .00001
-    float number;
-    int intermed;
- 
-    intermed = (int) (inumbr * 100000.);
-    number = (float) (intermed / 100000. );
-    return number;
+                  TabPolars.t_lift_NACA_63_412,
+                  TabPolars.t_drag_NACA_63_412,
+                  TabPolars.t_mmnt_NACA_63_412),
+    new Tab15Foil("Moth Bladerider V1", "\n Bladerider, modded NACA 63-412 with flap",
+                  "\n\n Tabulated Foil." +
+                  "\nAttempt to model Bladerider foil of International Moth Hydrofoiling Dinghy." +
+                  "\nBladerider foil is modified NACA_63_412 with flap down." +
+                  "\n  http://mothballone.blogspot.com/2013/07/bladerider-foil-mods.html" +
+                  "\nGet geometry from Javafoil by:" +
+                  "\n(1) obtaining geometry from " +
+                  "\n  http://airfoiltools.com/airfoil/details?airfoil=n63412-il" +
+                  "\n(2) inserting that into javafoil" +
+                  "\n(3) mod it with trailing gap = 1, flaps: 3- 1, 25 1, 20 1.",
+                  12, 4,
+                  // attempt to model Bladerider foil. Bladerider foil is modified NACA_63_412 with flap down.
+                  // the following is produced with (1) NACA_63_412 data from airfoils site inserted in javafoil
+                  // (2) that foil is modded with trailing gap = 1, flaps: 3- 1, 25 1, 20 1.
+
+                  // Name = NACA 63-412 AIRFOIL modded
+                  // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+                  // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+                  //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+                  // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+                  // -28.0    -0.264  0.45319 -0.024  0.999   0.002   0.999   0.010   -0.582  0.231   0.160
+                  // -24.0    -0.364  0.37355 -0.026  0.999   0.002   0.999   0.008   -0.974  0.224   0.179
+                  // -20.0    -0.493  0.22506 -0.030  0.999   0.003   0.999   0.010   -2.191  0.219   0.190
+                  // -16.0    -0.599  0.14758 -0.033  0.862   0.005   0.999   0.010   -4.055  0.135   0.195
+                  // -12.0    -0.542  0.09361 -0.035  0.824   0.007   0.999   0.008   -5.788  0.270   0.185
+                  // -8.0     -0.255  0.06026 -0.040  0.799   0.008   0.999   0.009   -4.232  0.358   0.094
+                  // -4.0     0.148   0.01756 -0.110  0.751   0.416   0.999   0.956   8.449   0.340   0.991
+                  // -0.0     0.625   0.01845 -0.119  0.568   0.520   0.999   0.958   33.893  0.269   0.440
+                  // 4.0      1.086   0.02570 -0.128  0.006   0.650   0.999   0.958   42.265  0.108   0.368
+                  // 8.0      1.124   0.06436 -0.048  0.004   0.677   0.005   0.959   17.464  -0.733  0.293
+                  // 12.0     1.165   0.10404 -0.051  0.005   0.699   0.005   0.960   11.194  0.216   0.294
+                  // 16.0     0.974   0.17417 -0.053  0.004   0.951   0.005   0.952   5.593   0.238   0.305
+                  // 20.0     0.676   0.24795 -0.057  0.004   0.951   0.006   0.952   2.728   0.228   0.334
+                  // 24.0     0.456   0.37413 -0.065  0.002   0.960   0.010   0.961   1.219   0.220   0.392
+                  // 28.0     0.314   0.51586 -0.068  0.002   0.960   0.011   0.961   0.608   0.229   0.466
+                  // 
+
+                  TabPolars.t_lift_NACA_63_412_mod_flap_v1,
+                  TabPolars.t_drag_NACA_63_412_mod_flap_v1,
+                  TabPolars.t_mmnt_NACA_63_412_mod_flap_v1),
+    new Tab15Foil("SD7084", "\n Selig/Donovan 9.6% low Reynolds number foil",
+                  "\n\n Tabulated Foil. Get geometry from this link:" +
+                  "\n  http://airfoiltools.com/airfoil/details?airfoil=sd7084-il",
+                  9.6, 2.3,
+                  // Name = SD7084 (9.6%)
+                  // Mach = 0; Re = 700000; T.U. = 1.0; T.L. = 1.0
+                  // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+                  // Alpha   Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+                  //         [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+                  // -28.0   -0.134  0.38042 -0.012  1.000   0.002   1.000   0.022   -0.353  0.253   0.161
+                  // -24.0   -0.192  0.27887 -0.012  0.989   0.002   1.000   0.020   -0.690  0.251   0.189
+                  // -20.0   -0.285  0.20817 -0.012  0.953   0.002   1.000   0.016   -1.370  0.251   0.209
+                  // -16.0   -0.421  0.16472 -0.012  0.918   0.002   1.000   0.011   -2.555  0.252   0.223
+                  // -12.0   -0.548  0.09257 -0.011  0.882   0.003   1.000   0.006   -5.916  0.215   0.229
+                  // -8.0    -0.475  0.05259 -0.013  0.843   0.005   1.000   0.009   -9.030  0.330   0.222
+                  // -4.0    -0.214  0.00829 -0.038  0.784   0.007   1.000   0.998   -25.880 0.290   0.072
+                  // -0.0    0.251   0.00531 -0.043  0.581   0.766   1.000   0.998   47.285  0.260   0.420
+                  // 4.0     0.717   0.00687 -0.047  0.238   0.972   0.992   0.991   104.263 0.261   0.316
+                  // 8.0     1.111   0.01504 -0.052  0.007   0.981   0.940   0.992   73.861  0.261   0.297
+                  // 12.0    1.068   0.03960 -0.051  0.001   0.988   0.517   0.992   26.978  0.316   0.298
+                  // 16.0    0.706   0.13343 -0.025  0.001   0.989   0.009   0.993   5.293   0.288   0.286
+                  // 20.0    0.452   0.20179 -0.028  0.001   0.990   0.010   0.994   2.238   0.235   0.311
+                  // 24.0    0.286   0.29604 -0.031  0.001   0.991   0.012   0.994   0.966   0.216   0.360
+                  // 28.0    0.189   0.38724 -0.037  0.001   0.991   0.018   0.996   0.488   0.197   0.444
+                  TabPolars.t_lift_SD7084,
+                  TabPolars.t_drag_SD7084,
+                  TabPolars.t_mmnt_SD7084),
+    new Tab25Foil("SD8040", "\n Selig/Donovan 10% low Reynolds number foil",
+                  "\n\n Tabulated Foil. Get geometry from this link:" +
+                  "\n http://airfoiltools.com/airfoil/details?airfoil=sd8040-il",
+                  10, 2.1, 
+
+   // Name = SD8040 (10%)
+   // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
+   // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
+   //     Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
+   // []  [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
+   // -24.0   -0.285  0.31478 -0.021  0.973   0.004   0.988   0.013   -0.904  0.259   0.178
+   // -22.0   -0.329  0.26102 -0.020  0.969   0.004   0.988   0.012   -1.262  0.257   0.189
+   // -20.0   -0.380  0.22511 -0.020  0.958   0.004   0.988   0.011   -1.690  0.259   0.198
+   // -18.0   -0.435  0.18655 -0.019  0.945   0.003   0.988   0.009   -2.333  0.263   0.206
+   // -16.0   -0.488  0.17173 -0.019  0.928   0.003   0.989   0.007   -2.845  0.262   0.212
+   // -14.0   -0.530  0.13065 -0.018  0.909   0.003   0.989   0.006   -4.053  0.259   0.216
+   // -12.0   -0.543  0.09601 -0.018  0.889   0.004   0.990   0.005   -5.651  0.282   0.217
+   // -10.0   -0.510  0.07197 -0.019  0.864   0.004   0.990   0.006   -7.090  0.265   0.213
+   // -8.0    -0.423  0.05525 -0.020  0.837   0.004   0.990   0.007   -7.648  0.275   0.203
+   // -6.0    -0.285  0.04206 -0.024  0.806   0.005   0.991   0.018   -6.771  0.378   0.164
+   // -4.0    -0.139  0.00857 -0.056  0.758   0.011   0.992   0.996   -16.265 0.337   -0.151
+   // -2.0    0.094   0.00694 -0.058  0.678   0.435   0.993   0.997   13.546  0.257   0.862
+   // -0.0    0.331   0.00658 -0.059  0.563   0.718   0.994   0.998   50.258  0.257   0.429
+   // 2.0     0.565   0.00724 -0.061  0.418   0.882   0.992   0.997   78.092  0.258   0.358
+   // 4.0     0.797   0.00897 -0.063  0.252   0.956   0.990   0.992   88.852  0.258   0.329
+   // 6.0     1.016   0.01362 -0.065  0.120   0.981   0.972   0.992   74.627  0.258   0.314
+   // 8.0     1.208   0.01785 -0.066  0.037   0.990   0.928   0.996   67.647  0.258   0.305
+   // 10.0    1.347   0.02344 -0.067  0.014   0.994   0.851   0.997   57.455  0.247   0.300
+   // 12.0    1.391   0.03665 -0.066  0.008   0.997   0.642   0.997   37.960  0.424   0.297
+   // 14.0    1.246   0.09541 -0.050  0.005   0.997   0.136   0.997   13.063  0.361   0.290
+   // 16.0    1.153   0.13607 -0.039  0.004   0.997   0.035   0.997   8.475   0.317   0.284
+   // 18.0    1.040   0.17206 -0.036  0.003   0.997   0.019   0.997   6.043   0.263   0.285
+   // 20.0    0.909   0.21938 -0.036  0.002   0.997   0.017   0.997   4.145   0.255   0.290
+   // 22.0    0.778   0.27645 -0.035  0.001   0.997   0.012   0.998   2.815   0.258   0.295
+   // 24.0    0.659   0.33062 -0.034  0.001   0.998   0.009   0.998   1.993   0.256   0.302
+
+                  TabPolars.t_lift_SD8040_25,
+                  TabPolars.t_drag_SD8040_25,
+                  TabPolars.t_mmnt_SD8040_25),
+
+    new Tab25Foil("NACA 64-814", "\n NACA 64-814 with trailing gap 0.5%",
+                  "\n\n Tabulated Foil. Get geometry from this link:" +
+                  "\n  http://www.airfoiltools.com/search/index?m%5Bgrp%5D=naca6&m%5Bsort%5D=1",
+                  14, 5, 
+                  // NACA 6 series variants
+                  // use this to convert excel column of 25 values to array initializer:
+                  // NACA 64_814 with TE gap = 0.5%
+                  TabPolars.t_lift_NACA_64_814_teg05,
+                  TabPolars.t_drag_NACA_64_814_teg05,
+                  null)
+
+    ,new NACA_R540_3pct_round_Foil("Round Slender Fuse 3%", "\nRound Slender Fuse 3% D/L," +
+                                   "\n based on NACA R540 report. See Gudmundsson, Appendix C1, p46-47", "\n ---")
+                  
+    // FoilSim foils
+    // these foils - Joukowski, Ellipse, Flat - 
+    // work Ok but too slow for swipe-plots. See use_foilsim_foils
+    //, new Foil("Joukowski","\n Joukowski Foil")
+    //, new Foil("Ellipse", "\n Elliptical Foil")
+    //, new Foil("Flat Plate", "\n Plate")
+    // these come together with the Ball tab and not very useful for 
+    // Hydrofoil sim by default. See flag use_cylinder_shapes
+    // , new RoundFoil("Rotating Cylinder", "\n Rotating Cylinder")
+    //, new RoundFoil("Spinning Ball","\n Spinning Ball")
+  };
+
+  Foil  FOIL_JOUKOWSKI     = (Foil)foils.get("Joukowski"),
+    FOIL_ELLIPTICAL        = (Foil)foils.get("Ellipse"),
+    FOIL_FLAT_PLATE        = (Foil)foils.get("Flat Plate"),
+    FOIL_CYLINDER          = (Foil)foils.get("Rotating Cylinder"),
+    FOIL_BALL              = (Foil)foils.get("Spinning Ball"),
+    FOIL_NACA4             = (Foil)foils.get("NACA 4 Series");
+
+
+  // need to grow foil_arr
+  void addFoil(Foil foil) {
+    Foil[] arr = new Foil[foil_arr.length+1];
+    int ai = 0;
+    for (; ai < foil_arr.length; ai++) arr[ai] = foil_arr[ai];
+    arr[ai] = foil;
+    foil_arr = arr;
   }
- 
-  static public float filter9 (double inumbr) {
-    //  output only to .000000001
-    float number;
-    int intermed;
- 
-    intermed = (int) (inumbr * 1000000000.);
-    number = (float) (intermed / 1000000000. );
-    return number;
+  
+  static String dateString () {
+    Date date = new Date();
+    String date_str = "";
+    /**
+     * @j2sNative
+     * 
+     * var idx = date_str.indexOf("GMT");
+     * if (idx>-1)date_str=date_str.substring(0,idx);
+     *  
+     */ {
+      date_str = java.text.DateFormat.getDateInstance(java.text.DateFormat.MEDIUM).format(date);
+    }
+    return date_str;
   }
+
+  static final int  IMPERIAL = 0, METRIC = 1, METRIC_2 = 2, NAVAL = 3, IMPERIAL_FEET = 4;
+  static Font largeFont = new Font("TimesRoman", Font.PLAIN, 24);
+  static Font boldFont  = new Font("TimesRoman", Font.BOLD, 16);
  
-  public void setUnits () {   // Switching Units
-    double ovs,chords,spans,aros,chos,spos,rads;
-    double alts,ares;
+  static double convdr = Math.PI /180.;
+  static double pid2 = Math.PI /2.0;
 
-    alts = alt_val / lconv;
-    //chords = chord / lconv;
-    // spans = span / lconv;
-    //ares = area /lconv/lconv;
-    //aros = arold /lconv/lconv;
-    // chos = chrdold / lconv;
-    //spos = span_old / lconv;
-    ovs = velocity / vconv;
-    rads = radius / lconv;
+  double viscos;
 
-    switch (lunits) {
-    case 0: {                             /* English: feet seconds lbs */
-      lconv = 1.;                      /*  feet    */
-      vconv = .6818; vmax = 250.;   /*  1 fps to 1 mph  */
-      if (planet == 2) vmax = 50.;
-      fconv = 1.0; fmax = 100000.; fmaxb = .5;  /* pounds   */
-      pconv = 14.7;                   /* lb/sq in */
-      break;
-    }
-    case 1: {                             /* Metric */
-      lconv = .3048; /*  1 ft to 1 m */
-      vconv = 1.097;  /* ?? fps to kmh?  */
-      vmax = 400.;  
-      if (planet == 2) vmax = 80.;
-      fconv = 4.448; fmax = 500000.; fmaxb = 2.5; /* newtons */
-      pconv = 101.3;               /* kilo-pascals */
-      break;
-    }
-    }
- 
-    alt_val = alts * lconv;
-    //chord = chords * lconv;
-    //span = spans * lconv;
-    // area = ares * lconv * lconv;
-    //arold = aros * lconv * lconv;
-    // chrdold = chos * lconv;
-    //span_old = spos * lconv;
-    velocity  = ovs * vconv;
-    radius  = rads * lconv;
-  }
+  double usq,vsq,alt_val,altmax;
+
+  double q0_EN,q0_SI,ps0,ts0,rho_EN,rho_SI,rlhum; // free stream vars
+
+  final static double STEP_X = 0.4;
+  double xflow;             /* MODS  20 Jul 99 */
+  double delx,delt,velocity,spin,spindr,yoff,radius;
+  double vel,pres,side,omega,radcrv,relsy,angr;
+
+  // 
+  String t_foil_name, make_name, model_name, year_etc;
+  // note on *speed*: here and below, it is velocity of the craft in
+  // forvard direction.
+  String speed_kts_mph_kmh_ms_info = "";
+  String        max_speed_info = "-", max_speed_cg = "-";
+  double        max_speed_speed, max_speed_lift, max_speed_drag;
+  String        min_takeoff_speed_info = "-", min_takeoff_cg = "-";
+  double        min_takeoff_speed, min_takeoff_lift, min_takeoff_drag;
+  String        cruising_info = "-", cruising_cg = "-";
+  double        cruising_speed, cruising_lift, cruising_drag;
+  static String constraint_lift_text_auw = "all-up weight (AUW)";
+  static String constraint_lift_text_uplift = "required uplift force";
+
+  //  the board comonent of the foiling craft
+  Board board = new Board();
+  Rider rider = new Rider();
+  MotorUnit motor = new MotorUnit();
+
+  // Hydrofoil parts with default values
+  Part //              name; airfoil     xpos             chord  span  thk camb aoa
+  fuse    = new Part("Fuse", FOIL_NACA4, 0,               0.8,   0.02, 04, 0,   0),
+    wing  = new Part("Wing", FOIL_NACA4, 0,               0.11,  0.56, 12, 3.34,0), 
+    strut = new Part("Mast", FOIL_NACA4, fuse.chord/3,    0.111, 0.95, 12, 0,   0), 
+    stab  = new Part("Stab", FOIL_NACA4, fuse.chord-0.05, 0.05,  0.3,  12, -3,  0)
+    ;
+  
+  Part current_part = stab;  // anything goes here, avoid null
+
+  double BOARD_THICKNESS;
+  double BOARD_LENGTH;
+  double BOARD_WEIGHT;
+  double BOARD_WIDTH;
+  double BOARD_CG_K = 0.4; // CG is located approx at 60% distance from the nose, 40% from the tail
+  double BOARD_HYDRO_LIFT_LOC = 0.25; // Center of the lift of the board in displacement mode is appox 25% from the tail
+
+  double RIG_WEIGHT;
+  double FOIL_WEIGHT = 5; // Newtons, weight of typical semi-submerged foil (dry weight - floatation)
+  double MAST_LE_TO_TRANSOM = 0.3;
+  double WS_MASTBASE_MAST_LE = 1.04; // 1.04 is typical rig mast base from strut LE distance...
+
+  double RIDER_CG_HEIGHT = 1.05; // this is where the waist is typically
+
+  // DRIVING_FORCE_HEIGHT - when driving force is transferred through
+  // rider's body, this height is in reference to the board deck; if
+  // attached to the foil, then it is in reference to the board bottom.
+  // 
+  // Thus, this has different reference points for different craft types.
+  // For EFOIL this is height relative to the y-coord of the fuselage/strut
+  // intersection point. For sail, wing and kite, for convenience, this is
+  // relative to the y-coord of the point on the deck above the mast LE.
+  //
+  // (a) for the rider with harness it
+  //     is where the harness hook is
+  // (b) for winger/sailor unhookedor tow - at
+  //     shoulder level
+  // (c) efoil - where the motor is mounted
+  double DRIVING_FORCE_HEIGHT = 1.05; 
 
-  // convert speed in kts to current units
-  double kts_to_speed (double kts) {
-    return (lunits == METRIC) 
-      ? kts / 0.539957
-      : kts / 0.868976;
-  }
+  double craft_pitch = 0;
+  double mast_foot_pressure_k = 0.0;
+  double mast_foot_dist_from_strut_le = 1;
+  static Button part_button, wing_bt, stab_bt;
 
-  String make_speed_kts_mph_kmh_ms_info (double speed) {
-    return (lunits == IMPERIAL)
-      ? (filter1(speed * 0.868976) + " kt or " + filter1(speed) + " mph or " + 
-         filter1(speed * 1.60934) + " km/h or " + filter1(speed * 0.44704) + " m/s")
-      : (filter1(speed * 0.539957) + " kt or " + filter1(speed * 0.621371) + " mph or " + 
-         filter1(speed)  + " km/h or " + filter1(speed * 0.277778) + " m/s");
-  }
+  // CRAFT_TYPE options
+  static final int KITEFOIL = 0, WINDFOIL = 1, WINGFOIL = 2, EFOIL = 3, SURFFOIL = 4;
+  static String[]  craft_drive_type_name  = 
+    {"Kite", "Sail", "Wing", "Prop", "Wave"};
+  static String[]  craft_drive_type_name_ru = 
+    {"%u041A%u0430%u0439%u0442", "\u041f\u0430\u0440\u0443\u0441", "", "Wing", "Prop", "Wave"};
+  static String[]  craft_type_dflt_board_thk  = 
+    {"0.06", "0.1", "0.1", "0.1", "0.06"};
+  static String[]  craft_type_dflt_board_len  = 
+    {"1.25", "2.2", "1.7", "1.7", "1.6"};
+  static String[]  craft_type_dflt_board_wd  = 
+    {"0.5", "0.85", "0.62", "0.65", "0.65"};
+  static String[]  craft_type_dflt_board_wght  = 
+    {"29", "80", "39", "120", "45"};
+  int craft_type = WINDFOIL; // default
 
-  float filter1or3 (double val) {
-    double abs = Math.abs(val);
-    if (val < 1) return filter3(val);
-    else return filter1(val);
-  }
+  static final Color color_sky_blue_light = new Color(102, 204, 255);
+  static final Color color_water_dark = new Color(0, 136, 200);
+  static final Color color_dark = new Color(90, 90, 90);
+  static final Color color_dark_2 = new Color(50, 50, 50);
+  static final Color color_very_dark = new Color(10, 10, 10);
+  static final Color color_beige = new Color(245,245,220);
+  static final Color color_light_cyan = new Color(224, 255, 255);
+  static final Color color_dark_green = Color.decode("#009000");
 
 
-  double speed_kmh_to_display_units (double speed_kmh) {
-    switch (display_units) {
-    case IMPERIAL: 
-    case IMPERIAL_FEET:  // only sizes are in feet, the rest is IMPERIAL
-      return speed_kmh *= 0.621371;
-    default:
-    case METRIC  : return speed_kmh *= 0.277778;
-    case METRIC_2: return speed_kmh;
-    case NAVAL:    return speed_kmh *= 0.539957;
-    }
-  }
-  String make_speed_info_in_display_units (double speed, boolean unit_suffix) {
-    String suffix = "";
-    switch (display_units) {
-    case IMPERIAL: 
-    case IMPERIAL_FEET: // only sizes are in feet, the rest is IMPERIAL
-      speed *= 0.621371; suffix = " mph"; break;
-    default:
-    case METRIC  : speed *= 0.277778; suffix = " m/s"; break;
-    case METRIC_2: suffix = " km/h"; break;
-    case NAVAL:    speed *= 0.539957; suffix = " kt"; break;
-    }
-    if (unit_suffix)
-      return pprint(filter1or3(speed)) + suffix;
-    else 
-      return pprint(filter1or3(speed));
+  String foil_descr (Foil foil) {
+    return foil.getDescr(current_part.thickness, current_part.camber);
   }
 
-  String current_display_speed_unit_string () {
-    switch (display_units) {
-    case IMPERIAL: return "mph";
-    default:
-    case METRIC  : return "m/s";
-    case METRIC_2: return "km/h"; 
-    case NAVAL:    return "kt";
-    }
-  }
+  double wing_chord, wing_span, wing_area;
 
-  double speed_input_in_display_units_to_kmh (JTextField f, int units) {
-    return speed_input_in_display_units_to_kmh(Double.valueOf(f.getText()).doubleValue(), units);
-  }
-  double speed_input_in_display_units_to_kmh (double speed, int units) {
-    switch (units) {
-    case IMPERIAL: 
-    case IMPERIAL_FEET: 
-      return speed * 1.60934;
-    default:
-    case METRIC  : return speed * 3.6;
-    case NAVAL:    return speed * 1.852; 
-    case METRIC_2: return speed;
-    }
-  }
-      
-  double size_input_in_display_units_to_m (double size, int units) {
-    switch (units) {
-    case NAVAL:
-    case IMPERIAL: return size * 0.0254;
-    case IMPERIAL_FEET: return size * 0.3048;
-    case METRIC_2: return size * 0.01;
-    default:
-    case METRIC  : return size;
-    }
-  }
-  double size_input_in_display_units_to_m (JTextField f, int units) {
-    return size_input_in_display_units_to_m(Double.valueOf(f.getText()).doubleValue(), units);
-  }
+  // FoilSimIII legacy. Cryptic variables, state shared
+  // across classes Viewer, Solve, Plot, Geometry
+  double[][] rg  = new double[20][40]; 
+  double[][] thg = new double[20][40]; 
+  double[][] xg  = new double[20][40]; 
+  double[][] yg  = new double[20][40]; 
+  double[][] xm  = new double[20][62]; 
+  double[][] ym  = new double[20][62]; 
+  double[][] xpl  = new double[20][62]; 
+  double[][] ypl  = new double[20][62]; 
+  double[] plp   = new double[40];
+  double[] plv   = new double[40];
+
+  double stall_model_apos = 10, stall_model_aneg = -10;
+  
+  static final boolean DEBUG_SPEED_SUPPR_ADJ = false;
+  static final boolean DEBUG_SPEED_SUPPR     = false;
+  static void debug_speed_suppr_adj (AdjustmentEvent e) {
+    System.out.println("-- AdjustmentEvent"); }
 
-  double force_input_in_display_units_to_n (double val, int units) {
-    switch (units) {
-    case NAVAL:
-    case IMPERIAL: 
-    case IMPERIAL_FEET: 
-      return val * 4.448222;
-    case METRIC_2: return val * 9.80665003;
-    default:
-    case METRIC  : return val;
+  // Slider input coalescing. Dragging a bar fires an adjustment event
+  // per intermediate value and each used to run a full recompute (or a
+  // trim solve). Listeners now post() the bar value here: the 1st event
+  // of a burst is applied at once, later ones within the frame interval
+  // only keep the latest value, which is applied when the frame timer
+  // fires. So at most one apply() per COALESCE_MS. Posted and dropped
+  // (superseded) events of all sliders are counted in metrics, see
+  // SolverMetrics.getSliderEvents.
+  static final int COALESCE_MS = 40;
+
+  abstract class InputCoalescer implements ActionListener {
+    String name;
+    javax.swing.Timer timer;
+    int value;
+    boolean pending = false;
+
+    InputCoalescer (String name) {
+      this.name = name;
+      timer = new javax.swing.Timer(COALESCE_MS, this);
+      timer.setRepeats(false);
     }
-  }
-  double force_input_in_display_units_to_n (JTextField f, int units) {
-    return force_input_in_display_units_to_n(Double.valueOf(f.getText()).doubleValue(), units);
-  }
 
+    abstract void apply (int value);
 
-  String make_size_info_in_display_units (double size, boolean unit_suffix) {
-    String suffix = "";
-    switch (display_units) {
-    case NAVAL:
-    case IMPERIAL: size *= 12*3.28084; suffix = " in"; break;
-    case IMPERIAL_FEET: size *= 3.28084; suffix = " ft"; break;
-    case METRIC  : suffix = " m"; break;
-    case METRIC_2: size *= 100; suffix = " cm"; break;
+    void post (int v) {
+      metrics.slider_events.inc();
+      if (timer.isRunning()) { // in a frame already, defer
+        if (pending) metrics.slider_dropped.inc();
+        value = v;
+        pending = true;
+        return;
+      }
+      apply(v);
+      timer.restart();
     }
-    if (unit_suffix)
-      return pprint(filter1or3(size)) + suffix;
-    else 
-      return pprint(filter1or3(size));
-  }
 
-  String current_display_size_unit_string () {
-    switch (display_units) {
-    case NAVAL:
-    case IMPERIAL: return "in"; 
-    case IMPERIAL_FEET: return "ft"; 
-    default:
-    case METRIC  : return "m";
-    case METRIC_2: return "cm"; 
-    }
-  }
-      
-  String make_area_info_in_display_units (double area, boolean unit_suffix) {
-    String suffix = "";
-    switch (display_units) {
-    case NAVAL:
-    case IMPERIAL: area *= 1550; suffix = " sq in"; break;
-    case IMPERIAL_FEET: area *= 10.7639; suffix = " sq ft"; break;
-    case METRIC  : suffix = " sq m"; break;
-    case METRIC_2: area *= 10000; suffix = " sq cm"; break;
+    // frame timer
+    public void actionPerformed (ActionEvent e) {
+      if (pending) {
+        pending = false;
+        apply(value);
+        timer.restart();
+      } // else the burst is over
     }
-    if (unit_suffix)
-      return pprint(filter1or3(area)) + suffix;
-    else 
-      return pprint(filter1or3(area));
   }
 
-  double force_n_to_display_units (double force_n) {
-    switch (display_units) {
-    case NAVAL: 
-    case IMPERIAL: 
-    case IMPERIAL_FEET: 
-      return force_n *= 0.224808942443;
-    default:
-    case METRIC  : return force_n;
-    case METRIC_2: return force_n *= 0.101971621; 
-    }
-  }
-      
+  
+  static final int STALL_MODEL_IDEAL_FLOW = 0,
+    STALL_MODEL_DFLT = 1, // default 0.5 + 0.1A + 0.005A^2 and +-10
+    STALL_MODEL_REFINED = 2; // this is per foil type.
 
-  String make_force_info_in_display_units (double force, boolean unit_suffix) {
-    String suffix = "";
-    switch (display_units) {
-    case NAVAL: 
-    case IMPERIAL: 
-    case IMPERIAL_FEET: 
-      force *= 0.224808942443; suffix = " Lbs"; break;
-    case METRIC  : suffix = " N"; break;
-    case METRIC_2: force *= 0.101971621; suffix = " kg"; break;
-    }
-    if (unit_suffix)
-      return pprint(filter1or3(force)) + suffix;
-    else 
-      return pprint(filter1or3(force));
-  }
-      
-  String current_display_force_unit_string () {
-    switch (display_units) {
-    case NAVAL: 
-    case IMPERIAL: 
-    case IMPERIAL_FEET: 
-      return "Lbs"; 
-    default:
-    case METRIC  : return "N"; 
-    case METRIC_2: return "kg"; 
-    }
-  }
-      
-  String make_force_newtons_lbs_kg_info (double force, int sz) {
-    return (lunits == IMPERIAL)
-      ? (filter1(force * 4.44822) + " Newtons or " + filter1(force) + " Lbs or " + 
-         filter1(force * 0.453592) + " kg")
-      : (filter1(force) + " Newtons or " + 
-         filter1(force * 0.224808942443)  + " Lbs or " + filter1(force * 0.101971621) + " kg");
-  }
+  // wing downwash influence: makes effective stab AOA more negative. 
+  // See [Gudmundsson, App C1].
+  boolean stab_aoa_correction = false; 
+  
+  static final int POINTS_COUNT = 35;
+  static final int POINTS_COUNT_HALF = POINTS_COUNT/2 + 1;
+  static final int STREAMLINES_COUNT = 15;
+  static final int STREAMLINES_COUNT_HALF = STREAMLINES_COUNT/2 + 1;
+  static final int STREAMLINES_SKIP_BOTTOM = 4; // how many lines not to paint at the bottom
+
+  int stall_model_type;
+
+  int lunits, out_aux_idx, planet, dragOut;
+  int display_units = METRIC;
+
+  static final int PLOT_TYPE_PRESSURE = 0, // pressure variation 
+    PLOT_TYPE_VELOCITY = 1,  // velocity variation
+    PLOT_TYPE_ANGLE = 2, // lift/cl/drag/cd versus angle
+    PLOT_TYPE_THICKNESS = 3, // lift/cl/drag/cd versus thickness
+    PLOT_TYPE_CAMBER = 4, // lift/cl/drag/cd versus camber
+    PLOT_TYPE_CURR_PART_VS_SPEED = 5, // lift and drag versus speed
+    PLOT_TYPE_ALTITUDE = 6,  // lift and drag versus altitude
+    PLOT_TYPE_WING_AREA = 7, // lift and drag versus area
+    PLOT_TYPE_DENSITY = 8,  // lift and drag versus density
+    PLOT_TYPE_LIFT_DRAG_POLARS = 9,  // lift/drag polar
+    PLOT_TYPE_CG_VS_SPEED = 10,  // cg position at various sppeds @ given load andA of min drag
+    PLOT_TYPE_DRAG_TOTALS_VS_SPEED = 11,  // cg position at various sppeds @ given load andA of min drag
+
+    PLOT_TYPE_GAGES = 20;
+  static final String[] PLOT_TYPE_NAMES = { // by PLOT_TYPE_*, for JFR events
+    "pressure", "velocity", "angle", "thickness", "camber", "curr_part_vs_speed", "altitude", 
+    "wing_area", "density", "polars", "cg_vs_speed", "drag_totals_vs_speed" };
+
+  int plot_type = PLOT_TYPE_LIFT_DRAG_POLARS;
+
+
+  // applicable to PLOT_TYPE_ANGLE, PLOT_TYPE_THICKNESS, PLOT_TYPE_CAMBER
+  static final int PLOT_OUT_LIFT = 0,
+    PLOT_OUT_CL = 1,
+    PLOT_OUT_DRAG = 2,
+    PLOT_OUT_CD = 3, 
+    PLOT_OUT_CM = 4;
 
-  String make_power_info_in_display_units (double force, double speed, boolean unit_suffix) {
-    String suffix = "";
-    double res = 0;
-    String res_pp;
-    switch (display_units) {
-    case NAVAL:   
-    case IMPERIAL: 
-    case IMPERIAL_FEET: 
-      res = force * 0.00134102 * speed * 0.277778; 
-      res_pp = pprint(filter1(res));
-      suffix = " HP"; 
-      break;
-    default:
-    case METRIC:
-    case METRIC_2: 
-      res = force * speed * 0.277778; 
-      res_pp = pprint(filter0(res));
-      suffix = " W"; 
-      break;
-    }
-    return res_pp + (unit_suffix ? suffix : "");
-  }
+  static final int PLOT_OUT_2_LIFT = 0,
+    PLOT_OUT_2_DRAG = 1,
+    PLOT_OUT_2_BOARD_DRAG = 2;
 
-  static String padRight (String s, int n) {
-    return String.format("%1$-" + n + "s", s);  
-  }
+  int plot_y_val, plot_y_val_2;
+    
+  int zoom_slider_pos_y; 
 
-  static String padLeft (String s, int n) {
-    return String.format("%1$" + n + "s", s);  
-  }
+  int bdragflag = 1;
 
-  String maybe_warn_about_excessive_cg_offset () {
-    if (dash.cg_pos_of_rider < -1.50) // oops, way too much forward!
-      return "\nWarning: required rider stance indicates wrong setup;\nlikely, stab's negative lift is excessive.";
-    else if (dash.cg_pos_of_rider < -0.60) // auch, forward of front strap, awkward!
-      return "\nWarning: required rider stance indicates\nthat stab's negative lift likely needs be reduced.";
-    else if (dash.cg_pos_of_rider > 0.25) // required stance (or "position on the board") is way to much aft
-      return "\nWarning: rider's stance excessively aft the mast\nindicates that comfortable riding with required\npull force needs increase of stab's downward angle.";
-    else 
-      return "";
-  }
+  boolean  ar_lift_corr = true, ar_lift_corr_2 = false, ar_lift_corr_3 = false,
+    re_corr = true, induced_drag_on = true, skin_drag_on = true;
 
-  String make_min_takeoff_speed_info (double min_lift, double max_drag, double speed) {
-    min_takeoff_speed = speed;
-    in.flt.tf_cruise_starting_speed.setText(""+filter0(min_takeoff_speed));
-    min_takeoff_lift  = min_lift;
-    min_takeoff_drag  = max_drag;
-    min_takeoff_cg =  // can't use the box - was not set yet dash.out_board_NP_xpos.getText();
-      niceCGPositionInfo(dash.cg_pos_of_rider);
-    return min_takeoff_speed_info = 
-      "This foil has been evaluated for minimum possible \n" + 
-      "takeoff speed.\n" +
-      "It was found that with " + constraint_lift_text_uplift + " of \n" + 
-      make_force_newtons_lbs_kg_info(filter1(min_lift),10) + " \n" + 
-      "and total hydrodynamic drag not exceeding \n" + 
-      make_force_newtons_lbs_kg_info(filter1(max_drag),10) + " \n" + 
-      "it can take off at speed of foiling as low as \n" + 
-      //filter1(velocity) + " km/h"
-      make_speed_kts_mph_kmh_ms_info(speed) + 
-      "\nRider C.G. is located " + min_takeoff_cg + " mast leading edge." +
-      maybe_warn_about_excessive_cg_offset() +
-      "\nRider presses into the board at the \nequilibrium point located " + 
-      niceCGPositionInfo(dash.cg_pos_board_level) + " mast. leading edge."
-      ;
-  }
+  // balance model options, set from the Opts tab. These live here and
+  // not in Opts so that a GUI-less copy of the craft (see
+  // make_engine_copy) can compute totals.
+  boolean ignore_drive_moment, // ignore sail/kite FWD drive force and moment
+    ignore_drag_moments,       // ignore all drag forces and moments
+    ignore_aux_weight_moments, // ignore borad and rig weight forces and moments
+    ignore_air_resistance;     // affects mostly just e-foiler rider balance
+
+  // results of updateTotals(), shown by DashBoard.
+  // when rider holds kite sail wing rope etc pullong forward, the posture
+  // must reflect the need to lean back proprtionaly 
+  double cg_pos; // this is offset from strut bottom LE. "fore" is -, "aft" is +,
+  double cg_pos_board_level; // offset from strut upper side LE
+  double cg_pos_of_rider; // the above with drive force counter-balansing offset added to it.
+  double cg_pos_of_rider_at_drive_height; // in theory should always match or be close to the above
 
-  String make_cruising_info (double min_lift, double min_drag, double speed) {
-    cruising_speed = speed;
-    cruising_lift  = min_lift;
-    cruising_drag  = min_drag;
-    cruising_cg =  // can't use the box - was not set yet dash.out_board_NP_xpos.getText();
-      niceCGPositionInfo(dash.cg_pos_of_rider);
-    return cruising_info = 
-      "This foil has been evaluated for minimum possible \n" + 
-      "drag during cruising at speeds >= takeoff speed.\n" +
-      "It was found that with " + constraint_lift_text_uplift + " of \n" + 
-      make_force_newtons_lbs_kg_info(filter1(min_lift),10) + " \n" + 
-      "total hydrodynamic drag would be minimal\nand not exceeding \n" + 
-      make_force_newtons_lbs_kg_info(filter1(min_drag),10) + " \n" + 
-      "L/D ratio = " + filter1(min_lift/min_drag) + ", when cruise-foiling at \n" + 
-      //filter1(velocity) + " km/h"
-      make_speed_kts_mph_kmh_ms_info(speed) + 
-      "\nRider C.G. is located " + cruising_cg + " mast." +
-      maybe_warn_about_excessive_cg_offset() +
-      "\nRider presses into the board at the \nequilibrium point located " + 
-      niceCGPositionInfo(dash.cg_pos_board_level) + " mast. leading edge."
-      ;
-  }
+  /* Value Ranges */
+  double v_min, alt_min, aoa_min, v_max, alt_max, aoa_max;
+  double camber_min, thickness_min, camber_max, thickness_max;
+  double chord_min, span_min, ar_min, chord_max, span_max, ar_max;
+  double rad_min, spin_min, rad_max, spin_max;
+  double vconv,vmax;
+  double pconv,pmax, pmin, lconv,rconv,fconv,fmax, fmaxb;
+  double load_min = 30, // Newtons
+    load_max = 2000; // Newtons
 
-  String make_max_speed_info (double min_lift, double max_drag, double speed) {
-    max_speed_speed = speed;
-    max_speed_lift  = min_lift;
-    max_speed_drag  = max_drag;
-    max_speed_cg = // can't use the box - was not set yet dash.out_board_NP_xpos.getText();
-      niceCGPositionInfo(dash.cg_pos_of_rider);
-    return max_speed_info = 
-      "This foil has been evaluated for maximum possible \n" 
-      + "sustained, controllable flight speed.\n" +
-      "It was found that with " + constraint_lift_text_uplift + " of \n" + 
-      make_force_newtons_lbs_kg_info(filter1(min_lift),10) + " \n" + 
-      "and total hydrodynamic drag not exceeding \n" + 
-      make_force_newtons_lbs_kg_info(filter1(max_drag),10) + " \n" + 
-      "it can maintain sustained flight speed of at least \n" + 
-      //filter1(velocity) + " km/h"
-      make_speed_kts_mph_kmh_ms_info(speed) + 
-      "\nRider C.G. is located " + max_speed_cg + " mast." +
-      maybe_warn_about_excessive_cg_offset() +
-      "\nRider presses into the board at the \nequilibrium point located " + 
-      niceCGPositionInfo(dash.cg_pos_board_level) + " mast. leading edge."
-      ;
-  }
+  double load = load_min;
 
-  // used for speed....
-  String toStringOptQMFilter1 (double val) {
-    return (val <= 0) ? "??" : make_speed_info_in_display_units(val, false);
-  }
-  // used for force....
-  String toStringOptQMFilter0 (double val) {
-    return (val <= 0) ? "??" : make_force_info_in_display_units(val, false);
-  }
+  /*  probe data */ 
+  double prg,pthg,pxg,pyg,pxm,pym,pxpl,pypl; // Cryptic FoilSimIII names...
 
-  // loadInput has been removed.
-  // Oct 17: fed up with loadInput, try not to call this anymore....
-  // note: this also does cp_computeFlow(), 
-  // hence no need to do {computeFlowAndRegenPlotAndAdjust();computeFlowAndRegenPlot();}
-  // public void loadInput () {   // load the input panels
-  //   ... lots of code
-  // }
+  // Cryptic FoilSimIII names...
+  int xt1,yt1,xt2,yt2;
+  double fact,xpval,ypval,pbval;
+  int pboflag,xt,yt;
 
-  void switch_to_part (Part p) {
-    if (p == null) return;
-    if (current_part != null)
-      current_part.save_state();
+  Solver solver = new Solver();
+  VPP vpp       = new VPP();
 
-    double conv = 1;
-    current_part = p;
-    // setFoil(p.foil);
-    // chord = p.chord / conv;
-    // span_old = span =  p.span  / conv;
-    // arold = area = span * chord;
-    //aspect_rat = span/chord;
-    //current_part.spanfac = (int)(2.0*fact*aspect_rat*.3535);
+  DashBoard dash;
 
-    // current_part.thickness = p.thickness;
-    // current_part.thickness/25 = current_part.thickness/25;
-    // current_part.camber = p.camber;
-    // current_part.camber/25 = current_part.camber / 25.0;
-    //current_part.aoa = p.aoa;
+  In in;
+  DashBoardOrPlot out_top;
+  Out out_bottom;
+  Viewer viewer;
 
-    // current_part.t_Cl = p.t_Cl;
-    // current_part.t_Cd = p.t_Cd;
-    // current_part.cl = p.cl;
-    //done current_part.cm = p.cm;
-    // current_part.Ci_eff = p.Ci_eff;
+  PerfWeb perfweb;
 
-    solver.load_stall_model_cache(p.foil);
+  // CardLayout layin,layout,layplt;
+  Image offImg1;
+  Graphics off1Gg;
+  Image offImg2;
+  Graphics off2Gg;
+  Image offImg3;
+  Graphics off3Gg;
 
-    cp_computeFlow(); 
+  String getParameter (String name, String default_val) {
+    String val = runAsApplication ? getProperty(name, default_val) : getParameter(name);
+    if (val == null) val = default_val;
+    return val;
+  }
 
-    forces_totals_maybe_panels();
+  boolean use_cylinder_shapes = false; // Cylinders not useful for Hydrofoil
+  boolean use_foilsim_foils = false; // these foils make swipe plots too slow
+  boolean foil_is_cylinder_or_ball (Foil foil) {
+    return foil  == FOIL_CYLINDER || foil == FOIL_BALL;
+  }
 
-    if (can_do_gui_updates) {
-      in.load_selected_tab_panel();
-      viewer.load_drawing();
-      // what about out_top, out_bottom?
+  /**
+   * 
+   * @j2sNative
+   * 
+   *  console.log(args);
+   *  this.traceArray(args);
+   */
+  void trace (Object... args) {
+    traceArray(args);
+  }
+  
+ 
+  void traceArray (Object[] args) {
+    for (int i = 0; i < args.length; ++i) {
+      System.out.print("|" + args[i] + "| ");
     }
+    System.out.println("");
   }
 
-  // speeds things up when recomp_all_parts is reentered
-  int recomp_all_parts_reentry_count = 0; 
-  void recomp_all_parts () {
-    if (recomp_all_parts_reentry_count > 3) {
-      System.out.println("-- too deep recursive entry into recomp_all_parts, returning; ");
-      new Exception("=== see stack ============").printStackTrace(System.out);
-      return;
+  boolean parseParameters (Part p, String p_name, String defaults) {
+    String p_data   = getParamOrProp(p_name, defaults);
+    if (p_data == null)
+      return false;
+    return parseParamData(p, p_name, p_data);
+  }
+      
+  // Polars at more Reynolds numbers for tabulated foils. For a foil
+  // listed with LIST_FOILS as NAME:
+  //   Polars_NAME: RE1 RE2 ...
+  //   Polar_NAME_RE1: Cl v1 v2 ... Cd v1 v2 ... Cm v1 v2 ...
+  // with as many values each as the foil's own tables have (15 or 25,
+  // same AoA rows). Cm is optional. 
+  void load_polars () {
+    for (Object o : foils.values()) {
+      if (!(o instanceof Tab15Foil)) continue;
+      Tab15Foil foil = (Tab15Foil)o;
+      String name = foil.descr.replace(" ", "_");
+      String res = getParamOrProp("Polars_" + name, null);
+      if (res == null) continue;
+      for (String re : res.trim().split("[\\s,;]+")) {
+        String data = getParamOrProp("Polar_" + name + "_" + re, null);
+        if (data == null) {
+          System.out.println("ERROR: foil " + foil.descr + " has no polar data at Re " + re);
+          continue;
+        }
+        try {
+          double[][] coeffs = new double[3][];
+          int which = -1;
+          double[] vals = new double[foil.size()];
+          int count = 0;
+          for (String tok : (data.trim() + " end").split("[\\s,;]+")) {
+            int next = tok.equalsIgnoreCase("Cl") ? 0 : tok.equalsIgnoreCase("Cd") ? 1 : tok.equalsIgnoreCase("Cm") ? 2 
+              : tok.equals("end") ? 3 : -1;
+            if (next < 0) {
+              if (which < 0 || count == vals.length) throw new NumberFormatException("unexpected " + tok);
+              vals[count++] = Double.parseDouble(tok);
+              continue;
+            }
+            if (which >= 0) {
+              if (count != vals.length) throw new NumberFormatException(count + " values for " + (which == 0 ? "Cl" : which == 1 ? "Cd" : "Cm"));
+              coeffs[which] = vals;
+              vals = new double[foil.size()];
+              count = 0;
+            }
+            which = next;
+          }
+          if (coeffs[0] == null || coeffs[1] == null) throw new NumberFormatException("both Cl and Cd are required");
+          foil.add_polar(Double.parseDouble(re), coeffs[0], coeffs[1], coeffs[2]);
+          System.out.println("-- foil " + foil.descr + ": polar at Re " + re);
+        } catch (NumberFormatException e) {
+          System.out.println("ERROR: foil " + foil.descr + " polar at Re " + re + ": " + e.getMessage());
+        }
+      }
     }
-    recomp_all_parts_reentry_count++;
-
-    Part curr_pt = current_part;
+  }
 
-    switch_to_part(stab);
-    switch_to_part(fuse);
-    switch_to_part(wing);
-    switch_to_part(strut);
+  boolean parseParamData_debug = false;
+  boolean parseParamData (Part p, String p_name, String p_data) {
+    if (parseParamData_debug) trace("parseParamData, before:", p_name, p_data);
+    String[] params = p_data.split("\\s+");
+    int i = 0;
+    
+    String name = params[i++];
+    p.foil = (Foil)foils.get(name);
+    if (p.foil == null) { // convert _ to space
+      p.foil = (Foil)foils.get(name.replace("_", " "));
+    }
+    if (p.foil == null) { 
 
-    // must do before switch_to_part(current_part);
-    // so that updateTotals is triggered
-    recomp_all_parts_reentry_count--;  
-    switch_to_part(curr_pt);
+      /**
+       * @j2sNative
+       * 
+       *    var dummy = 0;
+       */
+      { // only in Java, not in JavaScript
+        String path = getParamOrProp("__def_file_dirpath", "") + name;
+        System.out.println("-- path: " + path);
+        if (new File(path).exists()) {
+          // create from file, or from what an earlier run made of it
+          p.foil = import_foil(null, path, p == strut);
 
-    if (can_do_gui_updates) { 
-      out_top.load_selected_tab_panel(); // was: out_top.plot.loadPlot();
-        out_bottom.load_selected_tab_panel();
+          // need to ad p.foil to foil_arr
+          addFoil(p.foil);
+        }
+      }
+
+      if (p.foil == null) { 
+        System.out.println("WARNING: foil name: " + name + " is not recognized, assigning NACA 4 Series...");
+        p.foil = (Foil)foils.get("NACA 4 Series");
+      }
     }
-  }
 
-  public void computeFlowAndRegenPlotAndAdjust () { 
-    computeFlowAndRegenPlot();
-    if (can_do_gui_updates)
-      viewer.find_it();
-  }
+    // if (p_name.equals("Stab")) System.out.println("-- stab foil: " + p.foil);
+    
+    String[] chord_spec = params[i++].split("[:;]"); // possible chord value separators 
+    p.chord_spec = chord_spec;
 
-  String niceCGPositionInfo (double pos) {
-    if (pos <= -0.01) { // 1cm or more fore
-      if (display_units == METRIC || display_units == METRIC_2)
-        return pprint(filter0(    100*Math.abs(pos/*-wing.xpos*/))) + " cm fore";
-      else
-        return pprint(filter0(39.3701*Math.abs(pos/*-wing.xpos*/))) + " in fore";
-    } else if (pos <  0.01) { // between -1cm and 1cm: above mast LE
-      return "Above";
-      // return "" + filter0(100*pos/fuse.chord) + " % aft";
-    } else {
-      if (display_units == METRIC || display_units == METRIC_2)
-        return pprint(filter0(    100*Math.abs(pos/*-wing.xpos*/))) + " cm aft";
-      else
-        return pprint(filter0(39.3701*Math.abs(pos/*-wing.xpos+strut.chord*/))) + " in aft";
+    // span value
+    p.span = Double.parseDouble(params[i++]);
+
+    // thickness value. optional, default is 12
+    String thickness = params.length > i ? params[i++] : "12";
+    int pst_pos = thickness.indexOf("%");
+    if (pst_pos > -1)
+      p.thickness = Double.parseDouble(thickness.substring(0, pst_pos));
+    else {
+      p.thickness = Double.parseDouble(thickness);
+      if (p.thickness < 0.5) // user entered thickness in meters, convert to %
+        p.thickness = 100* p.thickness / p.chord;
     }
-  }
 
-  void updateTotals () {
-    // System.out.println("-- updateTotals... " + can_do_gui_updates);
-    // new Exception("-- updateTotals  ---------------- ").printStackTrace(System.out);
+    // camber value. optional, default is 0
+    thickness = params.length > i ? params[i++] : "0";
+    pst_pos = thickness.indexOf("%");
+    if (pst_pos > -1)
+      p.camber = Double.parseDouble(thickness.substring(0, pst_pos));
+    else {
+      p.camber = Double.parseDouble(thickness);
+      if (Math.abs(p.camber) < 0.1) // user likely entererd camber in meters, convert to %
+        p.camber = 100* p.camber / p.chord;
+    }
 
-    speed_kts_mph_kmh_ms_info = make_speed_kts_mph_kmh_ms_info(velocity);
-    double lift = foil_lift();
-    double drag = total_drag();
-                                      
-    // This computes location of the center of gravity of the craft
-    // (rider, roughly) in relation to the leading edge (aka LE) of the
-    // mast (roughly, front bolt of DT). 
-    //
-    // Mtipping is 0.5*eff_strut_span*strut,drag
-    //
-    // cg_pos: x-axis offset relative to strut bottom LE. "fore" is -, "aft" is +,
-    dash.cg_pos = find_cg_xpos(); 
-    // cg_pos_board_level: at board level where x=0 at strut's board-side LE.
-    // strut tilt correction is required. example:
-    // cg_pos=-35cm, xoff_tip=5cm (horue,dmitry) cg_pos_board_level=-30-5=-35
-    dash.cg_pos_board_level = dash.cg_pos;
+    p.aoa = Double.parseDouble(params.length > i ? params[i++] : "0");
 
-    // foilboard AOA correction. when the board is at high angle of
-    // attack, the computed offset is only an approximation, rider is more
-    // forward *alone the board surface* in reality.  for 90 degree strut,
-    // it is the hypotenuse where the adjasent is -dash.cg_pos + cos(
-    // BOARD_THICKNESS + strut.span)
-    if (rider_xpos_tilt_correction) {
-      double pitch_rad = Math.toRadians(craft_pitch);
-      double hypo = BOARD_THICKNESS + strut.span;
-      double deck_rot_adj = - // when AOA is positive, and cg_pos is
-                              // negative, increses the magnitude
-        hypo * Math.sin(pitch_rad);
+    // X axis position is LE position and is optional
+    if (params.length > i)
+      p.xpos = Double.parseDouble(params[i++]);
+    else {  // recalc using actual fuse length 
+      if (p == stab)
+        p.xpos = fuse.chord - p.chord;
+      else if (p == strut) 
+        p.xpos = 0.3 * fuse.chord;
+    }
 
-      // board deck offset is hypotenuse; adjasent value is dash.cg_pos plus
-      // deck_rot_adjn
+    if (chord_spec.length == 1) { // simple rectangular shape
+      p.chord = Double.parseDouble(chord_spec[0]);
+      // *very* simple mesh
+      if (p == strut) {
+        p.mesh_LE = new Point3D[]{
+          new Point3D(p.xpos, 0, 0),
+          new Point3D(p.xpos, 0, p.span),
+        };
+        p.mesh_TE = new Point3D[]{
+          new Point3D(p.xpos + p.chord, 0, 0),
+          new Point3D(p.xpos + p.chord, 0, p.span),
+        };
+        p.chord_zoffs = p.span/2;
+      } else { 
+        double z_offset = 0;
+        if (p == wing) z_offset = -0.04; // 4cm down 
+        else if (p == stab) z_offset = 0.03; // 3 cm up
+        p.chord_zoffs = z_offset;
+        p.mesh_LE = new Point3D[]{
+          new Point3D(p.xpos, -p.span/2, z_offset),
+          new Point3D(p.xpos, p.span/2, z_offset),
+        };
+        p.mesh_TE = new Point3D[]{
+          new Point3D(p.xpos + p.chord, -p.span/2, z_offset),
+          new Point3D(p.xpos + p.chord,  p.span/2, z_offset),
+        };
+      }
+    } else { // segments: chord[/xshift[/zshift]]:....
+      double chords[] = new double[chord_spec.length];
+      double xoffs[] = new double[chord_spec.length];
+      double zoffs[] = new double[chord_spec.length];
+      int specs_len = 0;
+      boolean seen_zoff = false;
+      double xoffs_prev = 0, zoffs_prev = 0;
+      for (int ci = 0; ci < chord_spec.length; ci++) {
+        String[] ch_x_z = chord_spec[ci].split("/");
+        specs_len = Math.max(specs_len,ch_x_z.length);
+        chords[ci] = Double.parseDouble(ch_x_z[0]);
+        xoffs[ci] = xoffs_prev = xoffs_prev + 
+          ((ch_x_z.length > 1) 
+          ? Double.parseDouble(ch_x_z[1])
+           : 0);
+        double z_off = 0;
+        if (ch_x_z.length > 2) {
+          seen_zoff = true;
+          z_off = Double.parseDouble(ch_x_z[2]);
+        }
+        zoffs[ci] = zoffs_prev = zoffs_prev + z_off;
+        p.chord_zoffs+= zoffs_prev;
+      }
+      if (seen_zoff) p.chord_zoffs /= chord_spec.length;
+      else if (p == wing) p.chord_zoffs = -0.04; // 4cm down 
+      else if (p == stab) p.chord_zoffs = 0.03; // 3 cm up
+      if (parseParamData_debug) System.out.println("-- chord_zoffs: " + p.chord_zoffs);
       
-      // deck_x_offset is the 'hypotenuse' H = A / cos(A)
-      double deck_x_offset  = (dash.cg_pos + deck_rot_adj) // the 'adjasent'
-        / Math.cos(pitch_rad);
+      double xoff_tip  = xoffs_prev;
+      // System.out.println("-- xoff_tip: " + xoff_tip);
+      p.xoff_tip = xoff_tip;
+      
+      int segment_count = chord_spec.length -1;
+      // compute MAC value. this is silly straightfoward
+      // also approxinate MAC xpos... 
+      // the idea is that mac_xpos*MAC*segment_count*segment_width = SUM each segement xpos * area...
+      // which because width is the same for each segement becomes
+      // mac_xpos*MAC*segment_count = SUM each segement xpos * median chord
+      double MAC = 0, segment_moments = 0;
+      for (int ci = 0; ci < segment_count; ci++) {
+        // effectibe chord of this segment
+        double median_chord = (chords[ci] + chords[ci+1]) / 2;
+        double median_xoff = (xoffs[ci] + xoffs[ci+1]) / 2;
+        // effectibe chord of thsi segment added
+        MAC += median_chord;
+        segment_moments += median_xoff * median_chord;
+      }
+      MAC /= segment_count;
+      p.chord = MAC;
+      // now we derive mac xoffset!
+      double mac_xoffs = segment_moments/(MAC*segment_count);
+      if (parseParamData_debug) System.out.println("-- part: "+p_name+" MAC: " + MAC + " mac_xoffs: " + mac_xoffs);
+      p.chord_xoffs = mac_xoffs;
 
-      // apply correction
-      dash.cg_pos_board_level = deck_x_offset;
+      // estimate Ci_eff... how root chord RC, MAC and tip chord TC differ?
+      // // old: too conservative: (- 1 (* 0.15 tip/mac))
+      // (1) appoximate Taper ratio as: TCeff = RC - 2*(RC-MAC); tr = TCeff/RC
+      // (2) polynomial approxaimation - https://www.desmos.com/calculator/zgxg590b65
+      //     quick curve fit - not ideal but good enough. See Gudmundsson ch 15 p 690
+      double TC = chords[segment_count], RC = chords[0], TCeff = RC - 2 *(RC-MAC); 
+      double tr = Math.min(1, TCeff/RC); // taper ratio. why min(): mast can be > 1, see efoil/lift-5p6-170.html
+      System.out.println("-- taper ratio: " + tr);
+      // old p.Ci_eff = 1 - 0.15 * (Math.min(1, chords[segment_count]/MAC));
+      tr += 0.99;
+      // note: factored AR into the last coeff as follows: 
+      // it is 1.24 at AR=1, 1.28 at AR=22 .. so, d =  1.24 + (AR*0.0018)
+      double oswald_e = -0.011*Math.pow(tr,6) + 0.256 * tr*tr*tr + 0.1659*tr*tr - 1.56*tr + 1.24 + (0.0018*p.span/p.chord);
+      System.out.println("-- oswald_e: " + oswald_e);
+      p.Ci_eff = 1/(1 + oswald_e);
+      if (true || parseParamData_debug) System.out.println("-- "+p.name+" Ci_eff: " + p.Ci_eff);
+      // mesh. double segments for symmetric forms - wing, stab, fuse
+      int mesh_count = (p == strut) ?  segment_count+1 : 2*segment_count+1;
+      p.mesh_LE = new Point3D[mesh_count];
+      p.mesh_TE = new Point3D[mesh_count];
+      double z_offset = 0;
+      if (specs_len < 3) {// no z coord detected
+        if (p == wing) z_offset = -0.025; // down 
+        else if (p == stab) z_offset = 0.02; // up
+      }
+      double segment_span = p.span/(mesh_count-1);
+      if (p == strut) 
+        for (int ci = 0; ci < mesh_count; ci++) {
+          p.mesh_LE[ci] = new Point3D(p.xpos+xoffs[ci],           0, ci*segment_span);
+          p.mesh_TE[ci] = new Point3D(p.xpos+chords[ci]+xoffs[ci],0, ci*segment_span);
+        } else 
+        for (int ci = 0; ci <= segment_count; ci++) {
+          if (specs_len <  2) { // no xoffs, no z, align straight TE
+            p.mesh_LE[segment_count + ci] = new Point3D(p.xpos+chords[0]-chords[ci],  ci*segment_span, z_offset);
+            p.mesh_LE[segment_count - ci] = new Point3D(p.xpos+chords[0]-chords[ci], -ci*segment_span, z_offset);
+            p.mesh_TE[segment_count + ci] = new Point3D(p.xpos+chords[0],             ci*segment_span, z_offset);
+            p.mesh_TE[segment_count - ci] = new Point3D(p.xpos+chords[0],            -ci*segment_span, z_offset);
+          } else { // no need to align alone x
+            p.mesh_LE[segment_count + ci] = new Point3D(p.xpos+xoffs[ci],   ci*segment_span, z_offset+zoffs[ci]);
+            p.mesh_LE[segment_count - ci] = new Point3D(p.xpos+xoffs[ci],   -ci*segment_span, z_offset+zoffs[ci]);
+            p.mesh_TE[segment_count + ci] = new Point3D(p.xpos+chords[ci]+xoffs[ci],             ci*segment_span, z_offset+zoffs[ci]);
+            p.mesh_TE[segment_count - ci] = new Point3D(p.xpos+chords[ci]+xoffs[ci],            -ci*segment_span, z_offset+zoffs[ci]);
+          }
+        }
+      
     }
 
-    // cg_pos_board_level: at board level where x=0 at strut's board-side LE.
-    // strut tilt correction is required. example for AoA=0:
-    // cg_pos=-30cm, xoff_tip=5cm (horue,dmitry) cg_pos_board_level=-30-5=-35
-    dash.cg_pos_board_level -= strut.xoff_tip;
+    p.compute_aux_params(); // area AR etc
 
-    
-    // rider_countering_x_offset is computed and saved to reflect posture
-    // change due to (a) headwind (b) propulsion pull as follows below
-    double rider_countering_x_offset = 0;
+    if (parseParamData_debug) trace("parseParamData, done:", p, p.foil.id, p_name, p_data);
+        
+    return true;
+  }
 
-    // (a) Headwind.
-    // Two square triangles: rider_offset/height = rider.drag/weight
-    if (!in.opts.ignore_air_resistance)
-      rider_countering_x_offset += -(rider.drag/rider.weight)* RIDER_CG_HEIGHT;
+  // Where slow, deterministic results are kept between runs: one small
+  // binary file per entry, named by a hash of everything the result was
+  // computed from, so a changed input is simply a different entry.
+  // Entries are written to a temp file and renamed, so a crash never
+  // leaves a torn one, and read back with a single mapped read. Any I/O
+  // or format problem is a miss, never an error.
+  static class DiskCache {
+    // param DISK_CACHE: the cache directory, or "off"
+    static String root = System.getProperty("user.home") + File.separator + ".foilboard" + File.separator + "cache";
+    File dir;
+    int hits, misses;
+
+    DiskCache (String name) {
+      dir = new File(root, name);
+    }
 
-    // (b) Propulsion pull. 
-    // Rider's force-countering stance is in effect only if the drive force is applied
-    // above the board, which implies it goes through rider's body
-    if (DRIVING_FORCE_HEIGHT > 0) {
-      // drive force, scaled to be considering coming from the rider CG height spot
-      double drive_force_scaled = 
-        (in.opts.ignore_drive_moment)
-        ? 0
-        : (total_drag() * DRIVING_FORCE_HEIGHT/RIDER_CG_HEIGHT);
-      // two square triangles: rider_offset/height = drive_force_scaled/weight
-      rider_countering_x_offset += (drive_force_scaled/rider.weight)* RIDER_CG_HEIGHT; // wasFF 0.86;
+    static boolean on () { return !"off".equals(root); }
+
+    // hex SHA-256 of data followed by the UTF-8 bytes of salt
+    static String hash (byte[] data, String salt) {
+      try {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        if (data != null) md.update(data);
+        md.update(salt.getBytes("UTF-8"));
+        StringBuilder sb = new StringBuilder(64);
+        for (byte b : md.digest()) sb.append(Character.forDigit((b >> 4) & 15, 16)).append(Character.forDigit(b & 15, 16));
+        return sb.toString();
+      } catch (Exception e) {
+        return null;
+      }
     }
-    rider.force_countering_x_offest = rider_countering_x_offset;
-    dash.cg_pos_of_rider = dash.cg_pos_board_level + rider.force_countering_x_offest;
 
-    // factored out to dash.loadPanel()
-    // if (can_do_gui_updates) {
-    //   dash.loadPanel();
-    // }
-  }
+    // null when there is no such entry
+    ByteBuffer get (String key) {
+      if (key == null || !on()) return null;
+      File file = new File(dir, key);
+      RandomAccessFile raf = null;
+      try {
+        if (!file.isFile()) { misses++; return null; }
+        raf = new RandomAccessFile(file, "r");
+        // the mapping stays valid after the file is closed
+        ByteBuffer buf = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+        hits++;
+        return buf;
+      } catch (IOException e) {
+        misses++;
+        return null;
+      } finally {
+        if (raf != null) try { raf.close(); } catch (IOException e) { }
+      }
+    }
 
-  // static void track_current_part.cl_changes () {
-  //   current_part.cl_set_count++;
-  //   if (current_part.cl != current_part.cl_old) {
-  //     System.out.println("-- current_part.cl: " + current_part.cl + " set: " + current_part.cl_set_count);
-  //     current_part.cl_old = current_part.cl;
-  //   }
-  // }
+    void put (String key, byte[] data) {
+      if (key == null || !on()) return;
+      File tmp = null;
+      try {
+        dir.mkdirs();
+        tmp = File.createTempFile(key.substring(0, 8), ".tmp", dir);
+        FileOutputStream out = new FileOutputStream(tmp);
+        try { out.write(data); } finally { out.close(); }
+        File file = new File(dir, key);
+        if (!tmp.renameTo(file)) { file.delete(); tmp.renameTo(file); }
+      } catch (IOException e) {
+        System.out.println("-- disk cache " + dir + ": " + e);
+      } finally {
+        if (tmp != null) tmp.delete(); // only if the rename did not happen
+      }
+    }
 
-  // This should be called after cp_computeFlow(). Note: operates on the
-  // current_part only.
-  public void cp_computeForces () {
+    // entry encoding helpers, DataOutputStream and ByteBuffer are both big-endian
+    static void put_string (DataOutputStream out, String s) throws IOException {
+      byte[] b = s.getBytes("UTF-8");
+      out.writeInt(b.length);
+      out.write(b);
+    }
+    static String get_string (ByteBuffer in) throws IOException {
+      byte[] b = new byte[in.getInt()];
+      in.get(b);
+      return new String(b, "UTF-8");
+    }
+    static void put_doubles (DataOutputStream out, double[] v) throws IOException {
+      out.writeInt(v == null ? -1 : v.length);
+      if (v != null) for (double d : v) out.writeDouble(d);
+    }
+    static double[] get_doubles (ByteBuffer in) {
+      int n = in.getInt();
+      if (n < 0) return null;
+      double[] v = new double[n];
+      in.asDoubleBuffer().get(v);
+      in.position(in.position() + 8*n);
+      return v;
+    }
+    static void put_points (DataOutputStream out, Point2D[] pts) throws IOException {
+      out.writeInt(pts == null ? -1 : pts.length);
+      if (pts != null) for (Point2D p : pts) { out.writeDouble(p.x); out.writeDouble(p.y); }
+    }
+    static Point2D[] get_points (ByteBuffer in) {
+      int n = in.getInt();
+      if (n < 0) return null;
+      Point2D[] pts = new Point2D[n];
+      for (int i = 0; i < n; i++) pts[i] = new Point2D(in.getDouble(), in.getDouble());
+      return pts;
+    }
+  }
 
-    double eff_area_k = (current_part == strut)
-      ? (1- alt_val/100) // typically only 30% of mast sits in the water
-      : 1;
+  // Import.analyze() runs a panel method over the whole AoA range, for
+  // each imported foil on each start. What it produces only depends on
+  // the file, so it is kept in foil_cache keyed by the file's content and
+  // name. path can be null, then there is no caching.
+  static DiskCache foil_cache = new DiskCache("foils");
+  static final int FOIL_CACHE_FORMAT = 1;
 
-    // 1a. compute lift
-    if (!foil_is_cylinder_or_ball(current_part.foil)) { 
+  static String foil_cache_key (String path, boolean mast) {
+    if (path == null || !DiskCache.on()) return null;
+    try {
+      File file = new File(path);
+      RandomAccessFile raf = new RandomAccessFile(file, "r");
+      byte[] data = new byte[(int)raf.length()];
+      try { raf.readFully(data); } finally { raf.close(); }
+      return DiskCache.hash(data, "|" + file.getName() + "|" + mast + "|" + FOIL_CACHE_FORMAT);
+    } catch (IOException e) {
+      return null;
+    }
+  }
 
-      // Lift force
-      // Legacy converion: first we produce lift in lbs, then convert to N
-      // lift = current_part.cl * q0_EN * area / lconv / lconv; 
-      // lift = lift * fconv;
-      // double lift_si = current_part.cl * 0.5 * 1027 * velocity * velocity * 0.277778 * 0.277778 * area;
-        
-      double force_k = q0_SI * eff_area_k * current_part.area;
-      current_part.lift = current_part.cl * force_k;
+  // whether an import is worth keeping in foil_cache. An import that
+  // failed half way can leave a placeholder name, zero or NaN tables or
+  // no geometry; cached, every later start would load that
+  static boolean foil_cacheable (String name, double[] cl, double[] cd, double[] cm, Point2D[] geometry) {
+    if (name == null || name.trim().length() == 0) return false;
+    if (geometry == null || geometry.length == 0) return false;
+    double[][] tabs = {cl, cd, cm};
+    for (int t = 0; t < tabs.length; t++) {
+      if (tabs[t] == null || tabs[t].length != 25) return false;
+      for (int i = 0; i < 25; i++) 
+        if (Double.isNaN(tabs[t][i]) || Double.isInfinite(tabs[t][i])) return false;
+    }
+    boolean cl_zero = true, cd_zero = true;
+    for (int i = 0; i < 25; i++) {
+      if (cl[i] != 0) cl_zero = false;
+      if (cd[i] != 0) cd_zero = false;
+    }
+    return !cl_zero && !cd_zero;
+  }
 
-      // DEBUG 
-      if (false && current_part == wing) { 
-        System.out.println("-- wing lift: " + wing.lift + " pitch: " + craft_pitch);
-        if (craft_pitch == 0.0) new Exception("---  pitch = 0   ---").printStackTrace(System.out);
-        if (craft_pitch > 20) new Exception("---  pitch > 20   ---").printStackTrace(System.out);
+  // the Tab25Foil defined by the file at path, from foil_cache or else
+  // analyzed by imp, which is made from path when null. mast: fix symmetry
+  Tab25Foil import_foil (Import imp, String path, boolean mast) {
+    Object jfr = jfr_foil_import.begin();
+    String key = foil_cache_key(path, mast);
+    ByteBuffer in = foil_cache.get(key);
+    if (in != null) {
+      try {
+        if (in.getInt() != FOIL_CACHE_FORMAT) throw new IOException("format");
+        String name = DiskCache.get_string(in);
+        String report_text = DiskCache.get_string(in);
+        double thickness = in.getDouble(), camber = in.getDouble();
+        double[] cl = DiskCache.get_doubles(in), cd = DiskCache.get_doubles(in), cm = DiskCache.get_doubles(in);
+        Point2D[] geometry = DiskCache.get_points(in);
+        if (!foil_cacheable(name, cl, cd, cm, geometry)) throw new IOException("bad foil data");
+        Tab25Foil foil = new Tab25Foil(name, "Imported foil " + name, report_text, thickness, camber, cl, cd, cm);
+        foil.geometry = geometry;
+        foil.camber_line = DiskCache.get_points(in);
+        foil.points_x = DiskCache.get_doubles(in);
+        foil.points_y = DiskCache.get_doubles(in);
+        System.out.println("-- foil " + name + " from cache " + key);
+        if (jfr != null) jfr_foil_import.commit(jfr, path, name, true);
+        return foil;
+      } catch (Exception e) { // RuntimeExceptions of a bad entry too
+        System.out.println("-- foil cache entry " + key + " ignored: " + e);
       }
+    }
 
-      // according to [Gudmundsson, App C1], p.61
-      current_part.moment = current_part.cm * force_k * current_part.chord; 
+    if (imp == null) imp = new Import(path);
+    imp.analyze();
+    if (mast && imp.camber_pst != 0)
+      imp.fixSymmetry("Mast"); // most import data leads to slight assymetric shape
+    String report_text = "\n\n Geometry: \n" + imp.getGeometryAsText() + "\n\n Table: \n" + imp.descr;
+    Tab25Foil foil = new Tab25Foil(imp.getName(), "Imported foil " + imp.getName(), report_text,
+                                   imp.thickness_pst, imp.camber_pst, 
+                                   imp.Cl, imp.Cd,
+                                   imp.Cm);
+    foil.geometry = imp.getGeometry();
+    foil.camber_line = imp.getCamberLine();
+    int count  = imp.points_count();
+    System.out.println("-- count: " + count);
+    foil.points_x = new double[count];
+    foil.points_y = new double[count];
+    imp.getPoints(foil.points_x, foil.points_y);
+
+    if (key != null && !foil_cacheable(foil.descr, foil.t_lift, foil.t_drag, foil.t_moment, foil.geometry)) {
+      System.out.println("-- foil cache: import of " + path + " looks broken, not cached");
+    } else if (key != null) {
+      try {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(FOIL_CACHE_FORMAT);
+        DiskCache.put_string(out, foil.descr);
+        DiskCache.put_string(out, report_text);
+        out.writeDouble(foil.thickness); out.writeDouble(foil.camber);
+        DiskCache.put_doubles(out, foil.t_lift); DiskCache.put_doubles(out, foil.t_drag); DiskCache.put_doubles(out, foil.t_moment);
+        DiskCache.put_points(out, foil.geometry);
+        DiskCache.put_points(out, foil.camber_line);
+        DiskCache.put_doubles(out, foil.points_x);
+        DiskCache.put_doubles(out, foil.points_y);
+        out.close();
+        foil_cache.put(key, bytes.toByteArray());
+      } catch (IOException e) {
+        System.out.println("-- foil cache: " + e);
+      }
     }
-    else { // cylinder and ball
+    if (jfr != null) jfr_foil_import.commit(jfr, path == null ? "" : path, foil.descr, false);
+    return foil;
+  }
 
-      // note: legacy 'conv' style....
-      current_part.lift = rho_EN * velocity/vconv * solver.gamval * velocity/vconv * current_part.span/lconv; // lift lbs
-      if (current_part.foil == FOIL_BALL) 
-        current_part.lift = current_part.lift * 4.0 * solver.rval / (current_part.span/lconv) / 3.0; 
 
-      current_part.lift *= fconv;
-      current_part.cl = (current_part.lift/fconv) / ( q0_EN *  current_part.area/lconv/lconv);
+  // taken from pspice-tubes/scripts/java/TopLevelMacros.jsl
+  String getTextResourceAsString (String name) {
+    String result = "[text resource " + name + " is empty or not found]";
+  
+    try {
+      String resName = "" + name;
+      ByteArrayOutputStream bos = null;
+      InputStream inFile = null;
+      inFile = getClass().getClassLoader().getResourceAsStream(resName);
+   
+      if (inFile == null) {
+        inFile = new FileInputStream(resName);
+      }
+   
+      BufferedReader reader =
+        new BufferedReader(new InputStreamReader(inFile));
+      bos = new ByteArrayOutputStream();
+      String text = "";
+   
+      for (String line = reader.readLine();
+           line != null;
+           line = reader.readLine()) text += line + "\n";
+   
+      result = text;
+    } catch (Exception e) {
+      System.out
+        .println("-- got exception when reading from text resource: " + e);
     }
+    return result;
+  }  
+  
+  JFrame  helpWindow; // was: JDialog helpWindow;
+  JDialog aboutWindow;
 
-    // 1b. compute drag and adjust
-    // old FoilSimIII way was: drag = current_part.cd * q0_EN * area / lconv / lconv;
-    double k_drag = q0_SI * current_part.area * eff_area_k;
-    current_part.drag = current_part.cd * k_drag;
-    current_part.drag_profile = current_part.cd_profile * k_drag;
-    // mainly induced drag
-    current_part.drag_aux = current_part.cd_aux * k_drag;
+  void helpPopUp () {
+    if (helpWindow == null) {
+      JFrame frame = FoilBoard.frame != null ? FoilBoard.frame : new JFrame();
+      String helpContent = getTextResourceAsString("README.md") + 
+        getTextResourceAsString("docs/GUIPanels.md") + 
+        getTextResourceAsString("docs/Parameters.md");
 
-    // more ajusments...
+      JTextArea txtArea = new JTextArea(helpContent);
+      txtArea.setLineWrap(true);
+      txtArea.setWrapStyleWord(true);
+      txtArea.setEditable(false);
+      txtArea.setFont(new Font("Monospaced", Font.PLAIN, 14));
+      txtArea.setBackground(Color.decode("#F0F0F0"));
+      helpWindow = new JFrame("Help Info"); // new JDialog(frame, "help");
+      helpWindow.add(new JScrollPane(txtArea), BorderLayout.CENTER);
+      helpWindow.setLocationRelativeTo(this);
+      helpWindow.setLocation(100, 100);
+      helpWindow.setSize(800, 800);
+    }
+    helpWindow.setVisible(true);
+  }
 
-    double thickness_0to1 = current_part.thickness * 0.01;
-    double thickness_m = thickness_0to1 * current_part.chord;
- 
-    // Hoerner junction drag, see the formula in [Moth Full Scale Measurements]. we produce
-    // this for every part.  note the contribution is somewhat small
-    // and with spray drag can be omitted in principle.
-    double CDt = 17*thickness_0to1*thickness_0to1 -.05;
-    if (CDt > 0) {
-      double JD = CDt * q0_SI * thickness_m * thickness_m;
-      if (current_part != null) current_part.drag_junc = JD;
-    } else
-      if (current_part != null) current_part.drag_junc = 0;
+  void helpPopUp_html () {
+    if (helpWindow == null) {
+      JFrame frame = FoilBoard.frame != null ? FoilBoard.frame : new JFrame();
+      //Panel panel = new Panel();
+      String helpContent = getTextResourceAsString("README.html") 
+        // + getTextResourceAsString("docs/GUIPanels.md") + 
+        // getTextResourceAsString("docs/Parameters.md")
+        ;
 
-    if (current_part == strut) {
-      // wave and spray. See [Moth Full Scale Measurements],  Page 8 where 
-      // Cdws = Rt / (0.5 * prho * v^2 * t^2) = 0.24 on average at 20fps = 6.096 m/s. 
-      // knowing that average t for struts is 0.1, we have 
-      // Rt = (* 0.24 (* 0.5 1027 6.096 6.096 0.012 0.012)) 0.6594837494169601 N
-      // note experimental data has 0.3 on avarage, so it is used below..
-      // note also that from anorher source, Cds = Cf * (7.68 - 6.4(t/c)) for vertical struts
-      // example: (* 0.02 (- 7.68 (* 6.4 (/ 0.1 0.1))b)) -> 0.025
-      // hwo to use it? ad Cd additive?
-      double wave_spray = 0.3 * q0_SI * thickness_m * thickness_m;
-      current_part.drag += wave_spray;
-      current_part.drag_spray = wave_spray;
+      JEditorPane txtArea = new JEditorPane();
+      txtArea.setAutoscrolls(true);
+      txtArea.setEditable(false);
+      txtArea.setContentType("text/html");
+      txtArea.setText(helpContent);
+
+      txtArea.setBackground(Color.decode("#F0F0F0"));
+      txtArea.putClientProperty(JEditorPane.HONOR_DISPLAY_PROPERTIES, true);
+      txtArea.setFont(new Font("TimesRoman", Font.PLAIN, 16));
+      helpWindow = new JFrame("Help Info"); // new JDialog(frame, "help");
+      helpWindow.add(new JScrollPane(txtArea));
+      helpWindow.setLocationRelativeTo(this);
+      helpWindow.setLocation(100, 100);
+      helpWindow.setSize(800, 800);
     }
+    helpWindow.setVisible(true);
+  }
+  static String getProperty (String name, String dflt) {
+    String val = props == null ? null : props.getProperty(name);
+    if (val == null) val = System.getProperty(name, dflt);
+    return val;
   }
-  
-  // output routine
-  // currently it has two disinct parts:
-  // 1. compute forces
-  // 2. load dashboard panel
-  public void forces_totals_maybe_panels () { 
-    // part 1 Forces.
-    cp_computeForces();
-    // part 2. totals
-    updateTotals();
-    // part 3. maybe update GUI
-    if (can_do_gui_updates) {
-      out_top.load_selected_tab_panel();
-      out_bottom.load_selected_tab_panel();
-    }
 
-    // moved to DashBoard.loadPanel
-    //if (can_do_gui_updates) {
-    //  // lift force
-    //  dash.outlft_setText(make_force_info_in_display_units(current_part.lift, true));
-    //  // drag force
-    //  dash.outDrag_setText(make_force_info_in_display_units(current_part.drag, true));
-    //  
-    //  String out_aux_text  = "";
-    //  switch (out_aux_idx) {
-    //  case 0: out_aux_text = pprint(filter1(Math.abs(current_part.cl/current_part.cd))); break; // L/D
-    //  case 1: out_aux_text = pprint(filter3(current_part.cl)); break;
-    //  case 2: out_aux_text = pprint(filter3(current_part.cd)); break;
-    //  case 3: out_aux_text = pprint(filter0(current_part.reynolds)); break;
-    //  }
-    //  dash.out_aux_setText(out_aux_text);
-    //  
-    //  //dash.outReynolds_setText(pprint(filter0(current_part.reynolds)));
-    //  
-    //  // TODO: maybe minimize re-update more? This can be placed in
-    //  // spots that directly afftect the data (parts geom, VPP targets etc)
-    //  
-    //  out_bottom.perfweb.updateReport(); 
-    //}
-    //
-    //
-    //// need it here? if (current_part != null) current_part.save_state();
-    //// moving this to recomp_all_parts!!!!
-    //// updateTotals();
-    //
-    ////track_current_part.cl_changes();
-    //
-    //if (recomp_all_parts_reentry_count == 0 ) 
-    //  // save time doing incremental updates. 
-    //  updateTotals();
+  String getParamOrProp (String name, String dflt) {
+    String val = runAsApplication ? null 
+      : getParameter(name); // runAsApplication == false means this is applet
+    if (val == null) val = getProperty(name, dflt);
+    return val;
+  }
+
+  String getParamOrPropAliased (String name, String alias, String dflt) {
+    String val = null; 
+    if (!runAsApplication) { // runAsApplication == false means this is applet
+      val = getParameter(name); 
+      if (val == null) val = getParameter(alias);
+    }
+    if (val == null) val = getProperty(name, null);
+    if (val == null) val = getProperty(alias, dflt);
+    return val;
   }
 
-  public void loadProbe () {   // probe output routine
+  String lang; 
+
+  public void init () {
+    //setPreferredSize(new Dimension(1000, 800));
+    setSize(900, 600);
+    metrics.register();
+
+    startup_phase("params");
+    init_craft();
+    startup_phase("craft");
+
+    offImg1 = createImage(this.size().width,
+                          this.size().height);
+    off1Gg = offImg1.getGraphics();
+    offImg2 = createImage(this.size().width,
+                          this.size().height);
+    off2Gg = offImg2.getGraphics();
+    offImg3 = createImage(this.size().width,
+                          this.size().height);
+    off3Gg = offImg3.getGraphics();
+
+    setLayout(new GridLayout(2,2,5,5));
 
-    pbval = 0.0;
-    if (pboflag == 1) pbval = vel * velocity;           // velocity
-    if (pboflag == 2) pbval = ((ps0 + pres * q0_EN)/2116.) * pconv; // pressure
- 
-    out_bottom.probe.r.l2.repaint();
-    return;
-  }
+    dash = new DashBoard(this);
 
-  // Darg of all components, including aerodynamic drag
-  double total_drag () { 
-    
-    if (in.opts.ignore_air_resistance) 
-      board.drag = rider.drag = 0; // board still can have an adiitional hydro drag - see below
-    else {
+    // prelim
+    lunits = METRIC;
+    setUnits();
 
-      // Notes about aerodynamic drag. Previously it was not accaunted for -
-      // it was so because a portion of sail/kite forward drive compensates
-      // it, so why bother. Calculating it is very easy though. Most of the
-      // aerodynamic drag comes from rider's body and a very small additional
-      // component is board drag.  from various experimental studies such as
-      // https://university2.taylors.edu.my/EURECA/2014/downloads/02.pdf it
-      // can be seen that Rider's Cd is around 1.08 and the area perpendicular
-      // to the wind is ~ 0.6m^2 for frontal riding and a bit less (0.5?)for
-      // board rider stance. This is for average 75kg average height
-      // person. (/ (* 75 1.1) 18) (* 1.8 0.3 0.2) (* 1.8 0.3) = 0.54m2 For
-      // the board, Cd is likely in the vicinity of 0.2-0.3.  Note that this
-      // will give board profile drag only. TODO: calculate board aero lift
-      // and induced drag.
-      //
-      double aero_q0 = .5 * 1.225 /*aero rho*/ * velocity * velocity * 0.277778 * 0.277778; // velocity from kmh to m/s
-      // aero drag is  0.5 ro Cd A v^2 or aero_q0 Cd A
+    solver.setDefaults();
+
+    in = new In(this);
+
+    viewer = new Viewer(this);
+
+    perfweb = new PerfWeb(this);
+
+    out_top = new DashBoardOrPlot(this);
+    out_bottom = new Out(this);
+
+    add(viewer);
+    add(out_top);
+    add(in);
+    add(out_bottom);
+    startup_phase("panels");
+
+    // 'presettings'
+    solver.getFreeStream();
+    cp_computeFlow();
+    viewer.start();
+
+    // now, simulate switch to underwater, ocean water conditions
+    // with metric units
     
-      // rider  (* 0.5 1.225 1.08 0.5 5.5 5.5)  = 10. N
-      rider.drag = aero_q0 * 1.08 * (0.5 * rider.weight / 750);
-      // board (* 0.5 1.225 1.08 0.1 0.6 5.5 5.5) = 1.2 N
-      board.drag = aero_q0 * 0.25 * (BOARD_THICKNESS * BOARD_LENGTH / 3);
-    }
+    planet = 2; // water
+    solver.getFreeStream ();
+    // in.env.rightPanel.plntch.setSelectedIndex(planet);
 
-    if (alt_val <= 0) // not flying
-    {
-      // This is based on [Moth Full Scale Measurements]. page 3.
-      // At low speeds, board drags as classic displacing hull, then
-      // at ~ 6-8 kmh the foil lift starts to contribute significantly, reducing drag
-      // and after 10-11 kmh it goes down to zero fast.
-      // 
-      // TODO compute drag for (load-lift). why: the approach below
-      // works oK, does not use the lift, though...  one idea of using
-      // lift is to define 180 or 240lb Moth drag as "baseline", and
-      // apprximate it as linear at 15lb per 10kmh slope and flat
-      // after reaching, say 25-30 or so, and indicating planing.
-      // Subtract from this wing lift.
-      //
-      double board_drag_lbs_for_240lbs = 0; 
-      if (velocity <= 6) board_drag_lbs_for_240lbs = velocity/2;
-      else if (velocity <= 8) board_drag_lbs_for_240lbs = 3 + (velocity-6)*1.5;
-      else if (velocity <= 10) board_drag_lbs_for_240lbs = 6 + (velocity-8)*0.5; // foil starts offloading a lot
-      else board_drag_lbs_for_240lbs = Math.max(0, 7 - Math.pow(velocity-10, 2)*0.5); // takeoff
-      double in_newtons = 4.448222 
-        * 3 // boards drag more than moth hull due to much lower Froude number 
-        * board_drag_lbs_for_240lbs 
-        * (load/1067);
-      // System.out.println("-- in_newtons: " + in_newtons);
-      board.drag += in_newtons;
+    lunits = METRIC;
+    setUnits();
+    dash.untch.setSelectedIndex(METRIC);
+
+    velocity = 20.0; // speed is 20 km/h
+    alt_val = 70; // depth: 30% of strut
+
+
+    // Stab in downwash? if so, turn correction 'on' by default
+    if (false && // TEMPORARY OFF by default... as I expect a bug in logic - try craft aoa 10, fuse and stab aoa -10 added.
+        wing.xpos + wing.chord_xoffs < stab.xpos + stab.chord_xoffs ) {
+      stab_aoa_correction = true;
+      in.opts.chb_stab_aoa_corr.setSelected(true);
     }
-    return rider.drag + board.drag +
-      wing.drag + stab.drag + fuse.drag + strut.drag +
-      wing.drag_junc + stab.drag_junc + fuse.drag_junc + strut.drag_junc + strut.drag_spray;
-  }
- 
-  // total *vertical* foil lift (excludes 'lift' of the strut/mast and the
-  // board lift).  when the craft is flying in equilibrium, foil_lift() ==
-  // load. otherwise it si assumed that board's lift compensates the
-  // difference.
-  double foil_lift () {
-    return wing.lift + stab.lift + fuse.lift;
-  }
+    
+    computeFlowAndRegenPlotAndAdjust();
+    // make flight tab active
+    //dash.ibt_flight_al.actionPerformed(new ActionEvent((Object)dash.ibt_flight, ActionEvent.ACTION_PERFORMED, ""));
+    // make wing part active
+    //dash.wing_bt_al.actionPerformed(new ActionEvent((Object)wing_bt, ActionEvent.ACTION_PERFORMED, ""));
 
-  // On why CCW in classic literature is negative: From Abbott, Von Doenhoff (1959), Theory of Wing
-  // Sections: "The pitching moment is, by convention, considered to
-  // be positive when it acts to pitch the airfoil in the nose-up
-  // direction. Conventional cambered airfoils supported at the
-  // aerodynamic center pitch nose-down so the pitching moment
-  // coefficient of these airfoils is negative.[4]." ... and the
-  // results in a counter-clockwise rotation of the airfoil (from
-  // https://www.grc.nasa.gov/www/k-12/airplane/ac.html), so CCW is
-  // NEGATIVE, CW is POSITIVE.
-  //
-  // to find combing CG pos, call it as find_cg_xpos(total_load_minus_foil_wt, ..... 0)
-  //
-  // to find rider body CG pos, call it as find_cg_xpos(rider.weight, ..... board_and_rig_moments)
-  // 
-  static final double AC_OFFSET_K = 0.25; // 25% of the chord from the LE
+    inited = true;
 
-  // Balancer.
-  //
-  // By placing the CG of the rider at x offset returned by find_cg_xpos and
-  // taken from the point of intersection of strut LE and the fuse, the
-  // craft can be balanced; "fore" is -, "aft" is +. It is assumed that if
-  // the board is up in the air, its pitch has been already selected so that
-  // lift == load, in other words, the board is in equilibrium wrt
-  // forces. Placing CG properly adds equilibrium of moments.  Unlike most
-  // airplanes, foilboard craft is inherently unstable and balance won't
-  // remain in effect unless the rider controls the flight. However, the
-  // rider feels and appretiates a foil with pitch stability (such as one
-  // having a decalage).
-  //
-  //
-  // Balancing is achieved with use of moments relative to a reference point
-  // aka Reference Frame Origin, RFO. RFO location is abitrary. Here it is
-  // assumed RFO is the bottom LE point of the mast - where it intersects
-  // with the fuse.
-  double find_cg_xpos () { // vertical ref point is fuse level (at ref_point_xpos)
-    double lift = foil_lift();
-    double drag = total_drag();
+    // System.out.println("-- stab foil: " + stab.foil);
 
-    double driving_force = drag; // drag equals driving force  - steady equilibrium condition
+    switch_to_part(wing);
+    recomp_all_parts();
+    computeFlowAndRegenPlotAndAdjust();
 
-    // driving_arm for rider tranferring the force to the board is subtle:
-    // When the riders transfers the driving force from hands/harness into
-    // the board, the derived vertical driving arm is at the board deck
-    // height. the rider applies the weight there also at certain
-    // location. when drive is not through rider's body, then the arm is
-    // that plus DRIVING_FORCE_HEIGHT
-    double pitch_rad = Math.toRadians(craft_pitch);
-    // driving_arm is pitch-corrected vertical distance from the origin. To
-    // recap, the origin is chosen, arbitrarily, to be at the top of mast LE.
-    double rider_eff_cg_pos_arm = (Math.cos(pitch_rad)*(strut.span + BOARD_THICKNESS) +  
-                                   -dash.cg_pos * // remember that the 'fore' direction is negative and this 'extends the arm'
-                                   Math.sin(pitch_rad) );
-    double driving_arm = 
-      craft_type != EFOIL 
-      ? rider_eff_cg_pos_arm
-      : (Math.cos(pitch_rad)*DRIVING_FORCE_HEIGHT);
-    double rider_air_resistance_arm = rider_eff_cg_pos_arm + RIDER_CG_HEIGHT;
+    // note: likely excessive as the above does it.
+    // forces_totals_maybe_panels(); 
 
-    // strut_drag_arm
-    double strut_drag_arm =  // TODO angle correction
-      (1- alt_val/100) * strut.span * // this is the length of water immersed section fo the strut.
-      0.5; // drag center is at the center of the immersed section
 
-    // the moments caused by the drag of the wings and the fuse (but not the
-    // strut) can be for now ignored thanks to the ref point chosen; more
-    // accurate calc shoud include (a) craft AoA and (b) Z offsetts to calc
-    // that.  double wing_drag_moment = 0, stab_drag_moment = 0,
-    // fuse_drag_moment = 0;
-    
-    // board weight arm is board weight location length minus mast LE to transom
-    // TODO angle correction    
-    double board_arm = // tangential arm at 90 degrees to gravity
-      BOARD_CG_K * BOARD_LENGTH - MAST_LE_TO_TRANSOM;
+    vpp.steady_flight_at_given_speed(5, 0);
+    computeFlowAndRegenPlotAndAdjust();
 
-    double rig_arm = WS_MASTBASE_MAST_LE/2; // approx // TODO angle correction
+    // results of earlier runs for this design, if any
+    vpp_cache_preload();
+    state_version++;
 
-    // drive_moment: for kite or sail it is always CCW (we look from the
-    // left side). for EFOIL driving_arm is a negative value, so effectively
-    // drive_moment becomes CW-rotating, and as the result would cause more
-    // pronounced displacementof the driver body forward as the speed
-    // increses, augmented by the wind drag on the body.
-    double  drive_moment = 
-      in.opts.ignore_drive_moment ? 0 : driving_force * driving_arm;
-    double rider_air_resistance_moment = rider_air_resistance_arm * rider.drag;
-    double board_drag_moment = (rider_eff_cg_pos_arm  - BOARD_THICKNESS/2) // aprrox
-      * board.drag;
+    plot_type = PLOT_TYPE_CG_VS_SPEED;
+    startup_phase("solve");
 
-    double strut_drag_moment = in.opts.ignore_drag_moments ? 0 : strut.drag * strut_drag_arm;
-    double board_vert_moment = BOARD_WEIGHT * board_arm;
-    double rig_moment   = RIG_WEIGHT * rig_arm;
-    double foils_Cm_moments =  // all same sign because all rotate 'in plane'
-      convert_moments_to_AC_offset 
-      ? 0
-      : (wing.moment +
-         stab.moment + 
-         fuse.moment);
+    //debug
+    //DRIVING_FORCE_HEIGHT = 0;
 
-    // Suppose rider_moment is +CW, it is with the arm towards the transom from mast bottom LE.
-    // rider_moment + CW_moments = CCW_moments ==>
-    // rider_arm = (CCW_moments - CW_moments) / load
-    // where load is not rider's weigth but the load value (from the load slider)
-    //
-    // 
-    double load = FoilBoard.this.load; 
+  }
 
-    // non-flying motion
-    boolean non_flying = load > lift;
+  // init() without the GUI, for batch mode. Must leave the craft in
+  // the state init() does, so keep the two in sync.
+  void init_headless () {
+    can_do_gui_updates = false;
+    metrics.register();
 
-    if (non_flying) { 
-      // load = lift; // Ok idea but not ideal
-      // here is better idea: when non_flying, the board provides the remaining lift
-      double board_lift_arm = // tangential arm at 90 degrees to gravity
-      BOARD_HYDRO_LIFT_LOC * BOARD_LENGTH - MAST_LE_TO_TRANSOM;
-      
-      board_vert_moment = (BOARD_WEIGHT - (load - lift)) * board_lift_arm;
-    }
+    init_craft();
+
+    lunits = METRIC;
+    setUnits();
+
+    solver.setDefaults();
+
+    // In.Flight's Load control does this
+    load = Double.parseDouble(getParamOrProp("CRL", ""+load));
+
+    solver.getFreeStream();
+    cp_computeFlow();
+
+    planet = 2; // water
+    solver.getFreeStream ();
+
+    lunits = METRIC;
+    setUnits();
+
+    velocity = 20.0; // speed is 20 km/h
+    alt_val = 70; // depth: 30% of strut
+
+    switch_to_part(wing);
+    recomp_all_parts();
 
-    // this was named mast_le_xpos when ref point was mast le, which is strut.xpos.
-    double ref_point_xpos = strut.xpos; 
-    
-    double CW_moments = // +CW ClockWise rotation 
-      (in.opts.ignore_aux_weight_moments ? 0 : board.drag * (strut.span + BOARD_THICKNESS/2)) +
-      rider.drag * (strut.span + BOARD_THICKNESS + RIDER_CG_HEIGHT) + // aprox center of body aero drag
-      strut_drag_moment + 
-      foils_Cm_moments + // any positive Cm pitches nose up therefore CW in this 'view'
-      wing.lift *  - (wing.xpos + wing.chord_xoffs 
-                      + wing.compute_lift_pos()
-                      - ref_point_xpos) + // TODO angle correction
-      fuse.lift *  - (/*fuse.xpos is 0*/ + fuse.compute_lift_pos() - ref_point_xpos); // TODO angle correction
+    vpp.steady_flight_at_given_speed(5, 0);
+  }
 
-    double CCW_moments  = // CCW means CounterClockWise rotation, it is -CW
-      drive_moment +
-      stab.lift * (stab.xpos + stab.chord_xoffs + stab.compute_lift_pos() - ref_point_xpos) + // TODO angle correction
-      (in.opts.ignore_aux_weight_moments 
-       || non_flying // this help to keep the rider over the board and not behind when drive is very light
-       ? 0 
-       : board_vert_moment + rig_moment);
+  // craft type, board, rig and foil parts from params
+  void init_craft () {
+    lang = System.getProperty("user.language");
+    // mast_foot_pressure_k = Double.parseDouble(getParamOrProp("MFP","0"));
 
-    // if we decide to include prorated rider-mast calcs here 
-    // load = load*(1-load_distribution_to_mast_loc)
+    // System.out.println("-- lang: " + lang);
+
+    // any inputs?
     //
-    // what is rider_arm?? this is the horisontal offset in space from the
-    // reference point, which is where mast LE meets fuse, where the rider
-    // shoudl apply teh gravity weight.  this (a) does not translate to
-    // where mast LE meets the board because soem masts are not
-    // perpendicular (b) even for perpendicular mast/board, this is different at board level unless AoA is zero. 
-    double rider_arm = (CCW_moments - CW_moments) / load;
+    // note: defaults are typical windfoiler's, see kitefoil.sh for
+    // typical kiter's values note 2: some of these were originally
+    // constants hence uppercased, but then became initialized from
+    // props...
+    String craft_type_str = getParamOrPropAliased("TYPE","CRAFT_TYPE","WINDFOIL").toUpperCase();
+    if (craft_type_str.equals("WINDFOIL")) craft_type = WINDFOIL;
+    else if (craft_type_str.equals("KITEFOIL")) craft_type = KITEFOIL;
+    else if (craft_type_str.equals("WINGFOIL")) craft_type = WINGFOIL;
+    else if (craft_type_str.equals("EFOIL")) craft_type = EFOIL;
+    else if (craft_type_str.equals("SURFFOIL")) craft_type = SURFFOIL;
 
-    // March 2021: warning: I forgot what it is and how non_flying affects this.
-    // note that as of now, it is not used in simulation... 
-    dash.cg_pos_of_rider_at_drive_height = ((CCW_moments + driving_force*DRIVING_FORCE_HEIGHT) // adjust for drive height
-                                           - CW_moments) / load;
+    BOARD_THICKNESS = Double.parseDouble(getParamOrPropAliased("BH",  "BOARD_THICKNESS", craft_type_dflt_board_thk[craft_type]));
+    BOARD_LENGTH    = Double.parseDouble(getParamOrPropAliased("BL",  "BOARD_LENGTH", craft_type_dflt_board_len[craft_type]));
+    BOARD_WIDTH     = Double.parseDouble(getParamOrPropAliased("BWD",  "BOARD_WIDTH", craft_type_dflt_board_wd[craft_type]));
+    // Board weight force in Newtons
+    BOARD_WEIGHT    = Double.parseDouble(getParamOrPropAliased("BW",  "BOARD_WEIGHT", craft_type_dflt_board_wght[craft_type]));
+    RIG_WEIGHT      = Double.parseDouble(getParamOrPropAliased("RW",  "RIG_WEIGHT", craft_type == WINDFOIL ? "100" : "0"));
+    load            = Double.parseDouble(getParamOrPropAliased("RSL", "TOTAL_WEIGHT", "735"));
+    rider.weight    = load - BOARD_WEIGHT - RIG_WEIGHT - FOIL_WEIGHT;
 
-    return rider_arm;
-      
-  }
+    MAST_LE_TO_TRANSOM = Double.parseDouble(getParamOrPropAliased("MAST_LE2TRANS",  "MAST_LE_TO_TRANSOM_DISTANCE", ""+MAST_LE_TO_TRANSOM));
+    WS_MASTBASE_MAST_LE = Double.parseDouble(getParamOrPropAliased("WSMAST2MASTLE",  "WS_MASTBASE_TO_MAST_LE_DISTANCE", ""+WS_MASTBASE_MAST_LE));
+    use_cylinder_shapes = Boolean.parseBoolean(getParamOrPropAliased("CYLS", "USE_CYLINDER_SHAPES", "false"));
+    use_foilsim_foils   = Boolean.parseBoolean(getParamOrPropAliased("FSIMFOILS", "USE_FOILSIM_FOILS", "false"));
 
-  // just for a test
-  // double find_cg_xpos_aft(double load, double tippng_mom) {
-  //   // Mload + Mwing + Mstab + Mfuse + tippng_mom =  0
-  //   double ref_pt_aft_fuse = 10.0;
-  //   
-  //   return (-tippng_mom +
-  //           wing.lift * (ref_pt_aft_fuse + fuse.chord - 0.3 * wing.chord) +
-  //           stab.lift * (ref_pt_aft_fuse + 0.7 * stab.chord) +
-  //           fuse.lift * (ref_pt_aft_fuse + 0.7 * fuse.chord))
-  //     / load - (ref_pt_aft_fuse + fuse.chord);
-  // }
+    FRONT_FOOTSTRAP_XPOS = Double.parseDouble(getParamOrPropAliased("FRONT_FOOTSTRAP_XPOS",  "FRONT_FOOTSTRAP_TO_MAST_LE_DISTANCE", 
+                                                                    craft_type == WINDFOIL
+                                                                    ? "-0.5"
+                                                                    : "NaN"));
+    BACK_FOOTSTRAP_XPOS = Double.parseDouble(getParamOrPropAliased("BACK_FOOTSTRAP_XPOS",  "BACK_FOOTSTRAP_TO_MAST_LE_DISTANCE", 
+                                                                    craft_type == WINDFOIL
+                                                                    ? "0.04"
+                                                                    : "NaN"));
 
-  /**
-   * Solver has been inherited from FoilSimIII and adjusted to handle
-   * tabulated foils. Much like routines cp_computeFlow,
-   * cp_computeForces Solver operates on current_part only.
-   *
-   * TODO: pass current_part into solver and make it disconnected from
-   * current_part, re-instantiate it when required. This way, calling 
-   *
-   *       solver.getFreeStream();
-   *       solver.getCirculation(effaoa, current_part.thickness, current_part.camber);
-   *
-   * The Solver() constructor should take only 1 parameter: part.
-   *
-   * from various routines no longer will be required. Also,
-   * getCirculation can drop all its parameters and generally become a
-   * part of Solver() Ctor.
-   *
-   * Note: the challenge is in maintaining global FoilSimIII vars.
-   */
-  class Solver {
+    // String footstraps_string = getParamOrProp("FOOTSTRAPS", "None").toLowerCase();
+    // if (footstraps_string.startsWith("no")) footstraps = 0; // none
+    // else if (footstraps_string.equals("front")) footstraps = 1; // front onl
+    // else footstraps = 2; // both
 
-    // Legacy FoilSimIII varible names!
-    double ycval, xcval, gamval, rval;
-    double lyg,lrg,lthg,lxgt,lygt,lrgt,lthgt;/* MOD 20 Jul */
-    double lxm,lym,lxmt,lymt,vxdir;/* MOD 20 Jul */
+    String disk_cache = getParamOrProp("DISK_CACHE", null);
+    if (disk_cache != null) DiskCache.root = disk_cache;
 
-    // moved to Solver from the top
-    // stall model coeffs cache
-    // K = k0 + k1 *AoA + k2 *AoA*AoA +  k3 *AoA*AoA*AoA.
-    double stall_model_k0, stall_model_k1, stall_model_k2, stall_model_k3;
+    // Parse parameters. Parse Fuse first so that default xpos for 
+    // other foisl parts can be computed, then the rest of them.
+    parseParameters(fuse, "Fuse", 
+                    craft_type == WINDFOIL 
+                    ? "NACA_4_Series 0.80 0.02 4 0 -1"
+                    : "NACA_4_Series 0.55 0.02 4 0 -1");
+    parseParameters(wing, "Wing", craft_type == WINDFOIL
+                    ? "NACA_4_Series 0.170;0.160;0.150;0.135;0.110;0.045 0.75 12 3.34 0"
+                    : "NACA_4_Series 0.09 0.54 12 3.34 0");
+    parseParameters(stab, "Stab", craft_type == WINDFOIL
+                    ? "NACA_4_Series 0.07 0.45 12 -3 0"
+                    : "NACA_4_Series 0.061 0.315 12 -3.34 0");
+    if (getParamOrProp("Strut", null) != null)
+      parseParameters(strut, "Strut", null);
+    else 
+      parseParameters(strut, "Mast", craft_type == WINDFOIL 
+                      ? "NACA_4_Series 0.125 0.85 12 0 0 0.33"
+                      : "NACA_4_Series 0.12 1.04 12 0 0");
+    // after the parts, so that imported foils are known too
+    load_polars();
 
-    Solver () {}
+    make_name  = getParameter("Make", "Make:N/A").trim();
+    model_name = getParameter("Model", "Model:Test").trim();
+    year_etc   = getParameter("Year/Variant", null);
+    if (year_etc == null)  year_etc = getParameter("Year", "V1");
+    year_etc.trim();
+    t_foil_name = (make_name + " " + model_name + " " + year_etc).trim();
 
-    // aoa_degr: angle of attack in degrees
-    // thickness_pst: typically current_part.thickness
-    // camber_pst   : typically current_part.camber/25
-    Solver (double aoa_degr, double thickness_pst, double camber_pst) { 
-      this.getFreeStream(); // thsi grabs globals such as velocity, height, planet
-      this.getCirculation(aoa_degr, thickness_pst, camber_pst);
-      // solver.compute_foil_geometry(aoa_degr);
-    }
+    // adjust or set height
+    if (craft_type == WINDFOIL) 
+      DRIVING_FORCE_HEIGHT = // sail drives "from 20-50cm  above boom" - depending on mast len, sail size, etc
+        Double.parseDouble(getParamOrProp("SAIL_DRIVE_HEIGHT", "1.8"));
+    else if (craft_type == EFOIL) 
+      DRIVING_FORCE_HEIGHT = 
+        Double.parseDouble(getParamOrProp("PROP_DRIVE_HEIGHT", (""+(0.07-strut.span))));
 
-    public String toString () {
-      return "{Solver xcval: " + xcval + " ycval: " + ycval + " gamval: " + gamval + " rval: " + rval + "}";
+    // Meed to show FoilSim foils?
+    if (use_foilsim_foils) {
+      addFoil(new Foil("Joukowski","\n Joukowski Foil"));
+      addFoil(new Foil("Ellipse", "\n Elliptical Foil"));
+      addFoil(new Foil("Flat Plate", "\n Plate"));
     }
 
-    public void setDefaults () {
-      planet = 2;
-      lunits = METRIC;
-      out_aux_idx = 0;
+    // adjust pre-loaded foils
+    if (use_cylinder_shapes) {
+      addFoil(new RoundFoil("Rotating Cylinder", "\n Rotating Cylinder"));
+      addFoil(new RoundFoil("Spinning Ball","\n Spinning Ball"));
+    }
 
-      // setFoil(FOIL_JOUKOWSKI);
-      //current_part.thickness/25 = .5;
-      //current_part.thickness = 12.5;                   /* MODS 10 SEP 99 */
-      //current_part.camber/25 = 0.0;
-      //current_part.camber = 0.0;
-      //current_part.aoa = 5.0;
+    if (getParamOrProp("LIST_FOILS", null) != null)
+      for(Object key: foils.keySet()) System.out.println(("    "+key).replace(" ", "_"));
+  }
 
-      gamval = 0.0;
-      radius = 1.0;
-      spin = 0.0;
-      spindr = 1.0;
-      rval = 1.0;
-      ycval = 0.0;
-      xcval = 0.0;
-      current_part.cd = 0;
  
-      xpval = 2.1;
-      ypval = -.5;
-      pboflag = 0;
-      xflow = -10.0;                             /* MODS  20 Jul 99 */
+  public Insets insets () {
+    return new Insets(10,10,10,10);
+  }
 
-      pmin = .5;
-      pmax = 1.0;
-      fmax = 100000.;
-      fmaxb = .50;
-      velocity = 20.; // km h
-      vmax = 70.;
+  double effective_aoa () {
+    // strut is vertical and pitch does nto affect it and vice versa.
+    // hence for strut, effective_aoa is its own aoa.
+    if (current_part == strut)
+      return current_part.aoa;
+    else if (// false && // DEBUG aft problems...
+             current_part == stab && stab_aoa_correction) {
+      // stab is in downwash from main wing and sees some down stream.
+      double wing_Cl0 = 0.4; // very typical, true for Aquila, NACA 3412 63-412 etc
+      // the following is from "General aviation aicraft design, Appendix C1"
+      double wing_Cl = wing.cl;
+      double div = Math.PI * wing.span/wing.chord;
+      double corrected_aoa = craft_pitch * (1 - 2 * wing_Cl / div) - 
+        2 * wing_Cl0 / div - wing.aoa + current_part.aoa;
+      // double correction = corrected_aoa - (current_part.aoa + craft_pitch);
+      // System.out.println("-- correction: " + correction);
+      return Math.min(aoa_max, Math.max(aoa_min, corrected_aoa));
+    } else
+      return Math.min(aoa_max, Math.max(aoa_min, current_part.aoa + craft_pitch));
+  }
 
-      alt_val = 70; // 70%
-      altmax = strut.span;
-      // chord = 0.1;
-      //span_old = span = 1;
-      //aspect_rat = 10.0;
-      //arold = area = chord*span;
-      // armax = 2500.01;
-      // armin = .01;                 /* MODS 9 SEP 99 */
- 
-      xt = 170;  yt = 105; fact = 1500.0;
-      zoom_slider_pos_y = 90;
+  // this avoids some overhead when doing massive computation
+  boolean can_do_gui_updates = true;
+
+  // NOTE NOTE: this operates on the current_part only!  The routine
+  // exists in its form due to FoilSimIII derivative (legacy).  Due t
+  // complexity of the craft, it is rarely when only the current_part
+  // needs adjusting! a few examples: you change part geometry that
+  // does not affect other parts, an no rebalancing is required etc. 
+  // still, even after that is done, other routines need be called - see
+  // computeForces(), forces_totals_maybe_panels() etc.
+  public void cp_computeFlow () { 
+    metrics.cp_computeFlow.inc();
+    if (can_do_gui_updates) metrics.note_action();
+    double effaoa = effective_aoa();
+    // before get_Cl: foils with polars at several Re need it
+    double reynolds = foil_is_cylinder_or_ball(current_part.foil) 
+      ? velocity/vconv * 2 * radius/lconv * rho_EN / viscos
+      : velocity/vconv * current_part.chord/lconv * rho_EN / viscos;
+    current_part.reynolds = reynolds;
+    if (!can_do_gui_updates && current_part.foil.fast_coeffs()) {
+      solver.set_q0();
+      if (coeff_cache_on) {
+        cp_computeFlow_cached(effaoa, reynolds);
+        return;
+      }
+      current_part.cl = solver.get_Cl(effaoa);
+    } else {
+      solver.getFreeStream();
+      solver.getCirculation(effaoa, current_part.thickness, current_part.camber);
+      solver.compute_foil_geometry(effaoa);
+      current_part.cl = solver.get_Cl(effaoa);
+      solver.genFlow(effaoa);
+    } 
+    
+    current_part.cm = current_part.compute_cm(effaoa);
 
-      // current_part.spanfac = (int)(2.0*fact*current_part.aspect_rat*.3535);
-      xt1 = xt + current_part.spanfac;
-      yt1 = yt - current_part.spanfac;
-      xt2 = xt - current_part.spanfac;
-      yt2 = yt + current_part.spanfac;
- 
-      stall_model_type = STALL_MODEL_DFLT;
-      v_min = 1;     v_max = craft_type == KITEFOIL ? 70 : 50;
-      alt_min = 0.0;    alt_max = 85; // this in %
-      aoa_min = -20.0; aoa_max = 20.0;
-      camber_min = -20.0;  camber_max = 20.0;
-      thickness_min = 1; // in %. do not make it less than 1%, or some Cl,Cd calcs fail, see Solver
-      thickness_max = 20.0; // in %. this is 20%
-      chord_min = .01;  chord_max = 1.4; // why >1: chord is also fuse length.
-      span_min = .01;  span_max = 2.5;
-      ar_min = chord_min*span_min;  ar_max = span_max*chord_max;
-      spin_min = -1500.0;   spin_max = 1500.0;
-      rad_min = .05;   rad_max = 5.0;
+    // test: is this the same value getCl_plot gives?
+    // if (false) {
+    //   double getCl_plot_val = out_top.plot.getCl_plot(current_part.camber/25, current_part.thickness/25, effaoa);
+    //   if (getCl_plot_val != current_part.cl) {
+    //     System.out.println("-- getCl_plot_val: " + getCl_plot_val + "yet current_part.cl: " + current_part.cl);
+    //   }
+    //   track_current_part.cl_changes();
+    // }
 
-      load_stall_model_cache(FOIL_JOUKOWSKI);
+    if (can_do_gui_updates)
+      solver.getProbe();
+
+    double camd = current_part.camber;
+    double alfd = effaoa; // effective_aoa();
+    //   attempt to fix symmetry problem
+    if (fix_symmetry_problem && camd < 0.0) alfd = - alfd;
+    
+    // this saved current_part's cd, cd_profile and cd_aux
+    solver.get_Cd(alfd); 
+  }
 
+  // fast path of cp_computeFlow() going through current_part.coeff_cache,
+  // reynolds as cp_computeFlow() computed it
+  void cp_computeFlow_cached (double effaoa, double reynolds) {
+    Part p = current_part;
+    if (coeff_cache_aoa_quantum > 0) 
+      effaoa = Math.rint(effaoa/coeff_cache_aoa_quantum)*coeff_cache_aoa_quantum;
+    p.reynolds = coeff_cache_re_quantum > 0 
+      ? Math.rint(reynolds/coeff_cache_re_quantum)*coeff_cache_re_quantum
+      : reynolds;
+
+    CoeffCache cache = p.coeff_cache;
+    cache.check_context(p);
+    if (cache.get(effaoa, p.reynolds)) {
+      int i = cache.slot*5;
+      p.cl = cache.vals[i]; p.cm = cache.vals[i+1]; 
+      p.cd = cache.vals[i+2]; p.cd_profile = cache.vals[i+3]; p.cd_aux = cache.vals[i+4];
       return;
     }
+    p.cl = solver.get_Cl(effaoa);
+    p.cm = p.compute_cm(effaoa);
+    double alfd = effaoa;
+    if (fix_symmetry_problem && p.camber < 0.0) alfd = - alfd;
+    solver.get_Cd(alfd); 
+    // t_Cl etc may have been built just now
+    cache.check_context(p);
+    cache.get(effaoa, p.reynolds); cache.misses--;
+    cache.put(effaoa, p.reynolds, p.cl, p.cm, p.cd, p.cd_profile, p.cd_aux);
+  }
 
-    void load_stall_model_cache (Foil foil) {
-      if (current_part.foil == FOIL_NACA4) {
-        // these k0,k1,k2 align with the ideal aoa line at +- 5 degrees
-        // see foilsim-airfoil-stall-correction.xlsx
-        // stall_model_k0 = 0.83;
-        // stall_model_k1 = 0.06;
-        // stall_model_k2 = -0.0052;         
-        // stall_model_apos = 5;
-        // stall_model_aneg = -5;
-
-        // these k0,k1,k2 align with the ideal aoa line at +- 9 degrees
-        // see foilsim-airfoil-stall-correction.xlsx
-        stall_model_k0 = 0.8812;
-        stall_model_k1 = 0.06;
-        stall_model_k2 = -0.0052;         
-        stall_model_apos = 9;
-        stall_model_aneg = -9;
+  void computeFlowAndRegenPlot () {
+    cp_computeFlow();
+    forces_totals_maybe_panels();
+    // commenting out because the above does it
+    // if (can_do_gui_updates) {
+    //   out_top.plot.loadPlot();
+    // }
+    viewer.load_drawing();
+    request_repaint();
+  }
 
-        // these k0,k1,k2 align with the ideal aoa line at +- 10 degrees
-        // see foilsim-airfoil-stall-correction.xlsx
-        // stall_model_k0 = 0.86;
-        // stall_model_k1 = 0.058;
-        // stall_model_k2 = -0.0044;         
-        // stall_model_apos = 10;
-        // stall_model_aneg = -10;
-      } else {
-        stall_model_k0 = 0.5;
-        stall_model_k1 = 0.1;
-        stall_model_k2 = -0.005;
-        stall_model_apos = 10;
-        stall_model_aneg = -10;
-      }
+  // Repaint scheduling. Viewer and Plot used to poll, repainting every
+  // ~100 ms whether or not anything changed. Now state changes call
+  // request_repaint(): it marks the drawings dirty and a one-shot timer
+  // repaints them at most once per REPAINT_MS, on the EDT. Idle app
+  // uses no CPU. Animation has its own timer, see Viewer.update_animation()
+  static final int REPAINT_MS = 16; // ~ display rate
+
+  // bumped by each updateTotals, i.e. on every recompute and thus
+  // whenever inputs or VPP results change. Report panes (PerfWeb,
+  // PerfWebSrc, Out.Data) regenerate only when it has moved.
+  long state_version = 0;
+  boolean repaint_dirty = false;
+  javax.swing.Timer repaint_timer;
+
+  void request_repaint () {
+    if (!can_do_gui_updates || viewer == null || out_top == null) return;
+    repaint_dirty = true;
+    if (repaint_timer == null) {
+      repaint_timer = new javax.swing.Timer(REPAINT_MS, new ActionListener() {
+          public void actionPerformed (ActionEvent e) {
+            if (!repaint_dirty) return;
+            repaint_dirty = false;
+            viewer.repaint();
+            out_top.plot.repaint();
+          }});
+      repaint_timer.setRepeats(false);
     }
+    if (!repaint_timer.isRunning()) repaint_timer.start();
+  }
 
-    // free stream conditions
-    // call only after planet, height or velocity changed
-    void getFreeStream () {    
-      /* MODS  19 Jan 00  whole routine*/
-      double rgas = 1716.;                /* ft2/sec2 R */
-      double gama = 1.4;
-      double height_m = alt_val/lconv;
-      double mu0 = .000000362;
-      double g0 = 32.2;
-
-      switch (planet) {
-      case 0: // Earth  standard day
-        if (height_m <= 36152.) {           // Troposphere
-          ts0 = 518.6 - 3.56 * height_m/1000.;
-          ps0 = 2116. * Math.pow(ts0/518.6,5.256);
-        } else if (height_m >= 36152. && height_m <= 82345.) {   // Stratosphere
-          ts0 = 389.98;
-          ps0 = 2116. * .2236 *
-            Math.exp((36000.-height_m)/(53.35*389.98));
-        } else if (height_m >= 82345.) {
-          ts0 = 389.98 + 1.645 * (height_m-82345)/1000.;
-          ps0 = 2116. *.02456 * Math.pow(ts0/389.98,-11.388);
-        }
-         
-        { 
-          double temf = ts0 - 459.6;
-          if (temf <= 0.0) temf = 0.0; 
-          rho_EN = ps0/(rgas * ts0);
-          rho_SI = 1.225; // kg/m3
-                   
-          /* Eq 1:6A  Domasch  - effect of humidity 
-           */
-          double pvap = rlhum*(2.685+.00354*Math.pow(temf,2.245))/100.;
-          rho_EN = (ps0 - .379*pvap)/(rgas * ts0); 
-          viscos = mu0 * 717.408/(ts0 + 198.72)*Math.pow(ts0/518.688,1.5);
-        }
-        break;
-
-      case 1:   // Mars - curve fit of orbiter data
-        rgas = 1149.;                /* ft2/sec2 R */
-        gama = 1.29;
-        rlhum = 0.0;
-
-        if (height_m <= 22960.) {
-          ts0 = 434.02 - .548 * height_m/1000.;
-          ps0 = 14.62 * Math.pow(2.71828,-.00003 * height_m);
-        }
-        if (height_m > 22960.) {
-          ts0 = 449.36 - 1.217 * height_m/1000.;
-          ps0 = 14.62 * Math.pow(2.71828,-.00003 * height_m);
-        }
-        rho_EN = ps0/(rgas*ts0);
-        rho_SI = 515.378819 * rho_EN;
-        viscos = mu0 * 717.408/(ts0 + 198.72)*Math.pow(ts0/518.688,1.5);
-        break;
+  double limit (double min, double val, double max) {
+    if (val < min) return min;
+    if (val > max) return max;
+    return val;
+  }
 
-      case 2: // water --  constant density
-        height_m = -alt_val/lconv;
-        rlhum = 100.;
+  String pprint (int val) { return String.valueOf(val); }
+  String pprint (float val) {
+    int f0 = filter0(val);
+    if ((float)f0 == val)
+      return String.valueOf(f0);
+    else
+      return String.valueOf(val);
+  }
 
-        ts0 = 520.;
-        // for oceanic water (it is 1027 kg/m3). FoilSimIII has it as 1.9927 slug/ft3
-        // One slug has a mass of 32.174049 lb or 14.593903 kg 
-        rho_EN = 1.9927; 
-        rho_SI = 1027; // this is rho_EN * 515.378819
+  static public int filter0 (double inumbr) {
+    return (int) (Math.round(inumbr));
+  }
 
-        ps0 = (2116. - rho_EN * g0 * height_m);
-        mu0 = .0000272;
-        viscos = mu0 * 717.408/(ts0 + 198.72)*Math.pow(ts0/518.688,1.5);
-        break;
-      case 3:  // specify air temp and pressure 
-        rho_EN = ps0/(rgas*ts0);
-        // reiplot_trace_counto temf
-        {
-          double temf = ts0 - 459.6;
-          double pvap = rlhum*(2.685+.00354*Math.pow(temf,2.245))/100.;
-          rho_EN = (ps0 - .379*pvap)/(rgas * ts0); 
-        }
+  static public float filter1 (double inumbr) {
+    //  output only to .1
+    float number;
+    int intermed;
+ 
+    intermed = (int) (inumbr * 10.);
+    number = (float) (intermed / 10. );
+    return number;
+  }
+ 
+  static public float filter3 (double inumbr) {
+    //  output only to .001
+    float number;
+    int intermed;
+ 
+    intermed = (int) (inumbr * 1000.);
+    number = (float) (intermed / 1000. );
+    return number;
+  }
+ 
+  static public float filter4 (double inumbr) {
+    //  output only to .0001
+    float number;
+    int intermed;
+ 
+    intermed = (int) (inumbr * 10000.);
+    number = (float) (intermed / 10000. );
+    return number;
+  }
+ 
+  static public float filter5 (double inumbr) {
+    //  output only to .00001
+    float number;
+    int intermed;
+ 
+    intermed = (int) (inumbr * 100000.);
+    number = (float) (intermed / 100000. );
+    return number;
+  }
+ 
+  static public float filter9 (double inumbr) {
+    //  output only to .000000001
+    float number;
+    int intermed;
+ 
+    intermed = (int) (inumbr * 1000000000.);
+    number = (float) (intermed / 1000000000. );
+    return number;
+  }
+ 
+  public void setUnits () {   // Switching Units
+    double ovs,chords,spans,aros,chos,spos,rads;
+    double alts,ares;
 
-        rho_SI = 515.378819 * rho_EN;
-        viscos = mu0 * 717.408/(ts0 + 198.72)*Math.pow(ts0/518.688,1.5);
-        break;
+    alts = alt_val / lconv;
+    //chords = chord / lconv;
+    // spans = span / lconv;
+    //ares = area /lconv/lconv;
+    //aros = arold /lconv/lconv;
+    // chos = chrdold / lconv;
+    //spos = span_old / lconv;
+    ovs = velocity / vconv;
+    rads = radius / lconv;
 
-      case 4:  // specify fluid density and viscosity
-        rlhum = 0.0;
-        ps0 = 2116.;
-        break;
+    switch (lunits) {
+    case 0: {                             /* English: feet seconds lbs */
+      lconv = 1.;                      /*  feet    */
+      vconv = .6818; vmax = 250.;   /*  1 fps to 1 mph  */
+      if (planet == 2) vmax = 50.;
+      fconv = 1.0; fmax = 100000.; fmaxb = .5;  /* pounds   */
+      pconv = 14.7;                   /* lb/sq in */
+      break;
+    }
+    case 1: {                             /* Metric */
+      lconv = .3048; /*  1 ft to 1 m */
+      vconv = 1.097;  /* ?? fps to kmh?  */
+      vmax = 400.;  
+      if (planet == 2) vmax = 80.;
+      fconv = 4.448; fmax = 500000.; fmaxb = 2.5; /* newtons */
+      pconv = 101.3;               /* kilo-pascals */
+      break;
+    }
+    }
+ 
+    alt_val = alts * lconv;
+    //chord = chords * lconv;
+    //span = spans * lconv;
+    // area = ares * lconv * lconv;
+    //arold = aros * lconv * lconv;
+    // chrdold = chos * lconv;
+    //span_old = spos * lconv;
+    velocity  = ovs * vconv;
+    radius  = rads * lconv;
+  }
 
-      case 5: // Venus - surface conditions
-        rgas = 1149.;                
-        gama = 1.29;
-        rlhum = 0.0;
+  // convert speed in kts to current units
+  double kts_to_speed (double kts) {
+    return (lunits == METRIC) 
+      ? kts / 0.539957
+      : kts / 0.868976;
+  }
 
-        ts0 = 1331.6;
-        ps0 = 194672.;
+  String make_speed_kts_mph_kmh_ms_info (double speed) {
+    return (lunits == IMPERIAL)
+      ? (filter1(speed * 0.868976) + " kt or " + filter1(speed) + " mph or " + 
+         filter1(speed * 1.60934) + " km/h or " + filter1(speed * 0.44704) + " m/s")
+      : (filter1(speed * 0.539957) + " kt or " + filter1(speed * 0.621371) + " mph or " + 
+         filter1(speed)  + " km/h or " + filter1(speed * 0.277778) + " m/s");
+  }
 
-        rho_EN = ps0/(rgas*ts0);
-        rho_SI = 515.378819 * rho_EN;
-        viscos = mu0 * 717.408/(ts0 + 198.72)*Math.pow(ts0/518.688,1.5);
-      default:
-      }
+  float filter1or3 (double val) {
+    double abs = Math.abs(val);
+    if (val < 1) return filter3(val);
+    else return filter1(val);
+  }
 
-      set_q0();
-      // pt0 = ps0 + q0_EN;
 
-      return;
+  double speed_kmh_to_display_units (double speed_kmh) {
+    switch (display_units) {
+    case IMPERIAL: 
+    case IMPERIAL_FEET:  // only sizes are in feet, the rest is IMPERIAL
+      return speed_kmh *= 0.621371;
+    default:
+    case METRIC  : return speed_kmh *= 0.277778;
+    case METRIC_2: return speed_kmh;
+    case NAVAL:    return speed_kmh *= 0.539957;
     }
-
-    void set_q0 () {
-      q0_EN  = .5 * rho_EN * velocity * velocity / (vconv * vconv);
-      q0_SI = .5 * rho_SI * velocity * velocity * 0.277778 * 0.277778; // velocity from kmh to m/s
+  }
+  String make_speed_info_in_display_units (double speed, boolean unit_suffix) {
+    String suffix = "";
+    switch (display_units) {
+    case IMPERIAL: 
+    case IMPERIAL_FEET: // only sizes are in feet, the rest is IMPERIAL
+      speed *= 0.621371; suffix = " mph"; break;
+    default:
+    case METRIC  : speed *= 0.277778; suffix = " m/s"; break;
+    case METRIC_2: suffix = " km/h"; break;
+    case NAVAL:    speed *= 0.539957; suffix = " kt"; break;
     }
+    if (unit_suffix)
+      return pprint(filter1or3(speed)) + suffix;
+    else 
+      return pprint(filter1or3(speed));
+  }
 
-    // circulation from Kutta condition
-    // thickness_pst: typically current_part.thickness
-    // camber_pst   : typically current_part.camber
-    void getCirculation (double effaoa, double thickness_pst, double camber_pst) {   
-      double beta;
-      double th_abs = thickness_pst/100.0; 
-      xcval = 0.0;
-      ycval = camber_pst/50; // was: current_part.camber/25/2
-
-      if (current_part.foil == FOIL_CYLINDER ||      /* get circulation for rotating cylnder */
-          current_part.foil == FOIL_BALL) {         /* get circulation for rotating ball */
-        rval = radius/lconv;
-        gamval = 4.0 * Math.PI * Math.PI *spin * rval * rval
-          / (velocity/vconv);
-        gamval = gamval * spindr;
-        ycval = .0001;
-      } else {
-        rval = th_abs + Math.sqrt((current_part.foil == FOIL_FLAT_PLATE
-                                   ? 0 : th_abs*th_abs)
-                                  + ycval*ycval + 1.0);
-        xcval = current_part.foil == FOIL_JOUKOWSKI ? 0 : (1.0 - Math.sqrt(rval*rval - ycval*ycval));
-        beta = Math.asin(ycval/rval)/convdr;     /* Kutta condition */
-        gamval = 2.0*rval*Math.sin((effaoa+beta)*convdr);
-      }
+  String current_display_speed_unit_string () {
+    switch (display_units) {
+    case IMPERIAL: return "mph";
+    default:
+    case METRIC  : return "m/s";
+    case METRIC_2: return "km/h"; 
+    case NAVAL:    return "kt";
     }
+  }
 
-    // for my comparison of various corection methods, see
-    static final String desmos_ar_corr_url = "https://www.desmos.com/calculator/bgt6psby4l"; 
-    // older edits:
-    // https://www.desmos.com/calculator/ngqg38y2t0
-    // https://www.desmos.com/calculator/erzdtdn7k0
-    // https://www.desmos.com/calculator/hb6nfgy1k8
-    // https://www.desmos.com/calculator/w7kilfwdli
-    // https://www.desmos.com/calculator/0ejmbb8hks
+  double speed_input_in_display_units_to_kmh (JTextField f, int units) {
+    return speed_input_in_display_units_to_kmh(Double.valueOf(f.getText()).doubleValue(), units);
+  }
+  double speed_input_in_display_units_to_kmh (double speed, int units) {
+    switch (units) {
+    case IMPERIAL: 
+    case IMPERIAL_FEET: 
+      return speed * 1.60934;
+    default:
+    case METRIC  : return speed * 3.6;
+    case NAVAL:    return speed * 1.852; 
+    case METRIC_2: return speed;
+    }
+  }
+      
+  double size_input_in_display_units_to_m (double size, int units) {
+    switch (units) {
+    case NAVAL:
+    case IMPERIAL: return size * 0.0254;
+    case IMPERIAL_FEET: return size * 0.3048;
+    case METRIC_2: return size * 0.01;
+    default:
+    case METRIC  : return size;
+    }
+  }
+  double size_input_in_display_units_to_m (JTextField f, int units) {
+    return size_input_in_display_units_to_m(Double.valueOf(f.getText()).doubleValue(), units);
+  }
 
-    double get_Cl (double effaoa) {
-      double AR = current_part.aspect_rat;
-      double Cl = current_part.foil.get_Cl(effaoa); // Cl_infinity
-      double k = Math.PI *AR;
-      double Cl_abs = Math.abs(Cl);
-      if (ar_lift_corr) {  // Helmbold's correction for low aspect ratio
-        Cl = (AR >= 4) 
-          // fast, classic, normal, 'e'=1
-          ? Cl / (1.0 + Cl_abs/k)
-          // Helmbold's equation except with pow increased from 2 to 3....
-          // converses alomost ideally with the high AR one at AR=4
-          : Cl / (Math.sqrt(1.0 + Math.pow(Cl_abs/k,3)) + Cl_abs/k);
-      } else if (ar_lift_corr_2) { // Dmitry's low AR correction approach
-        Cl = (AR >= 1) 
-          ? Cl / (1.0 + Cl_abs/k) // standard -  same as high AR above
-          // low AR, converges with the above at AR=1
-          : Cl / (1 + Cl/(Math.PI * Math.pow(AR, 1.4)));
-      } else if (ar_lift_corr_3) { // from JavaFoil, M<<<1
-        // note: this really is 2/AR....
-        double grad = (2 * Math.PI )/(Math.PI * AR);
-        Cl = (AR >= 4) 
-          ? Cl / (1.0 + grad)
-          // low AR: note: 5% step from above just under AR=4!!!
-          : Cl / (Math.sqrt(1.0 + k*k) + k);
-      }
-      return Cl;
+  double force_input_in_display_units_to_n (double val, int units) {
+    switch (units) {
+    case NAVAL:
+    case IMPERIAL: 
+    case IMPERIAL_FEET: 
+      return val * 4.448222;
+    case METRIC_2: return val * 9.80665003;
+    default:
+    case METRIC  : return val;
     }
+  }
+  double force_input_in_display_units_to_n (JTextField f, int units) {
+    return force_input_in_display_units_to_n(Double.valueOf(f.getText()).doubleValue(), units);
+  }
 
-    double compute_Cl_Kutta (double effaoa) {
-      double stfact, leg,teg,lem,tem;
 
-      double result;
-      /*  compute lift coefficient */
-      leg = xcval - Math.sqrt(rval*rval - ycval*ycval);
-      teg = xcval + Math.sqrt(rval*rval - ycval*ycval);
-      lem = leg + 1.0/leg;
-      tem = teg + 1.0/teg;
+  String make_size_info_in_display_units (double size, boolean unit_suffix) {
+    String suffix = "";
+    switch (display_units) {
+    case NAVAL:
+    case IMPERIAL: size *= 12*3.28084; suffix = " in"; break;
+    case IMPERIAL_FEET: size *= 3.28084; suffix = " ft"; break;
+    case METRIC  : suffix = " m"; break;
+    case METRIC_2: size *= 100; suffix = " cm"; break;
+    }
+    if (unit_suffix)
+      return pprint(filter1or3(size)) + suffix;
+    else 
+      return pprint(filter1or3(size));
+  }
 
-      double chrd = tem - lem;
-      // stall model
-      stfact = 1.0;
-      switch (stall_model_type) {
-      case STALL_MODEL_DFLT:
-        if (effaoa > 10 ) {
-          stfact = .5 + .1 * effaoa - .005 * effaoa * effaoa;
-        } else if (effaoa < -10 ) {
-          stfact = .5 - .1 * effaoa - .005 * effaoa * effaoa;
-        }
-        break;
-      case STALL_MODEL_REFINED:
-        // stfact = stall_model_k0 + stall_model_k1 * Math.abs(effaoa) + stall_model_k2 * effaoa * effaoa;
-        if (effaoa > stall_model_apos ) {
-          stfact = stall_model_k0 + stall_model_k1 * +effaoa + stall_model_k2 * effaoa * effaoa;
-        } else if (effaoa < stall_model_aneg ) {
-          stfact = stall_model_k0 + stall_model_k1 * -effaoa + stall_model_k2 * effaoa * effaoa;
-        }
-        break;
-      case STALL_MODEL_IDEAL_FLOW:
-      default:
-        // do nothing. stfact = 1
-      }
+  String current_display_size_unit_string () {
+    switch (display_units) {
+    case NAVAL:
+    case IMPERIAL: return "in"; 
+    case IMPERIAL_FEET: return "ft"; 
+    default:
+    case METRIC  : return "m";
+    case METRIC_2: return "cm"; 
+    }
+  }
+      
+  String make_area_info_in_display_units (double area, boolean unit_suffix) {
+    String suffix = "";
+    switch (display_units) {
+    case NAVAL:
+    case IMPERIAL: area *= 1550; suffix = " sq in"; break;
+    case IMPERIAL_FEET: area *= 10.7639; suffix = " sq ft"; break;
+    case METRIC  : suffix = " sq m"; break;
+    case METRIC_2: area *= 10000; suffix = " sq cm"; break;
+    }
+    if (unit_suffix)
+      return pprint(filter1or3(area)) + suffix;
+    else 
+      return pprint(filter1or3(area));
+  }
+
+  double force_n_to_display_units (double force_n) {
+    switch (display_units) {
+    case NAVAL: 
+    case IMPERIAL: 
+    case IMPERIAL_FEET: 
+      return force_n *= 0.224808942443;
+    default:
+    case METRIC  : return force_n;
+    case METRIC_2: return force_n *= 0.101971621; 
+    }
+  }
       
-      result = stfact *
-        gamval*4.0* Math.PI /chrd;
-        
-      return result;
+
+  String make_force_info_in_display_units (double force, boolean unit_suffix) {
+    String suffix = "";
+    switch (display_units) {
+    case NAVAL: 
+    case IMPERIAL: 
+    case IMPERIAL_FEET: 
+      force *= 0.224808942443; suffix = " Lbs"; break;
+    case METRIC  : suffix = " N"; break;
+    case METRIC_2: force *= 0.101971621; suffix = " kg"; break;
     }
-    
-    void compute_foil_geometry (double effaoa) {
-      double thet, rdm, thtm;
-      // System.out.println("-- compute_foil_geometry: " + effaoa);
-      int index;
+    if (unit_suffix)
+      return pprint(filter1or3(force)) + suffix;
+    else 
+      return pprint(filter1or3(force));
+  }
+      
+  String current_display_force_unit_string () {
+    switch (display_units) {
+    case NAVAL: 
+    case IMPERIAL: 
+    case IMPERIAL_FEET: 
+      return "Lbs"; 
+    default:
+    case METRIC  : return "N"; 
+    case METRIC_2: return "kg"; 
+    }
+  }
+      
+  String make_force_newtons_lbs_kg_info (double force, int sz) {
+    return (lunits == IMPERIAL)
+      ? (filter1(force * 4.44822) + " Newtons or " + filter1(force) + " Lbs or " + 
+         filter1(force * 0.453592) + " kg")
+      : (filter1(force) + " Newtons or " + 
+         filter1(force * 0.224808942443)  + " Lbs or " + filter1(force * 0.101971621) + " kg");
+  }
 
-      // geometry of Joukowski shape is in [0][index]
-      for (index =1; index <= POINTS_COUNT; ++index) {
-        thet = (index -1)*360./(POINTS_COUNT-1);
-        xg[0][index] = rval * Math.cos(convdr * thet) + xcval;
-        yg[0][index] = rval * Math.sin(convdr * thet) + ycval;
-        rg[0][index] = Math.sqrt(xg[0][index]*xg[0][index] +
-                                 yg[0][index]*yg[0][index]);
-        thg[0][index] = Math.atan2(yg[0][index],xg[0][index])/convdr;
-        xm[0][index] = (rg[0][index] + 1.0/rg[0][index])*
-          Math.cos(convdr*thg[0][index]);
-        ym[0][index] = (rg[0][index] - 1.0/rg[0][index])*
-          Math.sin(convdr*thg[0][index]);
-        rdm = Math.sqrt(xm[0][index]*xm[0][index] +
-                        ym[0][index]*ym[0][index]);
-        thtm = Math.atan2(ym[0][index],xm[0][index])/convdr;
-        xm[0][index] = rdm * Math.cos((thtm - effaoa)*convdr);
-        ym[0][index] = rdm * Math.sin((thtm - effaoa)*convdr);
-        getVel(rval,thet);
-        plp[index] = ((ps0 + pres * q0_EN)/2116.) * pconv;
-        plv[index] = vel * velocity;
-      }
+  String make_power_info_in_display_units (double force, double speed, boolean unit_suffix) {
+    String suffix = "";
+    double res = 0;
+    String res_pp;
+    switch (display_units) {
+    case NAVAL:   
+    case IMPERIAL: 
+    case IMPERIAL_FEET: 
+      res = force * 0.00134102 * speed * 0.277778; 
+      res_pp = pprint(filter1(res));
+      suffix = " HP"; 
+      break;
+    default:
+    case METRIC:
+    case METRIC_2: 
+      res = force * speed * 0.277778; 
+      res_pp = pprint(filter0(res));
+      suffix = " W"; 
+      break;
+    }
+    return res_pp + (unit_suffix ? suffix : "");
+  }
 
-      // scale up and rotate the imported geom shape
-      if (current_part.foil.geometry != null) {
-        Point2D[] g = current_part.foil.geometry;
-        double rad_aoa = -Math.toRadians(effaoa);
-        for (index = 0; index < 61; ++ index) {
-          Point2D pt = g[(int)(index)];
-          //the coordinates (x2,y2) of the point (x,y) after rotation are
-          //x2 = x cos a - y  sin a 
-          //y2 = x sin a + y cos a 
-          double x = 3.5 * (pt.x - 0.5);
-          double y = 3.5 * pt.y;
-          double rot_x = x*Math.cos(rad_aoa) - y*Math.sin(rad_aoa);
-          double rot_y = x*Math.sin(rad_aoa) + y*Math.cos(rad_aoa);
-          xm[0][index] = rot_x;
-          ym[0][index] = rot_y;
-        }
-      }
+  static String padRight (String s, int n) {
+    return String.format("%1$-" + n + "s", s);  
+  }
 
-      xt1 = xt + current_part.spanfac;
-      yt1 = yt - current_part.spanfac;
-      xt2 = xt - current_part.spanfac;
-      yt2 = yt + current_part.spanfac;
+  static String padLeft (String s, int n) {
+    return String.format("%1$" + n + "s", s);  
+  }
 
-    }
+  String maybe_warn_about_excessive_cg_offset () {
+    if (cg_pos_of_rider < -1.50) // oops, way too much forward!
+      return "\nWarning: required rider stance indicates wrong setup;\nlikely, stab's negative lift is excessive.";
+    else if (cg_pos_of_rider < -0.60) // auch, forward of front strap, awkward!
+      return "\nWarning: required rider stance indicates\nthat stab's negative lift likely needs be reduced.";
+    else if (cg_pos_of_rider > 0.25) // required stance (or "position on the board") is way to much aft
+      return "\nWarning: rider's stance excessively aft the mast\nindicates that comfortable riding with required\npull force needs increase of stab's downward angle.";
+    else 
+      return "";
+  }
 
+  String make_min_takeoff_speed_info (double min_lift, double max_drag, double speed) {
+    min_takeoff_speed = speed;
+    if (in != null) // null for engine copies
+      in.flt.tf_cruise_starting_speed.setText(""+filter0(min_takeoff_speed));
+    min_takeoff_lift  = min_lift;
+    min_takeoff_drag  = max_drag;
+    min_takeoff_cg =  // can't use the box - was not set yet dash.out_board_NP_xpos.getText();
+      niceCGPositionInfo(cg_pos_of_rider);
+    return min_takeoff_speed_info = 
+      "This foil has been evaluated for minimum possible \n" + 
+      "takeoff speed.\n" +
+      "It was found that with " + constraint_lift_text_uplift + " of \n" + 
+      make_force_newtons_lbs_kg_info(filter1(min_lift),10) + " \n" + 
+      "and total hydrodynamic drag not exceeding \n" + 
+      make_force_newtons_lbs_kg_info(filter1(max_drag),10) + " \n" + 
+      "it can take off at speed of foiling as low as \n" + 
+      //filter1(velocity) + " km/h"
+      make_speed_kts_mph_kmh_ms_info(speed) + 
+      "\nRider C.G. is located " + min_takeoff_cg + " mast leading edge." +
+      maybe_warn_about_excessive_cg_offset() +
+      "\nRider presses into the board at the \nequilibrium point located " + 
+      niceCGPositionInfo(cg_pos_board_level) + " mast. leading edge."
+      ;
+  }
 
-    public void genFlow (double effaoa) {   // generate flowfield
-      double rnew,thet,psv,fxg;
-      //System.out.println("------------- genFlow: ");
-      int k,index;
+  String make_cruising_info (double min_lift, double min_drag, double speed) {
+    cruising_speed = speed;
+    cruising_lift  = min_lift;
+    cruising_drag  = min_drag;
+    cruising_cg =  // can't use the box - was not set yet dash.out_board_NP_xpos.getText();
+      niceCGPositionInfo(cg_pos_of_rider);
+    return cruising_info = 
+      "This foil has been evaluated for minimum possible \n" + 
+      "drag during cruising at speeds >= takeoff speed.\n" +
+      "It was found that with " + constraint_lift_text_uplift + " of \n" + 
+      make_force_newtons_lbs_kg_info(filter1(min_lift),10) + " \n" + 
+      "total hydrodynamic drag would be minimal\nand not exceeding \n" + 
+      make_force_newtons_lbs_kg_info(filter1(min_drag),10) + " \n" + 
+      "L/D ratio = " + filter1(min_lift/min_drag) + ", when cruise-foiling at \n" + 
+      //filter1(velocity) + " km/h"
+      make_speed_kts_mph_kmh_ms_info(speed) + 
+      "\nRider C.G. is located " + cruising_cg + " mast." +
+      maybe_warn_about_excessive_cg_offset() +
+      "\nRider presses into the board at the \nequilibrium point located " + 
+      niceCGPositionInfo(cg_pos_board_level) + " mast. leading edge."
+      ;
+  }
 
-      /* all lines of flow  except stagnation line*/
-      for (k=1; k<=STREAMLINES_COUNT; ++k) {
-        psv = -.5*(STREAMLINES_COUNT_HALF-1) + .5*(k-1);
-        fxg = xflow;
-        // System.out.println("-- psv: " + psv + "-- fxg: " + fxg);
-        for (index =1; index <=POINTS_COUNT; ++ index) {
-          getPoints(fxg,psv);
-          xg[k][index]  = lxgt;
-          yg[k][index]  = lygt;
-          rg[k][index]  = lrgt;
-          thg[k][index] = lthgt;
-          xm[k][index]  = lxmt;
-          ym[k][index]  = lymt;
+  String make_max_speed_info (double min_lift, double max_drag, double speed) {
+    max_speed_speed = speed;
+    max_speed_lift  = min_lift;
+    max_speed_drag  = max_drag;
+    max_speed_cg = // can't use the box - was not set yet dash.out_board_NP_xpos.getText();
+      niceCGPositionInfo(cg_pos_of_rider);
+    return max_speed_info = 
+      "This foil has been evaluated for maximum possible \n" 
+      + "sustained, controllable flight speed.\n" +
+      "It was found that with " + constraint_lift_text_uplift + " of \n" + 
+      make_force_newtons_lbs_kg_info(filter1(min_lift),10) + " \n" + 
+      "and total hydrodynamic drag not exceeding \n" + 
+      make_force_newtons_lbs_kg_info(filter1(max_drag),10) + " \n" + 
+      "it can maintain sustained flight speed of at least \n" + 
+      //filter1(velocity) + " km/h"
+      make_speed_kts_mph_kmh_ms_info(speed) + 
+      "\nRider C.G. is located " + max_speed_cg + " mast." +
+      maybe_warn_about_excessive_cg_offset() +
+      "\nRider presses into the board at the \nequilibrium point located " + 
+      niceCGPositionInfo(cg_pos_board_level) + " mast. leading edge."
+      ;
+  }
 
-          if (stall_model_type != STALL_MODEL_IDEAL_FLOW) {           // stall model
-            double apos = stall_model_type == STALL_MODEL_DFLT ? +10 : stall_model_apos;
-            double aneg = stall_model_type == STALL_MODEL_DFLT ? -10 : stall_model_aneg;
-            if (effaoa > apos && psv > 0.0) {
-              if (xm[k][index] > 0.0) {
-                ym[k][index] = ym[k][index -1];
-              }
-            }
-            if (effaoa < aneg && psv < 0.0) {
-              if (xm[k][index] > 0.0) {
-                ym[k][index] = ym[k][index -1];
-              }
-            }
-          }
-          solver.getVel(lrg,lthg);
-          fxg = fxg + vxdir*STEP_X;
-        }
-      }
-      /*  stagnation line */
-      k = STREAMLINES_COUNT_HALF;
-      psv = 0.0;
-      /*  incoming flow */
-      for (index =1; index <= POINTS_COUNT_HALF; ++ index) {
-        rnew = 10.0 - (10.0 - rval)*Math.sin(pid2*(index-1)/(POINTS_COUNT_HALF-1));
-        thet = Math.asin(.999*(psv - gamval*Math.log(rnew/rval))/
-                         (rnew - rval*rval/rnew));
-        fxg =  - rnew * Math.cos(thet);
-        getPoints(fxg,psv);
-        xg[k][index]  = lxgt;
-        yg[k][index]  = lygt;
-        rg[k][index]  = lrgt;
-        thg[k][index] = lthgt;
-        xm[k][index]  = lxmt;
-        ym[k][index]  = lymt;
-      }
-      /*  downstream flow */
-      for (index = 1; index <= POINTS_COUNT_HALF; ++ index) {
-        rnew = 10.0 + .01 - (10.0 - rval)*Math.cos(pid2*(index-1)/(POINTS_COUNT_HALF-1));
-        thet = Math.asin(.999*(psv - gamval*Math.log(rnew/rval))/
-                         (rnew - rval*rval/rnew));
-        fxg =   rnew * Math.cos(thet);
-        getPoints(fxg,psv);
-        xg[k][POINTS_COUNT_HALF+index]  = lxgt;
-        yg[k][POINTS_COUNT_HALF+index]  = lygt;
-        rg[k][POINTS_COUNT_HALF+index]  = lrgt;
-        thg[k][POINTS_COUNT_HALF+index] = lthgt;
-        xm[k][POINTS_COUNT_HALF+index]  = lxmt;
-        ym[k][POINTS_COUNT_HALF+index]  = lymt;
-      }
-      /*  stagnation point */
-      xg[k][POINTS_COUNT_HALF]  = xcval;
-      yg[k][POINTS_COUNT_HALF]  = ycval;
-      rg[k][POINTS_COUNT_HALF]  = Math.sqrt(xcval*xcval+ycval*ycval);
-      thg[k][POINTS_COUNT_HALF] = Math.atan2(ycval,xcval)/convdr;
-      xm[k][POINTS_COUNT_HALF]  = (xm[k][POINTS_COUNT_HALF+1] + xm[k][POINTS_COUNT_HALF-1])/2.0;
-      ym[k][POINTS_COUNT_HALF]  = (ym[0][POINTS_COUNT/4+1] + ym[0][POINTS_COUNT/4*3+1])/2.0;
+  // used for speed....
+  String toStringOptQMFilter1 (double val) {
+    return (val <= 0) ? "??" : make_speed_info_in_display_units(val, false);
+  }
+  // used for force....
+  String toStringOptQMFilter0 (double val) {
+    return (val <= 0) ? "??" : make_force_info_in_display_units(val, false);
+  }
 
-    }
+  // loadInput has been removed.
+  // Oct 17: fed up with loadInput, try not to call this anymore....
+  // note: this also does cp_computeFlow(), 
+  // hence no need to do {computeFlowAndRegenPlotAndAdjust();computeFlowAndRegenPlot();}
+  // public void loadInput () {   // load the input panels
+  //   ... lots of code
+  // }
 
-    public void getPoints (double fxg, double psv) {   // flow in x-psi
-      double radm,thetm;                /* MODS  20 Jul 99  whole routine*/
-      double fnew,y_new,y_old,rfac;
-      double xold,xnew,thet;
-      double rmin, rmax;
-      int iter,isign;
-      double effaoa = effective_aoa();
+  void switch_to_part (Part p) {
+    if (p == null) return;
+    if (current_part != null)
+      current_part.save_state();
 
-      /* get variables in the generating plane */
-      /* iterate to find value of yg */
-      y_new = 10.0;
-      y_old = 10.0;
-      if (psv < 0.0) y_new = -10.0;
-      if (Math.abs(psv) < .001 && effaoa < 0.0) y_new = rval;
-      if (Math.abs(psv) < .001 && effaoa >= 0.0) y_new = -rval;
-      fnew = 0.1;
-      iter = 1;
-      while (Math.abs(fnew) >= .00001 && iter < 25) {
-        ++iter;
-        rfac = fxg*fxg + y_new*y_new;
-        if (rfac < rval*rval) rfac = rval*rval + .01;
-        fnew = psv - y_new*(1.0 - rval*rval/rfac)
-          - gamval*Math.log(Math.sqrt(rfac)/rval);
-        double deriv = - (1.0 - rval*rval/rfac)
-          - 2.0 * y_new*y_new*rval*rval/(rfac*rfac)
-          - gamval * y_new / rfac;
-        y_old = y_new;
-        y_new = y_old  - .5*fnew/deriv;
-      }
-      lyg = y_old;
-      /* rotate for angle of attack */
-      lrg = Math.sqrt(fxg*fxg + lyg*lyg);
-      lthg = Math.atan2(lyg,fxg)/convdr;
-      lxgt = lrg * Math.cos(convdr*(lthg + effaoa));
-      lygt = lrg * Math.sin(convdr*(lthg + effaoa));
-      /* translate cylinder to generate airfoil */
-      lxgt = lxgt + xcval;
-      lygt = lygt + ycval;
-      lrgt = Math.sqrt(lxgt*lxgt + lygt*lygt);
-      lthgt = Math.atan2(lygt,lxgt)/convdr;
-      /*  Kutta-Joukowski mapping */
-      lxm = (lrgt + 1.0/lrgt)*Math.cos(convdr*lthgt);
-      lym = (lrgt - 1.0/lrgt)*Math.sin(convdr*lthgt);
-      /* tranforms for view fixed with free stream */
-      /* take out rotation for angle of attack mapped and cylinder */
-      radm = Math.sqrt(lxm*lxm+lym*lym);
-      thetm = Math.atan2(lym,lxm)/convdr;
-      lxmt = radm*Math.cos(convdr*(thetm-effaoa));
-      lymt = radm*Math.sin(convdr*(thetm-effaoa));
+    double conv = 1;
+    current_part = p;
+    // setFoil(p.foil);
+    // chord = p.chord / conv;
+    // span_old = span =  p.span  / conv;
+    // arold = area = span * chord;
+    //aspect_rat = span/chord;
+    //current_part.spanfac = (int)(2.0*fact*aspect_rat*.3535);
 
-      lxgt = lxgt - xcval;
-      lygt = lygt - ycval;
-      lrgt = Math.sqrt(lxgt*lxgt + lygt*lygt);
-      lthgt = Math.atan2(lygt,lxgt)/convdr;
-      lxgt = lrgt * Math.cos((lthgt - effaoa)*convdr);
-      lygt = lrgt * Math.sin((lthgt - effaoa)*convdr);
+    // current_part.thickness = p.thickness;
+    // current_part.thickness/25 = current_part.thickness/25;
+    // current_part.camber = p.camber;
+    // current_part.camber/25 = current_part.camber / 25.0;
+    //current_part.aoa = p.aoa;
 
-      return;
-    }
- 
-    public void getVel (double rad, double theta) {  //velocity and pressure 
-      double ur,uth,jake1,jake2,jakesq;
-      double xloc,yloc,thrad,alfrad;
-      double effaoa = effective_aoa();
+    // current_part.t_Cl = p.t_Cl;
+    // current_part.t_Cd = p.t_Cd;
+    // current_part.cl = p.cl;
+    //done current_part.cm = p.cm;
+    // current_part.Ci_eff = p.Ci_eff;
 
-      thrad = convdr * theta;
-      alfrad = convdr * effaoa;
-      /* get x, y location in cylinder plane */
-      xloc = rad * Math.cos(thrad);
-      yloc = rad * Math.sin(thrad);
-      /* velocity in cylinder plane */
-      ur  = Math.cos(thrad-alfrad)*(1.0-(rval*rval)/(rad*rad));
-      uth = -Math.sin(thrad-alfrad)*(1.0+(rval*rval)/(rad*rad))
-        - gamval/rad;
-      usq = ur*ur + uth*uth;
-      vxdir = ur * Math.cos(thrad) - uth * Math.sin(thrad); // MODS  20 Jul 99 
-      /* translate to generate airfoil  */
-      xloc = xloc + xcval;
-      yloc = yloc + ycval;
-      /* compute new radius-theta  */
-      rad = Math.sqrt(xloc*xloc + yloc*yloc);
-      thrad  = Math.atan2(yloc,xloc);
-      /* compute Joukowski Jacobian  */
-      jake1 = 1.0 - Math.cos(2.0*thrad)/(rad*rad);
-      jake2 = Math.sin(2.0*thrad)/(rad*rad);
-      jakesq = jake1*jake1 + jake2*jake2;
-      if (Math.abs(jakesq) <= .01) jakesq = .01;  /* protection */
-      vsq = usq / jakesq;
-      /* vel is velocity ratio - pres is coefficient  (p-p0)/q0_EN   */
-      if (!foil_is_cylinder_or_ball(current_part.foil)) {
-        vel = Math.sqrt(vsq);
-        pres = 1.0 - vsq;
-      } else  {
-        vel = Math.sqrt(usq);
-        pres = 1.0 - usq;
-      }
-      return;
-    }
+    solver.load_stall_model_cache(p.foil);
 
-    public void getProbe () { /* all of the information needed for the probe */
-      double prxg;
-      int index;
-      double effaoa = effective_aoa();
-      /* get variables in the generating plane */
-      if (Math.abs(ypval) < .01) ypval = .05;
-      getPoints(xpval,ypval);
+    // with GUI, always recompute: flow field, probe etc are of the current part
+    if (part_inputs_changed(p) || can_do_gui_updates) {
+      cp_computeFlow(); 
+      forces_totals_maybe_panels();
+    } else 
+      updateTotals();
 
-      solver.getVel(lrg,lthg);
-      loadProbe();
+    if (can_do_gui_updates) {
+      in.load_selected_tab_panel();
+      viewer.load_drawing();
+      // what about out_top, out_bottom?
+    }
+  }
 
-      pxg = lxgt;
-      pyg = lygt;
-      prg = lrgt;
-      pthg = lthgt;
-      pxm = lxmt;
-      pym = lymt;
-      /* smoke */
-      if (pboflag == 3 ) {
-        prxg = xpval;
-        for (index =1; index <=POINTS_COUNT; ++ index) {
-          getPoints(prxg,ypval);
-          xg[19][index] = lxgt;
-          yg[19][index] = lygt;
-          rg[19][index] = lrgt;
-          thg[19][index] = lthgt;
-          xm[19][index] = lxmt;
-          ym[19][index] = lymt;
-          if (stall_model_type != STALL_MODEL_IDEAL_FLOW) {           // stall model
-            double apos = stall_model_type == STALL_MODEL_DFLT ? +10 : stall_model_apos;
-            double aneg = stall_model_type == STALL_MODEL_DFLT ? -10 : stall_model_aneg;
-            if (xpval > 0.0) {
-              if (effaoa > apos  && ypval > 0.0) { 
-                ym[19][index] = ym[19][1];
-              } 
-              if (effaoa < aneg && ypval < 0.0) {
-                ym[19][index] = ym[19][1];
-              }
-            }
-            if (xpval < 0.0) {
-              if (effaoa > apos && ypval > 0.0) { 
-                if (xm[19][index] > 0.0) {
-                  ym[19][index] = ym[19][index-1];
-                }
-              } 
-              if (effaoa < aneg && ypval < 0.0) {
-                if (xm[19][index] > 0.0) {
-                  ym[19][index] = ym[19][index-1];
-                }
-              }
-            }
-          }
-          solver.getVel(lrg,lthg);
-          prxg = prxg + vxdir*STEP_X;
-        }
-      }
-      return;
+  // Dirty tracking for recomp_all_parts(). Coefficients and forces of a
+  // part depend on its foil and geometry, its effective AoA (pitch and part
+  // AoA; the strut does not see pitch, the stab also sees wing.cl through
+  // downwash), the flow (speed, height, density) and the model options.
+  // Collects all these into p.recomp_inputs_next and returns true if they
+  // differ from what the last computation of p saw, recording them as
+  // seen. Needs current_part == p. 
+  static final int RECOMP_INPUTS_COUNT = 22;
+  boolean part_inputs_changed (Part p) {
+    double[] in = p.recomp_inputs_next;
+    int i = 0;
+    in[i++] = effective_aoa();
+    in[i++] = p.aoa; in[i++] = p.chord; in[i++] = p.span; in[i++] = p.area; in[i++] = p.aspect_rat;
+    in[i++] = p.thickness; in[i++] = p.camber; in[i++] = p.Ci_eff; in[i++] = p.use_cm ? 1 : 0;
+    in[i++] = velocity; in[i++] = alt_val; in[i++] = rho_EN; in[i++] = rho_SI; in[i++] = viscos; 
+    in[i++] = vconv; in[i++] = lconv; in[i++] = fconv;
+    in[i++] = radius; in[i++] = spin * spindr; in[i++] = planet * 10 + stall_model_type;
+    in[i++] = (fix_symmetry_problem ? 1 : 0) + (ar_lift_corr ? 2 : 0) + (ar_lift_corr_2 ? 4 : 0) +
+      (ar_lift_corr_3 ? 8 : 0) + (re_corr ? 16 : 0) + (induced_drag_on ? 32 : 0) + (skin_drag_on ? 64 : 0) +
+      (stab_aoa_correction ? 128 : 0);
+
+    boolean changed = p.recomp_inputs == null || p.recomp_foil != p.foil ||
+      p.recomp_t_Cl != p.t_Cl || p.recomp_t_Cd != p.t_Cd || p.recomp_t_Cm != p.t_Cm;
+    for (int k = 0; !changed && k < RECOMP_INPUTS_COUNT; k++)
+      changed = in[k] != p.recomp_inputs[k];
+    if (changed) {
+      p.recomp_inputs_next = p.recomp_inputs == null ? new double[RECOMP_INPUTS_COUNT] : p.recomp_inputs;
+      p.recomp_inputs = in;
+      p.recomp_foil = p.foil; p.recomp_t_Cl = p.t_Cl; p.recomp_t_Cd = p.t_Cd; p.recomp_t_Cm = p.t_Cm;
     }
+    return changed;
+  }
 
-    // from http://paulbourke.net/miscellaneous/interpolation/ 
-    double LinearInterpolate (double y1,double y2, double mu) {
-      double res = (y1*(1-mu)+y2*mu);
-      // System.out.println("-- y1: " + y1);
-      // System.out.println("-- y2: " + y2);
-      // System.out.println("-- res: " + res);
-      return res;
+  // part of recomp_all_parts: like switch_to_part but computes nothing if
+  // the inputs of p did not change, and leaves totals and GUI to the
+  // final switch_to_part
+  void recomp_part (Part p) {
+    current_part = p;
+    solver.load_stall_model_cache(p.foil);
+    if (part_inputs_changed(p)) {
+      cp_computeFlow(); 
+      cp_computeForces();
     }
+  }
 
-    // from http://paulbourke.net/miscellaneous/interpolation/ 
-    double CosineInterpolate (double y1,double y2, double mu) {
-      double mu2 = (1-Math.cos(mu* Math.PI ))/2;
-      return(y1*(1-mu2)+y2*mu2);
+  // speeds things up when recomp_all_parts is reentered
+  int recomp_all_parts_reentry_count = 0; 
+  int recomp_all_parts_count = 0; // all calls on this engine, for JFR events
+  void recomp_all_parts () {
+    if (cancel_requested) // a VPPJob on this engine was superseded
+      throw new CancellationException();
+    if (recomp_all_parts_reentry_count > 3) {
+      metrics.recomp_reentry_guard.inc();
+      System.out.println("-- too deep recursive entry into recomp_all_parts, returning; ");
+      new Exception("=== see stack ============").printStackTrace(System.out);
+      return;
     }
+    if (can_do_gui_updates) metrics.note_action();
+    long t0 = System.nanoTime();
+    Object jfr = jfr_recomp.begin();
+    recomp_all_parts_count++;
+    recomp_all_parts_reentry_count++;
 
+    Part curr_pt = current_part;
 
-    // from http://paulbourke.net/miscellaneous/interpolation/ 
-    // The
-    // function requires 4 points in all labeled y0, y1, y2, and y3,
-    // mu: 0 to 1 for 
-    // interpolating between the segment y1 to y2. 
-    double CubicInterpolate (double y0,double y1,
-                            double y2,double y3,
-                            double mu)
-    {
-      double a0,a1,a2,a3,mu2;
+    // stab first, it sees wing.cl of the previous recomp in its downwash;
+    // then switch_to_part(curr_pt) below redoes it if wing.cl changed.
+    recomp_part(stab);
+    recomp_part(fuse);
+    recomp_part(wing);
+    recomp_part(strut);
 
-      mu2 = mu*mu;
+    // must do before switch_to_part(current_part);
+    // so that updateTotals is triggered
+    recomp_all_parts_reentry_count--;  
+    switch_to_part(curr_pt);
 
-      //a0 = y3 - y2 - y0 + y1;
-      //a1 = y0 - y1 - a0;
-      //a2 = y2 - y0;
-      //a3 = y1;
+    if (can_do_gui_updates) { 
+      out_top.load_selected_tab_panel(); // was: out_top.plot.loadPlot();
+        out_bottom.load_selected_tab_panel();
+    }
+    metrics.recomp_all_parts.record(System.nanoTime() - t0);
+    if (jfr != null) jfr_recomp.commit(jfr, t_foil_name, velocity, craft_pitch);
+  }
 
-      // Paul Breeuwsma proposes the following coefficients for a
-      // smoother interpolated curve, which uses the slope between the
-      // previous point and the next as the derivative at the current
-      // point. This results in what are generally referred to as
-      // Catmull-Rom splines.
-      a0 = -0.5*y0 + 1.5*y1 - 1.5*y2 + 0.5*y3;
-      a1 = y0 - 2.5*y1 + 2*y2 - 0.5*y3;
-      a2 = -0.5*y0 + 0.5*y2;
-      a3 = y1;
+  public void computeFlowAndRegenPlotAndAdjust () { 
+    computeFlowAndRegenPlot();
+    if (can_do_gui_updates)
+      viewer.find_it();
+  }
 
-      return(a0*mu*mu2+a1*mu2+a2*mu+a3);
+  String niceCGPositionInfo (double pos) {
+    if (pos <= -0.01) { // 1cm or more fore
+      if (display_units == METRIC || display_units == METRIC_2)
+        return pprint(filter0(    100*Math.abs(pos/*-wing.xpos*/))) + " cm fore";
+      else
+        return pprint(filter0(39.3701*Math.abs(pos/*-wing.xpos*/))) + " in fore";
+    } else if (pos <  0.01) { // between -1cm and 1cm: above mast LE
+      return "Above";
+      // return "" + filter0(100*pos/fuse.chord) + " % aft";
+    } else {
+      if (display_units == METRIC || display_units == METRIC_2)
+        return pprint(filter0(    100*Math.abs(pos/*-wing.xpos*/))) + " cm aft";
+      else
+        return pprint(filter0(39.3701*Math.abs(pos/*-wing.xpos+strut.chord*/))) + " in aft";
     }
+  }
 
-    // Name = AQUILA 9.3% smoothed
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finis    // h = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      //     Cd       Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     //     [-]      [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.1    // 25   0.39381 -0.021  0.893   0.006   0.931   0.015   -0.317  0.278   0.082
-    // -24.0    -0.1    // 63   0.29085 -0.020  0.887   0.007   0.931   0.014   -0.561  0.272   0.128
-    // -20.0    -0.2    // 16   0.21866 -0.019  0.881   0.006   0.933   0.011   -0.989  0.259   0.162
-    // -16.0    -0.2    // 83   0.16381 -0.019  0.862   0.006   0.937   0.010   -1.727  0.251   0.183
-    // -12.0    -0.3    // 36   0.09896 -0.019  0.823   0.006   0.943   0.009   -3.398  0.241   0.194
-    // -8.0     -0.2    // 88   0.06640 -0.019  0.728   0.005   0.960   0.007   -4.342  0.253   0.184
-    // -4.0     -0.0    // 45   0.03735 -0.020  0.593   0.005   0.975   0.006   -1.216  0.310   -0.186
-    // -0.0     0.40    // 0    0.00847 -0.060  0.462   0.012   0.982   0.989   47.277  0.300   0.400
-    // 4.0      0.86    // 4    0.00661 -0.066  0.307   0.946   0.986   0.988   130.772 0.263   0.326
-    // 8.0      1.29    // 4    0.01596 -0.071  0.152   0.998   0.955   0.998   81.085  0.263   0.305
-    // 12.0     1.38    // 8    0.03889 -0.072  0.002   1.000   0.635   1.000   35.696  0.403   0.302
-    // 16.0     1.00    // 4    0.14560 -0.027  0.001   1.000   0.003   1.000   6.895   0.311   0.277
-    // 20.0     0.68    // 5    0.24856 -0.029  0.001   1.000   0.003   1.000   2.758   0.235   0.293
-    // 24.0     0.44    // 3    0.33959 -0.036  0.001   1.000   0.005   1.000   1.304   0.221   0.331
-    // 28.0     0.29    // 2    0.48325 -0.041  0.001   0.999   0.007   0.999   0.604   0.218   0.389
-    //                  // 
-    double[] t_lift_AQUILA_9p3 = {-0.1 ,-0.1 ,-0.2 ,-0.2 ,-0.3 ,-0.2 ,-0.0 ,0.40 ,0.86 ,1.29 ,1.38 ,1.00 ,0.68 ,0.44 ,0.29 };
-    double[] t_drag_AQUILA_9p3 = {0.39381, 0.29085, 0.21866, 0.16381, 0.09896, 0.06640, 0.03735, 0.00847, 0.00661, 0.01596, 0.03889, 0.14560, 0.24856, 0.33959, 0.48325 };
+  void updateTotals () {
+    // System.out.println("-- updateTotals... " + can_do_gui_updates);
+    // new Exception("-- updateTotals  ---------------- ").printStackTrace(System.out);
+    state_version++;
+    request_repaint();
 
+    speed_kts_mph_kmh_ms_info = make_speed_kts_mph_kmh_ms_info(velocity);
+    double lift = foil_lift();
+    double drag = total_drag();
+                                      
+    // This computes location of the center of gravity of the craft
+    // (rider, roughly) in relation to the leading edge (aka LE) of the
+    // mast (roughly, front bolt of DT). 
+    //
+    // Mtipping is 0.5*eff_strut_span*strut,drag
+    //
+    // cg_pos: x-axis offset relative to strut bottom LE. "fore" is -, "aft" is +,
+    cg_pos = find_cg_xpos(); 
+    // cg_pos_board_level: at board level where x=0 at strut's board-side LE.
+    // strut tilt correction is required. example:
+    // cg_pos=-35cm, xoff_tip=5cm (horue,dmitry) cg_pos_board_level=-30-5=-35
+    cg_pos_board_level = cg_pos;
 
-    // Name = NACA 63-412 AIRFOIL
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.246  0.48435 -0.015  0.945   0.002   1.000   0.011   -0.508  0.246   0.188
-    // -24.0    -0.341  0.38844 -0.016  0.930   0.002   1.000   0.008   -0.878  0.237   0.204
-    // -20.0    -0.474  0.25074 -0.018  0.920   0.003   1.000   0.009   -1.889  0.231   0.212
-    // -16.0    -0.614  0.14833 -0.021  0.900   0.004   1.000   0.010   -4.138  0.225   0.216
-    // -12.0    -0.641  0.08843 -0.022  0.845   0.007   1.000   0.008   -7.245  0.274   0.215
-    // -8.0     -0.425  0.05258 -0.025  0.751   0.008   1.000   0.009   -8.089  0.338   0.190
-    // -4.0     -0.087  0.01062 -0.071  0.647   0.009   1.000   0.931   -8.197  0.316   -0.567
-    // -0.0     0.386   0.00814 -0.079  0.547   0.517   1.000   0.954   47.401  0.266   0.455
-    // 4.0      0.856   0.01400 -0.087  0.006   0.660   1.000   0.954   61.186  0.173   0.351
-    // 8.0      0.981   0.05228 -0.033  0.004   0.705   0.005   0.955   18.765  0.029   0.284
-    // 12.0     1.087   0.08887 -0.036  0.005   0.838   0.005   0.957   12.228  0.935   0.283
-    // 16.0     0.989   0.15306 -0.038  0.004   0.888   0.006   0.951   6.461   0.232   0.289
-    // 20.0     0.708   0.22957 -0.043  0.004   0.922   0.007   0.951   3.085   0.232   0.310
-    // 24.0     0.480   0.34907 -0.048  0.003   0.930   0.009   0.956   1.375   0.226   0.350
-    // 28.0     0.329   0.46304 -0.052  0.002   0.930   0.011   0.956   0.710   0.223   0.408
+    // foilboard AOA correction. when the board is at high angle of
+    // attack, the computed offset is only an approximation, rider is more
+    // forward *alone the board surface* in reality.  for 90 degree strut,
+    // it is the hypotenuse where the adjasent is -cg_pos + cos(
+    // BOARD_THICKNESS + strut.span)
+    if (rider_xpos_tilt_correction) {
+      double pitch_rad = Math.toRadians(craft_pitch);
+      double hypo = BOARD_THICKNESS + strut.span;
+      double deck_rot_adj = - // when AOA is positive, and cg_pos is
+                              // negative, increses the magnitude
+        hypo * Math.sin(pitch_rad);
 
-    double[] t_lift_NACA_63_412 = {-0.246, -0.341, -0.474, -0.614, -0.641, -0.425, -0.087, 0.386 , 0.856 , 0.981 , 1.087 , 0.989 , 0.708 , 0.480 , 0.329     };
+      // board deck offset is hypotenuse; adjasent value is cg_pos plus
+      // deck_rot_adjn
+      
+      // deck_x_offset is the 'hypotenuse' H = A / cos(A)
+      double deck_x_offset  = (cg_pos + deck_rot_adj) // the 'adjasent'
+        / Math.cos(pitch_rad);
 
-    double[] t_drag_NACA_63_412 = {0.48435, 0.38844, 0.25074, 0.14833, 0.08843, 0.05258, 0.01062, 0.00814, 0.01400, 0.05228, 0.08887, 0.15306, 0.22957, 0.34907, 0.46304  };
+      // apply correction
+      cg_pos_board_level = deck_x_offset;
+    }
 
-    // attempt to model Bladerider foil. Bladerider foil is modified NACA_63_412 with flap down.
-    // the following is produced with (1) NACA_63_412 data from airfoils site inserted in javafoil
-    // (2) that foil is modded with trailing gap = 1, flaps: 3- 1, 25 1, 20 1.
+    // cg_pos_board_level: at board level where x=0 at strut's board-side LE.
+    // strut tilt correction is required. example for AoA=0:
+    // cg_pos=-30cm, xoff_tip=5cm (horue,dmitry) cg_pos_board_level=-30-5=-35
+    cg_pos_board_level -= strut.xoff_tip;
 
-    // Name = NACA 63-412 AIRFOIL modded
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.264  0.45319 -0.024  0.999   0.002   0.999   0.010   -0.582  0.231   0.160
-    // -24.0    -0.364  0.37355 -0.026  0.999   0.002   0.999   0.008   -0.974  0.224   0.179
-    // -20.0    -0.493  0.22506 -0.030  0.999   0.003   0.999   0.010   -2.191  0.219   0.190
-    // -16.0    -0.599  0.14758 -0.033  0.862   0.005   0.999   0.010   -4.055  0.135   0.195
-    // -12.0    -0.542  0.09361 -0.035  0.824   0.007   0.999   0.008   -5.788  0.270   0.185
-    // -8.0     -0.255  0.06026 -0.040  0.799   0.008   0.999   0.009   -4.232  0.358   0.094
-    // -4.0     0.148   0.01756 -0.110  0.751   0.416   0.999   0.956   8.449   0.340   0.991
-    // -0.0     0.625   0.01845 -0.119  0.568   0.520   0.999   0.958   33.893  0.269   0.440
-    // 4.0      1.086   0.02570 -0.128  0.006   0.650   0.999   0.958   42.265  0.108   0.368
-    // 8.0      1.124   0.06436 -0.048  0.004   0.677   0.005   0.959   17.464  -0.733  0.293
-    // 12.0     1.165   0.10404 -0.051  0.005   0.699   0.005   0.960   11.194  0.216   0.294
-    // 16.0     0.974   0.17417 -0.053  0.004   0.951   0.005   0.952   5.593   0.238   0.305
-    // 20.0     0.676   0.24795 -0.057  0.004   0.951   0.006   0.952   2.728   0.228   0.334
-    // 24.0     0.456   0.37413 -0.065  0.002   0.960   0.010   0.961   1.219   0.220   0.392
-    // 28.0     0.314   0.51586 -0.068  0.002   0.960   0.011   0.961   0.608   0.229   0.466
-    // 
+    
+    // rider_countering_x_offset is computed and saved to reflect posture
+    // change due to (a) headwind (b) propulsion pull as follows below
+    double rider_countering_x_offset = 0;
 
-    double[] t_lift_NACA_63_412_mod_flap_v1 = {-0.264, -0.364, -0.493, -0.599, -0.542, -0.255, 0.148 , 0.625 , 1.086 , 1.124 , 1.165 , 0.974 , 0.676 , 0.456 , 0.314   };
-    double[] t_drag_NACA_63_412_mod_flap_v1 = {0.45319, 0.37355, 0.22506, 0.14758, 0.09361, 0.06026, 0.01756, 0.01845, 0.02570, 0.06436, 0.10404, 0.17417, 0.24795, 0.37413, 0.51586  };
+    // (a) Headwind.
+    // Two square triangles: rider_offset/height = rider.drag/weight
+    if (!ignore_air_resistance)
+      rider_countering_x_offset += -(rider.drag/rider.weight)* RIDER_CG_HEIGHT;
 
+    // (b) Propulsion pull. 
+    // Rider's force-countering stance is in effect only if the drive force is applied
+    // above the board, which implies it goes through rider's body
+    if (DRIVING_FORCE_HEIGHT > 0) {
+      // drive force, scaled to be considering coming from the rider CG height spot
+      double drive_force_scaled = 
+        (ignore_drive_moment)
+        ? 0
+        : (total_drag() * DRIVING_FORCE_HEIGHT/RIDER_CG_HEIGHT);
+      // two square triangles: rider_offset/height = drive_force_scaled/weight
+      rider_countering_x_offset += (drive_force_scaled/rider.weight)* RIDER_CG_HEIGHT; // wasFF 0.86;
+    }
+    rider.force_countering_x_offest = rider_countering_x_offset;
+    cg_pos_of_rider = cg_pos_board_level + rider.force_countering_x_offest;
 
-    // Name = SD7084 (9.6%)
-    // Mach = 0; Re = 700000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    // Alpha   Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    //         [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0   -0.134  0.38042 -0.012  1.000   0.002   1.000   0.022   -0.353  0.253   0.161
-    // -24.0   -0.192  0.27887 -0.012  0.989   0.002   1.000   0.020   -0.690  0.251   0.189
-    // -20.0   -0.285  0.20817 -0.012  0.953   0.002   1.000   0.016   -1.370  0.251   0.209
-    // -16.0   -0.421  0.16472 -0.012  0.918   0.002   1.000   0.011   -2.555  0.252   0.223
-    // -12.0   -0.548  0.09257 -0.011  0.882   0.003   1.000   0.006   -5.916  0.215   0.229
-    // -8.0    -0.475  0.05259 -0.013  0.843   0.005   1.000   0.009   -9.030  0.330   0.222
-    // -4.0    -0.214  0.00829 -0.038  0.784   0.007   1.000   0.998   -25.880 0.290   0.072
-    // -0.0    0.251   0.00531 -0.043  0.581   0.766   1.000   0.998   47.285  0.260   0.420
-    // 4.0     0.717   0.00687 -0.047  0.238   0.972   0.992   0.991   104.263 0.261   0.316
-    // 8.0     1.111   0.01504 -0.052  0.007   0.981   0.940   0.992   73.861  0.261   0.297
-    // 12.0    1.068   0.03960 -0.051  0.001   0.988   0.517   0.992   26.978  0.316   0.298
-    // 16.0    0.706   0.13343 -0.025  0.001   0.989   0.009   0.993   5.293   0.288   0.286
-    // 20.0    0.452   0.20179 -0.028  0.001   0.990   0.010   0.994   2.238   0.235   0.311
-    // 24.0    0.286   0.29604 -0.031  0.001   0.991   0.012   0.994   0.966   0.216   0.360
-    // 28.0    0.189   0.38724 -0.037  0.001   0.991   0.018   0.996   0.488   0.197   0.444
+    // factored out to dash.loadPanel()
+    // if (can_do_gui_updates) {
+    //   dash.loadPanel();
+    // }
+  }
 
+  // static void track_current_part.cl_changes () {
+  //   current_part.cl_set_count++;
+  //   if (current_part.cl != current_part.cl_old) {
+  //     System.out.println("-- current_part.cl: " + current_part.cl + " set: " + current_part.cl_set_count);
+  //     current_part.cl_old = current_part.cl;
+  //   }
+  // }
 
-    double[] t_lift_SD7084 = {-0.134, -0.192, -0.285, -0.421, -0.548, -0.475, -0.214, 0.251, 0.717, 1.111, 1.068, 0.706, 0.452, 0.286, 0.189};
-    double[] t_drag_SD7084 = {0.38042, 0.27887, 0.20817, 0.16472, 0.09257, 0.05259, 0.00829, 0.00531, 0.00687, 0.01504, 0.03960, 0.13343, 0.20179, 0.29604, 0.38724};
+  // This should be called after cp_computeFlow(). Note: operates on the
+  // current_part only.
+  public void cp_computeForces () {
 
+    double eff_area_k = (current_part == strut)
+      ? (1- alt_val/100) // typically only 30% of mast sits in the water
+      : 1;
 
+    // 1a. compute lift
+    if (!foil_is_cylinder_or_ball(current_part.foil)) { 
 
-    // Name = SD8040 (10%)
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    // alpha   Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0   -0.214  0.42136 -0.021  0.977   0.005   0.988   0.015   -0.508  0.263   0.150
-    // -24.0   -0.285  0.31478 -0.021  0.973   0.004   0.988   0.013   -0.904  0.259   0.178
-    // -20.0   -0.380  0.22511 -0.020  0.958   0.004   0.988   0.011   -1.690  0.260   0.198
-    // -16.0   -0.488  0.17173 -0.019  0.928   0.003   0.989   0.007   -2.845  0.262   0.212
-    // -12.0   -0.543  0.09601 -0.018  0.889   0.004   0.990   0.005   -5.651  0.270   0.217
-    // -8.0    -0.423  0.05525 -0.020  0.837   0.004   0.990   0.007   -7.648  0.344   0.203
-    // -4.0    -0.139  0.00857 -0.056  0.758   0.011   0.992   0.996   -16.265 0.302   -0.151
-    // -0.0    0.331   0.00658 -0.059  0.563   0.718   0.994   0.998   50.258  0.257   0.429
-    // 4.0     0.797   0.00897 -0.063  0.252   0.956   0.990   0.992   88.852  0.258   0.329
-    // 8.0     1.208   0.01785 -0.066  0.037   0.990   0.928   0.996   67.647  0.255   0.305
-    // 12.0    1.391   0.03665 -0.066  0.008   0.997   0.642   0.997   37.960  0.746   0.297
-    // 16.0    1.153   0.13607 -0.039  0.004   0.997   0.035   0.997   8.475   0.312   0.284
-    // 20.0    0.909   0.21938 -0.036  0.002   0.997   0.017   0.997   4.145   0.261   0.290
-    // 24.0    0.659   0.33062 -0.034  0.001   0.998   0.009   0.998   1.993   0.256   0.302
-    // 28.0    0.470   0.48375 -0.033  0.001   0.998   0.006   0.998   0.971   0.254   0.321
+      // Lift force
+      // Legacy converion: first we produce lift in lbs, then convert to N
+      // lift = current_part.cl * q0_EN * area / lconv / lconv; 
+      // lift = lift * fconv;
+      // double lift_si = current_part.cl * 0.5 * 1027 * velocity * velocity * 0.277778 * 0.277778 * area;
+        
+      double force_k = q0_SI * eff_area_k * current_part.area;
+      current_part.lift = current_part.cl * force_k;
 
+      // DEBUG 
+      if (false && current_part == wing) { 
+        System.out.println("-- wing lift: " + wing.lift + " pitch: " + craft_pitch);
+        if (craft_pitch == 0.0) new Exception("---  pitch = 0   ---").printStackTrace(System.out);
+        if (craft_pitch > 20) new Exception("---  pitch > 20   ---").printStackTrace(System.out);
+      }
 
-    double[] t_lift_SD8040 = {-0.214, -0.285, -0.380, -0.488, -0.543, -0.423, -0.139, 0.331, 0.797, 1.208, 1.391, 1.153, 0.909, 0.659, 0.470};
-    double[] t_drag_SD8040 = {0.42136, 0.31478, 0.22511, 0.17173, 0.09601, 0.05525, 0.00857, 0.00658, 0.00897, 0.01785, 0.03665, 0.13607, 0.21938, 0.33062, 0.48375};
+      // according to [Gudmundsson, App C1], p.61
+      current_part.moment = current_part.cm * force_k * current_part.chord; 
+    }
+    else { // cylinder and ball
 
+      // note: legacy 'conv' style....
+      current_part.lift = rho_EN * velocity/vconv * solver.gamval * velocity/vconv * current_part.span/lconv; // lift lbs
+      if (current_part.foil == FOIL_BALL) 
+        current_part.lift = current_part.lift * 4.0 * solver.rval / (current_part.span/lconv) / 3.0; 
 
+      current_part.lift *= fconv;
+      current_part.cl = (current_part.lift/fconv) / ( q0_EN *  current_part.area/lconv/lconv);
+    }
 
-    // NACA(camber)4(thickness) airfoil drag tables computed by
-    // javafoil for NAcA 4 digit geometry and -28 to +28 step 4 AoA
-    // and for Re=300000 and infine aspect ratio, Used for
-    // interpolation instead of original FoilSim III polynomials.  The
-    // reynolds correction and induced drag low aspect corrections of
-    // FoilSim would then apply (see the end of get_Cd() method).
-    // Tables produced by dmitrynizh 2016.
+    // 1b. compute drag and adjust
+    // old FoilSimIII way was: drag = current_part.cd * q0_EN * area / lconv / lconv;
+    double k_drag = q0_SI * current_part.area * eff_area_k;
+    current_part.drag = current_part.cd * k_drag;
+    current_part.drag_profile = current_part.cd_profile * k_drag;
+    // mainly induced drag
+    current_part.drag_aux = current_part.cd_aux * k_drag;
 
-    // Name = NACA 0005
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.034  0.41708 0.007   1.000   0.004   1.000   0.016   -0.082  0.208   0.467
-    // -24.0    -0.052  0.31201 0.007   1.000   0.003   1.000   0.016   -0.167  0.214   0.377
-    // -20.0    -0.086  0.22381 0.006   1.000   0.003   1.000   0.013   -0.386  0.227   0.314
-    // -16.0    -0.156  0.23465 0.004   1.000   0.002   1.000   0.009   -0.667  0.238   0.277
-    // -12.0    -0.302  0.12617 0.003   1.000   0.002   1.000   0.006   -2.396  0.242   0.260
-    // -8.0     -0.489  0.06937 0.002   1.000   0.001   1.000   0.003   -7.043  0.212   0.254
-    // -4.0     -0.353  0.03531 0.001   0.990   0.005   1.000   0.008   -9.988  0.254   0.253
-    // -0.0     -0.000  0.00661 -0.000  0.909   0.909   1.000   0.999   -0.000  0.253   0.250
-    // 4.0      0.353   0.03531 -0.001  0.005   0.990   0.008   0.998   9.988   0.254   0.253
-    // 8.0      0.489   0.06937 -0.002  0.001   0.998   0.003   0.998   7.043   0.212   0.254
-    // 12.0     0.302   0.12617 -0.003  0.002   0.998   0.006   0.998   2.396   0.242   0.260
-    // 16.0     0.156   0.23465 -0.004  0.002   0.998   0.009   0.999   0.667   0.238   0.277
-    // 20.0     0.086   0.22381 -0.006  0.003   0.998   0.013   0.999   0.386   0.227   0.314
-    // 24.0     0.052   0.31201 -0.007  0.003   0.998   0.016   0.999   0.167   0.214   0.377
-    // 28.0     0.034   0.41708 -0.007  0.004   0.998   0.016   0.998   0.082   0.208   0.467
+    // more ajusments...
 
-    double[] t_lift_NACA4_0005 = {-0.034, -0.052, -0.086, -0.156, -0.302, -0.489, -0.353, -0.000, 0.353 , 0.489 , 0.302 , 0.156 , 0.086 , 0.052 , 0.034     };
+    double thickness_0to1 = current_part.thickness * 0.01;
+    double thickness_m = thickness_0to1 * current_part.chord;
+ 
+    // Hoerner junction drag, see the formula in [Moth Full Scale Measurements]. we produce
+    // this for every part.  note the contribution is somewhat small
+    // and with spray drag can be omitted in principle.
+    double CDt = 17*thickness_0to1*thickness_0to1 -.05;
+    if (CDt > 0) {
+      double JD = CDt * q0_SI * thickness_m * thickness_m;
+      if (current_part != null) current_part.drag_junc = JD;
+    } else
+      if (current_part != null) current_part.drag_junc = 0;
 
+    if (current_part == strut) {
+      // wave and spray. See [Moth Full Scale Measurements],  Page 8 where 
+      // Cdws = Rt / (0.5 * prho * v^2 * t^2) = 0.24 on average at 20fps = 6.096 m/s. 
+      // knowing that average t for struts is 0.1, we have 
+      // Rt = (* 0.24 (* 0.5 1027 6.096 6.096 0.012 0.012)) 0.6594837494169601 N
+      // note experimental data has 0.3 on avarage, so it is used below..
+      // note also that from anorher source, Cds = Cf * (7.68 - 6.4(t/c)) for vertical struts
+      // example: (* 0.02 (- 7.68 (* 6.4 (/ 0.1 0.1))b)) -> 0.025
+      // hwo to use it? ad Cd additive?
+      double wave_spray = 0.3 * q0_SI * thickness_m * thickness_m;
+      current_part.drag += wave_spray;
+      current_part.drag_spray = wave_spray;
+    }
+  }
+  
+  // output routine
+  // currently it has two disinct parts:
+  // 1. compute forces
+  // 2. load dashboard panel
+  public void forces_totals_maybe_panels () { 
+    // part 1 Forces.
+    cp_computeForces();
+    // part 2. totals
+    updateTotals();
+    // part 3. maybe update GUI
+    if (can_do_gui_updates) {
+      out_top.load_selected_tab_panel();
+      out_bottom.load_selected_tab_panel();
+    }
 
-    double[] t_drag_NACA4_0005 = {0.41708, 0.31201, 0.22381, 0.23465, 0.12617, 0.06937, 0.03531, 0.00661, 0.03531, 0.06937, 0.12617, 0.23465, 0.22381, 0.31201, 0.41708};
+    // moved to DashBoard.loadPanel
+    //if (can_do_gui_updates) {
+    //  // lift force
+    //  dash.outlft_setText(make_force_info_in_display_units(current_part.lift, true));
+    //  // drag force
+    //  dash.outDrag_setText(make_force_info_in_display_units(current_part.drag, true));
+    //  
+    //  String out_aux_text  = "";
+    //  switch (out_aux_idx) {
+    //  case 0: out_aux_text = pprint(filter1(Math.abs(current_part.cl/current_part.cd))); break; // L/D
+    //  case 1: out_aux_text = pprint(filter3(current_part.cl)); break;
+    //  case 2: out_aux_text = pprint(filter3(current_part.cd)); break;
+    //  case 3: out_aux_text = pprint(filter0(current_part.reynolds)); break;
+    //  }
+    //  dash.out_aux_setText(out_aux_text);
+    //  
+    //  //dash.outReynolds_setText(pprint(filter0(current_part.reynolds)));
+    //  
+    //  // TODO: maybe minimize re-update more? This can be placed in
+    //  // spots that directly afftect the data (parts geom, VPP targets etc)
+    //  
+    //  out_bottom.perfweb.updateReport(); 
+    //}
+    //
+    //
+    //// need it here? if (current_part != null) current_part.save_state();
+    //// moving this to recomp_all_parts!!!!
+    //// updateTotals();
+    //
+    ////track_current_part.cl_changes();
+    //
+    //if (recomp_all_parts_reentry_count == 0 ) 
+    //  // save time doing incremental updates. 
+    //  updateTotals();
+  }
 
-    double[] t_mmnt_NACA4_0005 = {0.007, 0.007, 0.006, 0.004, 0.003, 0.002, 0.001, -0.000, -0.001, -0.002, -0.003, -0.004, -0.006, -0.007, -0.007};
+  public void loadProbe () {   // probe output routine
 
-    // Name = NACA 5405
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.025  0.37907 -0.047  0.970   0.005   0.984   0.018   -0.066  0.271   -1.640
-    // -24.0    -0.036  0.28615 -0.047  0.966   0.004   0.985   0.017   -0.126  0.312   -1.054
-    // -20.0    -0.055  0.20679 -0.045  0.962   0.004   0.985   0.013   -0.264  0.309   -0.578
-    // -16.0    -0.087  0.21957 -0.044  0.951   0.003   0.988   0.010   -0.398  0.299   -0.251
-    // -12.0    -0.138  0.12871 -0.041  0.930   0.003   0.994   0.007   -1.072  0.354   -0.048
-    // -8.0     -0.141  0.06818 -0.038  0.886   0.002   1.000   0.004   -2.070  0.256   -0.021
-    // -4.0     0.113   0.03873 -0.043  0.807   0.004   1.000   0.006   2.924   0.363   0.628
-    // -0.0     0.602   0.00810 -0.122  0.660   0.998   1.000   0.998   74.366  0.340   0.452
-    // 4.0      1.039   0.01528 -0.126  0.006   0.998   1.000   0.998   67.990  -0.015  0.371
-    // 8.0      0.924   0.06111 -0.037  0.001   0.999   0.002   0.999   15.128  0.411   0.290
-    // 12.0     0.531   0.11562 -0.045  0.001   0.998   0.004   0.998   4.597   0.229   0.334
-    // 16.0     0.250   0.21581 -0.051  0.001   0.998   0.006   0.999   1.158   0.217   0.453
-    // 20.0     0.127   0.22715 -0.058  0.001   0.999   0.010   0.999   0.560   0.180   0.704
-    // 24.0     0.072   0.31187 -0.063  0.002   0.999   0.014   0.999   0.232   0.149   1.126
-    // 28.0     0.045   0.42785 -0.066  0.003   0.998   0.015   0.998   0.105   0.148   1.718
+    pbval = 0.0;
+    if (pboflag == 1) pbval = vel * velocity;           // velocity
+    if (pboflag == 2) pbval = ((ps0 + pres * q0_EN)/2116.) * pconv; // pressure
+ 
+    if (out_bottom.probe != null) // made when its tab is first shown
+      out_bottom.probe.r.l2.repaint();
+    return;
+  }
 
-    double[] t_lift_NACA4_0505 = {-0.025, -0.036, -0.055, -0.087, -0.138, -0.141, 0.113 , 0.602 , 1.039 , 0.924 , 0.531 , 0.250 , 0.127 , 0.072 , 0.045     };
+  // Darg of all components, including aerodynamic drag
+  double total_drag () { 
+    
+    if (ignore_air_resistance) 
+      board.drag = rider.drag = 0; // board still can have an adiitional hydro drag - see below
+    else {
 
+      // Notes about aerodynamic drag. Previously it was not accaunted for -
+      // it was so because a portion of sail/kite forward drive compensates
+      // it, so why bother. Calculating it is very easy though. Most of the
+      // aerodynamic drag comes from rider's body and a very small additional
+      // component is board drag.  from various experimental studies such as
+      // https://university2.taylors.edu.my/EURECA/2014/downloads/02.pdf it
+      // can be seen that Rider's Cd is around 1.08 and the area perpendicular
+      // to the wind is ~ 0.6m^2 for frontal riding and a bit less (0.5?)for
+      // board rider stance. This is for average 75kg average height
+      // person. (/ (* 75 1.1) 18) (* 1.8 0.3 0.2) (* 1.8 0.3) = 0.54m2 For
+      // the board, Cd is likely in the vicinity of 0.2-0.3.  Note that this
+      // will give board profile drag only. TODO: calculate board aero lift
+      // and induced drag.
+      //
+      double aero_q0 = .5 * 1.225 /*aero rho*/ * velocity * velocity * 0.277778 * 0.277778; // velocity from kmh to m/s
+      // aero drag is  0.5 ro Cd A v^2 or aero_q0 Cd A
+    
+      // rider  (* 0.5 1.225 1.08 0.5 5.5 5.5)  = 10. N
+      rider.drag = aero_q0 * 1.08 * (0.5 * rider.weight / 750);
+      // board (* 0.5 1.225 1.08 0.1 0.6 5.5 5.5) = 1.2 N
+      board.drag = aero_q0 * 0.25 * (BOARD_THICKNESS * BOARD_LENGTH / 3);
+    }
 
-    double[] t_drag_NACA4_0505 = { 0.37907, 0.28615, 0.20679, 0.21957, 0.12871, 0.06818, 0.03873, 0.00810, 0.01528, 0.06111, 0.11562, 0.21581, 0.22715, 0.31187, 0.42785};
+    if (alt_val <= 0) // not flying
+    {
+      // This is based on [Moth Full Scale Measurements]. page 3.
+      // At low speeds, board drags as classic displacing hull, then
+      // at ~ 6-8 kmh the foil lift starts to contribute significantly, reducing drag
+      // and after 10-11 kmh it goes down to zero fast.
+      // 
+      // TODO compute drag for (load-lift). why: the approach below
+      // works oK, does not use the lift, though...  one idea of using
+      // lift is to define 180 or 240lb Moth drag as "baseline", and
+      // apprximate it as linear at 15lb per 10kmh slope and flat
+      // after reaching, say 25-30 or so, and indicating planing.
+      // Subtract from this wing lift.
+      //
+      double board_drag_lbs_for_240lbs = 0; 
+      if (velocity <= 6) board_drag_lbs_for_240lbs = velocity/2;
+      else if (velocity <= 8) board_drag_lbs_for_240lbs = 3 + (velocity-6)*1.5;
+      else if (velocity <= 10) board_drag_lbs_for_240lbs = 6 + (velocity-8)*0.5; // foil starts offloading a lot
+      else board_drag_lbs_for_240lbs = Math.max(0, 7 - Math.pow(velocity-10, 2)*0.5); // takeoff
+      double in_newtons = 4.448222 
+        * 3 // boards drag more than moth hull due to much lower Froude number 
+        * board_drag_lbs_for_240lbs 
+        * (load/1067);
+      // System.out.println("-- in_newtons: " + in_newtons);
+      board.drag += in_newtons;
+    }
+    return rider.drag + board.drag +
+      wing.drag + stab.drag + fuse.drag + strut.drag +
+      wing.drag_junc + stab.drag_junc + fuse.drag_junc + strut.drag_junc + strut.drag_spray;
+  }
+ 
+  // total *vertical* foil lift (excludes 'lift' of the strut/mast and the
+  // board lift).  when the craft is flying in equilibrium, foil_lift() ==
+  // load. otherwise it si assumed that board's lift compensates the
+  // difference.
+  double foil_lift () {
+    return wing.lift + stab.lift + fuse.lift;
+  }
 
-    double[] t_mmnt_NACA4_0505 = {-0.047, -0.047, -0.045, -0.044, -0.041, -0.038, -0.043, -0.122, -0.126, -0.037, -0.045, -0.051, -0.058, -0.063, -0.066 };
+  // On why CCW in classic literature is negative: From Abbott, Von Doenhoff (1959), Theory of Wing
+  // Sections: "The pitching moment is, by convention, considered to
+  // be positive when it acts to pitch the airfoil in the nose-up
+  // direction. Conventional cambered airfoils supported at the
+  // aerodynamic center pitch nose-down so the pitching moment
+  // coefficient of these airfoils is negative.[4]." ... and the
+  // results in a counter-clockwise rotation of the airfoil (from
+  // https://www.grc.nasa.gov/www/k-12/airplane/ac.html), so CCW is
+  // NEGATIVE, CW is POSITIVE.
+  //
+  // to find combing CG pos, call it as find_cg_xpos(total_load_minus_foil_wt, ..... 0)
+  //
+  // to find rider body CG pos, call it as find_cg_xpos(rider.weight, ..... board_and_rig_moments)
+  // 
+  static final double AC_OFFSET_K = 0.25; // 25% of the chord from the LE
 
-    // Name = NACA 10405
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.018  0.36031 -0.096  0.933   0.005   0.968   0.019   -0.049  0.741   -5.123
-    // -24.0    -0.024  0.26584 -0.093  0.918   0.005   0.972   0.016   -0.089  0.629   -3.672
-    // -20.0    -0.032  0.37840 -0.091  0.900   0.004   0.976   0.014   -0.084  0.569   -2.609
-    // -16.0    -0.039  0.21784 -0.088  0.872   0.004   0.979   0.011   -0.181  -1.092  -1.976
-    // -12.0    -0.027  0.12650 -0.085  0.827   0.002   0.984   0.008   -0.215  0.190   -2.856
-    // -8.0     0.111   0.06993 -0.079  0.765   0.002   0.989   0.005   1.593   0.236   0.958
-    // -4.0     0.538   0.04199 -0.076  0.680   0.002   0.996   0.004   12.820  0.400   0.392
-    // -0.0     1.188   0.01390 -0.241  0.442   0.012   1.000   1.000   85.498  0.407   0.453
-    // 4.0      1.623   0.02178 -0.247  0.008   0.999   0.965   0.999   74.544  -0.534  0.402
-    // 8.0      1.402   0.05662 -0.074  0.001   0.998   0.002   0.998   24.755  0.458   0.303
-    // 12.0     0.812   0.10739 -0.078  0.000   0.998   0.002   0.998   7.561   0.232   0.346
-    // 16.0     0.363   0.19528 -0.093  0.001   0.998   0.004   0.998   1.860   0.208   0.505
-    // 20.0     0.175   0.34912 -0.104  0.001   0.998   0.007   0.998   0.500   0.156   0.848
-    // 24.0     0.095   0.30416 -0.118  0.001   0.998   0.011   0.999   0.312   0.066   1.494
-    // 28.0     0.057   0.42323 -0.126  0.002   0.998   0.013   0.999   0.135   0.035   2.463
+  // Balancer.
+  //
+  // By placing the CG of the rider at x offset returned by find_cg_xpos and
+  // taken from the point of intersection of strut LE and the fuse, the
+  // craft can be balanced; "fore" is -, "aft" is +. It is assumed that if
+  // the board is up in the air, its pitch has been already selected so that
+  // lift == load, in other words, the board is in equilibrium wrt
+  // forces. Placing CG properly adds equilibrium of moments.  Unlike most
+  // airplanes, foilboard craft is inherently unstable and balance won't
+  // remain in effect unless the rider controls the flight. However, the
+  // rider feels and appretiates a foil with pitch stability (such as one
+  // having a decalage).
+  //
+  //
+  // Balancing is achieved with use of moments relative to a reference point
+  // aka Reference Frame Origin, RFO. RFO location is abitrary. Here it is
+  // assumed RFO is the bottom LE point of the mast - where it intersects
+  // with the fuse.
+  double find_cg_xpos () { // vertical ref point is fuse level (at ref_point_xpos)
+    double lift = foil_lift();
+    double drag = total_drag();
 
-    double[] t_lift_NACA4_1005 = {-0.018, -0.024, -0.032, -0.039, -0.027, 0.111 , 0.538 , 1.188 , 1.623 , 1.402 , 0.812 , 0.363 , 0.175 , 0.095 , 0.057     };
+    double driving_force = drag; // drag equals driving force  - steady equilibrium condition
 
-    double[] t_drag_NACA4_1005 = { 0.36031, 0.26584, 0.37840, 0.21784, 0.12650, 0.06993, 0.04199, 0.01390, 0.02178, 0.05662, 0.10739, 0.19528, 0.34912, 0.30416, 0.42323};
+    // driving_arm for rider tranferring the force to the board is subtle:
+    // When the riders transfers the driving force from hands/harness into
+    // the board, the derived vertical driving arm is at the board deck
+    // height. the rider applies the weight there also at certain
+    // location. when drive is not through rider's body, then the arm is
+    // that plus DRIVING_FORCE_HEIGHT
+    double pitch_rad = Math.toRadians(craft_pitch);
+    // driving_arm is pitch-corrected vertical distance from the origin. To
+    // recap, the origin is chosen, arbitrarily, to be at the top of mast LE.
+    double rider_eff_cg_pos_arm = (Math.cos(pitch_rad)*(strut.span + BOARD_THICKNESS) +  
+                                   -cg_pos * // remember that the 'fore' direction is negative and this 'extends the arm'
+                                   Math.sin(pitch_rad) );
+    double driving_arm = 
+      craft_type != EFOIL 
+      ? rider_eff_cg_pos_arm
+      : (Math.cos(pitch_rad)*DRIVING_FORCE_HEIGHT);
+    double rider_air_resistance_arm = rider_eff_cg_pos_arm + RIDER_CG_HEIGHT;
 
-    double[] t_mmnt_NACA4_1005 = {-0.096, -0.093, -0.091, -0.088, -0.085, -0.079, -0.076, -0.241, -0.247, -0.074, -0.078, -0.093, -0.104, -0.118, -0.126 };
+    // strut_drag_arm
+    double strut_drag_arm =  // TODO angle correction
+      (1- alt_val/100) * strut.span * // this is the length of water immersed section fo the strut.
+      0.5; // drag center is at the center of the immersed section
 
-    // Name = NACA 15405
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.012  0.32283 -0.134  0.887   0.006   0.962   0.019   -0.039  1.795   -10.522
-    // -24.0    -0.015  0.24936 -0.131  0.864   0.005   0.965   0.016   -0.058  3.235   -8.773
-    // -20.0    -0.015  0.31099 -0.128  0.834   0.005   0.968   0.013   -0.047  -0.436  -8.445
-    // -16.0    -0.005  0.19555 -0.124  0.794   0.004   0.971   0.010   -0.024  0.175   -26.339
-    // -12.0    0.052   0.12269 -0.123  0.742   0.003   0.974   0.008   0.425   0.229   2.600
-    // -8.0     0.302   0.07011 -0.118  0.680   0.002   0.974   0.006   4.305   0.229   0.641
-    // -4.0     0.914   0.04890 -0.104  0.596   0.001   0.970   0.003   18.695  0.276   0.364
-    // -0.0     1.398   0.04196 -0.147  0.423   0.009   0.956   0.013   33.316  0.458   0.355
-    // 4.0      2.153   0.02201 -0.362  0.402   0.117   0.934   1.000   97.804  0.152   0.418
-    // 8.0      1.874   0.05406 -0.100  0.000   0.998   0.001   0.998   34.664  0.502   0.303
-    // 12.0     1.117   0.09799 -0.101  0.000   0.998   0.001   0.998   11.399  0.232   0.340
-    // 16.0     0.488   0.16991 -0.126  0.000   0.998   0.003   0.998   2.874   0.203   0.507
-    // 20.0     0.226   0.29952 -0.143  0.000   0.998   0.004   0.998   0.755   0.147   0.882
-    // 24.0     0.119   0.29247 -0.164  0.000   0.998   0.007   0.998   0.406   -0.018  1.629
-    // 28.0     0.070   0.38894 -0.185  0.000   0.998   0.012   0.998   0.179   -0.179  2.909
-    double[] t_lift_NACA4_1505 = {-0.012, -0.015, -0.015, -0.005, 0.052 , 0.302 , 0.914 , 1.398 , 2.153 , 1.874 , 1.117 , 0.488 , 0.226 , 0.119 , 0.070     };
+    // the moments caused by the drag of the wings and the fuse (but not the
+    // strut) can be for now ignored thanks to the ref point chosen; more
+    // accurate calc shoud include (a) craft AoA and (b) Z offsetts to calc
+    // that.  double wing_drag_moment = 0, stab_drag_moment = 0,
+    // fuse_drag_moment = 0;
+    
+    // board weight arm is board weight location length minus mast LE to transom
+    // TODO angle correction    
+    double board_arm = // tangential arm at 90 degrees to gravity
+      BOARD_CG_K * BOARD_LENGTH - MAST_LE_TO_TRANSOM;
 
-    double[] t_drag_NACA4_1505 = { 0.32283, 0.24936, 0.31099, 0.19555, 0.12269, 0.07011, 0.04890, 0.04196, 0.02201, 0.05406, 0.09799, 0.16991, 0.29952, 0.29247, 0.38894};
+    double rig_arm = WS_MASTBASE_MAST_LE/2; // approx // TODO angle correction
 
-    double[] t_mmnt_NACA4_1505 = {-0.134, -0.131, -0.128, -0.124, -0.123, -0.118, -0.104, -0.147, -0.362, -0.100, -0.101, -0.126, -0.143, -0.164, -0.185};
-    // Name = NACA 20405
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.008  0.57582 -0.160  0.842   0.006   0.959   0.016   -0.014  -4.904  -19.221
-    // -24.0    -0.007  0.40338 -0.154  0.808   0.006   0.961   0.012   -0.018  -0.403  -21.406
-    // -20.0    -0.001  0.26903 -0.155  0.769   0.005   0.962   0.011   -0.003  0.299   0.250
-    // -16.0    0.024   0.17489 -0.156  0.726   0.004   0.961   0.010   0.139   0.245   6.654
-    // -12.0    0.119   0.11192 -0.154  0.676   0.003   0.957   0.008   1.068   0.241   1.540
-    // -8.0     0.468   0.07128 -0.152  0.618   0.002   0.949   0.006   6.571   0.232   0.574
-    // -4.0     1.259   0.05833 -0.134  0.438   0.001   0.935   0.003   21.578  0.274   0.357
-    // -0.0     1.803   0.04912 -0.184  0.417   0.008   0.913   0.011   36.714  0.330   0.352
-    // 4.0      2.145   0.03163 -0.205  0.015   0.998   0.014   0.998   67.810  0.031   0.346
-    // 8.0      2.320   0.05230 -0.071  0.000   0.188   0.000   0.999   44.360  0.385   0.280
-    // 12.0     1.427   0.09462 -0.108  0.000   0.998   0.000   0.998   15.077  0.201   0.326
-    // 16.0     0.621   0.15797 -0.154  0.000   0.998   0.002   0.998   3.932   0.189   0.498
-    // 20.0     0.282   0.25769 -0.178  0.000   0.998   0.003   0.998   1.094   0.156   0.881
-    // 24.0     0.145   0.40268 -0.199  0.000   0.998   0.004   0.998   0.360   0.007   1.620
-    // 28.0     0.083   0.37534 -0.226  0.000   0.998   0.007   0.998   0.222   -0.194  2.963
+    // drive_moment: for kite or sail it is always CCW (we look from the
+    // left side). for EFOIL driving_arm is a negative value, so effectively
+    // drive_moment becomes CW-rotating, and as the result would cause more
+    // pronounced displacementof the driver body forward as the speed
+    // increses, augmented by the wind drag on the body.
+    double  drive_moment = 
+      ignore_drive_moment ? 0 : driving_force * driving_arm;
+    double rider_air_resistance_moment = rider_air_resistance_arm * rider.drag;
+    double board_drag_moment = (rider_eff_cg_pos_arm  - BOARD_THICKNESS/2) // aprrox
+      * board.drag;
 
-    double[] t_lift_NACA4_2005 = {-0.008, -0.007, -0.001, 0.024 , 0.119 , 0.468 , 1.259 , 1.803 , 2.145 , 2.320 , 1.427 , 0.621 , 0.282 , 0.145 , 0.083     };
+    double strut_drag_moment = ignore_drag_moments ? 0 : strut.drag * strut_drag_arm;
+    double board_vert_moment = BOARD_WEIGHT * board_arm;
+    double rig_moment   = RIG_WEIGHT * rig_arm;
+    double foils_Cm_moments =  // all same sign because all rotate 'in plane'
+      convert_moments_to_AC_offset 
+      ? 0
+      : (wing.moment +
+         stab.moment + 
+         fuse.moment);
 
-    double[] t_drag_NACA4_2005 = {0.57582, 0.40338, 0.26903, 0.17489, 0.11192, 0.07128, 0.05833, 0.04912, 0.03163, 0.05230, 0.09462, 0.15797, 0.25769, 0.40268, 0.37534};
+    // Suppose rider_moment is +CW, it is with the arm towards the transom from mast bottom LE.
+    // rider_moment + CW_moments = CCW_moments ==>
+    // rider_arm = (CCW_moments - CW_moments) / load
+    // where load is not rider's weigth but the load value (from the load slider)
+    //
+    // 
+    double load = FoilBoard.this.load; 
 
+    // non-flying motion
+    boolean non_flying = load > lift;
 
-    double[] t_mmnt_NACA4_2005 = {-0.160, -0.154, -0.155, -0.156, -0.154, -0.152, -0.134, -0.184, -0.205, -0.071, -0.108, -0.154, -0.178, -0.199, -0.226};
+    if (non_flying) { 
+      // load = lift; // Ok idea but not ideal
+      // here is better idea: when non_flying, the board provides the remaining lift
+      double board_lift_arm = // tangential arm at 90 degrees to gravity
+      BOARD_HYDRO_LIFT_LOC * BOARD_LENGTH - MAST_LE_TO_TRANSOM;
+      
+      board_vert_moment = (BOARD_WEIGHT - (load - lift)) * board_lift_arm;
+    }
 
-    // Name = NACA 0010
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.312  0.58589 0.011   1.000   0.002   1.000   0.010   -0.532  0.239   0.286
-    // -24.0    -0.442  0.39243 0.010   1.000   0.002   1.000   0.009   -1.126  0.239   0.272
-    // -20.0    -0.626  0.24464 0.008   1.000   0.003   1.000   0.006   -2.561  0.242   0.262
-    // -16.0    -0.831  0.15129 0.007   1.000   0.004   1.000   0.007   -5.494  0.241   0.258
-    // -12.0    -0.877  0.09026 0.005   0.980   0.005   1.000   0.010   -9.720  0.313   0.256
-    // -8.0     -0.873  0.01804 0.009   0.953   0.007   1.000   0.972   -48.387 0.252   0.261
-    // -4.0     -0.470  0.01248 0.005   0.887   0.157   1.000   0.999   -37.657 0.261   0.260
-    // -0.0     0.000   0.00939 -0.000  0.683   0.683   1.000   0.999   0.000   0.260   0.250
-    // 4.0      0.470   0.01243 -0.005  0.157   0.887   1.000   0.999   37.800  0.261   0.260
-    // 8.0      0.873   0.01805 -0.009  0.007   0.953   0.971   0.999   48.340  0.252   0.261
-    // 12.0     0.877   0.09026 -0.005  0.005   0.980   0.010   0.998   9.720   0.313   0.256
-    // 16.0     0.831   0.15130 -0.007  0.004   0.998   0.007   0.998   5.494   0.241   0.258
-    // 20.0     0.626   0.24464 -0.008  0.003   0.998   0.006   0.998   2.561   0.242   0.262
-    // 24.0     0.442   0.39243 -0.010  0.002   0.998   0.009   0.999   1.126   0.239   0.272
-    // 28.0     0.312   0.58589 -0.011  0.002   0.998   0.010   0.999   0.532   0.239   0.286
+    // this was named mast_le_xpos when ref point was mast le, which is strut.xpos.
+    double ref_point_xpos = strut.xpos; 
+    
+    double CW_moments = // +CW ClockWise rotation 
+      (ignore_aux_weight_moments ? 0 : board.drag * (strut.span + BOARD_THICKNESS/2)) +
+      rider.drag * (strut.span + BOARD_THICKNESS + RIDER_CG_HEIGHT) + // aprox center of body aero drag
+      strut_drag_moment + 
+      foils_Cm_moments + // any positive Cm pitches nose up therefore CW in this 'view'
+      wing.lift *  - (wing.xpos + wing.chord_xoffs 
+                      + wing.compute_lift_pos()
+                      - ref_point_xpos) + // TODO angle correction
+      fuse.lift *  - (/*fuse.xpos is 0*/ + fuse.compute_lift_pos() - ref_point_xpos); // TODO angle correction
 
-    double[] t_lift_NACA4_0010 = {-0.312, -0.442, -0.626, -0.831, -0.877, -0.873, -0.470, 0.000 , 0.470 , 0.873 , 0.877 , 0.831 , 0.626 , 0.442 , 0.312     };
+    double CCW_moments  = // CCW means CounterClockWise rotation, it is -CW
+      drive_moment +
+      stab.lift * (stab.xpos + stab.chord_xoffs + stab.compute_lift_pos() - ref_point_xpos) + // TODO angle correction
+      (ignore_aux_weight_moments 
+       || non_flying // this help to keep the rider over the board and not behind when drive is very light
+       ? 0 
+       : board_vert_moment + rig_moment);
 
+    // if we decide to include prorated rider-mast calcs here 
+    // load = load*(1-load_distribution_to_mast_loc)
+    //
+    // what is rider_arm?? this is the horisontal offset in space from the
+    // reference point, which is where mast LE meets fuse, where the rider
+    // shoudl apply teh gravity weight.  this (a) does not translate to
+    // where mast LE meets the board because soem masts are not
+    // perpendicular (b) even for perpendicular mast/board, this is different at board level unless AoA is zero. 
+    double rider_arm = (CCW_moments - CW_moments) / load;
 
-    double[] t_drag_NACA4_0010 = {0.58589, 0.39243, 0.24464, 0.15129, 0.09026, 0.01804, 0.01248, 0.00939, 0.01243, 0.01805, 0.09026, 0.15130, 0.24464, 0.39243, 0.58589};
+    // March 2021: warning: I forgot what it is and how non_flying affects this.
+    // note that as of now, it is not used in simulation... 
+    cg_pos_of_rider_at_drive_height = ((CCW_moments + driving_force*DRIVING_FORCE_HEIGHT) // adjust for drive height
+                                           - CW_moments) / load;
 
-    double[] t_mmnt_NACA4_0010 = {0.011, 0.010, 0.008, 0.007, 0.005, 0.009, 0.005, -0.000, -0.005, -0.009, -0.005, -0.007, -0.008, -0.010, -0.011};
+    return rider_arm;
+      
+  }
 
-    // Name = NACA 5410
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.225  0.57593 -0.043  0.968   0.002   0.988   0.012   -0.391  0.269   0.060
-    // -24.0    -0.302  0.43337 -0.041  0.961   0.002   0.986   0.010   -0.698  0.256   0.113
-    // -20.0    -0.403  0.26078 -0.042  0.945   0.003   0.988   0.010   -1.544  0.251   0.146
-    // -16.0    -0.493  0.16004 -0.041  0.922   0.005   1.000   0.008   -3.079  0.216   0.166
-    // -12.0    -0.469  0.09461 -0.044  0.882   0.006   1.000   0.010   -4.962  0.280   0.156
-    // -8.0     -0.230  0.05678 -0.049  0.818   0.007   1.000   0.015   -4.045  0.369   0.036
-    // -4.0     0.159   0.01223 -0.119  0.716   0.019   1.000   0.999   12.979  0.337   1.000
-    // -0.0     0.635   0.01243 -0.124  0.507   0.234   1.000   0.999   51.108  0.262   0.446
-    // 4.0      1.103   0.01368 -0.130  0.382   0.998   1.000   0.998   80.657  0.262   0.368
-    // 8.0      1.474   0.02429 -0.135  0.012   0.998   0.928   0.998   60.678  -0.045  0.341
-    // 12.0     1.325   0.08785 -0.065  0.003   0.999   0.019   0.999   15.084  0.552   0.299
-    // 16.0     1.202   0.14406 -0.053  0.002   0.998   0.005   0.998   8.346   0.277   0.294
-    // 20.0     0.891   0.23484 -0.053  0.002   0.998   0.004   0.998   3.793   0.246   0.310
-    // 24.0     0.603   0.36941 -0.055  0.001   0.999   0.004   0.999   1.632   0.229   0.342
-    // 28.0     0.409   0.55037 -0.063  0.001   0.999   0.007   0.999   0.743   0.209   0.405
+  // just for a test
+  // double find_cg_xpos_aft(double load, double tippng_mom) {
+  //   // Mload + Mwing + Mstab + Mfuse + tippng_mom =  0
+  //   double ref_pt_aft_fuse = 10.0;
+  //   
+  //   return (-tippng_mom +
+  //           wing.lift * (ref_pt_aft_fuse + fuse.chord - 0.3 * wing.chord) +
+  //           stab.lift * (ref_pt_aft_fuse + 0.7 * stab.chord) +
+  //           fuse.lift * (ref_pt_aft_fuse + 0.7 * fuse.chord))
+  //     / load - (ref_pt_aft_fuse + fuse.chord);
+  // }
 
-    double[] t_lift_NACA4_0510 = {-0.225, -0.302, -0.403, -0.493, -0.469, -0.230, 0.159 , 0.635 , 1.103 , 1.474 , 1.325 , 1.202 , 0.891 , 0.603 , 0.409     };
+  /**
+   * Solver has been inherited from FoilSimIII and adjusted to handle
+   * tabulated foils. Much like routines cp_computeFlow,
+   * cp_computeForces Solver operates on current_part only.
+   *
+   * TODO: pass current_part into solver and make it disconnected from
+   * current_part, re-instantiate it when required. This way, calling 
+   *
+   *       solver.getFreeStream();
+   *       solver.getCirculation(effaoa, current_part.thickness, current_part.camber);
+   *
+   * The Solver() constructor should take only 1 parameter: part.
+   *
+   * from various routines no longer will be required. Also,
+   * getCirculation can drop all its parameters and generally become a
+   * part of Solver() Ctor.
+   *
+   * Note: the challenge is in maintaining global FoilSimIII vars.
+   */
+  class Solver {
 
+    // Legacy FoilSimIII varible names!
+    double ycval, xcval, gamval, rval;
+    double lyg,lrg,lthg,lxgt,lygt,lrgt,lthgt;/* MOD 20 Jul */
+    double lxm,lym,lxmt,lymt,vxdir;/* MOD 20 Jul */
 
-    double[] t_drag_NACA4_0510 = {0.57593, 0.43337, 0.26078, 0.16004, 0.09461, 0.05678, 0.01223, 0.01243, 0.01368, 0.02429, 0.08785, 0.14406, 0.23484, 0.36941, 0.55037};
+    // moved to Solver from the top
+    // stall model coeffs cache
+    // K = k0 + k1 *AoA + k2 *AoA*AoA +  k3 *AoA*AoA*AoA.
+    double stall_model_k0, stall_model_k1, stall_model_k2, stall_model_k3;
 
-    double[] t_mmnt_NACA4_0510 = {-0.043, -0.041, -0.042, -0.041, -0.044, -0.049, -0.119, -0.124, -0.130, -0.135, -0.065, -0.053, -0.053, -0.055, -0.063 };
+    Solver () {}
 
-    // Name = NACA10410
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.156  0.55779 -0.092  0.927   0.003   0.978   0.014   -0.280  0.347   -0.342
-    // -24.0    -0.194  0.42638 -0.089  0.909   0.002   0.978   0.011   -0.456  0.364   -0.206
-    // -20.0    -0.231  0.27471 -0.084  0.880   0.002   0.979   0.008   -0.840  0.281   -0.113
-    // -16.0    -0.228  0.17306 -0.088  0.841   0.003   0.982   0.010   -1.317  0.277   -0.134
-    // -12.0    -0.098  0.09841 -0.087  0.785   0.007   0.985   0.009   -1.001  0.266   -0.637
-    // -8.0     0.216   0.05836 -0.095  0.716   0.008   0.984   0.012   3.705   0.291   0.688
-    // -4.0     0.617   0.03798 -0.117  0.616   0.012   0.983   0.030   16.237  0.394   0.440
-    // -0.0     1.250   0.01607 -0.244  0.429   0.051   0.972   0.999   77.811  0.375   0.445
-    // 4.0      1.696   0.01798 -0.252  0.396   0.998   0.950   0.998   94.302  0.269   0.399
-    // 8.0      2.078   0.02261 -0.260  0.357   0.998   0.913   0.999   91.919  0.274   0.375
-    // 12.0     2.136   0.04955 -0.263  0.001   0.998   0.786   0.999   43.120  0.599   0.373
-    // 16.0     1.593   0.13978 -0.091  0.000   0.998   0.003   0.999   11.398  0.433   0.307
-    // 20.0     1.162   0.22691 -0.084  -0.000  0.998   0.002   0.998   5.123   0.253   0.322
-    // 24.0     0.764   0.34279 -0.088  -0.001  0.998   0.002   0.998   2.228   0.219   0.365
-    // 28.0     0.502   0.50645 -0.105  -0.000  0.998   0.004   0.998   0.992   0.186   0.459
+    // aoa_degr: angle of attack in degrees
+    // thickness_pst: typically current_part.thickness
+    // camber_pst   : typically current_part.camber/25
+    Solver (double aoa_degr, double thickness_pst, double camber_pst) { 
+      this.getFreeStream(); // thsi grabs globals such as velocity, height, planet
+      this.getCirculation(aoa_degr, thickness_pst, camber_pst);
+      // solver.compute_foil_geometry(aoa_degr);
+    }
 
-    double[] t_lift_NACA4_1010 = {-0.156, -0.194, -0.231, -0.228, -0.098, 0.216 , 0.617 , 1.250 , 1.696 , 2.078 , 2.136 , 1.593 , 1.162 , 0.764 , 0.502     };
+    public String toString () {
+      return "{Solver xcval: " + xcval + " ycval: " + ycval + " gamval: " + gamval + " rval: " + rval + "}";
+    }
 
-    double[] t_drag_NACA4_1010 = {0.55779, 0.42638, 0.27471, 0.17306, 0.09841, 0.05836, 0.03798, 0.01607, 0.01798, 0.02261, 0.04955, 0.13978, 0.22691, 0.34279, 0.50645};
+    public void setDefaults () {
+      planet = 2;
+      lunits = METRIC;
+      out_aux_idx = 0;
 
-    double[] t_mmnt_NACA4_1010 = {-0.092, -0.089, -0.084, -0.088, -0.087, -0.095, -0.117, -0.244, -0.252, -0.260, -0.263, -0.091, -0.084, -0.088, -0.105};
+      // setFoil(FOIL_JOUKOWSKI);
+      //current_part.thickness/25 = .5;
+      //current_part.thickness = 12.5;                   /* MODS 10 SEP 99 */
+      //current_part.camber/25 = 0.0;
+      //current_part.camber = 0.0;
+      //current_part.aoa = 5.0;
 
-    // Name = NACA 15410
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.104  0.56368 -0.136  0.881   0.003   0.971   0.016   -0.184  0.933   -1.064
-    // -24.0    -0.114  0.38568 -0.129  0.850   0.003   0.973   0.012   -0.296  42.400  -0.882
-    // -20.0    -0.104  0.26987 -0.125  0.812   0.003   0.974   0.010   -0.385  0.119   -0.950
-    // -16.0    -0.027  0.17805 -0.118  0.766   0.003   0.974   0.007   -0.154  0.269   -4.044
-    // -12.0    0.202   0.10790 -0.131  0.713   0.003   0.971   0.010   1.870   0.277   0.897
-    // -8.0     0.620   0.06455 -0.136  0.643   0.008   0.965   0.011   9.606   0.272   0.469
-    // -4.0     1.079   0.04598 -0.150  0.538   0.011   0.955   0.016   23.467  0.367   0.389
-    // -0.0     1.513   0.03854 -0.240  0.419   0.029   0.934   0.141   39.263  0.438   0.409
-    // 4.0      2.235   0.02495 -0.368  0.400   0.123   0.906   0.999   89.592  0.375   0.415
-    // 8.0      2.634   0.03055 -0.380  0.374   0.998   0.868   0.998   86.238  0.291   0.394
-    // 12.0     2.681   0.06598 -0.386  -0.000  0.998   0.759   0.998   40.632  0.680   0.394
-    // 16.0     2.008   0.13522 -0.111  -0.001  0.998   0.001   0.998   14.853  0.490   0.305
-    // 20.0     1.410   0.21574 -0.081  -0.002  0.998   0.000   0.998   6.533   0.268   0.307
-    // 24.0     0.905   0.33285 -0.091  -0.001  0.997   0.000   0.998   2.718   0.209   0.351
-    // 28.0     0.580   0.51209 -0.115  -0.001  0.997   0.001   0.997   1.133   0.176   0.448
+      gamval = 0.0;
+      radius = 1.0;
+      spin = 0.0;
+      spindr = 1.0;
+      rval = 1.0;
+      ycval = 0.0;
+      xcval = 0.0;
+      current_part.cd = 0;
+ 
+      xpval = 2.1;
+      ypval = -.5;
+      pboflag = 0;
+      xflow = -10.0;                             /* MODS  20 Jul 99 */
+
+      pmin = .5;
+      pmax = 1.0;
+      fmax = 100000.;
+      fmaxb = .50;
+      velocity = 20.; // km h
+      vmax = 70.;
 
-    double[] t_lift_NACA4_1510 = {-0.104, -0.114, -0.104, -0.027, 0.202 , 0.620 , 1.079 , 1.513 , 2.235 , 2.634 , 2.681 , 2.008 , 1.410 , 0.905 , 0.580     };
+      alt_val = 70; // 70%
+      altmax = strut.span;
+      // chord = 0.1;
+      //span_old = span = 1;
+      //aspect_rat = 10.0;
+      //arold = area = chord*span;
+      // armax = 2500.01;
+      // armin = .01;                 /* MODS 9 SEP 99 */
+ 
+      xt = 170;  yt = 105; fact = 1500.0;
+      zoom_slider_pos_y = 90;
 
-    double[] t_drag_NACA4_1510 = {0.56368, 0.38568, 0.26987, 0.17805, 0.10790, 0.06455, 0.04598, 0.03854, 0.02495, 0.03055, 0.06598, 0.13522, 0.21574, 0.33285, 0.51209};
+      // current_part.spanfac = (int)(2.0*fact*current_part.aspect_rat*.3535);
+      xt1 = xt + current_part.spanfac;
+      yt1 = yt - current_part.spanfac;
+      xt2 = xt - current_part.spanfac;
+      yt2 = yt + current_part.spanfac;
+ 
+      stall_model_type = STALL_MODEL_DFLT;
+      v_min = 1;     v_max = craft_type == KITEFOIL ? 70 : 50;
+      alt_min = 0.0;    alt_max = 85; // this in %
+      aoa_min = -20.0; aoa_max = 20.0;
+      camber_min = -20.0;  camber_max = 20.0;
+      thickness_min = 1; // in %. do not make it less than 1%, or some Cl,Cd calcs fail, see Solver
+      thickness_max = 20.0; // in %. this is 20%
+      chord_min = .01;  chord_max = 1.4; // why >1: chord is also fuse length.
+      span_min = .01;  span_max = 2.5;
+      ar_min = chord_min*span_min;  ar_max = span_max*chord_max;
+      spin_min = -1500.0;   spin_max = 1500.0;
+      rad_min = .05;   rad_max = 5.0;
 
-    double[] t_mmnt_NACA4_1510 = {-0.136, -0.129, -0.125, -0.118, -0.131, -0.136, -0.150, -0.240, -0.368, -0.380, -0.386, -0.111, -0.081, -0.091, -0.115};
+      load_stall_model_cache(FOIL_JOUKOWSKI);
 
-    // Name = NACA 20410
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.064  0.50315 -0.170  0.830   0.004   0.968   0.016   -0.128  -0.384  -2.397
-    // -24.0    -0.054  0.36072 -0.163  0.794   0.004   0.967   0.013   -0.149  0.050   -2.791
-    // -20.0    -0.008  0.25522 -0.159  0.753   0.003   0.965   0.011   -0.032  0.178   -19.222
-    // -16.0    0.128   0.18811 -0.150  0.707   0.003   0.960   0.007   0.679   0.226   1.426
-    // -12.0    0.448   0.11397 -0.148  0.654   0.002   0.951   0.006   3.933   0.277   0.580
-    // -8.0     0.978   0.06955 -0.174  0.587   0.005   0.940   0.011   14.056  0.284   0.427
-    // -4.0     1.521   0.05437 -0.185  0.436   0.010   0.919   0.013   27.966  0.332   0.371
-    // -0.0     1.903   0.05042 -0.250  0.416   0.018   0.895   0.048   37.747  0.399   0.381
-    // 4.0      2.706   0.03367 -0.361  0.402   0.083   0.865   0.251   80.377  0.459   0.384
-    // 8.0      3.077   0.04065 -0.495  0.384   0.183   0.828   0.999   75.687  0.542   0.411
-    // 12.0     3.202   0.08594 -0.506  -0.001  0.997   0.732   0.997   37.261       0.408
-    // 16.0     2.347   0.13276 -0.600  -0.002  0.998   -0.000  0.998   17.682        
-    // 20.0     1.618   0.21740 -0.600  -0.002  0.998   -0.001  0.998   7.441         
-    // 24.0     1.018   0.32675 -0.600  -0.001  0.998   -0.001  0.998   3.114         
-    // 28.0     0.640   0.47934 -0.600  -0.001  0.998   -0.002  0.998   1.336         
-    
-    double[] t_lift_NACA4_2010 = {-0.064, -0.054, -0.008, 0.128 , 0.448 , 0.978 , 1.521 , 1.903 , 2.706 , 3.077 , 3.202 , 2.347 , 1.618 , 1.018 , 0.640     };
+      return;
+    }
 
-    double[] t_drag_NACA4_2010 = {0.50315, 0.36072, 0.25522, 0.18811, 0.11397, 0.06955, 0.05437, 0.05042, 0.03367, 0.04065, 0.08594, 0.13276, 0.21740, 0.32675, 0.47934};
+    void load_stall_model_cache (Foil foil) {
+      if (current_part.foil == FOIL_NACA4) {
+        // these k0,k1,k2 align with the ideal aoa line at +- 5 degrees
+        // see foilsim-airfoil-stall-correction.xlsx
+        // stall_model_k0 = 0.83;
+        // stall_model_k1 = 0.06;
+        // stall_model_k2 = -0.0052;         
+        // stall_model_apos = 5;
+        // stall_model_aneg = -5;
 
-    double[] t_mmnt_NACA4_2010 = {-0.170, -0.163, -0.159, -0.150, -0.148, -0.174, -0.185, -0.250, -0.361, -0.495, -0.506, -0.600, -0.600, -0.600, -0.600}    ;
+        // these k0,k1,k2 align with the ideal aoa line at +- 9 degrees
+        // see foilsim-airfoil-stall-correction.xlsx
+        stall_model_k0 = 0.8812;
+        stall_model_k1 = 0.06;
+        stall_model_k2 = -0.0052;         
+        stall_model_apos = 9;
+        stall_model_aneg = -9;
 
-    // Name = NACA 0015
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.909  0.37476 0.021   1.000   0.005   1.000   0.024   -2.425  0.248   0.273
-    // -24.0    -1.075  0.27558 0.020   1.000   0.006   1.000   0.038   -3.902  0.245   0.269
-    // -20.0    -1.207  0.18765 0.019   0.978   0.007   1.000   0.057   -6.432  0.240   0.266
-    // -16.0    -1.247  0.11477 0.019   0.961   0.011   1.000   0.135   -10.862 0.271   0.265
-    // -12.0    -1.230  0.03657 0.020   0.935   0.017   1.000   0.641   -33.619 0.264   0.266
-    // -8.0     -0.942  0.01998 0.014   0.879   0.038   1.000   0.938   -47.139 0.267   0.265
-    // -4.0     -0.490  0.01435 0.007   0.758   0.231   1.000   0.998   -34.131 0.265   0.265
-    // -0.0     0.000   0.01263 -0.000  0.504   0.504   1.000   0.998   0.000   0.265   0.250
-    // 4.0      0.490   0.01434 -0.007  0.231   0.757   1.000   0.999   34.175  0.265   0.265
-    // 8.0      0.942   0.01998 -0.014  0.038   0.879   0.938   0.999   47.133  0.267   0.265
-    // 12.0     1.230   0.03657 -0.020  0.017   0.935   0.641   0.998   33.620  0.264   0.266
-    // 16.0     1.247   0.11477 -0.019  0.011   0.961   0.135   0.999   10.862  0.271   0.265
-    // 20.0     1.207   0.18765 -0.019  0.007   0.978   0.057   0.999   6.432   0.240   0.266
-    // 24.0     1.075   0.27559 -0.020  0.006   0.990   0.038   0.999   3.902   0.245   0.269
-    // 28.0     0.909   0.37476 -0.021  0.005   0.998   0.024   0.999   2.425   0.248   0.273
+        // these k0,k1,k2 align with the ideal aoa line at +- 10 degrees
+        // see foilsim-airfoil-stall-correction.xlsx
+        // stall_model_k0 = 0.86;
+        // stall_model_k1 = 0.058;
+        // stall_model_k2 = -0.0044;         
+        // stall_model_apos = 10;
+        // stall_model_aneg = -10;
+      } else {
+        stall_model_k0 = 0.5;
+        stall_model_k1 = 0.1;
+        stall_model_k2 = -0.005;
+        stall_model_apos = 10;
+        stall_model_aneg = -10;
+      }
+    }
 
-    double[] t_lift_NACA4_0015 = {-0.909, -1.075, -1.207, -1.247, -1.230, -0.942, -0.490, 0.000 , 0.490 , 0.942 , 1.230 , 1.247 , 1.207 , 1.075 , 0.909     };
+    // free stream conditions
+    // call only after planet, height or velocity changed
+    void getFreeStream () {    
+      /* MODS  19 Jan 00  whole routine*/
+      double rgas = 1716.;                /* ft2/sec2 R */
+      double gama = 1.4;
+      double height_m = alt_val/lconv;
+      double mu0 = .000000362;
+      double g0 = 32.2;
 
-    double[] t_drag_NACA4_0015 = {0.37476, 0.27558, 0.18765, 0.11477, 0.03657, 0.01998, 0.01435, 0.01263, 0.01434, 0.01998, 0.03657, 0.11477, 0.18765, 0.27559, 0.37476};
+      switch (planet) {
+      case 0: // Earth  standard day
+        if (height_m <= 36152.) {           // Troposphere
+          ts0 = 518.6 - 3.56 * height_m/1000.;
+          ps0 = 2116. * Math.pow(ts0/518.6,5.256);
+        } else if (height_m >= 36152. && height_m <= 82345.) {   // Stratosphere
+          ts0 = 389.98;
+          ps0 = 2116. * .2236 *
+            Math.exp((36000.-height_m)/(53.35*389.98));
+        } else if (height_m >= 82345.) {
+          ts0 = 389.98 + 1.645 * (height_m-82345)/1000.;
+          ps0 = 2116. *.02456 * Math.pow(ts0/389.98,-11.388);
+        }
+         
+        { 
+          double temf = ts0 - 459.6;
+          if (temf <= 0.0) temf = 0.0; 
+          rho_EN = ps0/(rgas * ts0);
+          rho_SI = 1.225; // kg/m3
+                   
+          /* Eq 1:6A  Domasch  - effect of humidity 
+           */
+          double pvap = rlhum*(2.685+.00354*Math.pow(temf,2.245))/100.;
+          rho_EN = (ps0 - .379*pvap)/(rgas * ts0); 
+          viscos = mu0 * 717.408/(ts0 + 198.72)*Math.pow(ts0/518.688,1.5);
+        }
+        break;
 
-    double[] t_mmnt_NACA4_0015 = {0.021, 0.020, 0.019, 0.019, 0.020, 0.014, 0.007, -0.000, -0.007, -0.014, -0.020, -0.019, -0.019, -0.020, -0.021};
+      case 1:   // Mars - curve fit of orbiter data
+        rgas = 1149.;                /* ft2/sec2 R */
+        gama = 1.29;
+        rlhum = 0.0;
 
-    // Name = NACA 5415
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.691  0.37662 -0.040  0.956   0.008   0.984   0.016   -1.835  0.225   0.191
-    // -24.0    -0.814  0.27866 -0.044  0.940   0.008   0.984   0.021   -2.919  0.208   0.197
-    // -20.0    -0.857  0.19629 -0.047  0.916   0.009   0.985   0.029   -4.365  0.685   0.195
-    // -16.0    -0.790  0.12841 -0.054  0.882   0.010   0.986   0.044   -6.156  0.307   0.182
-    // -12.0    -0.584  0.07936 -0.063  0.829   0.015   0.990   0.077   -7.358  0.344   0.142
-    // -8.0     -0.283  0.02303 -0.101  0.751   0.024   1.000   0.622   -12.299 0.323   -0.108
-    // -4.0     0.176   0.01448 -0.118  0.626   0.059   1.000   0.998   12.148  0.276   0.923
-    // -0.0     0.669   0.01257 -0.126  0.433   0.239   0.983   0.999   53.266  0.266   0.438
-    // 4.0      1.147   0.01587 -0.134  0.367   0.960   0.964   0.998   72.246  0.268   0.367
-    // 8.0      1.583   0.02096 -0.142  0.262   0.998   0.921   0.998   75.521  0.267   0.340
-    // 12.0     1.872   0.03973 -0.146  0.020   0.998   0.776   0.998   47.114  0.269   0.328
-    // 16.0     1.913   0.06716 -0.148  0.009   0.998   0.603   0.998   28.482  0.279   0.327
-    // 20.0     1.706   0.13226 -0.142  0.004   0.999   0.361   0.999   12.896  0.320   0.333
-    // 24.0     1.374   0.26459 -0.110  0.003   0.998   0.079   0.999   5.193   0.321   0.330
-    // 28.0     1.114   0.37281 -0.100  0.002   0.999   0.037   0.999   2.988   0.291   0.340
+        if (height_m <= 22960.) {
+          ts0 = 434.02 - .548 * height_m/1000.;
+          ps0 = 14.62 * Math.pow(2.71828,-.00003 * height_m);
+        }
+        if (height_m > 22960.) {
+          ts0 = 449.36 - 1.217 * height_m/1000.;
+          ps0 = 14.62 * Math.pow(2.71828,-.00003 * height_m);
+        }
+        rho_EN = ps0/(rgas*ts0);
+        rho_SI = 515.378819 * rho_EN;
+        viscos = mu0 * 717.408/(ts0 + 198.72)*Math.pow(ts0/518.688,1.5);
+        break;
 
-    double[] t_lift_NACA4_0515 = {-0.691, -0.814, -0.857, -0.790, -0.584, -0.283, 0.176 , 0.669 , 1.147 , 1.583 , 1.872 , 1.913 , 1.706 , 1.374 , 1.114     };
+      case 2: // water --  constant density
+        height_m = -alt_val/lconv;
+        rlhum = 100.;
 
-    double[] t_drag_NACA4_0515 = {0.37662, 0.27866, 0.19629, 0.12841, 0.07936, 0.02303, 0.01448, 0.01257, 0.01587, 0.02096, 0.03973, 0.06716, 0.13226, 0.26459, 0.37281};
+        ts0 = 520.;
+        // for oceanic water (it is 1027 kg/m3). FoilSimIII has it as 1.9927 slug/ft3
+        // One slug has a mass of 32.174049 lb or 14.593903 kg 
+        rho_EN = 1.9927; 
+        rho_SI = 1027; // this is rho_EN * 515.378819
 
-    double[] t_mmnt_NACA4_0515 = {-0.040, -0.044, -0.047, -0.054, -0.063, -0.101, -0.118, -0.126, -0.134, -0.142, -0.146, -0.148, -0.142, -0.110, -0.100};
+        ps0 = (2116. - rho_EN * g0 * height_m);
+        mu0 = .0000272;
+        viscos = mu0 * 717.408/(ts0 + 198.72)*Math.pow(ts0/518.688,1.5);
+        break;
+      case 3:  // specify air temp and pressure 
+        rho_EN = ps0/(rgas*ts0);
+        // reiplot_trace_counto temf
+        {
+          double temf = ts0 - 459.6;
+          double pvap = rlhum*(2.685+.00354*Math.pow(temf,2.245))/100.;
+          rho_EN = (ps0 - .379*pvap)/(rgas * ts0); 
+        }
 
-    // Name = NACA 10415
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.488  0.39183 -0.092  0.911   0.008   0.977   0.015   -1.246  0.215   0.062
-    // -24.0    -0.539  0.28429 -0.094  0.884   0.009   0.978   0.017   -1.896  0.142   0.076
-    // -20.0    -0.530  0.20067 -0.097  0.849   0.009   0.979   0.019   -2.643  0.307   0.068
-    // -16.0    -0.398  0.13467 -0.102  0.804   0.010   0.979   0.023   -2.958  0.291   -0.006
-    // -12.0    -0.120  0.08682 -0.114  0.742   0.013   0.979   0.035   -1.380  0.294   -0.698
-    // -8.0     0.256   0.05511 -0.131  0.667   0.019   0.976   0.061   4.647   0.334   0.760
-    // -4.0     0.704   0.03087 -0.183  0.550   0.033   0.968   0.272   22.816  0.360   0.510
-    // -0.0     1.315   0.01847 -0.247  0.420   0.091   0.949   0.999   71.164  0.320   0.438
-    // 4.0      1.764   0.02077 -0.257  0.388   0.998   0.922   0.998   84.921  0.274   0.396
-    // 8.0      2.195   0.02592 -0.268  0.352   0.998   0.881   0.999   84.666  0.278   0.372
-    // 12.0     2.496   0.03499 -0.278  0.296   0.999   0.820   0.999   71.328  0.293   0.361
-    // 16.0     2.488   0.07778 -0.281  0.006   0.999   0.672   0.999   31.992  0.220   0.363
-    // 20.0     2.241   0.11730 -0.285  0.001   0.999   0.573   0.999   19.102  0.243   0.377
-    // 24.0     1.841   0.18043 -0.285  -0.001  0.999   0.453   0.999   10.202  0.311   0.405
-    // 28.0     1.368   0.34584 -0.232  -0.001  0.999   0.129   1.000   3.956   0.363   0.420
+        rho_SI = 515.378819 * rho_EN;
+        viscos = mu0 * 717.408/(ts0 + 198.72)*Math.pow(ts0/518.688,1.5);
+        break;
 
-    double[] t_lift_NACA4_1015 = {-0.488, -0.539, -0.530, -0.398, -0.120, 0.256 , 0.704 , 1.315 , 1.764 , 2.195 , 2.496 , 2.488 , 2.241 , 1.841 , 1.368     };
+      case 4:  // specify fluid density and viscosity
+        rlhum = 0.0;
+        ps0 = 2116.;
+        break;
 
-    double[] t_drag_NACA4_1015 = {0.39183, 0.28429, 0.20067, 0.13467, 0.08682, 0.05511, 0.03087, 0.01847, 0.02077, 0.02592, 0.03499, 0.07778, 0.11730, 0.18043, 0.34584};
+      case 5: // Venus - surface conditions
+        rgas = 1149.;                
+        gama = 1.29;
+        rlhum = 0.0;
 
-    double[] t_mmnt_NACA4_1015 = {-0.092, -0.094, -0.097, -0.102, -0.114, -0.131, -0.183, -0.247, -0.257, -0.268, -0.278, -0.281, -0.285, -0.285, -0.232};
+        ts0 = 1331.6;
+        ps0 = 194672.;
 
-    // Name = NACA 15415
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.329  0.40223 -0.142  0.861   0.005   0.973   0.019   -0.819  0.210   -0.181
-    // -24.0    -0.323  0.29105 -0.142  0.827   0.006   0.972   0.019   -1.109  0.177   -0.189
-    // -20.0    -0.244  0.20322 -0.136  0.785   0.010   0.971   0.015   -1.199  0.248   -0.307
-    // -16.0    -0.040  0.13660 -0.141  0.736   0.011   0.968   0.017   -0.291  0.276   -3.298
-    // -12.0    0.306   0.09048 -0.150  0.679   0.012   0.963   0.021   3.379   0.285   0.740
-    // -8.0     0.727   0.06098 -0.168  0.609   0.015   0.953   0.032   11.921  0.307   0.481
-    // -4.0     1.166   0.04689 -0.199  0.444   0.026   0.937   0.063   24.879  0.369   0.421
-    // -0.0     1.635   0.03655 -0.276  0.417   0.055   0.913   0.266   44.728  0.402   0.419
-    // 4.0      2.322   0.02820 -0.374  0.398   0.140   0.883   0.999   82.358  0.354   0.411
-    // 8.0      2.726   0.03441 -0.390  0.370   0.998   0.844   0.998   79.228  0.290   0.393
-    // 12.0     3.073   0.04338 -0.404  0.350   0.998   0.791   0.998   70.832  0.324   0.382
-    // 16.0     3.029   0.09726 -0.412  0.002   0.998   0.679   0.999   31.139  0.193   0.386
-    // 20.0     2.721   0.13509 -0.424  -0.003  0.998   0.616   0.999   20.142  0.221   0.406
-    // 24.0     2.243   0.18511 -0.435  -0.003  0.998   0.555   0.998   12.118  0.231   0.444
-    // 28.0     1.750   0.25303 -0.442  -0.003  0.999   0.483   0.999   6.916   0.236   0.503
+        rho_EN = ps0/(rgas*ts0);
+        rho_SI = 515.378819 * rho_EN;
+        viscos = mu0 * 717.408/(ts0 + 198.72)*Math.pow(ts0/518.688,1.5);
+      default:
+      }
 
-    double[] t_lift_NACA4_1515 = {-0.329, -0.323, -0.244, -0.040, 0.306 , 0.727 , 1.166 , 1.635 , 2.322 , 2.726 , 3.073 , 3.029 , 2.721 , 2.243 , 1.750     };
+      set_q0();
+      // pt0 = ps0 + q0_EN;
 
-    double[] t_drag_NACA4_1515 = {0.40223, 0.29105, 0.20322, 0.13660, 0.09048, 0.06098, 0.04689, 0.03655, 0.02820, 0.03441, 0.04338, 0.09726, 0.13509, 0.18511, 0.25303};
+      return;
+    }
 
-    double[] t_mmnt_NACA4_1515 = {-0.142, -0.142, -0.136, -0.141, -0.150, -0.168, -0.199, -0.276, -0.374, -0.390, -0.404, -0.412, -0.424, -0.435, -0.442};
+    void set_q0 () {
+      q0_EN  = .5 * rho_EN * velocity * velocity / (vconv * vconv);
+      q0_SI = .5 * rho_SI * velocity * velocity * 0.277778 * 0.277778; // velocity from kmh to m/s
+    }
 
-    // Name = NACA 20415
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.204  0.41542 -0.172  0.815   0.004   0.967   0.016   -0.492  0.296   -0.594
-    // -24.0    -0.151  0.29248 -0.175  0.775   0.005   0.965   0.018   -0.518  0.284   -0.905
-    // -20.0    -0.011  0.21007 -0.179  0.732   0.005   0.961   0.019   -0.053  0.265   -15.854
-    // -16.0    0.266   0.14033 -0.181  0.684   0.009   0.953   0.018   1.899   0.258   0.930
-    // -12.0    0.687   0.09525 -0.184  0.631   0.012   0.942   0.018   7.213   0.270   0.518
-    // -8.0     1.170   0.06669 -0.199  0.565   0.014   0.926   0.022   17.548  0.301   0.420
-    // -4.0     1.610   0.05493 -0.231  0.434   0.018   0.903   0.038   29.306  0.367   0.394
-    // -0.0     2.020   0.05076 -0.298  0.415   0.038   0.878   0.110   39.797  0.369   0.398
-    // 4.0      2.809   0.03721 -0.374  0.401   0.099   0.848   0.272   75.474  0.430   0.383
-    // 8.0      3.182   0.04496 -0.507  0.383   0.190   0.812   0.999   70.765  0.472   0.409
-    // 12.0     3.506   0.05533 -0.529  0.364   0.997   0.769   0.997   63.361  0.351   0.401
-    // 16.0     3.536   0.12258 -0.543  -0.005  0.998   0.672   0.998   28.850  0.146   0.403
-    // 20.0     3.177   0.16124 -0.563  -0.005  0.998   0.626   0.998   19.702  0.206   0.427
-    // 24.0     2.624   0.21018 -0.583  -0.005  0.998   0.583   0.998   12.484  0.217   0.472
-    // 28.0     2.053   0.26914 -0.600  -0.005  0.997   0.540   0.998   7.628   0.219   0.542
+    // circulation from Kutta condition
+    // thickness_pst: typically current_part.thickness
+    // camber_pst   : typically current_part.camber
+    void getCirculation (double effaoa, double thickness_pst, double camber_pst) {   
+      double beta;
+      double th_abs = thickness_pst/100.0; 
+      xcval = 0.0;
+      ycval = camber_pst/50; // was: current_part.camber/25/2
 
-    double[] t_lift_NACA4_2015 = {-0.204, -0.151, -0.011, 0.266 , 0.687 , 1.170 , 1.610 , 2.020 , 2.809 , 3.182 , 3.506 , 3.536 , 3.177 , 2.624 , 2.053     };
+      if (current_part.foil == FOIL_CYLINDER ||      /* get circulation for rotating cylnder */
+          current_part.foil == FOIL_BALL) {         /* get circulation for rotating ball */
+        rval = radius/lconv;
+        gamval = 4.0 * Math.PI * Math.PI *spin * rval * rval
+          / (velocity/vconv);
+        gamval = gamval * spindr;
+        ycval = .0001;
+      } else {
+        rval = th_abs + Math.sqrt((current_part.foil == FOIL_FLAT_PLATE
+                                   ? 0 : th_abs*th_abs)
+                                  + ycval*ycval + 1.0);
+        xcval = current_part.foil == FOIL_JOUKOWSKI ? 0 : (1.0 - Math.sqrt(rval*rval - ycval*ycval));
+        beta = Math.asin(ycval/rval)/convdr;     /* Kutta condition */
+        gamval = 2.0*rval*Math.sin((effaoa+beta)*convdr);
+      }
+    }
 
-    double[] t_drag_NACA4_2015 = {0.41542, 0.29248, 0.21007, 0.14033, 0.09525, 0.06669, 0.05493, 0.05076, 0.03721, 0.04496, 0.05533, 0.12258, 0.16124, 0.21018, 0.26914};
+    // for my comparison of various corection methods, see
+    static final String desmos_ar_corr_url = "https://www.desmos.com/calculator/bgt6psby4l"; 
+    // older edits:
+    // https://www.desmos.com/calculator/ngqg38y2t0
+    // https://www.desmos.com/calculator/erzdtdn7k0
+    // https://www.desmos.com/calculator/hb6nfgy1k8
+    // https://www.desmos.com/calculator/w7kilfwdli
+    // https://www.desmos.com/calculator/0ejmbb8hks
 
-    double[] t_mmnt_NACA4_2015 = {-0.172, -0.175, -0.179, -0.181, -0.184, -0.199, -0.231, -0.298, -0.374, -0.507, -0.529, -0.543, -0.563, -0.583, -0.600};
+    double get_Cl (double effaoa) {
+      double AR = current_part.aspect_rat;
+      double Cl = current_part.foil.get_Cl(effaoa); // Cl_infinity
+      double k = Math.PI *AR;
+      double Cl_abs = Math.abs(Cl);
+      if (ar_lift_corr) {  // Helmbold's correction for low aspect ratio
+        Cl = (AR >= 4) 
+          // fast, classic, normal, 'e'=1
+          ? Cl / (1.0 + Cl_abs/k)
+          // Helmbold's equation except with pow increased from 2 to 3....
+          // converses alomost ideally with the high AR one at AR=4
+          : Cl / (Math.sqrt(1.0 + Math.pow(Cl_abs/k,3)) + Cl_abs/k);
+      } else if (ar_lift_corr_2) { // Dmitry's low AR correction approach
+        Cl = (AR >= 1) 
+          ? Cl / (1.0 + Cl_abs/k) // standard -  same as high AR above
+          // low AR, converges with the above at AR=1
+          : Cl / (1 + Cl/(Math.PI * Math.pow(AR, 1.4)));
+      } else if (ar_lift_corr_3) { // from JavaFoil, M<<<1
+        // note: this really is 2/AR....
+        double grad = (2 * Math.PI )/(Math.PI * AR);
+        Cl = (AR >= 4) 
+          ? Cl / (1.0 + grad)
+          // low AR: note: 5% step from above just under AR=4!!!
+          : Cl / (Math.sqrt(1.0 + k*k) + k);
+      }
+      return Cl;
+    }
 
-    // Name = NACA 0020
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -1.475  0.31137 0.040   0.978   0.013   1.000   0.103   -4.736  0.242   0.277
-    // -24.0    -1.605  0.21713 0.039   0.966   0.015   1.000   0.156   -7.390  0.237   0.274
-    // -20.0    -1.658  0.13342 0.038   0.949   0.018   1.000   0.269   -12.425 0.414   0.273
-    // -16.0    -1.578  0.06898 0.035   0.921   0.027   1.000   0.467   -22.871 0.279   0.272
-    // -12.0    -1.353  0.03465 0.029   0.876   0.045   1.000   0.714   -39.052 0.274   0.272
-    // -8.0     -0.979  0.02160 0.021   0.789   0.108   1.000   0.901   -45.316 0.272   0.271
-    // -4.0     -0.505  0.01676 0.011   0.622   0.247   1.000   0.969   -30.149 0.271   0.271
-    // -0.0     -0.000  0.01576 -0.000  0.421   0.421   1.000   0.999   -0.000  0.271   0.250
-    // 4.0      0.505   0.01676 -0.011  0.247   0.622   0.969   0.999   30.149  0.271   0.271
-    // 8.0      0.979   0.02160 -0.021  0.108   0.789   0.901   0.999   45.316  0.272   0.271
-    // 12.0     1.353   0.03465 -0.029  0.045   0.876   0.714   0.998   39.052  0.274   0.272
-    // 16.0     1.578   0.06898 -0.035  0.027   0.921   0.467   0.999   22.871  0.279   0.272
-    // 20.0     1.658   0.13342 -0.038  0.018   0.949   0.269   0.999   12.425  0.414   0.273
-    // 24.0     1.605   0.21713 -0.039  0.015   0.966   0.156   1.000   7.390   0.237   0.274
-    // 28.0     1.475   0.31137 -0.040  0.013   0.978   0.103   0.999   4.736   0.242   0.277
+    double compute_Cl_Kutta (double effaoa) {
+      double stfact, leg,teg,lem,tem;
 
-    double[] t_lift_NACA4_0020 = {-1.475, -1.605, -1.658, -1.578, -1.353, -0.979, -0.505, -0.000, 0.505 , 0.979 , 1.353 , 1.578 , 1.658 , 1.605 , 1.475     };
+      double result;
+      /*  compute lift coefficient */
+      leg = xcval - Math.sqrt(rval*rval - ycval*ycval);
+      teg = xcval + Math.sqrt(rval*rval - ycval*ycval);
+      lem = leg + 1.0/leg;
+      tem = teg + 1.0/teg;
 
-    double[] t_drag_NACA4_0020 = {0.31137, 0.21713, 0.13342, 0.06898, 0.03465, 0.02160, 0.01676, 0.01576, 0.01676, 0.02160, 0.03465, 0.06898, 0.13342, 0.21713, 0.31137};
+      double chrd = tem - lem;
+      // stall model
+      stfact = 1.0;
+      switch (stall_model_type) {
+      case STALL_MODEL_DFLT:
+        if (effaoa > 10 ) {
+          stfact = .5 + .1 * effaoa - .005 * effaoa * effaoa;
+        } else if (effaoa < -10 ) {
+          stfact = .5 - .1 * effaoa - .005 * effaoa * effaoa;
+        }
+        break;
+      case STALL_MODEL_REFINED:
+        // stfact = stall_model_k0 + stall_model_k1 * Math.abs(effaoa) + stall_model_k2 * effaoa * effaoa;
+        if (effaoa > stall_model_apos ) {
+          stfact = stall_model_k0 + stall_model_k1 * +effaoa + stall_model_k2 * effaoa * effaoa;
+        } else if (effaoa < stall_model_aneg ) {
+          stfact = stall_model_k0 + stall_model_k1 * -effaoa + stall_model_k2 * effaoa * effaoa;
+        }
+        break;
+      case STALL_MODEL_IDEAL_FLOW:
+      default:
+        // do nothing. stfact = 1
+      }
+      
+      result = stfact *
+        gamval*4.0* Math.PI /chrd;
+        
+      return result;
+    }
+    
+    void compute_foil_geometry (double effaoa) {
+      double thet, rdm, thtm;
+      // System.out.println("-- compute_foil_geometry: " + effaoa);
+      int index;
 
-    double[] t_mmnt_NACA4_0020 = {0.040, 0.039, 0.038, 0.035, 0.029, 0.021, 0.011, -0.000, -0.011, -0.021, -0.029, -0.035, -0.038, -0.039, -0.040};
+      // geometry of Joukowski shape is in [0][index]
+      for (index =1; index <= POINTS_COUNT; ++index) {
+        thet = (index -1)*360./(POINTS_COUNT-1);
+        xg[0][index] = rval * Math.cos(convdr * thet) + xcval;
+        yg[0][index] = rval * Math.sin(convdr * thet) + ycval;
+        rg[0][index] = Math.sqrt(xg[0][index]*xg[0][index] +
+                                 yg[0][index]*yg[0][index]);
+        thg[0][index] = Math.atan2(yg[0][index],xg[0][index])/convdr;
+        xm[0][index] = (rg[0][index] + 1.0/rg[0][index])*
+          Math.cos(convdr*thg[0][index]);
+        ym[0][index] = (rg[0][index] - 1.0/rg[0][index])*
+          Math.sin(convdr*thg[0][index]);
+        rdm = Math.sqrt(xm[0][index]*xm[0][index] +
+                        ym[0][index]*ym[0][index]);
+        thtm = Math.atan2(ym[0][index],xm[0][index])/convdr;
+        xm[0][index] = rdm * Math.cos((thtm - effaoa)*convdr);
+        ym[0][index] = rdm * Math.sin((thtm - effaoa)*convdr);
+        getVel(rval,thet);
+        plp[index] = ((ps0 + pres * q0_EN)/2116.) * pconv;
+        plv[index] = vel * velocity;
+      }
 
-    // Name = NACA 5420
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -1.172  0.32119 -0.046  0.937   0.013   0.980   0.064   -3.650  0.155   0.211
-    // -24.0    -1.203  0.23686 -0.049  0.914   0.015   0.981   0.077   -5.080  0.484   0.210
-    // -20.0    -1.140  0.16504 -0.053  0.883   0.020   0.981   0.095   -6.909  0.310   0.203
-    // -16.0    -0.964  0.10403 -0.063  0.840   0.024   0.982   0.160   -9.270  0.302   0.185
-    // -12.0    -0.674  0.05455 -0.077  0.774   0.034   0.983   0.311   -12.350 0.313   0.135
-    // -8.0     -0.307  0.01755 -0.104  0.682   0.055   0.983   0.908   -17.486 0.295   -0.090
-    // -4.0     0.193   0.01673 -0.116  0.547   0.113   0.978   0.998   11.558  0.272   0.852
-    // -0.0     0.704   0.01727 -0.127  0.417   0.251   0.962   1.000   40.790  0.272   0.431
-    // 4.0      1.190   0.01858 -0.138  0.357   0.835   0.934   1.000   64.050  0.273   0.366
-    // 8.0      1.645   0.02406 -0.149  0.267   0.938   0.883   1.000   68.400  0.274   0.341
-    // 12.0     2.007   0.03759 -0.158  0.123   0.972   0.782   1.000   53.405  0.276   0.329
-    // 16.0     2.207   0.06538 -0.164  0.031   0.999   0.635   1.000   33.754  0.291   0.324
-    // 20.0     2.249   0.10615 -0.168  0.017   1.000   0.505   1.000   21.185  0.167   0.325
-    // 24.0     2.126   0.16852 -0.171  0.010   1.000   0.392   1.000   12.616  0.252   0.330
-    // 28.0     1.864   0.26323 -0.168  0.007   1.000   0.269   1.000   7.081   0.261   0.340
+      // scale up and rotate the imported geom shape
+      if (current_part.foil.geometry != null) {
+        Point2D[] g = current_part.foil.geometry;
+        double rad_aoa = -Math.toRadians(effaoa);
+        for (index = 0; index < 61; ++ index) {
+          Point2D pt = g[(int)(index)];
+          //the coordinates (x2,y2) of the point (x,y) after rotation are
+          //x2 = x cos a - y  sin a 
+          //y2 = x sin a + y cos a 
+          double x = 3.5 * (pt.x - 0.5);
+          double y = 3.5 * pt.y;
+          double rot_x = x*Math.cos(rad_aoa) - y*Math.sin(rad_aoa);
+          double rot_y = x*Math.sin(rad_aoa) + y*Math.cos(rad_aoa);
+          xm[0][index] = rot_x;
+          ym[0][index] = rot_y;
+        }
+      }
 
-    double[] t_lift_NACA4_0520 = {-1.172, -1.203, -1.140, -0.964, -0.674, -0.307, 0.193 , 0.704 , 1.190 , 1.645 , 2.007 , 2.207 , 2.249 , 2.126 , 1.864     };
+      xt1 = xt + current_part.spanfac;
+      yt1 = yt - current_part.spanfac;
+      xt2 = xt - current_part.spanfac;
+      yt2 = yt + current_part.spanfac;
 
-    double[] t_drag_NACA4_0520 = {0.32119, 0.23686, 0.16504, 0.10403, 0.05455, 0.01755, 0.01673, 0.01727, 0.01858, 0.02406, 0.03759, 0.06538, 0.10615, 0.16852, 0.26323};
+    }
 
-    double[] t_mmnt_NACA4_0520 = {-0.046, -0.049, -0.053, -0.063, -0.077, -0.104, -0.116, -0.127, -0.138, -0.149, -0.158, -0.164, -0.168, -0.171, -0.168};
 
-    // Name = NACA 10420
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.889  0.32829 -0.108  0.889   0.013   0.974   0.040   -2.707  0.347   0.129
-    // -24.0    -0.860  0.24399 -0.110  0.857   0.014   0.974   0.046   -3.526  0.304   0.122
-    // -20.0    -0.721  0.17311 -0.117  0.817   0.016   0.975   0.059   -4.163  0.287   0.088
-    // -16.0    -0.470  0.11761 -0.125  0.767   0.020   0.973   0.074   -3.997  0.282   -0.015
-    // -12.0    -0.120  0.07725 -0.136  0.703   0.028   0.970   0.097   -1.558  0.301   -0.878
-    // -8.0     0.298   0.04607 -0.164  0.620   0.038   0.963   0.201   6.472   0.351   0.799
-    // -4.0     0.875   0.01875 -0.237  0.475   0.065   0.950   0.999   46.674  0.329   0.520
-    // -0.0     1.381   0.02113 -0.249  0.415   0.134   0.927   0.999   65.347  0.277   0.430
-    // 4.0      1.832   0.02459 -0.262  0.384   0.294   0.896   0.999   74.517  0.281   0.393
-    // 8.0      2.269   0.02947 -0.276  0.348   0.999   0.851   0.999   76.997  0.284   0.372
-    // 12.0     2.641   0.03927 -0.290  0.294   0.999   0.795   0.999   67.247  0.295   0.360
-    // 16.0     2.841   0.05832 -0.302  0.202   0.999   0.720   0.999   48.709  0.351   0.356
-    // 20.0     2.817   0.11372 -0.308  0.015   0.999   0.592   0.999   24.771  0.180   0.359
-    // 24.0     2.639   0.16530 -0.316  0.004   0.999   0.513   0.999   15.964  0.220   0.370
-    // 28.0     2.299   0.23083 -0.323  0.001   0.999   0.444   0.999   9.958   0.229   0.391
+    // Streamlines are independent of each other, so genFlow computes
+    // them in parallel (Java only) straight into the xg..ym rows, each
+    // line with its own FlowPoint scratch. Only for the interactive
+    // flow view: engine copies (can_do_gui_updates off) run inside
+    // VPP sweeps that are parallel already. Along a line, the Newton
+    // iteration of get_points starts from the previous point's y
+    // instead of the fixed +-10 guess, and needs a few steps instead of
+    // up to 25.
+    boolean flow_parallel = true;
+    int flow_parallel_min_cpus = 2;
 
-    double[] t_lift_NACA4_1020 = {-0.889, -0.860, -0.721, -0.470, -0.120, 0.298 , 0.875 , 1.381 , 1.832 , 2.269 , 2.641 , 2.841 , 2.817 , 2.639 , 2.299     };
+    public void genFlow (double effaoa) {   // generate flowfield
+      long t0 = System.nanoTime();
+      double rnew,thet,psv,fxg;
+      //System.out.println("------------- genFlow: ");
+      int k,index;
 
-    double[] t_drag_NACA4_1020 = {0.32829, 0.24399, 0.17311, 0.11761, 0.07725, 0.04607, 0.01875, 0.02113, 0.02459, 0.02947, 0.03927, 0.05832, 0.11372, 0.16530, 0.23083};
+      /* all lines of flow  except stagnation line*/
+      boolean parallel = false;
+      /**
+       * @j2sNative
+       * 
+       *    var dummy = 0;
+       */
+      { // only in Java, no threads in JavaScript
+        parallel = flow_parallel && can_do_gui_updates &&
+          Runtime.getRuntime().availableProcessors() >= flow_parallel_min_cpus;
+      }
+      if (parallel) {
+        synchronized (FoilBoard.class) {
+          if (sweep_pool == null) sweep_pool = new ForkJoinPool();
+        }
+        sweep_pool.invoke(new StreamlinesTask(effaoa, 1, STREAMLINES_COUNT+1));
+      } else {
+        FlowPoint pt = new FlowPoint();
+        for (k=1; k<=STREAMLINES_COUNT; ++k) 
+          if (k != STREAMLINES_COUNT_HALF) // done below
+            gen_streamline(k, effaoa, pt);
+      }
 
-    double[] t_mmnt_NACA4_1020 = {-0.108, -0.110, -0.117, -0.125, -0.136, -0.164, -0.237, -0.249, -0.262, -0.276, -0.290, -0.302, -0.308, -0.316, -0.323};
+      /*  stagnation line */
+      k = STREAMLINES_COUNT_HALF;
+      psv = 0.0;
+      /*  incoming flow */
+      for (index =1; index <= POINTS_COUNT_HALF; ++ index) {
+        rnew = 10.0 - (10.0 - rval)*Math.sin(pid2*(index-1)/(POINTS_COUNT_HALF-1));
+        thet = Math.asin(.999*(psv - gamval*Math.log(rnew/rval))/
+                         (rnew - rval*rval/rnew));
+        fxg =  - rnew * Math.cos(thet);
+        getPoints(fxg,psv);
+        xg[k][index]  = lxgt;
+        yg[k][index]  = lygt;
+        rg[k][index]  = lrgt;
+        thg[k][index] = lthgt;
+        xm[k][index]  = lxmt;
+        ym[k][index]  = lymt;
+      }
+      /*  downstream flow */
+      for (index = 1; index <= POINTS_COUNT_HALF; ++ index) {
+        rnew = 10.0 + .01 - (10.0 - rval)*Math.cos(pid2*(index-1)/(POINTS_COUNT_HALF-1));
+        thet = Math.asin(.999*(psv - gamval*Math.log(rnew/rval))/
+                         (rnew - rval*rval/rnew));
+        fxg =   rnew * Math.cos(thet);
+        getPoints(fxg,psv);
+        xg[k][POINTS_COUNT_HALF+index]  = lxgt;
+        yg[k][POINTS_COUNT_HALF+index]  = lygt;
+        rg[k][POINTS_COUNT_HALF+index]  = lrgt;
+        thg[k][POINTS_COUNT_HALF+index] = lthgt;
+        xm[k][POINTS_COUNT_HALF+index]  = lxmt;
+        ym[k][POINTS_COUNT_HALF+index]  = lymt;
+      }
+      /*  stagnation point */
+      xg[k][POINTS_COUNT_HALF]  = xcval;
+      yg[k][POINTS_COUNT_HALF]  = ycval;
+      rg[k][POINTS_COUNT_HALF]  = Math.sqrt(xcval*xcval+ycval*ycval);
+      thg[k][POINTS_COUNT_HALF] = Math.atan2(ycval,xcval)/convdr;
+      xm[k][POINTS_COUNT_HALF]  = (xm[k][POINTS_COUNT_HALF+1] + xm[k][POINTS_COUNT_HALF-1])/2.0;
+      ym[k][POINTS_COUNT_HALF]  = (ym[0][POINTS_COUNT/4+1] + ym[0][POINTS_COUNT/4*3+1])/2.0;
 
-    // Name = NACA 15420
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.610  0.33188 -0.148  0.843   0.014   0.969   0.025   -1.839  0.277   0.008
-    // -24.0    -0.529  0.24819 -0.150  0.807   0.014   0.967   0.028   -2.132  0.284   -0.034
-    // -20.0    -0.341  0.17883 -0.157  0.764   0.015   0.965   0.034   -1.905  0.289   -0.211
-    // -16.0    -0.031  0.12377 -0.169  0.712   0.017   0.960   0.046   -0.253  0.287   -5.163
-    // -12.0    0.365   0.08391 -0.183  0.651   0.021   0.952   0.060   4.344   0.288   0.753
-    // -8.0     0.806   0.05803 -0.201  0.574   0.031   0.940   0.080   13.885  0.315   0.500
-    // -4.0     1.260   0.04408 -0.242  0.439   0.045   0.920   0.163   28.577  0.385   0.442
-    // -0.0     2.007   0.02681 -0.363  0.415   0.085   0.894   0.999   74.844  0.371   0.431
-    // 4.0      2.411   0.03169 -0.381  0.398   0.166   0.862   0.999   76.096  0.295   0.408
-    // 8.0      2.820   0.03844 -0.400  0.368   0.999   0.823   0.999   73.363  0.299   0.392
-    // 12.0     3.181   0.04803 -0.419  0.346   0.999   0.774   0.999   66.235  0.311   0.382
-    // 16.0     3.429   0.06302 -0.437  0.312   0.999   0.720   0.999   54.420  0.407   0.377
-    // 20.0     3.413   0.08593 -0.455  0.267   0.999   0.665   0.999   39.716  0.163   0.383
-    // 24.0     3.117   0.18356 -0.464  -0.002  0.999   0.563   0.999   16.979  0.216   0.399
-    // 28.0     2.695   0.24323 -0.479  -0.005  0.999   0.513   0.999   11.079  0.215   0.428
+      metrics.genFlow.record(System.nanoTime() - t0);
+    }
 
-    double[] t_lift_NACA4_1520 = {-0.610, -0.529, -0.341, -0.031, 0.365 , 0.806 , 1.260 , 2.007 , 2.411 , 2.820 , 3.181 , 3.429 , 3.413 , 3.117 , 2.695     };
+    // splits streamlines [from, to) in halves down to one line per task
+    class StreamlinesTask extends RecursiveAction {
+      private static final long serialVersionUID = 1L;
+      double effaoa;
+      int from, to;
+      StreamlinesTask (double effaoa, int from, int to) {
+        this.effaoa = effaoa; this.from = from; this.to = to;
+      }
+      protected void compute () {
+        if (to - from > 1) {
+          int mid = (from + to) / 2;
+          invokeAll(new StreamlinesTask(effaoa, from, mid), new StreamlinesTask(effaoa, mid, to));
+        } else if (from != STREAMLINES_COUNT_HALF) // stagnation line is done by genFlow
+          gen_streamline(from, effaoa, new FlowPoint());
+      }
+    }
 
-    double[] t_drag_NACA4_1520 = {0.33188, 0.24819, 0.17883, 0.12377, 0.08391, 0.05803, 0.04408, 0.02681, 0.03169, 0.03844, 0.04803, 0.06302, 0.08593, 0.18356, 0.24323};
+    // streamline k, points march downstream by local velocity
+    void gen_streamline (int k, double effaoa, FlowPoint pt) {
+      double psv = -.5*(STREAMLINES_COUNT_HALF-1) + .5*(k-1);
+      double fxg = xflow;
+      double alfrad = convdr * effaoa;
+      double apos = stall_model_type == STALL_MODEL_DFLT ? +10 : stall_model_apos;
+      double aneg = stall_model_type == STALL_MODEL_DFLT ? -10 : stall_model_aneg;
+      boolean flatten = stall_model_type != STALL_MODEL_IDEAL_FLOW &&  // stall model
+        ((effaoa > apos && psv > 0.0) || (effaoa < aneg && psv < 0.0));
+      double[] xg_k = xg[k], yg_k = yg[k], rg_k = rg[k], thg_k = thg[k], xm_k = xm[k], ym_k = ym[k];
+      double seed = Double.NaN; // 1st point: the usual guess
+      // System.out.println("-- psv: " + psv + "-- fxg: " + fxg);
+      for (int index =1; index <=POINTS_COUNT; ++ index) {
+        get_points(fxg, psv, effaoa, seed, pt);
+        seed = pt.lyg;
+        xg_k[index]  = pt.lxgt;
+        yg_k[index]  = pt.lygt;
+        rg_k[index]  = pt.lrgt;
+        thg_k[index] = pt.lthgt;
+        xm_k[index]  = pt.lxmt;
+        ym_k[index]  = pt.lymt;
+        if (flatten && xm_k[index] > 0.0) 
+          ym_k[index] = ym_k[index -1];
+        fxg = fxg + get_vxdir(pt.lrg, pt.lthg, alfrad)*STEP_X;
+      }
+    }
 
-    double[] t_mmnt_NACA4_1520 = {-0.148, -0.150, -0.157, -0.169, -0.183, -0.201, -0.242, -0.363, -0.381, -0.400, -0.419, -0.437, -0.455, -0.464, -0.479};
+    // what getPoints computes into the l* fields
+    class FlowPoint {
+      double lyg,lrg,lthg,lxgt,lygt,lrgt,lthgt;
+      double lxm,lym,lxmt,lymt;
+    }
 
-    // Name = NACA 20420
-    // Mach = 0; Re = 300000; T.U. = 1.0; T.L. = 1.0
-    // Surface Finish = 0; Stall model = 0; Transition model = 1; Aspect Ratio = 0; ground effect = 0
-    //       Cl      Cd      Cm 0.25 T.U.    T.L.    S.U.    S.L.    L/D     A.C.    C.P.
-    // [ ]   [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]     [-]
-    // -28.0    -0.384  0.33708 -0.193  0.796   0.009   0.965   0.029   -1.139  0.185   -0.253
-    // -24.0    -0.247  0.24958 -0.184  0.758   0.013   0.960   0.024   -0.988  0.233   -0.497
-    // -20.0    0.002   0.18194 -0.186  0.715   0.015   0.952   0.024   0.010   0.269   100.285
-    // -16.0    0.368   0.12932 -0.196  0.668   0.017   0.944   0.028   2.849   0.282   0.781
-    // -12.0    0.812   0.09027 -0.212  0.612   0.018   0.930   0.036   8.994   0.296   0.511
-    // -8.0     1.281   0.06551 -0.238  0.534   0.022   0.914   0.053   19.551  0.311   0.435
-    // -4.0     1.705   0.05543 -0.267  0.433   0.036   0.890   0.076   30.768  0.354   0.406
-    // -0.0     2.139   0.05160 -0.327  0.415   0.063   0.863   0.166   41.447  0.354   0.403
-    // 4.0      2.914   0.04079 -0.393  0.402   0.120   0.833   0.321   71.432  0.417   0.385
-    // 8.0      3.290   0.04952 -0.519  0.383   0.205   0.798   0.999   66.443  0.468   0.408
-    // 12.0     3.616   0.06034 -0.546  0.363   0.998   0.758   0.999   59.932  0.337   0.401
-    // 16.0     3.894   0.07538 -0.571  0.347   0.999   0.708   0.999   51.655  0.412   0.397
-    // 20.0     3.920   0.09570 -0.595  0.333   0.999   0.649   0.999   40.963  0.120   0.402
-    // 24.0     3.558   0.21309 -0.615  -0.007  0.999   0.584   0.999   16.695  0.199   0.423
-    // 28.0     3.063   0.26953 -0.639  -0.009  0.999   0.547   0.999   11.365  0.202   0.459
+    FlowPoint flow_point = new FlowPoint(); // getPoints scratch
 
-    double[] t_lift_NACA4_2020 = {-0.384, -0.247, 0.002 , 0.368 , 0.812 , 1.281 , 1.705 , 2.139 , 2.914 , 3.290 , 3.616 , 3.894 , 3.920 , 3.558 , 3.063     };
+    public void getPoints (double fxg, double psv) {   // flow in x-psi
+      FlowPoint pt = flow_point;
+      get_points(fxg, psv, effective_aoa(), Double.NaN, pt);
+      lyg = pt.lyg; lrg = pt.lrg; lthg = pt.lthg; 
+      lxgt = pt.lxgt; lygt = pt.lygt; lrgt = pt.lrgt; lthgt = pt.lthgt;
+      lxm = pt.lxm; lym = pt.lym; lxmt = pt.lxmt; lymt = pt.lymt;
+    }
 
-    double[] t_drag_NACA4_2020 = {0.33708, 0.24958, 0.18194, 0.12932, 0.09027, 0.06551, 0.05543, 0.05160, 0.04079, 0.04952, 0.06034, 0.07538, 0.09570, 0.21309, 0.26953};
+    // y_seed: starting y of the iteration, NaN for the usual guess
+    void get_points (double fxg, double psv, double effaoa, double y_seed, FlowPoint pt) {
+      double radm,thetm;                /* MODS  20 Jul 99  whole routine*/
+      double fnew,y_new,y_old,rfac;
+      double xold,xnew,thet;
+      double rmin, rmax;
+      int iter,isign;
+      double rval2 = rval*rval;
 
-    double[] t_mmnt_NACA4_2020 = {-0.193, -0.184, -0.186, -0.196, -0.212, -0.238, -0.267, -0.327, -0.393, -0.519, -0.546, -0.571, -0.595, -0.615, -0.639};
+      /* get variables in the generating plane */
+      /* iterate to find value of yg */
+      y_new = 10.0;
+      y_old = 10.0;
+      if (psv < 0.0) y_new = -10.0;
+      if (Math.abs(psv) < .001 && effaoa < 0.0) y_new = rval;
+      if (Math.abs(psv) < .001 && effaoa >= 0.0) y_new = -rval;
+      if (!Double.isNaN(y_seed)) y_new = y_seed;
+      fnew = 0.1;
+      iter = 1;
+      while (Math.abs(fnew) >= .00001 && iter < 25) {
+        ++iter;
+        rfac = fxg*fxg + y_new*y_new;
+        if (rfac < rval2) rfac = rval2 + .01;
+        fnew = psv - y_new*(1.0 - rval2/rfac)
+          - gamval*Math.log(Math.sqrt(rfac)/rval);
+        double deriv = - (1.0 - rval2/rfac)
+          - 2.0 * y_new*y_new*rval2/(rfac*rfac)
+          - gamval * y_new / rfac;
+        y_old = y_new;
+        y_new = y_old  - .5*fnew/deriv;
+      }
+      double lyg, lrg, lthg, lxgt, lygt, lrgt, lthgt, lxm, lym, lxmt, lymt;
+      lyg = y_old;
+      /* rotate for angle of attack */
+      lrg = Math.sqrt(fxg*fxg + lyg*lyg);
+      lthg = Math.atan2(lyg,fxg)/convdr;
+      lxgt = lrg * Math.cos(convdr*(lthg + effaoa));
+      lygt = lrg * Math.sin(convdr*(lthg + effaoa));
+      /* translate cylinder to generate airfoil */
+      lxgt = lxgt + xcval;
+      lygt = lygt + ycval;
+      lrgt = Math.sqrt(lxgt*lxgt + lygt*lygt);
+      lthgt = Math.atan2(lygt,lxgt)/convdr;
+      /*  Kutta-Joukowski mapping */
+      lxm = (lrgt + 1.0/lrgt)*Math.cos(convdr*lthgt);
+      lym = (lrgt - 1.0/lrgt)*Math.sin(convdr*lthgt);
+      /* tranforms for view fixed with free stream */
+      /* take out rotation for angle of attack mapped and cylinder */
+      radm = Math.sqrt(lxm*lxm+lym*lym);
+      thetm = Math.atan2(lym,lxm)/convdr;
+      lxmt = radm*Math.cos(convdr*(thetm-effaoa));
+      lymt = radm*Math.sin(convdr*(thetm-effaoa));
 
-    double[][] t_lift_NACA4 = {
-      t_lift_NACA4_0005, 
-      t_lift_NACA4_0505, 
-      t_lift_NACA4_1005, 
-      t_lift_NACA4_1505, 
-      t_lift_NACA4_2005, 
+      lxgt = lxgt - xcval;
+      lygt = lygt - ycval;
+      lrgt = Math.sqrt(lxgt*lxgt + lygt*lygt);
+      lthgt = Math.atan2(lygt,lxgt)/convdr;
+      lxgt = lrgt * Math.cos((lthgt - effaoa)*convdr);
+      lygt = lrgt * Math.sin((lthgt - effaoa)*convdr);
 
-      t_lift_NACA4_0010,
-      t_lift_NACA4_0510,
-      t_lift_NACA4_1010,
-      t_lift_NACA4_1510,
-      t_lift_NACA4_2010,
+      pt.lyg = lyg; pt.lrg = lrg; pt.lthg = lthg; 
+      pt.lxgt = lxgt; pt.lygt = lygt; pt.lrgt = lrgt; pt.lthgt = lthgt;
+      pt.lxm = lxm; pt.lym = lym; pt.lxmt = lxmt; pt.lymt = lymt;
+    }
 
-      t_lift_NACA4_0015,
-      t_lift_NACA4_0515,
-      t_lift_NACA4_1015,
-      t_lift_NACA4_1515,
-      t_lift_NACA4_2015,
+    // the x direction of flow, the part of getVel that genFlow needs
+    double get_vxdir (double rad, double theta, double alfrad) {
+      double thrad = convdr * theta;
+      double rr = (rval*rval)/(rad*rad);
+      double ur  = Math.cos(thrad-alfrad)*(1.0-rr);
+      double uth = -Math.sin(thrad-alfrad)*(1.0+rr) - gamval/rad;
+      return ur * Math.cos(thrad) - uth * Math.sin(thrad);
+    }
+ 
+    public void getVel (double rad, double theta) {  //velocity and pressure 
+      double ur,uth,jake1,jake2,jakesq;
+      double xloc,yloc,thrad,alfrad;
+      double effaoa = effective_aoa();
 
-      t_lift_NACA4_0020,
-      t_lift_NACA4_0520,
-      t_lift_NACA4_1020,
-      t_lift_NACA4_1520,
-      t_lift_NACA4_2020
-    };
+      thrad = convdr * theta;
+      alfrad = convdr * effaoa;
+      /* get x, y location in cylinder plane */
+      xloc = rad * Math.cos(thrad);
+      yloc = rad * Math.sin(thrad);
+      /* velocity in cylinder plane */
+      ur  = Math.cos(thrad-alfrad)*(1.0-(rval*rval)/(rad*rad));
+      uth = -Math.sin(thrad-alfrad)*(1.0+(rval*rval)/(rad*rad))
+        - gamval/rad;
+      usq = ur*ur + uth*uth;
+      vxdir = ur * Math.cos(thrad) - uth * Math.sin(thrad); // MODS  20 Jul 99 
+      /* translate to generate airfoil  */
+      xloc = xloc + xcval;
+      yloc = yloc + ycval;
+      /* compute new radius-theta  */
+      rad = Math.sqrt(xloc*xloc + yloc*yloc);
+      thrad  = Math.atan2(yloc,xloc);
+      /* compute Joukowski Jacobian  */
+      jake1 = 1.0 - Math.cos(2.0*thrad)/(rad*rad);
+      jake2 = Math.sin(2.0*thrad)/(rad*rad);
+      jakesq = jake1*jake1 + jake2*jake2;
+      if (Math.abs(jakesq) <= .01) jakesq = .01;  /* protection */
+      vsq = usq / jakesq;
+      /* vel is velocity ratio - pres is coefficient  (p-p0)/q0_EN   */
+      if (!foil_is_cylinder_or_ball(current_part.foil)) {
+        vel = Math.sqrt(vsq);
+        pres = 1.0 - vsq;
+      } else  {
+        vel = Math.sqrt(usq);
+        pres = 1.0 - usq;
+      }
+      return;
+    }
 
-    double[][] t_drag_NACA4 = {
-      t_drag_NACA4_0005, 
-      t_drag_NACA4_0505, 
-      t_drag_NACA4_1005, 
-      t_drag_NACA4_1505, 
-      t_drag_NACA4_2005, 
+    public void getProbe () { /* all of the information needed for the probe */
+      double prxg;
+      int index;
+      double effaoa = effective_aoa();
+      /* get variables in the generating plane */
+      if (Math.abs(ypval) < .01) ypval = .05;
+      getPoints(xpval,ypval);
 
-      t_drag_NACA4_0010,
-      t_drag_NACA4_0510,
-      t_drag_NACA4_1010,
-      t_drag_NACA4_1510,
-      t_drag_NACA4_2010,
+      solver.getVel(lrg,lthg);
+      loadProbe();
 
-      t_drag_NACA4_0015,
-      t_drag_NACA4_0515,
-      t_drag_NACA4_1015,
-      t_drag_NACA4_1515,
-      t_drag_NACA4_2015,
+      pxg = lxgt;
+      pyg = lygt;
+      prg = lrgt;
+      pthg = lthgt;
+      pxm = lxmt;
+      pym = lymt;
+      /* smoke */
+      if (pboflag == 3 ) {
+        prxg = xpval;
+        for (index =1; index <=POINTS_COUNT; ++ index) {
+          getPoints(prxg,ypval);
+          xg[19][index] = lxgt;
+          yg[19][index] = lygt;
+          rg[19][index] = lrgt;
+          thg[19][index] = lthgt;
+          xm[19][index] = lxmt;
+          ym[19][index] = lymt;
+          if (stall_model_type != STALL_MODEL_IDEAL_FLOW) {           // stall model
+            double apos = stall_model_type == STALL_MODEL_DFLT ? +10 : stall_model_apos;
+            double aneg = stall_model_type == STALL_MODEL_DFLT ? -10 : stall_model_aneg;
+            if (xpval > 0.0) {
+              if (effaoa > apos  && ypval > 0.0) { 
+                ym[19][index] = ym[19][1];
+              } 
+              if (effaoa < aneg && ypval < 0.0) {
+                ym[19][index] = ym[19][1];
+              }
+            }
+            if (xpval < 0.0) {
+              if (effaoa > apos && ypval > 0.0) { 
+                if (xm[19][index] > 0.0) {
+                  ym[19][index] = ym[19][index-1];
+                }
+              } 
+              if (effaoa < aneg && ypval < 0.0) {
+                if (xm[19][index] > 0.0) {
+                  ym[19][index] = ym[19][index-1];
+                }
+              }
+            }
+          }
+          solver.getVel(lrg,lthg);
+          prxg = prxg + vxdir*STEP_X;
+        }
+      }
+      return;
+    }
 
-      t_drag_NACA4_0020,
-      t_drag_NACA4_0520,
-      t_drag_NACA4_1020,
-      t_drag_NACA4_1520,
-      t_drag_NACA4_2020
-    };
+    // from http://paulbourke.net/miscellaneous/interpolation/ 
+    double LinearInterpolate (double y1,double y2, double mu) {
+      double res = (y1*(1-mu)+y2*mu);
+      // System.out.println("-- y1: " + y1);
+      // System.out.println("-- y2: " + y2);
+      // System.out.println("-- res: " + res);
+      return res;
+    }
 
+    // from http://paulbourke.net/miscellaneous/interpolation/ 
+    double CosineInterpolate (double y1,double y2, double mu) {
+      double mu2 = (1-Math.cos(mu* Math.PI ))/2;
+      return(y1*(1-mu2)+y2*mu2);
+    }
 
-    double[][] t_mmnt_NACA4 = {
-      t_mmnt_NACA4_0005, 
-      t_mmnt_NACA4_0505, 
-      t_mmnt_NACA4_1005, 
-      t_mmnt_NACA4_1505, 
-      t_mmnt_NACA4_2005, 
 
-      t_mmnt_NACA4_0010,
-      t_mmnt_NACA4_0510,
-      t_mmnt_NACA4_1010,
-      t_mmnt_NACA4_1510,
-      t_mmnt_NACA4_2010,
+    // from http://paulbourke.net/miscellaneous/interpolation/ 
+    // The
+    // function requires 4 points in all labeled y0, y1, y2, and y3,
+    // mu: 0 to 1 for 
+    // interpolating between the segment y1 to y2. 
+    double CubicInterpolate (double y0,double y1,
+                            double y2,double y3,
+                            double mu)
+    {
+      double a0,a1,a2,a3,mu2;
 
-      t_mmnt_NACA4_0015,
-      t_mmnt_NACA4_0515,
-      t_mmnt_NACA4_1015,
-      t_mmnt_NACA4_1515,
-      t_mmnt_NACA4_2015,
+      mu2 = mu*mu;
 
-      t_mmnt_NACA4_0020,
-      t_mmnt_NACA4_0520,
-      t_mmnt_NACA4_1020,
-      t_mmnt_NACA4_1520,
-      t_mmnt_NACA4_2020
-    };
+      //a0 = y3 - y2 - y0 + y1;
+      //a1 = y0 - y1 - a0;
+      //a2 = y2 - y0;
+      //a3 = y1;
 
-    // NACA 6 series variants
-    // use this to convert excel column of 25 values to array initializer:
-    /* 
-       (fset 'conv_25_rows_to_array_initializer
-       [?\C-y ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\M-^ ?\C-a ?\{ ?\C-e ?\} ?\C-  ?\C-\M-b ?\C-e ?\C-  ?\C-a ?\C-x ?n ?n ?\C-a ?\M-x ?r ?e ?p ?l ?  ?s ?t ?r ?i ?n ?g return ?  return ?, ?  return ?\C-b ?\C-b ?\C-d ?\C-d ?\C-a ?\C-x ?n ?w])
-    */
+      // Paul Breeuwsma proposes the following coefficients for a
+      // smoother interpolated curve, which uses the slope between the
+      // previous point and the next as the derivative at the current
+      // point. This results in what are generally referred to as
+      // Catmull-Rom splines.
+      a0 = -0.5*y0 + 1.5*y1 - 1.5*y2 + 0.5*y3;
+      a1 = y0 - 2.5*y1 + 2*y2 - 0.5*y3;
+      a2 = -0.5*y0 + 0.5*y2;
+      a3 = y1;
+
+      return(a0*mu*mu2+a1*mu2+a2*mu+a3);
+    }
 
-    // NACA 64_814 with TE gap = 0.5%
-    double[] t_lift_NACA_64_814_teg05 = {-0.436, -0.495, -0.549, -0.585, -0.585, -0.521, -0.415, -0.271, -0.097, 0.112, 0.353, 0.596, 0.835, 1.073, 1.302, 1.494, 1.644, 1.715, 1.408, 1.315, 1.167, 1.003, 0.843, 0.702, 0.584};
-    double[] t_drag_NACA_64_814_teg05 = {0.31324, 0.2687, 0.21301, 0.17075, 0.13549, 0.1072, 0.08288, 0.06413, 0.05002, 0.01114, 0.00998, 0.00805, 0.00833, 0.00811, 0.00777, 0.021, 0.02575, 0.03206, 0.08869, 0.11247, 0.14528, 0.18438, 0.23803, 0.29672, 0.34426};
     
 
     // cubic-interpolate using array of -28 to +28 step 4 lift or drag data.
@@ -4964,6 +6873,17 @@ public class FoilBoard extends JApplet {
       return result;
     }
 
+    // Compute 15-elt array of Cd values for given cd tables, thickness and camber.
+    // Can be used to load cache current_part.t_Cd. Unlike Cl and Cm, no
+    // sign flip for negative camber: solver.get_Cd already flips the aoa
+    // and the tables blend negative camber directly.
+    double[] compute_t_Cd (double[][] t_drag, double thickness, double camber) {
+      double[] result = new double[15];
+      for (int aoa = -28, i = 0; aoa <= 28; aoa += 4, i++) 
+        result[i] = ci15_from_javafoil_data(t_drag, aoa, thickness, camber);
+      return result;
+    }
+
     // Compute 15-elt array of Cm values for given cm tables, thickness and camber.
     // Can be used to load cache current_part.t_Cmm
     // TDDO: combine with compute_t_Cl ???
@@ -5464,12 +7384,136 @@ public class FoilBoard extends JApplet {
 
   } // end Solver
 
+  // Convergence diagnostics of one VPP goal seek (find_min_takeoff_v,
+  // easy_ride, easy_ride_from_70kmh_down, max_speed). Residual history
+  // holds one (speed, residual) point per step of the goal seek's outer
+  // loop; residual is drag - max_drag for takeoff and max speed, NaN when
+  // the craft could not be trimmed at that speed, and total drag (what is
+  // being minimized) for cruise. The bracket is the speed interval the
+  // result is known to be in: [last failing, first flying] speed for
+  // takeoff, result +- last step for cruise, [result, result + 1] for max
+  // speed; NaN when there is none. Shown on the Diagnostics tab, see
+  // seek_log.
+  static class SeekDiag {
+    static final int MAX_HISTORY = 500; // points beyond this are only counted
+    String goal, config;
+    Date date = new Date();
+    long t0 = System.nanoTime(), wall_ns;
+    int evals, trims, failed_trims, history_dropped;
+    double[] xs = new double[16], residuals = new double[16];
+    int history_count = 0;
+    double bracket_lo = Double.NaN, bracket_hi = Double.NaN;
+    double velocity, pitch;
+    boolean converged, hit_v_limit, hit_aoa_max, hit_iteration_cap;
+    // where the goal seek started from, see VPP.begin_seek
+    int recomps0, trims0, failed_trims0, aoa_max_hits0;
+    Object jfr;
+
+    SeekDiag (String goal, String config) { this.goal = goal; this.config = config; }
+
+    void add (double x, double residual) {
+      if (history_count == MAX_HISTORY) { history_dropped++; return; }
+      if (history_count == xs.length) {
+        double[] nx = new double[2*xs.length], nr = new double[2*xs.length];
+        System.arraycopy(xs, 0, nx, 0, history_count);
+        System.arraycopy(residuals, 0, nr, 0, history_count);
+        xs = nx; residuals = nr;
+      }
+      xs[history_count] = x;
+      residuals[history_count++] = residual;
+    }
+
+    // filter3 makes NaN 0
+    static String f3 (double v) { return Double.isNaN(v) ? "NaN" : "" + filter3(v); }
+
+    String limits () {
+      String l = (hit_v_limit ? " v_max" : "") + (hit_aoa_max ? " aoa_max" : "") + (hit_iteration_cap ? " iteration_cap" : "");
+      return l.length() == 0 ? "none" : l.trim();
+    }
+
+    static final String CSV_HEADER = "date,config,goal,converged,speed,pitch,evals,trims,failed_trims,wall_ms," + 
+      "bracket_lo,bracket_hi,limits,history_points,history";
+
+    String csv () {
+      StringBuilder h = new StringBuilder();
+      for (int i = 0; i < history_count; i++) 
+        h.append(i == 0 ? "" : " ").append(f3(xs[i])).append(':').append(f3(residuals[i]));
+      return date.getTime() + ",\"" + config.replace("\"", "'") + "\"," + goal + "," + converged + "," + 
+        velocity + "," + pitch + "," + evals + "," + trims + "," + failed_trims + "," + wall_ns/1e6 + "," + 
+        bracket_lo + "," + bracket_hi + "," + limits().replace(' ', '+') + "," + (history_count + history_dropped) + 
+        ",\"" + h + "\"";
+    }
+
+    void print (StringBuilder sb) {
+      sb.append(date + "  " + config + "\n");
+      sb.append("  " + goal + ": " + (converged ? "converged" : "NOT CONVERGED") + 
+                " at speed " + f3(velocity) + " pitch " + f3(pitch) + "\n");
+      sb.append("  evaluations (recomp_all_parts): " + evals + ", trims: " + trims + 
+                " (failed: " + failed_trims + "), wall time: " + f3(wall_ns/1e6) + " ms\n");
+      sb.append("  final bracket: [" + f3(bracket_lo) + ", " + f3(bracket_hi) + "], limits hit: " + limits() + "\n");
+      sb.append("  residual history (speed: residual), " + (history_count + history_dropped) + " points" + 
+                (history_dropped > 0 ? ", first " + history_count + " shown" : "") + ":");
+      for (int i = 0; i < history_count; i++) 
+        sb.append(i % 6 == 0 ? "\n    " : "   ").append(f3(xs[i])).append(": ").append(f3(residuals[i]));
+      sb.append("\n\n");
+    }
+  }
+
+  // the latest goal seeks of all engines in this process, oldest first
+  static final int SEEK_LOG_SIZE = 100;
+  static SeekDiag[] seek_log = new SeekDiag[SEEK_LOG_SIZE];
+  static int seek_log_count = 0; // total ever logged
+  static synchronized void log_seek (SeekDiag d) { seek_log[seek_log_count++ % SEEK_LOG_SIZE] = d; }
+  static synchronized int seek_log_total () { return seek_log_count; }
+  static synchronized SeekDiag[] recent_seeks () {
+    int n = Math.min(seek_log_count, SEEK_LOG_SIZE);
+    SeekDiag[] r = new SeekDiag[n];
+    for (int i = 0; i < n; i++) r[i] = seek_log[(seek_log_count - n + i) % SEEK_LOG_SIZE];
+    return r;
+  }
+  static synchronized void clear_seek_log () { 
+    java.util.Arrays.fill(seek_log, null); 
+    seek_log_count = 0; 
+  }
+
   class VPP {     // Velocity Prediction Procedures aka VPP
     boolean trace;
     void trace (String msg) {
       if (trace) System.out.println("-- VPP trace: " + msg);
     }
 
+    // ends the JFR GoalSeek event jfr of a goal seek that started when
+    // recomp_all_parts_count was recomps0
+    void commit_goal_seek (Object jfr, String goal, int recomps0, boolean converged) {
+      if (jfr != null) 
+        jfr_goal_seek.commit(jfr, t_foil_name, goal, velocity, craft_pitch, foil_lift(), total_drag(), 
+                             recomp_all_parts_count - recomps0, converged);
+    }
+
+    // diagnostics of a goal seek starting now; end_seek logs it when done
+    SeekDiag begin_seek (String goal) {
+      SeekDiag d = new SeekDiag(goal, t_foil_name);
+      d.jfr = jfr_goal_seek.begin();
+      d.recomps0 = recomp_all_parts_count;
+      d.trims0 = steady_flight_at_given_speed___count;
+      d.failed_trims0 = steady_flight_at_given_speed___failures;
+      d.aoa_max_hits0 = steady_flight_at_given_speed___aoa_max_hits;
+      return d;
+    }
+
+    void end_seek (SeekDiag d, boolean converged) {
+      d.wall_ns = System.nanoTime() - d.t0;
+      d.converged = converged;
+      d.velocity = velocity;
+      d.pitch = craft_pitch;
+      d.evals = recomp_all_parts_count - d.recomps0;
+      d.trims = steady_flight_at_given_speed___count - d.trims0;
+      d.failed_trims = steady_flight_at_given_speed___failures - d.failed_trims0;
+      if (steady_flight_at_given_speed___aoa_max_hits > d.aoa_max_hits0) d.hit_aoa_max = true;
+      log_seek(d);
+      commit_goal_seek(d.jfr, d.goal, d.recomps0, converged);
+    }
+
     // for heading angle estimate, symmetric airfoil. That is, returns AoA of the mast the mast must 
     // for given side-force (lift). This is not exact and only is OK for linear region of small angles, used
     // in conjunction with main VPP routines to set some reasonable mast AoA.
@@ -5488,6 +7532,67 @@ public class FoilBoard extends JApplet {
       return aoa;
     }
 
+    // Defaults of the VPP constraint boxes of In.Flight, Newtons. Params
+    // TKL, TKD, CRL, RSL and RSD override them.
+    String takeoff_min_lift_dflt () {
+      switch (craft_type) {
+      case KITEFOIL: return ""+(load * 0.55); // kite can pull you up on takeoff *a lot*
+      case WINGFOIL: return ""+(load * 0.85); // wing pumping can pull you up some
+      case WINDFOIL: 
+      default:
+        return ""+load;
+      }
+    }
+    String takeoff_max_drag_dflt () { return craft_type == KITEFOIL || craft_type == EFOIL ? "120" : "85"; }
+    String cruise_min_lift_dflt () {
+      switch (craft_type) {
+      case KITEFOIL: return ""+(load * 0.7);  // kiters cruise with kite way up.
+      case WINGFOIL: return ""+(load * 0.85); // wing generates some lift
+      case WINDFOIL: 
+      default:
+        return ""+load;
+      }
+    }
+    String race_min_lift_dflt () { return ""+load; }
+    String race_max_drag_dflt () { return craft_type == WINGFOIL ? "196" : "245"; } // 20 or 25 kg force
+
+    // Runs the takeoff, cruise and max speed goal seeks one after
+    // another, the way the In.Flight buttons do, with the constraints
+    // those boxes start with. Used by batch mode. Unsolved goals leave
+    // their results NaN.
+    void run_goal_seeks () {
+      double tkoff_min_lift  = filter0(Double.parseDouble(getParamOrProp("TKL", takeoff_min_lift_dflt())));
+      double tkoff_max_drag  = filter0(Double.parseDouble(getParamOrProp("TKD", takeoff_max_drag_dflt())));
+      double cruise_min_lift = filter0(Double.parseDouble(getParamOrProp("CRL", cruise_min_lift_dflt())));
+      double race_min_lift   = filter0(Double.parseDouble(getParamOrProp("RSL", race_min_lift_dflt())));
+      double race_max_drag   = filter0(Double.parseDouble(getParamOrProp("RSD", race_max_drag_dflt())));
+
+      // takeoff
+      min_takeoff_speed = min_takeoff_lift = min_takeoff_drag = Double.NaN;
+      load = tkoff_min_lift;
+      alt_val = 0;
+      find_min_takeoff_v(tkoff_min_lift, tkoff_max_drag, true);
+      recomp_all_parts();
+
+      // cruise
+      cruising_speed = cruising_lift = cruising_drag = Double.NaN;
+      load = cruise_min_lift;
+      alt_val = 80;
+      strut.aoa = 0;
+      find_min_takeoff_v(cruise_min_lift, tkoff_max_drag, false); // find starting point
+      easy_ride(cruise_min_lift);
+      recomp_all_parts();
+      set_mast_aoa_for_given_drag(total_drag());
+      recomp_all_parts();
+
+      // race
+      max_speed_speed = max_speed_lift = max_speed_drag = Double.NaN;
+      load = race_min_lift;
+      alt_val = 70;
+      max_speed(race_min_lift, race_max_drag, true);
+      recomp_all_parts();
+    }
+
     boolean set_mast_aoa_for_given_drag_auto = false;
 
     void set_mast_aoa_for_given_drag (double drag) {
@@ -5526,35 +7631,90 @@ public class FoilBoard extends JApplet {
     }
 
 
-    // pivoting algorithm
+    // results of last find_aoa_of_min_drag: drag at the found pitch and
+    // how many recomp_all_parts() it took
+    double find_aoa_of_min_drag___drag = 0;
+    int find_aoa_of_min_drag___evals = 0;
+
+    double drag_at_pitch (double pitch) {
+      craft_pitch = pitch;
+      recomp_all_parts();
+      find_aoa_of_min_drag___evals++;
+      return total_drag();
+    }
+
+    // Brent's minimization (golden section + parabolic steps) of
+    // total_drag(pitch). Replaces the pivoting walk (step 0.5 halved on
+    // each reversal, stop at 0.05) that depended on the starting pitch.
+    // Drag vs pitch is not always unimodal (e.g. np-rsx has two dips 1.3
+    // degree apart), so the bracket for Brent comes from a 1 degree scan
+    // of [aoa_min/2, aoa_max/2], same range as find_aoa_of_min_drag_slow.
+    // ~30 evaluations, bounded by 21 + 40.
     void find_aoa_of_min_drag () {
       // preamble: make sure inputs are in
       //computeFlowAndRegenPlotAndAdjust();
       recomp_all_parts();
+      find_aoa_of_min_drag___evals = 0;
 
-      double min_drag = total_drag();
-      double min_drag_aoa = craft_pitch;
-      double step = 0.5;
-      double prev_drag = min_drag;
-      double p = Math.min(min_drag_aoa + step, aoa_max - 4*step);
-      while (p < aoa_max && p > aoa_min) {
-        craft_pitch = p;
-        //computeFlowAndRegenPlotAndAdjust();
-        recomp_all_parts();
-        double drag = total_drag();
-        if (drag > prev_drag) { // pivot
-          // do not! p -= step; // go back 1 'old' step 
-          step = -step/2; // shrink step
-          if (Math.abs(step) < 0.05) break;
-        } else if (drag < min_drag) {
-          min_drag_aoa = craft_pitch;
+      // step 1. bracket
+      double x = 0, fx = Double.MAX_VALUE, scan_step = 1;
+      for (double p = aoa_min/2; p <= aoa_max/2; p += scan_step) {
+        double drag = drag_at_pitch(p);
+        if (drag < fx) { fx = drag; x = p; }
+      }
+
+      // step 2. Brent within [x - scan_step, x + scan_step], to 0.01 degree
+      final double golden = 0.3819660, tol = 0.01, eps = 1e-10;
+      double a = x - scan_step, b = x + scan_step;
+      double w = x, v = x, fw = fx, fv = fx;
+      double d = 0, e = 0;
+      for (int iter = 0; iter < 40; iter++) {
+        double xm = (a + b)/2;
+        double tol1 = tol + eps, tol2 = 2*tol1; // absolute, degrees
+        if (Math.abs(x - xm) <= tol2 - (b - a)/2) 
+          break; // done
+        if (Math.abs(e) > tol1) { // try parabolic fit through x, w, v
+          double r = (x - w)*(fx - fv);
+          double q = (x - v)*(fx - fw);
+          double p = (x - v)*q - (x - w)*r;
+          q = 2*(q - r);
+          if (q > 0) p = -p; else q = -q;
+          double etemp = e;
+          e = d;
+          if (Math.abs(p) >= Math.abs(q*etemp/2) || p <= q*(a - x) || p >= q*(b - x)) {
+            e = (x >= xm) ? a - x : b - x;
+            d = golden*e;
+          } else {
+            d = p/q;
+            double u = x + d;
+            if (u - a < tol2 || b - u < tol2) 
+              d = xm >= x ? tol1 : -tol1;
+          }
+        } else { // golden section step
+          e = (x >= xm) ? a - x : b - x;
+          d = golden*e;
+        }
+        double u = Math.abs(d) >= tol1 ? x + d : x + (d >= 0 ? tol1 : -tol1);
+        double fu = drag_at_pitch(u);
+        if (fu <= fx) {
+          if (u >= x) a = x; else b = x;
+          v = w; fv = fw;
+          w = x; fw = fx;
+          x = u; fx = fu;
+        } else {
+          if (u < x) a = u; else b = u;
+          if (fu <= fw || w == x) {
+            v = w; fv = fw;
+            w = u; fw = fu;
+          } else if (fu <= fv || v == x || v == w) {
+            v = u; fv = fu;
+          }
         }
-        prev_drag = drag;
-        p += step;
       }
-      craft_pitch = min_drag_aoa;
-      //computeFlowAndRegenPlotAndAdjust();
-      recomp_all_parts();
+      if (craft_pitch != x) 
+        drag_at_pitch(x);
+      find_aoa_of_min_drag___drag = fx;
+      trace("find_aoa_of_min_drag: pitch " + x + " drag " + fx + " in " + find_aoa_of_min_drag___evals + " evaluations");
     }
 
 
@@ -5564,6 +7724,7 @@ public class FoilBoard extends JApplet {
     // if flying than pivot ( step = step * -0.5 ) and in that direction 
     // pivot when nto flying. finish when step is + and small enough
     void find_min_takeoff_v (double min_lift, double max_drag, boolean mk_report) {
+      SeekDiag diag = begin_seek("find_min_takeoff_v");
       double saved_speed = velocity;
       System.out.println("-- min_lift: " + min_lift + " max_drag: " + max_drag);
 
@@ -5579,6 +7740,10 @@ public class FoilBoard extends JApplet {
         // System.out.println("-- velocity: " + velocity);
         vpp.steady_flight_at_given_speed(5, 0);
         // double lift = foil_lift();
+        boolean flying = vpp.steady_flight_at_given_speed___ok && total_drag() <= max_drag;
+        diag.add(speed, vpp.steady_flight_at_given_speed___ok ? total_drag() - max_drag : Double.NaN);
+        if (flying) diag.bracket_hi = Double.isNaN(diag.bracket_hi) ? speed : Math.min(diag.bracket_hi, speed);
+        else diag.bracket_lo = Double.isNaN(diag.bracket_lo) ? speed : Math.max(diag.bracket_lo, speed);
         if (step > 0 && vpp.steady_flight_at_given_speed___ok && total_drag() <= max_drag) {
           if (step < 0.01) break;
           step = -step/2; // shrink step & pivot
@@ -5595,6 +7760,9 @@ public class FoilBoard extends JApplet {
         System.out.println("\nDone!\n----------------\n" + min_takeoff_speed_info);
       }
 
+      diag.hit_v_limit = speed >= v_max;
+      end_seek(diag, speed < v_max && total_drag() <= max_drag);
+      metrics.find_min_takeoff_v.record(diag.wall_ns);
     }
 
 
@@ -5684,15 +7852,20 @@ public class FoilBoard extends JApplet {
     // algorith that uses find_steady_conditions....
     // goes up, must start from velocity set to min takeoff speed.
     void easy_ride (double min_lift) {      
+      SeekDiag diag = begin_seek("easy_ride");
+      boolean converged = false;
       double pitch = 0;
       double min_drag = 10000.0;
       double step = 2;
-      for (int count = 0; count < 10000; count++) {
+      int count = 0;
+      for (; count < 10000; count++) {
         trace("velocity: " + velocity + " step: " + step);
         steady_flight_at_given_speed(5, 0);
         double total_drag = total_drag();
         double foil_lift = foil_lift();
-        if (Math.abs(step) < 0.01) break;
+        diag.add(velocity, total_drag);
+        if (Math.abs(step) < 0.01) { converged = true; break; }
+        if (step > 0 && velocity >= 70) diag.hit_v_limit = true;
         if (//(step < 0 && velocity+step <= 0) ||
             (step > 0 && velocity >= 70) ||
             foil_lift < load ||
@@ -5706,22 +7879,31 @@ public class FoilBoard extends JApplet {
       }
       make_cruising_info(min_lift, min_drag, velocity); 
       System.out.println("\nDone!\n----------------\n" + cruising_info);
+      diag.bracket_lo = velocity - Math.abs(step);
+      diag.bracket_hi = velocity + Math.abs(step);
+      diag.hit_iteration_cap = count == 10000;
+      end_seek(diag, converged);
+      metrics.easy_ride.record(diag.wall_ns);
     }
 
     // algorith that uses find_steady_conditions....
     // goes down, so start speed is fast
     void easy_ride_from_70kmh_down (double min_lift) {      
+      SeekDiag diag = begin_seek("easy_ride_from_70kmh_down");
+      boolean converged = false;
       double start_speed = 70; // kmh
       double pitch = 0;
       double min_drag = 10000.0;
       double step = -10;
       velocity = start_speed;
-      for (int count = 0; count < 10000; count++) {
+      int count = 0;
+      for (; count < 10000; count++) {
         trace("velocity: " + velocity + " step: " + step);
         steady_flight_at_given_speed(5, 0);
         double total_drag = total_drag();
         double foil_lift = foil_lift();
-        if (Math.abs(step) < 0.01) break;
+        diag.add(velocity, total_drag);
+        if (Math.abs(step) < 0.01) { converged = true; break; }
         if ((step < 0 && velocity+step <= 0) ||
             // (step > 0 && velocity >= 70) ||
             foil_lift < load ||
@@ -5735,6 +7917,10 @@ public class FoilBoard extends JApplet {
       }
       make_cruising_info(min_lift, min_drag, velocity); 
       System.out.println("\nDone!\n----------------\n" + cruising_info);
+      diag.bracket_lo = velocity - Math.abs(step);
+      diag.bracket_hi = velocity + Math.abs(step);
+      diag.hit_iteration_cap = count == 10000;
+      end_seek(diag, converged);
     }
 
 
@@ -5808,6 +7994,14 @@ public class FoilBoard extends JApplet {
     }
 
     void max_speed (double min_lift, double max_drag, boolean update_info) {
+      SeekDiag diag = begin_seek("max_speed");
+      boolean solved = find_max_speed(min_lift, max_drag, update_info, diag);
+      end_seek(diag, solved);
+      metrics.max_speed.record(diag.wall_ns);
+    }
+
+    // false when there is no solution
+    boolean find_max_speed (double min_lift, double max_drag, boolean update_info, SeekDiag diag) {
       // step 1: find lowest drag pitch at v=20kts
       velocity = kts_to_speed(20);
       find_aoa_of_min_drag();
@@ -5824,9 +8018,11 @@ public class FoilBoard extends JApplet {
         velocity = speed;
         //computeFlowAndRegenPlotAndAdjust();
         recomp_all_parts();
+        diag.add(speed, total_drag() - max_drag);
         if (total_drag() > max_drag) 
           break;
       }
+      diag.hit_v_limit = speed >= v_max;
 
       trace("velocity after step2: " + velocity);
 
@@ -5872,24 +8068,36 @@ public class FoilBoard extends JApplet {
             break;
           }
           if (lift >= min_lift) {
+            diag.add(speed, drag - max_drag);
+            diag.bracket_lo = speed;
+            diag.bracket_hi = speed + 1;
             trace("done ");
             if (update_info) {
               make_max_speed_info(min_lift, max_drag, velocity);
               System.out.println("\nDone!\n----------------\n" + max_speed_info);
             }
-            return;
+            return true;
           } 
         }
+        diag.add(speed, drag - max_drag);
         // here pitch is at max. what about lift?
+        if (pitch >= aoa_max) diag.hit_aoa_max = true;
         if (pitch >= aoa_max && lift < min_lift) {
           trace("oops, can not be solved.\nincrease drag limit or decrease lift threshold!");
-          return;
+          return false;
         }
       }
+      return false;
     }
 
     // cached state of last invocation of steady_flight_at_given_speed
     boolean steady_flight_at_given_speed___ok = false;
+    // all invocations, those that could not trim and of these the ones
+    // that ran into aoa_max, for SeekDiag
+    int steady_flight_at_given_speed___count = 0, steady_flight_at_given_speed___failures = 0, 
+      steady_flight_at_given_speed___aoa_max_hits = 0;
+    // and how many recomp_all_parts() it took to trim
+    int steady_flight_at_given_speed___evals = 0;
 
     // steady_flight_at_given_speed: fly with given/current speed providing
     // required lift, if not zero.
@@ -5901,7 +8109,18 @@ public class FoilBoard extends JApplet {
     // that under given flight conditions (speed/drag etc) results in
     // forward motion where all forces and moments are balanced: Sum(F) = 0,
     // Sum(M) = 0.
+    //
+    // Trim pitch is the root of lift(pitch) - load. It used to be found by
+    // walking with 'step' and halving it on each pivot, 30-60
+    // recomp_all_parts() per trim. Now the walk with 'step' only brackets
+    // the root, then the bracket is closed by secant steps (Illinois
+    // variant of regula falsi, bisection as fallback), typically 5-8
+    // evaluations total. As before the result is the pitch at or just
+    // above the root (lift >= load) within 0.0025 degree.
     void steady_flight_at_given_speed (double step, double start_pitch) {
+      long t0 = System.nanoTime();
+      Object jfr = jfr_trim.begin();
+      int recomps0 = recomp_all_parts_count;
       // preamble: make sure inputs are in
       //computeFlowAndRegenPlotAndAdjust();
 
@@ -5915,31 +8134,55 @@ public class FoilBoard extends JApplet {
       //rider.weight = load - BOARD_WEIGHT - RIG_WEIGHT - FOIL_WEIGHT;
 
       steady_flight_at_given_speed___ok = false; // so far util done
+      int evals = 0;
 
+      // step 1. bracket: lo has too little lift, hi enough
+      double lo = 0, f_lo = 0, hi = 0, f_hi = 0;
+      boolean have_lo = false, have_hi = false;
+      step = Math.abs(step);
       craft_pitch = start_pitch;
-      // double prev_pitch = -20; // we nned it only because pitch value gets rounded somewhere in recomp_all_parts...
       while (craft_pitch < aoa_max && craft_pitch > aoa_min) {
-        //computeFlowAndRegenPlotAndAdjust();
-        recomp_all_parts();
-        double lift = foil_lift();
-        if (lift == load  // exact hit, done !(almost never happens, though)
-            // happens due to rounding
-            // || prev_pitch == craft_pitch
-            ) 
+        recomp_all_parts(); evals++;
+        double f = foil_lift() - load;
+        if (f >= 0) { hi = craft_pitch; f_hi = f; have_hi = true; }
+        else        { lo = craft_pitch; f_lo = f; have_lo = true; }
+        if (have_lo && have_hi) 
           break;
-        if (step > 0 && lift > load) { // done or pivot
-          if (step < 0.0025) { 
-            // done! flight is OK
-            steady_flight_at_given_speed___ok = true;
-            break;
+        craft_pitch += have_hi ? -step : step;
+      }
+
+      if (have_lo && have_hi) {
+        // step 2. close the bracket
+        double last = craft_pitch; // pitch of last recomp_all_parts
+        int side = 0; // which end moved last time: 1 hi, -1 lo
+        while (f_hi != 0 && Math.abs(hi - lo) >= 0.0025 && evals < 50) {
+          double p = hi - f_hi*(hi - lo)/(f_hi - f_lo);
+          if (!(p > Math.min(lo, hi) && p < Math.max(lo, hi)))
+            p = (lo + hi)/2;
+          craft_pitch = last = p;
+          recomp_all_parts(); evals++;
+          double f = foil_lift() - load;
+          if (f >= 0) {
+            hi = p; f_hi = f;
+            if (side == 1) f_lo /= 2; // Illinois: lo end is stuck, pull secant to it
+            side = 1;
+          } else {
+            lo = p; f_lo = f;
+            if (side == -1) f_hi /= 2;
+            side = -1;
           }
-          step = -step/2; // shrink step & pivot
-        } else if (step < 0 && lift < load) { 
-          step = -step/2; // shrink step & pivot
-        } // else keep going with current stepa
-        // prev_pitch = craft_pitch;
-        craft_pitch += step;
+        }
+        // end up on the side with enough lift
+        if (last != hi) {
+          craft_pitch = hi;
+          recomp_all_parts(); evals++;
+        }
+        steady_flight_at_given_speed___ok = true;
       }
+      steady_flight_at_given_speed___evals = evals;
+      steady_flight_at_given_speed___count++;
+      if (!steady_flight_at_given_speed___ok) steady_flight_at_given_speed___failures++;
+      if (!steady_flight_at_given_speed___ok && craft_pitch >= aoa_max) steady_flight_at_given_speed___aoa_max_hits++;
 
       // expect small increse in drag as the result
       vpp.set_mast_aoa_for_given_drag(total_drag()); // (wing.drag+stab.drag);
@@ -5970,6 +8213,103 @@ public class FoilBoard extends JApplet {
       //  }                      
       //}
 
+      metrics.steady_flight_at_given_speed.record(System.nanoTime() - t0);
+      if (jfr != null) 
+        jfr_trim.commit(jfr, t_foil_name, velocity, craft_pitch, foil_lift(), total_drag(), 
+                        recomp_all_parts_count - recomps0, steady_flight_at_given_speed___ok);
+    }
+
+    // Parallel steady flight speed sweep. Each chunk of consecutive speeds
+    // is solved on its own engine copy (see make_engine_copy) so that this
+    // instance's flight state is never touched. The copies are made on the
+    // calling thread. The first point of each chunk is trimmed there too,
+    // in order, each warm-started from the one before, the very first
+    // from pitch 0 as the old sequential sweep did. The chunks then go on
+    // in parallel, each point warm-started from the previous one. Like the
+    // old sweep this stops at the first point with lift under min_lift:
+    // later points are not solved and are left null in the result.
+    // speeds are expected in descending order.
+    int sweep_chunk_size = 8;
+
+    class SweepPoint {
+      double speed, lift, drag, pitch, cg_pos_board_level, cg_pos_of_rider;
+      int evals; // recomp_all_parts() calls it took to trim
+    }
+
+    class SteadyFlightSweep extends RecursiveAction {
+      private static final long serialVersionUID = 1L;
+      FoilBoard engine; double[] speeds; SweepPoint[] res; int lo, hi; double min_lift;
+      AtomicInteger halt; // lowest index found short of lift so far
+      SteadyFlightSweep (FoilBoard engine, double[] speeds, SweepPoint[] res, int lo, int hi,
+                         double min_lift, AtomicInteger halt) {
+        this.engine = engine; this.speeds = speeds; this.res = res; this.lo = lo; this.hi = hi;
+        this.min_lift = min_lift; this.halt = halt;
+      }
+
+      // solves point i warm-started from the engine's pitch, or from 0
+      boolean solve (int i, boolean cold) {
+        engine.velocity = speeds[i];
+        if (cold)
+          engine.vpp.steady_flight_at_given_speed(2, 0);
+        else
+          engine.vpp.steady_flight_at_given_speed(1, engine.craft_pitch);
+        SweepPoint pt = new SweepPoint();
+        pt.speed = engine.velocity;
+        pt.lift = engine.foil_lift();
+        pt.drag = engine.total_drag();
+        pt.pitch = engine.craft_pitch;
+        pt.cg_pos_board_level = engine.cg_pos_board_level;
+        pt.cg_pos_of_rider = engine.cg_pos_of_rider;
+        pt.evals = engine.vpp.steady_flight_at_given_speed___evals;
+        res[i] = pt;
+        if (pt.lift >= min_lift) return true;
+        int h;
+        while ((h = halt.get()) > i && !halt.compareAndSet(h, i)) ;
+        return false;
+      }
+
+      // the rest of the chunk, its first point is solved already
+      protected void compute () {
+        for (int i = lo + 1; i < hi && i < halt.get(); i++) 
+          if (!solve(i, false)) break;
+      }
+    }
+
+    SweepPoint[] steady_flight_sweep (double[] speeds, double min_lift) {
+      long t0 = System.nanoTime();
+      SweepPoint[] res = new SweepPoint[speeds.length];
+      boolean parallel = false;
+      /**
+       * @j2sNative
+       * 
+       *    var dummy = 0;
+       */
+      { // only in Java, no threads in JavaScript
+        parallel = Runtime.getRuntime().availableProcessors() > 1;
+      }
+      int chunk = parallel ? sweep_chunk_size : Math.max(1, speeds.length);
+      AtomicInteger halt = new AtomicInteger(speeds.length);
+      ArrayList<SteadyFlightSweep> tasks = new ArrayList<SteadyFlightSweep>();
+      double pitch = 0;
+      for (int lo = 0; lo < speeds.length; lo += chunk) {
+        SteadyFlightSweep t = new SteadyFlightSweep(make_engine_copy(), speeds, res, lo, 
+                                                    Math.min(lo + chunk, speeds.length), min_lift, halt);
+        t.engine.craft_pitch = pitch;
+        boolean ok = t.solve(lo, lo == 0);
+        pitch = t.engine.craft_pitch;
+        if (!ok) break;
+        tasks.add(t);
+      }
+      if (parallel) {
+        synchronized (FoilBoard.class) {
+          if (sweep_pool == null) sweep_pool = new ForkJoinPool();
+        }
+        for (SteadyFlightSweep t : tasks) sweep_pool.execute(t);
+        for (SteadyFlightSweep t : tasks) t.join();
+      } else 
+        for (SteadyFlightSweep t : tasks) t.compute();
+      metrics.steady_flight_sweep.record(System.nanoTime() - t0); // trims are counted on their own
+      return res;
     }
 
     
@@ -5978,12 +8318,6 @@ public class FoilBoard extends JApplet {
   class DashBoard extends Panel {
     FoilBoard app;
     JLabel l1,l2,blank,liftOverDrag,FSlabel;
-    // when rider holds kite sail wing rope etc pullong forward, the posture
-    // must reflect the need to lean back proprtionaly 
-    double cg_pos; // this is offset from strut bottom LE. "fore" is -, "aft" is +,
-    double cg_pos_board_level; // offset from strut upper side LE
-    double cg_pos_of_rider; // the above with drive force counter-balansing offset added to it.
-    double cg_pos_of_rider_at_drive_height; // in theory should always match or be close to the above
     JComboBox out_CB, untch;
 
     JTextField outlft_wing, outlft_stab, outlft_strut, outlft_fuse;
@@ -6285,11 +8619,11 @@ public class FoilBoard extends JApplet {
         dash.outTotalDrag.setText(make_force_info_in_display_units(drag, true));
         dash.outPower.setText(make_power_info_in_display_units(drag, velocity, true));
         dash.out_aux_total.setText("" + (out_aux_idx == 0 ? filter1(lift/drag) 
-                                         : filter3(dash.cg_pos_of_rider_at_drive_height)// "n/a"
+                                         : filter3(cg_pos_of_rider_at_drive_height)// "n/a"
                                          ));
 
-        dash.out_rider_cg_xpos.setText(niceCGPositionInfo(dash.cg_pos_of_rider));      
-        dash.out_board_NP_xpos.setText(niceCGPositionInfo(dash.cg_pos_board_level));      
+        dash.out_rider_cg_xpos.setText(niceCGPositionInfo(cg_pos_of_rider));      
+        dash.out_board_NP_xpos.setText(niceCGPositionInfo(cg_pos_board_level));      
       }
     }
 
@@ -6389,28 +8723,33 @@ public class FoilBoard extends JApplet {
       // layin = new CardLayout();
       // setLayout(layin);
 
+      // Flight, Shape, Size, Ball and Options are driven directly by
+      // code elsewhere, hence always made. The rest are made when first
+      // selected, see LazyTab
       flt = new Flight(app);
       shp = new Shape(app);
       size = new Size(app);       
       cylShape = new BallCylinderShape(app);
-      grf = new PlotSelectorTab(app);
+      Panel grf_tab = new LazyTab("Choose Plot") {
+          Panel make () { return grf = new PlotSelectorTab(app); }};
       opts = new Opts(app);
-      env = new Env(app);
+      Panel env_tab = new LazyTab("Env") {
+          Panel make () { return env = new Env(app); }};
 
       all = new Panel[] {
           flt,
             shp,
             size,  
             cylShape,
-            grf,
+            grf_tab,
             opts,
-            env
+            env_tab
             };
 
       addTab(flt, "Flight", "Flight Panel");
       addTab(shp, "Shape", "foil-shape-panel");
       addTab(size, "Size", "Size Panel");
-      addTab(grf, "Choose Plot", "Select Plot Panel");
+      addTab(grf_tab, "Choose Plot", "Select Plot Panel");
       addTab(opts, "Options", "Settings Panel");
 
       // not very useful for Hydrofoiling board...
@@ -6420,13 +8759,14 @@ public class FoilBoard extends JApplet {
       // not really useful for Hydrofoiling board... for now, include
       // only if cylinders or Foilsim foils are included
       if (use_cylinder_shapes || use_foilsim_foils)
-        addTab(env, "Env", "Environment Panel");
+        addTab(env_tab, "Env", "Environment Panel");
 
       // can be used to attach aux logic here..
       this.addChangeListener(new javax.swing.event.ChangeListener() {
                     @Override
                     public void stateChanged(javax.swing.event.ChangeEvent e) {
                       In pane = (In) e.getSource();
+                      realize_lazy_tab(pane);
                       //System.out.println("Selected paneNo : " + pane.getSelectedIndex());
                     } });
     }
@@ -6677,15 +9017,36 @@ public class FoilBoard extends JApplet {
 
       // this is bound to the major Flight Panel sliders & boxes (speed, altitude, load)
       void find_steady_conditions () {
+        find_steady_conditions(false);
+      }
+
+      // solves on an engine copy in the background, see VPPJob. 
+      // twice: one more pass if the 1st leaves lift short
+      void find_steady_conditions (final boolean twice) {
         // System.out.println("-- find_steady_conditions: " + can_do_gui_updates);
         // double min_lift = parse_force_constraint(tf_tkoff_min_lift);
-        double max_drag = parse_force_constraint(tf_tkoff_max_drag);
-        boolean saved_flag = can_do_gui_updates;
-        can_do_gui_updates = false;
-        vpp.steady_flight_at_given_speed(5, 0);
-        can_do_gui_updates = saved_flag;
-        recomp_all_parts();
+        final double max_drag = parse_force_constraint(tf_tkoff_max_drag);
+        submit_vpp_job(new VPPJob("steady flight") {
+            void compute (FoilBoard e) {
+              steady_conditions_on(e);
+              // hack: maybe one more time, see recomp_all_parts_opt_rebalance
+              if (twice && e.foil_lift() < e.load) 
+                steady_conditions_on(e);
+            }
+            void publish (FoilBoard e) {
+              take_flight_state(e);
+              recomp_all_parts();
+              loadPanel();
+              if (total_drag() > max_drag) 
+                dash.outTotalDrag.setForeground(Color.red);
+              if (foil_lift() < load) 
+                dash.outTotalLift.setForeground(Color.red);
+            }});
+      }
 
+      void steady_conditions_on (FoilBoard e) {
+        e.vpp.steady_flight_at_given_speed(5, 0);
+        e.recomp_all_parts();
 
         // this animation idea alas does not work now... 
         // //add a bit of animation in case the rider crosses the takeoff speed.
@@ -6702,20 +9063,14 @@ public class FoilBoard extends JApplet {
         //   }
         // }
 
-        if (alt_val == 0 && foil_lift() >= load) { // need to raise up
+        if (e.alt_val == 0 && e.foil_lift() >= e.load) { // need to raise up
           // viewer.start_raise = true; // this is experimentsl, has quirks....
-          alt_val = 70;
-        } else if (alt_val > 0 && foil_lift() < load) { // must splash
+          e.alt_val = 70;
+        } else if (e.alt_val > 0 && e.foil_lift() < e.load) { // must splash
           // viewer.start_descend = true; // this is experimentsl, has quirks....
-          alt_val = 0;
+          e.alt_val = 0;
         }
-
-        
-        loadPanel();
-        if (total_drag() > max_drag) 
-          dash.outTotalDrag.setForeground(Color.red);
-        if (foil_lift() < load) 
-          dash.outTotalLift.setForeground(Color.red);
+        e.recomp_all_parts();
       }
 
       int recomp_all_parts_opt_rebalance_counter = 0;
@@ -6726,14 +9081,12 @@ public class FoilBoard extends JApplet {
 
         try {
           if (autobalance) {
-            find_steady_conditions();
             // hack: maybe one more time. when
             // recomp_all_parts_opt_rebalance is called for the stab
             // angle slider, sometimes find_steady_conditions solves poorly
             // 1st time. Need to investigate why (TODO), but re-doing it fixes the
             // problem hence the hack.
-            if (foil_lift() < load) 
-              find_steady_conditions();
+            find_steady_conditions(true);
           }else 
             recomp_all_parts();
         } catch (Throwable t) {
@@ -6755,22 +9108,25 @@ public class FoilBoard extends JApplet {
         rows++;
         speed_ctrl = new NameBoxBar(this, "Speed m/s",  "20.0", v_min, v_max);
         speed_ctrl.bar.addAdjustmentListener(new AdjustmentListener() {
-            public void adjustmentValueChanged(AdjustmentEvent evt) {
-              if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
-              if (on_load) return;
-              int i1 = evt.getValue();
-              float new_velocity = filter3(i1 * (v_max - v_min)/ 1000. + v_min);
-              if (new_velocity == velocity) return;
-              velocity = new_velocity;
-              // look as loadPanel takes care
-              // f1.setText(String.valueOf(velocity));
+            InputCoalescer coalescer = new InputCoalescer("speed") {
+                void apply (int i1) {
+                  float new_velocity = filter3(i1 * (v_max - v_min)/ 1000. + v_min);
+                  if (new_velocity == velocity) return;
+                  velocity = new_velocity;
+                  // look as loadPanel takes care
+                  // f1.setText(String.valueOf(velocity));
 
-              recomp_all_parts_opt_rebalance();
+                  recomp_all_parts_opt_rebalance();
 
-              //  set limits on spin
-              if (foil_is_cylinder_or_ball(current_part.foil)) cylShape.setLims();
+                  //  set limits on spin
+                  if (foil_is_cylinder_or_ball(current_part.foil)) cylShape.setLims();
 
-              //?speed_kts_mph_kmh_ms_info = make_speed_kts_mph_kmh_ms_info(velocity);
+                  //?speed_kts_mph_kmh_ms_info = make_speed_kts_mph_kmh_ms_info(velocity);
+                }};
+            public void adjustmentValueChanged(AdjustmentEvent evt) {
+              if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
+              if (on_load) return;
+              coalescer.post(evt.getValue());
             }});
         speed_ctrl.box.addActionListener(new ActionListener() {
             public void actionPerformed(ActionEvent e) {
@@ -6801,15 +9157,19 @@ public class FoilBoard extends JApplet {
         rows++;
         alt_ctrl = new NameBoxBar(this, "Altitude %", "70", alt_min, alt_max);
         alt_ctrl.bar.addAdjustmentListener(new AdjustmentListener() {
+            InputCoalescer coalescer = new InputCoalescer("altitude") {
+                void apply (int i) {
+                  float new_val = filter3(i * (alt_max - alt_min)/ 1000. + alt_min);
+                  if (new_val == alt_val) return;
+                  alt_val = new_val;
+                  //recomp_all_parts();
+                  //? computeFlowAndRegenPlot();
+                  recomp_all_parts_opt_rebalance();
+                }};
             public void adjustmentValueChanged(AdjustmentEvent evt) {
               if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
               if (on_load) return;
-              float new_val = filter3(alt_ctrl.bar.getValue() * (alt_max - alt_min)/ 1000. + alt_min);
-              if (new_val == alt_val) return;
-              alt_val = new_val;
-              //recomp_all_parts();
-              //? computeFlowAndRegenPlot();
-              recomp_all_parts_opt_rebalance();
+              coalescer.post(alt_ctrl.bar.getValue());
             }});
         alt_ctrl.box.addActionListener(new ActionListener() {
             public void actionPerformed(ActionEvent e) {
@@ -6831,16 +9191,19 @@ public class FoilBoard extends JApplet {
                                    load_min, load_max);
         load = Double.parseDouble(load_ctrl.box.getText());
         load_ctrl.bar.addAdjustmentListener(new AdjustmentListener() {
+            InputCoalescer coalescer = new InputCoalescer("load") {
+                void apply (int i) {
+                  double new_val = filter1(i * (load_max - load_min)/ 1000.);
+                  new_val = limit(load_min, new_val, load_max);
+                  if (new_val == load) return;
+                  load = new_val;
+                  rider.weight = load - BOARD_WEIGHT - RIG_WEIGHT - FOIL_WEIGHT; // was in find_steady_conditions
+                  recomp_all_parts_opt_rebalance();
+                }};
             public void adjustmentValueChanged(AdjustmentEvent evt) {
               if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
               if (on_load) return;
-
-              double new_val = filter1(load_ctrl.bar.getValue() * (load_max - load_min)/ 1000.);
-              new_val = limit(load_min, new_val, load_max);
-              if (new_val == load) return;
-              load = new_val;
-              rider.weight = load - BOARD_WEIGHT - RIG_WEIGHT - FOIL_WEIGHT; // was in find_steady_conditions
-              recomp_all_parts_opt_rebalance();
+              coalescer.post(load_ctrl.bar.getValue());
             }});
         load_ctrl.box.addActionListener(new ActionListener() {
             public void actionPerformed(ActionEvent e) {
@@ -6860,32 +9223,36 @@ public class FoilBoard extends JApplet {
 
         pitch_ctrl = new NameBoxBar(this, "Craft Pitch deg", "0.0", aoa_min, aoa_max);
         pitch_ctrl.bar.addAdjustmentListener(new AdjustmentListener() {
-            public void adjustmentValueChanged(AdjustmentEvent evt) {
-              if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
-              if (on_load) return;
-              float new_pitch = filter3(evt.getValue() * (aoa_max - aoa_min)/ 1000. + aoa_min);
-              if (new_pitch == craft_pitch) return;
-
-              // DEBUG DEBUG change pitch but not wings AoA
-              { 
-                double delta_aoa = new_pitch - craft_pitch;
-                wing.aoa -= delta_aoa;
-                stab.aoa -= delta_aoa;
-              }
+            InputCoalescer coalescer = new InputCoalescer("pitch") {
+                void apply (int i) {
+                  float new_pitch = filter3(i * (aoa_max - aoa_min)/ 1000. + aoa_min);
+                  if (new_pitch == craft_pitch) return;
+
+                  // DEBUG DEBUG change pitch but not wings AoA
+                  { 
+                    double delta_aoa = new_pitch - craft_pitch;
+                    wing.aoa -= delta_aoa;
+                    stab.aoa -= delta_aoa;
+                  }
 
-              craft_pitch = new_pitch;
+                  craft_pitch = new_pitch;
 
 
-              // look as loadPanel takes care
-              // fAoA.setText(String.valueOf(new_pitch));
-              // we do not autobalance
-              {
-                boolean saved_flag = out_top.plot.no_vpp_sweeps;
-                out_top.plot.no_vpp_sweeps = true;
-                recomp_all_parts();
-                computeFlowAndRegenPlot();
-                out_top.plot.no_vpp_sweeps = saved_flag;
-              }
+                  // look as loadPanel takes care
+                  // fAoA.setText(String.valueOf(new_pitch));
+                  // we do not autobalance
+                  {
+                    boolean saved_flag = out_top.plot.no_vpp_sweeps;
+                    out_top.plot.no_vpp_sweeps = true;
+                    recomp_all_parts();
+                    computeFlowAndRegenPlot();
+                    out_top.plot.no_vpp_sweeps = saved_flag;
+                  }
+                }};
+            public void adjustmentValueChanged(AdjustmentEvent evt) {
+              if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
+              if (on_load) return;
+              coalescer.post(evt.getValue());
             }});
         pitch_ctrl.box.addActionListener(new ActionListener() {
             public void actionPerformed(ActionEvent e) {
@@ -6918,7 +9285,6 @@ public class FoilBoard extends JApplet {
             @Override
             public void actionPerformed(ActionEvent e) {
               find_steady_conditions();
-              can_do_gui_updates = true;
             }});
         p.add(b); 
         // p.add(p = new Panel(new GridLayout(1,2,0,0)));
@@ -7001,18 +9367,10 @@ public class FoilBoard extends JApplet {
 
         // row 9
         rows++;
-        double load_for_vpp = load;
-        switch (craft_type) {
-        case KITEFOIL: load_for_vpp = load * 0.55; break; // kite can pull you up on takeoff *a lot*
-        case WINGFOIL: load_for_vpp = load * 0.85; break; // wing pumping can pull you up some
-        case WINDFOIL: 
-        default:
-          load_for_vpp = load; break;
-        }
         NameBoxNameBoxButton takeoff = 
           new NameBoxNameBoxButton(this, 
-                                   "Lift >", "TKL", ""+load_for_vpp,
-                                   "Drag <", "TKD", craft_type == KITEFOIL || craft_type == EFOIL ? "120" : "85",  // Newtons
+                                   "Lift >", "TKL", vpp.takeoff_min_lift_dflt(),
+                                   "Drag <", "TKD", vpp.takeoff_max_drag_dflt(),
                                    "Find Lowest TakeOff speed",
                                    new ActionListener() {
                                      @Override
@@ -7023,11 +9381,20 @@ public class FoilBoard extends JApplet {
                                        double max_drag = (double)constr_tkoff_max_drag; // parse_force_constraint(tf_tkoff_max_drag);
                                        alt_val = 0; // was 0.5 ; // % alt_min;
                                        loadPanel();
-                                       can_do_gui_updates = false;
-                                       vpp.find_min_takeoff_v(min_lift, max_drag, true);
-                                       can_do_gui_updates = true;
-                                       recomp_all_parts();
-                                       loadPanel();
+                                       final double _min_lift = min_lift, _max_drag = max_drag;
+                                       submit_vpp_job(new VPPJob("takeoff") {
+                                           void compute (FoilBoard e) {
+                                             String key = e.vpp_cache_key(GOAL_TAKEOFF, e.load, _min_lift, _max_drag);
+                                             if (e.vpp_cache_load(key, GOAL_TAKEOFF, true)) return;
+                                             e.vpp.find_min_takeoff_v(_min_lift, _max_drag, true);
+                                             e.vpp_cache_store(key, GOAL_TAKEOFF);
+                                           }
+                                           void publish (FoilBoard e) {
+                                             take_flight_state(e);
+                                             tf_cruise_starting_speed.setText(""+filter0(min_takeoff_speed));
+                                             recomp_all_parts();
+                                             loadPanel();
+                                           }});
                                      }}); 
 
         tf_tkoff_min_lift = takeoff.box1;
@@ -7050,16 +9417,9 @@ public class FoilBoard extends JApplet {
 
         // row 10
         rows++;
-        switch (craft_type) {
-        case KITEFOIL: load_for_vpp = load * 0.7; break;  // kiters cruise with kite way up.
-        case WINGFOIL: load_for_vpp = load * 0.85; break; // wing generates some lift
-        case WINDFOIL: 
-        default:
-          load_for_vpp = load; break;
-        }
         NameBoxNameBoxButton cruise = 
           new NameBoxNameBoxButton(this, 
-                                   "Lift >", "CRL", ""+load_for_vpp,
+                                   "Lift >", "CRL", vpp.cruise_min_lift_dflt(),
                                    "Speed >=", 
                                    "CRS", "5",
                                    "Find Speed of lesser Drag",
@@ -7071,16 +9431,24 @@ public class FoilBoard extends JApplet {
                                        load = use_load_ctrl_in_vpp ? load : min_lift; 
                                        double starting_speed = (double)constr_cruise_starting_speed; // parse_speed_constraint(tf_cruise_starting_speed, "CRS", "10 km/h");
                                        System.out.println("-- constr_cruise_starting_speed: " + constr_cruise_starting_speed);
-                                       can_do_gui_updates = false;
                                        alt_val = 80;
                                        strut.aoa = 0;
-                                       vpp.find_min_takeoff_v(min_lift, (double)constr_tkoff_max_drag, false); // find starting point
-                                       vpp.easy_ride(min_lift); // for old: min_takeoff_speed > 0 ? min_takeoff_speed : constr_cruise_starting_speed);
-                                       recomp_all_parts();
-                                       vpp.set_mast_aoa_for_given_drag(total_drag()); // (wing.drag+stab.drag);
-                                       can_do_gui_updates = true;
-                                       recomp_all_parts();
-                                       loadPanel();
+                                       final double _min_lift = min_lift, _max_drag = (double)constr_tkoff_max_drag;
+                                       submit_vpp_job(new VPPJob("cruise") {
+                                           void compute (FoilBoard e) {
+                                             String key = e.vpp_cache_key(GOAL_CRUISE, e.load, _min_lift, _max_drag);
+                                             if (e.vpp_cache_load(key, GOAL_CRUISE, true)) return;
+                                             e.vpp.find_min_takeoff_v(_min_lift, _max_drag, false); // find starting point
+                                             e.vpp.easy_ride(_min_lift); // for old: min_takeoff_speed > 0 ? min_takeoff_speed : constr_cruise_starting_speed);
+                                             e.recomp_all_parts();
+                                             e.vpp.set_mast_aoa_for_given_drag(e.total_drag()); // (wing.drag+stab.drag);
+                                             e.vpp_cache_store(key, GOAL_CRUISE);
+                                           }
+                                           void publish (FoilBoard e) {
+                                             take_flight_state(e);
+                                             recomp_all_parts();
+                                             loadPanel();
+                                           }});
                                      }});
 
         tf_cruise_min_lift = cruise.box1;
@@ -7106,8 +9474,8 @@ public class FoilBoard extends JApplet {
         rows++;
         NameBoxNameBoxButton race = 
           new NameBoxNameBoxButton(this, 
-                                   "Lift >", "RSL", ""+load, 
-                                   "Drag <", "RSD", craft_type == WINGFOIL ? "196" : "245", // 20 or 25 kg force
+                                   "Lift >", "RSL", vpp.race_min_lift_dflt(), 
+                                   "Drag <", "RSD", vpp.race_max_drag_dflt(),
                                    "Find Max Possible Steady Speed",
                                    new ActionListener() {
                                      @Override
@@ -7116,12 +9484,20 @@ public class FoilBoard extends JApplet {
                                        // will do the trick???
                                        load = use_load_ctrl_in_vpp ? load : min_lift; 
                                        double max_drag = (double)constr_race_max_drag; // parse_force_constraint(tf_race_max_drag);
-                                       can_do_gui_updates = false;
                                        alt_val = 70;
-                                       vpp.max_speed(min_lift, max_drag, true);
-                                       can_do_gui_updates = true;
-                                       recomp_all_parts();
-                                       loadPanel();
+                                       final double _min_lift = min_lift, _max_drag = max_drag;
+                                       submit_vpp_job(new VPPJob("max speed") {
+                                           void compute (FoilBoard e) {
+                                             String key = e.vpp_cache_key(GOAL_MAX_SPEED, e.load, _min_lift, _max_drag);
+                                             if (e.vpp_cache_load(key, GOAL_MAX_SPEED, true)) return;
+                                             e.vpp.max_speed(_min_lift, _max_drag, true);
+                                             e.vpp_cache_store(key, GOAL_MAX_SPEED);
+                                           }
+                                           void publish (FoilBoard e) {
+                                             take_flight_state(e);
+                                             recomp_all_parts();
+                                             loadPanel();
+                                           }});
                                      }});
 
         tf_race_min_lift = race.box1;
@@ -7776,21 +10152,7 @@ public class FoilBoard extends JApplet {
                 System.out.println("         " + imp.file_name + ", then alter the name of foil specified inside the file and reload");
               
             } else {
-              imp.analyze();
-              if (current_part == strut && imp.camber_pst != 0)
-                imp.fixSymmetry("Mast"); // most import data leads to slight assymetric shape
-                
-              foil = new Tab25Foil(imp.getName(), "Imported foil " + imp.getName(), "\n\n Geometry: \n" + imp.getGeometryAsText() + "\n\n Table: \n" + imp.descr,
-                                   imp.thickness_pst, imp.camber_pst, 
-                                   imp.Cl, imp.Cd,
-                                   imp.Cm);
-              foil.geometry = imp.getGeometry();
-              foil.camber_line = imp.getCamberLine();
-
-              int count  = imp.points_count();
-              foil.points_x = new double[count];
-              foil.points_y = new double[count];
-              imp.getPoints(foil.points_x, foil.points_y);
+              foil = import_foil(imp, imp.file_name, current_part == strut);
               shape_choice.addItem(foil.descr);
               if (use_cylinder_shapes)
                 in.cylShape.rightPanel.shape_choice.addItem(foil.descr);
@@ -8505,31 +10867,35 @@ public class FoilBoard extends JApplet {
                   10,0,1000);
             app = target;
             addAdjustmentListener(new AdjustmentListener() {
-                public void adjustmentValueChanged(AdjustmentEvent evt) {
-                  if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
-                  if (app.in.size.on_loadPanel) return;
-                  double chord  = getValue() * (chord_max - chord_min)/ 1000. + chord_min;
-                  if (current_part.chord == chord) return;
-                  //debug new Exception("warn!!!! " + current_part.chord +"!=" +  chord).printStackTrace(System.out);
+                InputCoalescer coalescer = new InputCoalescer("chord") {
+                    void apply (int i) {
+                      double chord  = i * (chord_max - chord_min)/ 1000. + chord_min;
+                      if (current_part.chord == chord) return;
+                      //debug new Exception("warn!!!! " + current_part.chord +"!=" +  chord).printStackTrace(System.out);
                 
-                  // current_part.chord = chord;
+                      // current_part.chord = chord;
                   
-                  // the following logc is similat to wgat is in chord_tf listener
+                      // the following logc is similat to wgat is in chord_tf listener
 
-                  // if (current_part.chord_spec.length > 1) { // part loses its multisegemnted shape!
-                  //   // prb, need alert here.. 
-                  //   System.out.println("WARNING: part " + current_part.name + " loses its multisegemnted shape " +
-                  //                      "now chord=" + chord);                  
-                  // }
-                  // current_part.chord_spec = new String[] {""+chord};
-                  // parseParamData(current_part, current_part.name, current_part.toDefString());
+                      // if (current_part.chord_spec.length > 1) { // part loses its multisegemnted shape!
+                      //   // prb, need alert here.. 
+                      //   System.out.println("WARNING: part " + current_part.name + " loses its multisegemnted shape " +
+                      //                      "now chord=" + chord);                  
+                      // }
+                      // current_part.chord_spec = new String[] {""+chord};
+                      // parseParamData(current_part, current_part.name, current_part.toDefString());
 
-                  // update mesh... 
-                  scale_chords(current_part, chord, false);
+                      // update mesh... 
+                      scale_chords(current_part, chord, false);
 
-                  computeFlowAndRegenPlot();
-                  size.loadPanel();
+                      computeFlowAndRegenPlot();
+                      size.loadPanel();
                   
+                    }};
+                public void adjustmentValueChanged(AdjustmentEvent evt) {
+                  if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
+                  if (app.in.size.on_loadPanel) return;
+                  coalescer.post(getValue());
                 }});
           }
 
@@ -8555,24 +10921,28 @@ public class FoilBoard extends JApplet {
             app = target;
 
             addAdjustmentListener(new AdjustmentListener() {
-                public void adjustmentValueChanged(AdjustmentEvent evt) {
-                  if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
-                  if (app.in.size.on_loadPanel) return;
-                  double span  = getValue() * (span_max - span_min)/ 1000. + span_min;
-                  if (current_part.span == span) return;
-                  // current_part.span = span;
-                  // parseParamData(current_part, current_part.name, current_part.toDefString());
+                InputCoalescer coalescer = new InputCoalescer("span") {
+                    void apply (int i) {
+                      double span  = i * (span_max - span_min)/ 1000. + span_min;
+                      if (current_part.span == span) return;
+                      // current_part.span = span;
+                      // parseParamData(current_part, current_part.name, current_part.toDefString());
 
-                  // update mesh... 
-                  scale_span(current_part, span);
+                      // update mesh... 
+                      scale_span(current_part, span);
 
-                  current_part.area = current_part.span * current_part.chord;
+                      current_part.area = current_part.span * current_part.chord;
 
-                  current_part.aspect_rat = current_part.span*current_part.span/current_part.area;
-                  current_part.spanfac = (int)(2.0*fact*current_part.aspect_rat*.3535);
+                      current_part.aspect_rat = current_part.span*current_part.span/current_part.area;
+                      current_part.spanfac = (int)(2.0*fact*current_part.aspect_rat*.3535);
 
-                  computeFlowAndRegenPlot();
-                  size.loadPanel();
+                      computeFlowAndRegenPlot();
+                      size.loadPanel();
+                    }};
+                public void adjustmentValueChanged(AdjustmentEvent evt) {
+                  if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
+                  if (app.in.size.on_loadPanel) return;
+                  coalescer.post(getValue());
                 }});
 
           }
@@ -8599,18 +10969,22 @@ public class FoilBoard extends JApplet {
             app = target;
 
             addAdjustmentListener(new AdjustmentListener() {
+                InputCoalescer coalescer = new InputCoalescer("xpos") {
+                    void apply (int i) {
+                      double xpos  = i * (xpos_max - xpos_min)/ 1000. + xpos_min;
+                      if (current_part.xpos == xpos) return;
+                      //current_part.xpos = xpos;
+                      // parseParamData(current_part, current_part.name, current_part.toDefString());
+                      // update mesh... 
+                      scale_xpos(current_part, xpos);
+
+                      computeFlowAndRegenPlot();
+                      size.loadPanel();
+                    }};
                 public void adjustmentValueChanged(AdjustmentEvent evt) {
                   if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
                   if (app.in.size.on_loadPanel) return;
-                  double xpos  = getValue() * (xpos_max - xpos_min)/ 1000. + xpos_min;
-                  if (current_part.xpos == xpos) return;
-                  //current_part.xpos = xpos;
-                  // parseParamData(current_part, current_part.name, current_part.toDefString());
-                  // update mesh... 
-                  scale_xpos(current_part, xpos);
-
-                  computeFlowAndRegenPlot();
-                  size.loadPanel();
+                  coalescer.post(getValue());
                 }});
 
           }
@@ -8636,24 +11010,27 @@ public class FoilBoard extends JApplet {
                   10,0,1000);
             app = target;
             addAdjustmentListener(new AdjustmentListener() {
+                InputCoalescer coalescer = new InputCoalescer("area") {
+                    void apply (int i) {
+                      double new_area = i * (ar_max - ar_min)/ 1000. + ar_min; 
+                      double scale_k = new_area/current_part.area;
+                      current_part.area = new_area;
+
+                      // scale sizes preserving aspect. 
+                      current_part.chord  *= Math.sqrt(scale_k);
+                      current_part.chord_spec = new String[] {""+ current_part.chord};
+                      current_part.span  *= Math.sqrt(scale_k);
+                      parseParamData(current_part, current_part.name, current_part.toDefString());
+
+                      // current_part.area = current_part.span * current_part.chord;
+
+                      computeFlowAndRegenPlot();
+                      size.loadPanel();
+                    }};
                 public void adjustmentValueChanged(AdjustmentEvent evt) {
                   if (DEBUG_SPEED_SUPPR_ADJ) { debug_speed_suppr_adj(evt); return;}
                   if (app.in.size.on_loadPanel) return;
-                  int i = getValue();
-                  double new_area = i * (ar_max - ar_min)/ 1000. + ar_min; 
-                  double scale_k = new_area/current_part.area;
-                  current_part.area = new_area;
-
-                  // scale sizes preserving aspect. 
-                  current_part.chord  *= Math.sqrt(scale_k);
-                  current_part.chord_spec = new String[] {""+ current_part.chord};
-                  current_part.span  *= Math.sqrt(scale_k);
-                  parseParamData(current_part, current_part.name, current_part.toDefString());
-
-                  // current_part.area = current_part.span * current_part.chord;
-
-                  computeFlowAndRegenPlot();
-                  size.loadPanel();
+                  coalescer.post(getValue());
                 }});
           }
 
@@ -8993,12 +11370,6 @@ public class FoilBoard extends JApplet {
       // int foil_drag_comp_method = DRAG_COMP_NACA4SERIES;
       //Button cbt1,cbt2,cbt3;
 
-      boolean ignore_drive_moment, // ignore sail/kite FWD drive force and moment
-        ignore_drag_moments,       // ignore all drag forces and moments
-        ignore_aux_weight_moments, // ignore borad and rig weight forces and moments
-        ignore_air_resistance;     // affects mostly just e-foiler rider balance
-
-
       JCheckBox chb_stab_aoa_corr;
 
       Opts (FoilBoard target) {
@@ -9444,9 +11815,174 @@ public class FoilBoard extends JApplet {
     } // end Opts
   }  // In 
 
-  class Viewer extends Canvas implements Runnable {
+  // Dense velocity/pressure field around the current foil, drawn as a
+  // colour-mapped contour image behind the Edge view streamlines. The
+  // FIELD_W x FIELD_H grid covers x in [-FIELD_X, FIELD_X] and y in
+  // [-FIELD_Y, FIELD_Y] of the frame xm/ym streamlines are drawn in.
+  // Each cell is mapped back to the cylinder plane (inverse Joukowski)
+  // and gets getVel's velocity. Two stages: update() evaluates vsq per
+  // cell, only when the circulation inputs (AoA, thickness, camber, as
+  // seen in the solver's rval, xcval, ycval, gamval) changed; image()
+  // recolours only when the field or the shown quantity changed. Rows
+  // are independent and are computed in parallel, like streamlines.
+  static final int FIELD_W = 256, FIELD_H = 128;
+  static final double FIELD_X = 6.4, FIELD_Y = 3.2;
+  static final int FIELD_OFF = 0, FIELD_PRESSURE = 1, FIELD_VELOCITY = 2;
+  static final int FIELD_BANDS = 16;
+
+  class FlowField {
+    float[] vsq = new float[FIELD_W*FIELD_H]; // NaN inside the body
+    int[] pixels = new int[FIELD_W*FIELD_H];
+    int[] band = new int[FIELD_W*FIELD_H];
+    int[] palette = new int[FIELD_BANDS], palette_line = new int[FIELD_BANDS];
+    BufferedImage img;
+    boolean img_stale = true;
+    int img_quantity = FIELD_OFF;
+    int updates = 0;
+
+    // what the grid was computed for
+    double k_effaoa = Double.NaN, k_xc, k_yc, k_r, k_gam;
+    boolean k_cyl;
+
+    FlowField () {
+      for (int i = 0; i < FIELD_BANDS; i++) { // blue for low to red for high
+        float h = 0.66f * (1 - i/(float)(FIELD_BANDS-1));
+        palette[i] = Color.HSBtoRGB(h, 0.85f, 0.55f);
+        palette_line[i] = Color.HSBtoRGB(h, 0.85f, 0.85f);
+      }
+    }
+
+    // returns true if the grid was recomputed
+    boolean update (Solver s, double effaoa, boolean cyl) {
+      if (effaoa == k_effaoa && s.xcval == k_xc && s.ycval == k_yc && 
+          s.rval == k_r && s.gamval == k_gam && cyl == k_cyl)
+        return false;
+      k_effaoa = effaoa; k_xc = s.xcval; k_yc = s.ycval; k_r = s.rval; k_gam = s.gamval; k_cyl = cyl;
+
+      boolean parallel = false;
+      /**
+       * @j2sNative
+       * 
+       *    var dummy = 0;
+       */
+      { // only in Java, no threads in JavaScript
+        parallel = Runtime.getRuntime().availableProcessors() > 1;
+      }
+      if (parallel) {
+        synchronized (FoilBoard.class) {
+          if (sweep_pool == null) sweep_pool = new ForkJoinPool();
+        }
+        sweep_pool.invoke(new RowsTask(0, FIELD_H));
+      } else 
+        compute_rows(0, FIELD_H);
+      updates++;
+      img_stale = true;
+      return true;
+    }
+
+    class RowsTask extends RecursiveAction {
+      private static final long serialVersionUID = 1L;
+      int from, to;
+      RowsTask (int from, int to) { this.from = from; this.to = to; }
+      protected void compute () {
+        if (to - from > 8) {
+          int mid = (from + to) / 2;
+          invokeAll(new RowsTask(from, mid), new RowsTask(mid, to));
+        } else 
+          compute_rows(from, to);
+      }
+    }
+
+    // no allocations in here
+    void compute_rows (int from, int to) {
+      double effaoa = k_effaoa, xc = k_xc, yc = k_yc, r = k_r, gam = k_gam;
+      boolean cyl = k_cyl;
+      double alf = convdr * effaoa;
+      double ca = Math.cos(alf), sa = Math.sin(alf);
+      double dx = 2*FIELD_X/FIELD_W, dy = 2*FIELD_Y/FIELD_H;
+      for (int row = from; row < to; row++) {
+        double y = FIELD_Y - (row + 0.5) * dy;
+        int base = row * FIELD_W;
+        for (int c = 0; c < FIELD_W; c++) {
+          double x = -FIELD_X + (c + 0.5) * dx;
+          double gx, gy; // cylinder plane, flow frame, as getPoints' lrg/lthg
+          if (cyl) { // drawn in the cylinder plane already
+            gx = x; gy = y;
+          } else {
+            // undo the view rotation, z = (x,y) turned by +AoA
+            double zx = x*ca - y*sa, zy = x*sa + y*ca;
+            // inverse Joukowski: zeta = (z +- sqrt(z^2 - 4))/2, the root outside the circle
+            double wx = zx*zx - zy*zy - 4, wy = 2*zx*zy;
+            double m = Math.sqrt(wx*wx + wy*wy);
+            double sx = Math.sqrt(0.5*(m + wx)), sy = Math.sqrt(0.5*(m - wx));
+            if (wy < 0) sy = -sy;
+            double ax = 0.5*(zx + sx) - xc, ay = 0.5*(zy + sy) - yc;
+            double bx = 0.5*(zx - sx) - xc, by = 0.5*(zy - sy) - yc;
+            if (ax*ax + ay*ay < bx*bx + by*by) { ax = bx; ay = by; }
+            gx = ax*ca + ay*sa; gy = -ax*sa + ay*ca;
+          }
+          double rad2 = gx*gx + gy*gy;
+          if (rad2 < r*r) { // inside the body
+            vsq[base + c] = Float.NaN;
+            continue;
+          }
+          // getVel
+          double rad = Math.sqrt(rad2);
+          double thrad = Math.atan2(gy, gx);
+          double rr = r*r/rad2;
+          double ur  = Math.cos(thrad-alf)*(1.0-rr);
+          double uth = -Math.sin(thrad-alf)*(1.0+rr) - gam/rad;
+          double usq = ur*ur + uth*uth;
+          if (cyl) {
+            vsq[base + c] = (float)usq;
+            continue;
+          }
+          double xloc = rad*Math.cos(thrad) + xc, yloc = rad*Math.sin(thrad) + yc;
+          double rad2_j = xloc*xloc + yloc*yloc;
+          double th2 = 2.0*Math.atan2(yloc, xloc);
+          double jake1 = 1.0 - Math.cos(th2)/rad2_j;
+          double jake2 = Math.sin(th2)/rad2_j;
+          double jakesq = jake1*jake1 + jake2*jake2;
+          if (Math.abs(jakesq) <= .01) jakesq = .01;  /* protection */
+          vsq[base + c] = (float)(usq / jakesq);
+        }
+      }
+    }
+
+    // pressure coefficient in [-2, 1] or velocity ratio in [0, 2], 
+    // banded; band edges make the contour lines
+    BufferedImage image (int quantity) {
+      if (img != null && !img_stale && quantity == img_quantity) return img;
+      int n = FIELD_W*FIELD_H;
+      for (int i = 0; i < n; i++) {
+        float v = vsq[i];
+        if (v != v) { band[i] = -1; continue; } // NaN
+        double t = quantity == FIELD_PRESSURE 
+          ? ((1.0 - v) + 2.0) / 3.0 
+          : Math.sqrt(v) / 2.0;
+        int b = (int)(t * FIELD_BANDS);
+        band[i] = b < 0 ? 0 : b >= FIELD_BANDS ? FIELD_BANDS-1 : b;
+      }
+      for (int row = 0; row < FIELD_H; row++) {
+        for (int c = 0; c < FIELD_W; c++) {
+          int i = row*FIELD_W + c, b = band[i];
+          if (b < 0) { pixels[i] = 0; continue; } // transparent
+          boolean edge = (c+1 < FIELD_W && band[i+1] >= 0 && band[i+1] != b) ||
+            (row+1 < FIELD_H && band[i+FIELD_W] >= 0 && band[i+FIELD_W] != b);
+          pixels[i] = edge ? palette_line[b] : palette[b];
+        }
+      }
+      if (img == null) img = new BufferedImage(FIELD_W, FIELD_H, BufferedImage.TYPE_INT_ARGB);
+      img.setRGB(0, 0, FIELD_W, FIELD_H, pixels, 0, FIELD_W);
+      img_stale = false;
+      img_quantity = quantity;
+      return img;
+    }
+  }
+
+  class Viewer extends Canvas {
     FoilBoard app;
-    Thread runner;
+    javax.swing.Timer anim_timer;
     Point locate,anchor;
     long animation_count;
     boolean color_flip;
@@ -9465,6 +12001,8 @@ public class FoilBoard extends JApplet {
 
     int viewflg = VIEW_FORCES;
     int edge_view_type = DISPLAY_ANIMATION;
+    int field_mode = FIELD_OFF; // pressure or velocity field behind streamlines
+    FlowField flow_field;
 
     boolean duringDrag = false;
     boolean dragRightMouse, dragMiddleMouse, move_bg_image;
@@ -9481,9 +12019,13 @@ public class FoilBoard extends JApplet {
     Point3D model_space_point = new Point3D(0,0,0);
     int mouse_x, mouse_y;
 
+    // aligned 3D mesh views, set by paint_mesh_view for the edit controls
+    boolean in_top_view = false, in_side_view = false, in_front_view = false;
+    int camb_x[] = new int[30]; // was 19, we need 30 for imported data
+    int camb_y[] = new int[30]; // was 19, we need 30 for imported data
+
     Viewer (FoilBoard target) {
       setBackground(color_very_dark);
-      runner = null;
       this.addMouseListener(new MouseListener() {
           @SuppressWarnings("deprecation")
           @Override
@@ -9612,6 +12154,7 @@ public class FoilBoard extends JApplet {
                   edge_view_type = DISPLAY_GEOMETRY;
                   pboflag = 0;
                 }
+                else if (x >= 335 && x <= 400) field_mode = (field_mode + 1) % 3; // off, Cp, V
               } break;
               case VIEW_FORCES: {
                 if (x >= 80 && x < 160)
@@ -9747,6 +12290,7 @@ public class FoilBoard extends JApplet {
                 yt2 = yt + current_part.spanfac;
               } 
             }
+            request_repaint();
           }
 
           @SuppressWarnings("deprecation")
@@ -9857,6 +12401,7 @@ public class FoilBoard extends JApplet {
               default:
               }
             }
+            request_repaint();
           }
         });
       this.setFocusable(true);
@@ -9873,6 +12418,7 @@ public class FoilBoard extends JApplet {
       yt1 = yt - current_part.spanfac;
       xt2 = xt - current_part.spanfac;
       yt2 = yt + current_part.spanfac;
+      request_repaint();
     }
 
     void load_drawing () {
@@ -9940,12 +12486,29 @@ public class FoilBoard extends JApplet {
     }
 
     public void start () {
-      if (runner == null) {
-        runner = new Thread(this);
-        runner.start();
-      }
+      if (anim_timer == null) 
+        anim_timer = new javax.swing.Timer(timer, new ActionListener() {
+            public void actionPerformed (ActionEvent e) { run_step(); }});
       animation_count = 0;                              /* MODS  21 JUL 99 */
       color_flip = true;                              /* MODS  27 JUL 99 */
+      update_animation();
+    }
+
+    // animation ticks only while something moves: flow dots or smoke
+    // trail in Edge view, spinning ball/cylinder, raise/descend
+    boolean is_animating () {
+      if (start_raise || start_descend) return true;
+      if (viewflg != VIEW_EDGE) return false;
+      return edge_view_type == DISPLAY_ANIMATION || pboflag == 3 ||
+        (foil_is_cylinder_or_ball(current_part.foil) && spin != 0);
+    }
+
+    // paint() calls this, so any view change starts or stops ticks
+    void update_animation () {
+      if (anim_timer == null) return;
+      boolean on = is_animating();
+      if (on && !anim_timer.isRunning()) anim_timer.start();
+      else if (!on && anim_timer.isRunning()) anim_timer.stop();
     }
 
     //    public void run() {
@@ -10000,7 +12563,7 @@ public class FoilBoard extends JApplet {
         in.flt.loadPanel();
       }
 
-      viewer.repaint();
+      repaint();
       if (animation_count == 3) {
         animation_count = 0;
         color_flip = !color_flip; 
@@ -10017,22 +12580,8 @@ public class FoilBoard extends JApplet {
           ball_spin_angle = ball_spin_angle - 360.0;
         }
       }
-    }
-
-    /**
-     * @j2sNative
-     * 
-     *            this.run_step(); var self = this; setTimeout(function()
-     *            {self.run();}, self.timer);
-     */
-    public void run () {
-      while (true) {
-        try {
-          Thread.sleep(timer);
-        } catch (InterruptedException e) {
-        }
-        run_step();
-      }
+      anim_timer.setDelay(timer);
+      update_animation();
     }
 
     public void update (Graphics g) {
@@ -10338,1236 +12887,1323 @@ public class FoilBoard extends JApplet {
 
     //--------------------------------------------------------------------------
 
+    void draw_flow_field () {
+      if (flow_field == null) flow_field = new FlowField();
+      flow_field.update(solver, effective_aoa(), foil_is_cylinder_or_ball(current_part.foil));
+      Image img = flow_field.image(field_mode);
+      // same mapping as the streamlines: fact*x + xt, fact*(-y) + yt
+      int x0 = (int)(fact*(-FIELD_X)) + xt, y0 = (int)(fact*(-FIELD_Y)) + yt;
+      off1Gg.drawImage(img, x0, y0, (int)(fact*2*FIELD_X), (int)(fact*2*FIELD_Y), null);
+      // legend
+      int lx = 60, ly = getHeight() - 14;
+      for (int i = 0; i < FIELD_BANDS; i++) {
+        off1Gg.setColor(new Color(flow_field.palette[i]));
+        off1Gg.fillRect(lx + 6*i, ly, 6, 8);
+      }
+      off1Gg.setColor(Color.white);
+      if (field_mode == FIELD_PRESSURE) {
+        off1Gg.drawString("Cp -2", lx - 36, ly + 8);
+        off1Gg.drawString("1", lx + 6*FIELD_BANDS + 4, ly + 8);
+      } else {
+        off1Gg.drawString("V/V0 0", lx - 42, ly + 8);
+        off1Gg.drawString("2", lx + 6*FIELD_BANDS + 4, ly + 8);
+      }
+    }
+
     // Viewer.paint
     public void paint (Graphics g) {
-      int i,j,k,n;
       //System.out.println("-- paint: ");
-      int xlabel,ylabel,ind,inmax, inmin;
-      double xl,yl,slope,radvec,xvec,yvec;
-      int camb_x[] = new int[30]; // was 19, we need 30 for imported data
-      int camb_y[] = new int[30]; // was 19, we need 30 for imported data
-      Color col, col_bg;
-
-      Foil f = current_part.foil;
+      update_animation();
 
       int panel_height = getHeight();
       int panel_width = getWidth();
       // System.out.println("-- panel_height: " + panel_height);
 
-      boolean in_top_view = false, in_side_view = false, in_front_view = false;
+      // one method per view and per overlay, each small enough for the
+      // JIT; a single paint() was past the huge method limit and ran
+      // interpreted on every frame
+      if (viewflg == VIEW_FORCES) // 2D View with force vectors
+        paint_forces_view(panel_width, panel_height);
+      else if (viewflg == VIEW_3D_MESH) // draw 3D mesh view
+        paint_mesh_view(panel_width, panel_height);
+      else // Edge
+        paint_edge_view(panel_width, panel_height);
 
-      col = new Color(0,0,0);
-      if (planet == 0) col = Color.cyan;
-      if (planet == 1) col = Color.orange;
-      if (planet == 2) col = Color.green;
-      if (planet >= 3) col = Color.cyan;
+      paint_view_menu(panel_width, panel_height);
+      paint_view_controls(panel_width, panel_height);
 
-      if (viewflg == VIEW_FORCES) { // 2D View with force vectors
-        // sky/air
-        // col_bg = color_sky_blue_light;
-        col_bg = Color.BLUE;
-        off1Gg.setColor(col_bg);
-        off1Gg.fillRect(0,0,panel_width, panel_height);
-
-        screen_off_x = panel_width/2 + 40; // a bit to the right from the center
-        screen_off_y = (int)(0.7*panel_height); // is at waterline
-
-        // water
-        // off1Gg.setColor(Color.cyan);
-        off1Gg.setColor(color_water_dark);
-        off1Gg.fillRect(0, screen_off_y,panel_width,(int)(0.3*panel_height)+1);
-
-        // 150 pixels is 1.5m
-        scalex = zoom_slider_pos_y; 
-        scaley = -zoom_slider_pos_y;
-        offx = 0; 
-        
-        double flight_height = strut.span * (alt_val/100); // board bottom above water
-        offy =  flight_height - strut.span; // this is flight depth
-          
-        drawPart(strut,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        drawPart( fuse,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        drawPart( wing,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        drawPart( stab,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      // Draw Speed & Pitch Footer
+      off1Gg.drawString("V: " + speed_kts_mph_kmh_ms_info, 20, panel_height-4);
+      off1Gg.drawString("Pitch: " + filter1(craft_pitch) + " degr", 300, panel_height-4);
+      // Done! make visible
+      g.drawImage(offImg1,0,0,this);   
+    } // Viewer.paint ()
 
-        double mast_xpos =  // mast xpos at board bottom's level includes xoff_tip
-          strut.xpos + strut.xoff_tip; 
+    // side view of the craft, rider and rig with the force vectors
+    void paint_forces_view (int panel_width, int panel_height) {
+      Color col_bg;
+      // sky/air
+      // col_bg = color_sky_blue_light;
+      col_bg = Color.BLUE;
+      off1Gg.setColor(col_bg);
+      off1Gg.fillRect(0,0,panel_width, panel_height);
+
+      screen_off_x = panel_width/2 + 40; // a bit to the right from the center
+      screen_off_y = (int)(0.7*panel_height); // is at waterline
+
+      // water
+      // off1Gg.setColor(Color.cyan);
+      off1Gg.setColor(color_water_dark);
+      off1Gg.fillRect(0, screen_off_y,panel_width,(int)(0.3*panel_height)+1);
+
+      // 150 pixels is 1.5m
+      scalex = zoom_slider_pos_y; 
+      scaley = -zoom_slider_pos_y;
+      offx = 0; 
+
+      double flight_height = strut.span * (alt_val/100); // board bottom above water
+      offy =  flight_height - strut.span; // this is flight depth
+
+      drawPart(strut,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      drawPart( fuse,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      drawPart( wing,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      drawPart( stab,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+
+      double mast_xpos =  // mast xpos at board bottom's level includes xoff_tip
+        strut.xpos + strut.xoff_tip; 
+
+      // --- board profile ---
+      xy_i = 0;
+      to_screen_2D_x_y_i(-BOARD_LENGTH+mast_xpos+MAST_LE_TO_TRANSOM+0.3,  strut.span);
+      to_screen_2D_x_y_i(-BOARD_LENGTH+mast_xpos+MAST_LE_TO_TRANSOM,      strut.span + BOARD_THICKNESS);
+      to_screen_2D_x_y_i(mast_xpos + MAST_LE_TO_TRANSOM,                  strut.span + BOARD_THICKNESS);
+      to_screen_2D_x_y_i(mast_xpos + MAST_LE_TO_TRANSOM,                  strut.span);
+      off1Gg.setColor(Color.white);
+      off1Gg.fillPolygon(x,y,xy_i);
 
-        // --- board profile ---
+      if (craft_type == EFOIL) { // draw motor and duct profile
         xy_i = 0;
-        to_screen_2D_x_y_i(-BOARD_LENGTH+mast_xpos+MAST_LE_TO_TRANSOM+0.3,  strut.span);
-        to_screen_2D_x_y_i(-BOARD_LENGTH+mast_xpos+MAST_LE_TO_TRANSOM,      strut.span + BOARD_THICKNESS);
-        to_screen_2D_x_y_i(mast_xpos + MAST_LE_TO_TRANSOM,                  strut.span + BOARD_THICKNESS);
-        to_screen_2D_x_y_i(mast_xpos + MAST_LE_TO_TRANSOM,                  strut.span);
-        off1Gg.setColor(Color.white);
+        double motor_y = motor_y();
+        to_screen_2D_x_y_i(strut.xpos,  motor_y);
+        to_screen_2D_x_y_i(strut.xpos+motor.cowl_length,  motor_y+motor.diameter/2);
+        to_screen_2D_x_y_i(strut.xpos+motor.cowl_length+motor.length,  motor_y+motor.diameter/2);
+        to_screen_2D_x_y_i(strut.xpos+motor.cowl_length+motor.length,  motor_y-motor.diameter/2);
+        to_screen_2D_x_y_i(strut.xpos+motor.cowl_length,  motor_y-motor.diameter/2);
+        off1Gg.setColor(color_dark_2);
         off1Gg.fillPolygon(x,y,xy_i);
 
-        if (craft_type == EFOIL) { // draw motor and duct profile
-          xy_i = 0;
-          double motor_y = motor_y();
-          to_screen_2D_x_y_i(strut.xpos,  motor_y);
-          to_screen_2D_x_y_i(strut.xpos+motor.cowl_length,  motor_y+motor.diameter/2);
-          to_screen_2D_x_y_i(strut.xpos+motor.cowl_length+motor.length,  motor_y+motor.diameter/2);
-          to_screen_2D_x_y_i(strut.xpos+motor.cowl_length+motor.length,  motor_y-motor.diameter/2);
-          to_screen_2D_x_y_i(strut.xpos+motor.cowl_length,  motor_y-motor.diameter/2);
-          off1Gg.setColor(color_dark_2);
-          off1Gg.fillPolygon(x,y,xy_i);
-
-          xy_i = 0;
-          double xpos = strut.xpos+motor.cowl_length+motor.length+0.01;
-          to_screen_2D_x_y_i(xpos,                    motor_y+motor.duct_diameter/2);
-          to_screen_2D_x_y_i(xpos+motor.duct_length,  motor_y+motor.duct_diameter/2);
-          to_screen_2D_x_y_i(xpos+motor.duct_length,  motor_y-motor.duct_diameter/2);
-          to_screen_2D_x_y_i(xpos,                    motor_y-motor.duct_diameter/2);
-          off1Gg.setColor(color_dark_2);
-          off1Gg.fillPolygon(x,y,xy_i);
-        }
-
-        // because dash.cg_pos_board_level is offset from strut top LE at deck level, need to add strut.xpos + xoff_tip
-        // to get true x axis position at fuse level.
-        double cg_x_pos = dash.cg_pos_board_level + strut.xpos + strut.xoff_tip;
-        to_screen_x_y(new Point3D(cg_x_pos, // just for appearance
-                                  0,strut.span+BOARD_THICKNESS),x,y,0,offx,scalex,offy,scaley,0,0);
-          
-        double cg_x_pos_rot_x = x[0]/scalex; // after rotation, we want cg be at level distance from board surface (related to rider height)
-        double cg_x_pos_rot_y = y[0]/scaley; // after rotation, we want cg be at level distance from board surface (related to rider height)
-        // feet-mast load distribution if any
-        // note minus in front of dash.cg_pos !!!
-        // -cg_pos = k*moff + (1-k)*rx -> rx = (-cgpos - k*l)/(1-k)
-        //double rider_center_x = strut.xpos + (-dash.cg_pos + mast_foot_pressure_k * mast_foot_dist_from_strut_le)/(1-mast_foot_pressure_k);
-        // this is 0 when in.opts.ignore_drive_moment == true
-        // // for now, this parallels/verifies computation from updateTotals...
-        // double drive_force = total_drag() * DRIVING_FORCE_HEIGHT/RIDER_CG_HEIGHT;
-
-        double rider_center_x = cg_x_pos_rot_x + rider.force_countering_x_offest;
-        // above is: strut.xpos + dash.cg_pos + dash.cg_pos_of_rider - dash.cg_pos_board_level
-        // double rider_center_x_v2 = strut.xpos + dash.cg_pos_of_rider + strut.xoff_tip;
-        // above is: strut.xpos + dash.cg_pos - strut.xoff_tip  + dash.cg_pos_of_rider - dash.cg_pos_board_level  + strut.xoff_tip;
-        // System.out.println("-- rider_center_x: " + rider_center_x + " v2: " + rider_center_x_v2);
-
-        // old double front_foot_heel_x = -0.1+strut.xpos - 0.7*dash.cg_pos + 0.2*rider_center_x - 0.22; 
-        double front_foot_heel_x = Double.isNaN(FRONT_FOOTSTRAP_XPOS) 
-          ? cg_x_pos - 0.26
-          : mast_xpos + FRONT_FOOTSTRAP_XPOS;
-
-        // old double back_foot_heel_x = -0.1+strut.xpos - 0.7*dash.cg_pos + 0.2*rider_center_x + 0.24; 
-        double back_foot_heel_x = Double.isNaN(BACK_FOOTSTRAP_XPOS) 
-          ? cg_x_pos + 0.26
-          : BACK_FOOTSTRAP_XPOS + mast_xpos;
-
-        // stance correctiion for the case of a single strap pair
-        // if (back_foot_heel_x - front_foot_heel_x < 30) back_foot_heel_x = front_foot_heel_x + 0.30;
-        back_foot_heel_x = Math.max(back_foot_heel_x, front_foot_heel_x + 0.30);
-
-        double rider_feet_center = (back_foot_heel_x + front_foot_heel_x)/2; // wasFF rider_center_x - total_drag()*0.86/rider.weight;
-
-        // finally, adjust rider_center_x for WS mast loading
-        if (craft_type == WINDFOIL) {
-          // not ideal... if (cg_x_pos < rider_feet_center) rider_center_x = rider_feet_center; // rider loads mast-base, standing upright (hanging off the [sufficiently high] boom)
-          // d/w = b/a ==> b = d * a / w.
-            
-          // double dist_a = cg_x_pos - (-WS_MASTBASE_MAST_LE); 
-          // rider_center_x = -WS_MASTBASE_MAST_LE + dist_a * total_drag()/rider.weight;
-        }
-
-        // Bug fix!! Do not rotate rider_center_x!! 
-        // Problem: when rotated with the board, rider pos remains always  perpendicular to board-cg-pos, which is  wrong.
-        // it must be *above* it. See bug-rider-cg-pos-on-board-is-not-above-eff-lift.png
-        // Fix: Do not rotate as done in the next 3 statements...
-        //
-        // to_screen_x_y(new Point3D(rider_center_x, // just for appearance
-        //                           0,strut.span+BOARD_THICKNESS),x,y,0,offx,scalex,offy,scaley,0,0);
-        // double rider_rot_center_x_real = x[0]/scalex; // rotation corrected, real coords not screen
-        // double rider_rot_center_x = rider_rot_center_x_real; // wasFF  - 0.04; // rotation corrected, real coords not screen
-        double rider_rot_center_x_real = rider_center_x;
-        double rider_rot_center_x = rider_center_x;
-
-        double rider_rot_center_y = y[0]/scaley; // rotation corrected, real coords not screen. note relies on previous to_screen_x_y...
-        double drive_center_y = rider_rot_center_y + DRIVING_FORCE_HEIGHT; // rotation corrected, real coords not screen
-        double rider_cg_center_y = rider_rot_center_y + RIDER_CG_HEIGHT; // rotation corrected, real coords not screen
-
-        double rider_torso_height_correction = 
-          (in.opts.ignore_drive_moment)
-          ? 0
-          :
-          // wasFF 0.86 * (Math.cos(total_drag()/rider.weight) - 1);
-          // 0.8 * (Math.cos((rider_center_x-cg_x_pos)/0.8) - 1);
-          Math.sqrt(Math.max(0, 0.8*0.8 - rider.force_countering_x_offest*rider.force_countering_x_offest)) - 0.8 ;
-
-        // if in 2 straps, reduce it (only to display comfu pos of front foot loading)
-        if (!Double.isNaN(BACK_FOOTSTRAP_XPOS) && !Double.isNaN(FRONT_FOOTSTRAP_XPOS))
-          rider_torso_height_correction *= 0.1;
- 
-        // draw mast boom sail or kite lines
-        // tod: maybe the angle should reflect offloading?
-        switch (craft_type) {
-        case KITEFOIL:
-          // bar and 3 lines go at angle
-          i = 0;
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55));
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 300));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 300));
-
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 0.4));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 0.4));
-
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 300));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 300));
-          off1Gg.setColor(Color.WHITE);
-          //off1Gg.drawPolygon(x,y,i);
-
-          i = 0;
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55));
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 + 0.2));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 0.2));
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 280));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 320));
-
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 0.4+0.01));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 0.4+0.01));
-
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 + 0.4+0.01));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 - 0.4+0.01));
-
-          off1Gg.drawPolygon(x,y,i);
-            
-          i = 0;
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55));
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 0.2));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 - 0.2));
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 320));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 280));
-
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 0.4 - 0.01));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 0.4 - 0.01));
-
-          x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 + 0.4 - 0.01));
-          y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 - 0.4- 0.01));
-
-          off1Gg.drawPolygon(x,y,i);
-
-          break;
-
-        case WINDFOIL:
-          // base
-          double wsmb_x  = mast_xpos-WS_MASTBASE_MAST_LE-0.025;
-          double wsmb_y  = strut.span+BOARD_THICKNESS+0.1;
-
-          to_screen_x_y(new Point3D(wsmb_x,0, wsmb_y),x,y,0,offx,scalex,offy,scaley,0,0);
-          wsmb_x = x[0]/scalex;
-          wsmb_y = y[0]/scaley; // rotation corrected, real coords not screen
-          i = 0;
-
-          // this is generic cyan colored sail, a bit big
-          //
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y));
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.15));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.9));
-          // // boom pt1
-          // int boom_idx_1 = i;
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.28));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.4));
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.6));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+2.3));
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.0));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.1));
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.3));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.6));
-          // 
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.5));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.9));
-          // 
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.8));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.6));
-          // 
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.96));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.0));
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.95));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+2.2));
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.78));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.3));
-          // int boom_idx_2 = i;
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.67));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.66));
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.4));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.4));
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.9));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.21));
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.9));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.21));
-          // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.6));
-          // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.13));
-          // 
-          // off1Gg.fillPolygon(x,y,i);
-          // off1Gg.setColor(Color.CYAN);
-          // off1Gg.fillPolygon(x,y,i);
-          // off1Gg.setColor(Color.BLACK);
-          // off1Gg.drawPolygon(x,y,i);
-          // off1Gg.setColor(Color.BLACK);
-          // off1Gg.drawLine(x[boom_idx_1]+2, y[boom_idx_1]+2, x[boom_idx_2]+2, y[boom_idx_2]+2);
-          // off1Gg.drawLine(x[boom_idx_1]-2, y[boom_idx_1]-2, x[boom_idx_2]-2, y[boom_idx_2]-2);
-
-
-          // goya sail 4.5-4.7
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.05));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.5));
-
-          int batten1_1 = i;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.095));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.83));
-
-          // boom pt1
-          int boom_idx_1 = i;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.275));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.51));
-
-          int batten2_1 = i;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.4));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.85));
-
-          int batten3_1 = i;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.81));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+2.6));
-
-          int batten4_1 = i;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.25));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.33));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.6));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.9));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+2.22));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.53));
-
-          int batten4_2 = i;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+2.25));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.43));
-
-          int batten3_2 = i;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+2.16));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+2.575));
-
-          int batten2_2 = i;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+2.06));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.65));
-
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.94));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.47));
-
-          int boom_idx_2 = i;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.72));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.72));
-          int batten1_2 = i;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.6));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.55));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.15));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.15));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.05));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.0));
-          off1Gg.setColor(color_light_cyan);
-          off1Gg.fillPolygon(x,y,i);
-
-          // outline, boom and battens
-          off1Gg.setColor(Color.BLACK);
-          off1Gg.drawPolygon(x,y,i);
-          off1Gg.drawLine(x[batten1_1], y[batten1_1], x[batten1_2], y[batten1_2]);
-          off1Gg.drawLine(x[batten2_1], y[batten2_1], x[batten2_2], y[batten2_2]);
-          off1Gg.drawLine(x[batten3_1], y[batten3_1], x[batten3_2], y[batten3_2]);
-          off1Gg.drawLine(x[batten4_1], y[batten4_1], x[batten4_2], y[batten4_2]);
-
-          //off1Gg.drawLine(x[boom_idx_1]-2, y[boom_idx_1]-2, x[boom_idx_2]-2, y[boom_idx_2]-2);
-          //off1Gg.drawLine(, , x[boom_idx_2]+2, y[boom_idx_2]+2);
-          int thk = 1; 
-          x[0] = x[boom_idx_1]+thk;
-          y[0] = y[boom_idx_1]-thk;
-          x[1] = x[boom_idx_1]-thk;
-          y[1] = y[boom_idx_1]+thk;
-          x[2] = x[boom_idx_2]-thk;
-          y[2] = y[boom_idx_2]+thk;
-          x[3] = x[boom_idx_2]+thk;
-          y[3] = y[boom_idx_2]-thk;
-          off1Gg.fillPolygon(x,y,4);            
-
-
-          // window1
-          i = 0;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.4));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.82));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.52));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.33));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.68));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.78));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.35));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.7));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.57));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.07));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.05));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.7));
-          off1Gg.setColor(Color.BLUE);
-          off1Gg.fillPolygon(x,y,i);
-
-          // window2
-          i = 0;
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.71));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.845));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.04));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+2.53));
-          x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.325));
-          y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.77));
-          off1Gg.setColor(Color.BLUE);
-          off1Gg.fillPolygon(x,y,i);
-          break;
-        case WINGFOIL:
-          // arch idea... 
-          // double ws_mast_arch_0x = 5.0; // pretty arb...
-          // double ws_mast_arch_0y = strut.span;
-          // double ws_mast_base_x  = mast_xpos-WS_MASTBASE_MAST_LE;
-          // double ws_mast_base_y  = strut.span+BOARD_THICKNESS;
-          // double ws_mast_tip_x  = 0.55;
-          // double ws_mast_tip_y  = ws_mast_base_y + 4.2;
-          // double ws_mast_r = Math.sqrt((ws_mast_base_x - ws_mast_arch_0x)*(ws_mast_base_x - ws_mast_arch_0x) + (ws_mast_base_y - ws_mast_arch_0y)*(ws_mast_base_y - ws_mast_arch_0y)); 
-          // // these will be translated
-          // double ws_arc_x = ws_mast_base_x - ws_mast_r;
-          // double ws_arc_y = ws_mast_base_y - ws_mast_r;
-          // to_screen_x_y(new Point3D(ws_arc_x,0,ws_arc_y),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-          // double arc_wh = 2*ws_mast_r;
-          // to_screen_x_y(new Point3D(arc_wh,0,arc_wh),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-          // double arc_start = (180/ Math.PI *Math.atan2((ws_mast_base_y - ws_mast_arch_0y), (ws_mast_base_x - ws_mast_arch_0x)));
-          // double arc_stop  = (180/ Math.PI *Math.atan2((ws_mast_tip_y  - ws_mast_arch_0y), (ws_mast_tip_x  - ws_mast_arch_0x)));
-          // to_screen_x_y(new Point3D(arc_start,0,arc_start),x,y,2,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-          // off1Gg.setColor(Color.WHITE);
-          // off1Gg.drawArc(x[0], y[0], x[1], y[1], x[2], y[2]);
-          // // System.out.println("-- x: " + java.util.Arrays.toString(x));
-          // // System.out.println("-- y: " + java.util.Arrays.toString(y));
-
-          
-          // Duotone Slick 4.0. See duotone-slick-for-foilboard-sim.xcf
-          double[][] wing_le = {
-            {0, 0},
-            {0.152, 0},
-            {0.813, 0.203},
-            {0.94, 0.364},
-            {0.991, 0.779},
-            {0.914, 1.651},
-            {0.483, 2.421},
-            {0.195, 2.76},
-            {0.017, 2.794},
-            {-0.624, 2.633},
-            {-0.737, 2.523}
-          };
-
-          double[][] wing_te = {
-            {-0.686, 2.057},
-            {-0.728, 1.618},
-            {-0.804, 1.143},
-            {-0.474, 0.804},
-            {-0.186, 0.457}
-          };
-          double[][] wing_le_inn = {
-            {-0.61, 2.548},
-            {0.017, 2.675},
-            {0.135, 2.633},
-            {0.356, 2.354},
-            {0.686, 1.6},
-            {0.821, 0.779},
-            {0.804, 0.406},
-            {0.737, 0.288},
-            {0.127, 0.068}
-          };
-          double[][] wing_strut = {
-            {-0.813, 1.118},
-            {-0.254, 1.219},
-            {0.703, 1.507},
-            {0.737, 1.609},
-            {0.652, 1.668},
-            {-0.305, 1.372},
-            {-0.83, 1.168}
-          };
-
-          double[][] wing_wind1 = {
-            {0.152, 1.321},
-            {0.254, 0.754},
-            {0.483, 0.821},
-            {0.525, 1.439}
-          };
-
-          double[][] wing_wind2 = {
-            {0.11, 1.507},
-            {0.466, 1.626},
-            {0.076, 2.125},
-            {-0.135, 2.066}
-          };
-
-          double wngbx = rider_center_x;
-          double wngby = strut.span + BOARD_THICKNESS;
-          to_screen_x_y(new Point3D(wngbx,0, wngby),x,y,0,offx,scalex,offy,scaley,0,0);
-          wngbx = x[0]/scalex;
-          wngby = y[0]/scaley; // rotation corrected, real coords not screen
-
-          i = 0;
-          for (j = 0; j < wing_le.length; j++) {
-            x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_le[j][0]));
-            y[i++] = screen_off_y+toInt(scaley*(wngby+wing_le[j][1]));
-          }
-          int i_start_le_inn = i;
-          for (j = 0; j < wing_te.length; j++) {
-            x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_te[j][0]));
-            y[i++] = screen_off_y+toInt(scaley*(wngby+wing_te[j][1]));
-          }
-          off1Gg.setColor(color_light_cyan);
-          off1Gg.fillPolygon(x,y,i);
-          i = i_start_le_inn;
-          for (j = 0; j < wing_le_inn.length; j++) {
-            x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_le_inn[j][0]));
-            y[i++] = screen_off_y+toInt(scaley*(wngby+wing_le_inn[j][1]));
-          }
-          off1Gg.setColor(color_dark);
-          off1Gg.fillPolygon(x,y,i);
+        xy_i = 0;
+        double xpos = strut.xpos+motor.cowl_length+motor.length+0.01;
+        to_screen_2D_x_y_i(xpos,                    motor_y+motor.duct_diameter/2);
+        to_screen_2D_x_y_i(xpos+motor.duct_length,  motor_y+motor.duct_diameter/2);
+        to_screen_2D_x_y_i(xpos+motor.duct_length,  motor_y-motor.duct_diameter/2);
+        to_screen_2D_x_y_i(xpos,                    motor_y-motor.duct_diameter/2);
+        off1Gg.setColor(color_dark_2);
+        off1Gg.fillPolygon(x,y,xy_i);
+      }
 
-          // stitch reinforcement, blue
-          off1Gg.setColor(color_sky_blue_light);
-          for (j = i-1, i = 1; i < i_start_le_inn && j > 0; i++, j--) {
-            off1Gg.drawLine(x[i], y[i], x[j], y[j]);
-          }
+      // because cg_pos_board_level is offset from strut top LE at deck level, need to add strut.xpos + xoff_tip
+      // to get true x axis position at fuse level.
+      double cg_x_pos = cg_pos_board_level + strut.xpos + strut.xoff_tip;
+      to_screen_x_y(new Point3D(cg_x_pos, // just for appearance
+                                0,strut.span+BOARD_THICKNESS),x,y,0,offx,scalex,offy,scaley,0,0);
+
+      double cg_x_pos_rot_x = x[0]/scalex; // after rotation, we want cg be at level distance from board surface (related to rider height)
+      double cg_x_pos_rot_y = y[0]/scaley; // after rotation, we want cg be at level distance from board surface (related to rider height)
+      // feet-mast load distribution if any
+      // note minus in front of cg_pos !!!
+      // -cg_pos = k*moff + (1-k)*rx -> rx = (-cgpos - k*l)/(1-k)
+      //double rider_center_x = strut.xpos + (-cg_pos + mast_foot_pressure_k * mast_foot_dist_from_strut_le)/(1-mast_foot_pressure_k);
+      // this is 0 when ignore_drive_moment == true
+      // // for now, this parallels/verifies computation from updateTotals...
+      // double drive_force = total_drag() * DRIVING_FORCE_HEIGHT/RIDER_CG_HEIGHT;
+
+      double rider_center_x = cg_x_pos_rot_x + rider.force_countering_x_offest;
+      // above is: strut.xpos + cg_pos + cg_pos_of_rider - cg_pos_board_level
+      // double rider_center_x_v2 = strut.xpos + cg_pos_of_rider + strut.xoff_tip;
+      // above is: strut.xpos + cg_pos - strut.xoff_tip  + cg_pos_of_rider - cg_pos_board_level  + strut.xoff_tip;
+      // System.out.println("-- rider_center_x: " + rider_center_x + " v2: " + rider_center_x_v2);
+
+      // old double front_foot_heel_x = -0.1+strut.xpos - 0.7*cg_pos + 0.2*rider_center_x - 0.22; 
+      double front_foot_heel_x = Double.isNaN(FRONT_FOOTSTRAP_XPOS) 
+        ? cg_x_pos - 0.26
+        : mast_xpos + FRONT_FOOTSTRAP_XPOS;
+
+      // old double back_foot_heel_x = -0.1+strut.xpos - 0.7*cg_pos + 0.2*rider_center_x + 0.24; 
+      double back_foot_heel_x = Double.isNaN(BACK_FOOTSTRAP_XPOS) 
+        ? cg_x_pos + 0.26
+        : BACK_FOOTSTRAP_XPOS + mast_xpos;
+
+      // stance correctiion for the case of a single strap pair
+      // if (back_foot_heel_x - front_foot_heel_x < 30) back_foot_heel_x = front_foot_heel_x + 0.30;
+      back_foot_heel_x = Math.max(back_foot_heel_x, front_foot_heel_x + 0.30);
+
+      double rider_feet_center = (back_foot_heel_x + front_foot_heel_x)/2; // wasFF rider_center_x - total_drag()*0.86/rider.weight;
+
+      // finally, adjust rider_center_x for WS mast loading
+      if (craft_type == WINDFOIL) {
+        // not ideal... if (cg_x_pos < rider_feet_center) rider_center_x = rider_feet_center; // rider loads mast-base, standing upright (hanging off the [sufficiently high] boom)
+        // d/w = b/a ==> b = d * a / w.
+
+        // double dist_a = cg_x_pos - (-WS_MASTBASE_MAST_LE); 
+        // rider_center_x = -WS_MASTBASE_MAST_LE + dist_a * total_drag()/rider.weight;
+      }
 
-          off1Gg.setColor(color_dark);
-          i = 0;
-          for (j = 0; j < wing_strut.length; j++) {
-            x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_strut[j][0]));
-            y[i++] = screen_off_y+toInt(scaley*(wngby+wing_strut[j][1]));
-          }
-          off1Gg.fillPolygon(x,y,i);
+      // Bug fix!! Do not rotate rider_center_x!! 
+      // Problem: when rotated with the board, rider pos remains always  perpendicular to board-cg-pos, which is  wrong.
+      // it must be *above* it. See bug-rider-cg-pos-on-board-is-not-above-eff-lift.png
+      // Fix: Do not rotate as done in the next 3 statements...
+      //
+      // to_screen_x_y(new Point3D(rider_center_x, // just for appearance
+      //                           0,strut.span+BOARD_THICKNESS),x,y,0,offx,scalex,offy,scaley,0,0);
+      // double rider_rot_center_x_real = x[0]/scalex; // rotation corrected, real coords not screen
+      // double rider_rot_center_x = rider_rot_center_x_real; // wasFF  - 0.04; // rotation corrected, real coords not screen
+      double rider_rot_center_x_real = rider_center_x;
+      double rider_rot_center_x = rider_center_x;
+
+      double rider_rot_center_y = y[0]/scaley; // rotation corrected, real coords not screen. note relies on previous to_screen_x_y...
+      double drive_center_y = rider_rot_center_y + DRIVING_FORCE_HEIGHT; // rotation corrected, real coords not screen
+      double rider_cg_center_y = rider_rot_center_y + RIDER_CG_HEIGHT; // rotation corrected, real coords not screen
+
+      double rider_torso_height_correction = 
+        (ignore_drive_moment)
+        ? 0
+        :
+        // wasFF 0.86 * (Math.cos(total_drag()/rider.weight) - 1);
+        // 0.8 * (Math.cos((rider_center_x-cg_x_pos)/0.8) - 1);
+        Math.sqrt(Math.max(0, 0.8*0.8 - rider.force_countering_x_offest*rider.force_countering_x_offest)) - 0.8 ;
+
+      // if in 2 straps, reduce it (only to display comfu pos of front foot loading)
+      if (!Double.isNaN(BACK_FOOTSTRAP_XPOS) && !Double.isNaN(FRONT_FOOTSTRAP_XPOS))
+        rider_torso_height_correction *= 0.1;
+
+      // draw mast boom sail or kite lines
+      // tod: maybe the angle should reflect offloading?
+      switch (craft_type) {
+      case KITEFOIL:
+        paint_kite_lines(rider_rot_center_x, rider_rot_center_y);
+        break;
+      case WINDFOIL:
+        paint_windsurf_rig(mast_xpos);
+        break;
+      case WINGFOIL:
+        paint_wing_rig(rider_center_x);
+        break;
+      case EFOIL:
+        // draw motor and prop
+      default:
+      }
 
-          i = 0;
-          for (j = 0; j < wing_wind1.length; j++) {
-            x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_wind1[j][0]));
-            y[i++] = screen_off_y+toInt(scaley*(wngby+wing_wind1[j][1]));
-          }
-          off1Gg.setColor(Color.BLUE);
-          off1Gg.fillPolygon(x,y,i);
-          i = 0;
-          for (j = 0; j < wing_wind2.length; j++) {
-            x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_wind2[j][0]));
-            y[i++] = screen_off_y+toInt(scaley*(wngby+wing_wind2[j][1]));
-          }
-          off1Gg.fillPolygon(x,y,i);
+      paint_rider(front_foot_heel_x, back_foot_heel_x, rider_rot_center_x, rider_rot_center_y,
+                  rider_torso_height_correction);
+      paint_foil_forces();
+      paint_board_forces(mast_xpos, cg_x_pos_rot_x, cg_x_pos_rot_y, rider_rot_center_x, rider_rot_center_x_real,
+                         rider_cg_center_y, drive_center_y);
+
+      double drag_x = offx + strut.xpos + 0.5*strut.chord;
+      // why -offy/2 ? because offy is negative
+      to_screen_x_y(new Point3D(drag_x,0,-offy/2),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      to_screen_x_y(new Point3D(drag_x+(strut.drag)*force_scale,0,-offy/2),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      drawVectorHoriz(Color.red, 
+                      lang=="ru" 
+                      ? "\u0421\u043e\u043f\u0440\u043e\u0442\u002e \u041f\u0438\u043b\u043e\u043d\u0430"
+                      : "Mast Drag", 
+                      y[0], x[0], x[1]);
+    }
 
+    // bar and lines of the kite, which is far off screen
+    void paint_kite_lines (double rider_rot_center_x, double rider_rot_center_y) {
+      int i;
+      // bar and 3 lines go at angle
+      i = 0;
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 300));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 300));
+
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 0.4));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 0.4));
+
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 300));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 300));
+      off1Gg.setColor(Color.WHITE);
+      //off1Gg.drawPolygon(x,y,i);
+
+      i = 0;
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 + 0.2));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 0.2));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 280));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 320));
+
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 0.4+0.01));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 0.4+0.01));
+
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 + 0.4+0.01));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 - 0.4+0.01));
+
+      off1Gg.drawPolygon(x,y,i);
+
+      i = 0;
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 0.2));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 - 0.2));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 320));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 280));
+
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 - 0.4 - 0.01));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 + 0.4 - 0.01));
+
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.54 + 0.4 - 0.01));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.55 - 0.4- 0.01));
+
+      off1Gg.drawPolygon(x,y,i);
+    }
 
-          break;
-        case EFOIL:
-          // draw motor and prop
-        default:
-        }
+    // windsurf mast, boom and sail
+    void paint_windsurf_rig (double mast_xpos) {
+      int i;
+      // base
+      double wsmb_x  = mast_xpos-WS_MASTBASE_MAST_LE-0.025;
+      double wsmb_y  = strut.span+BOARD_THICKNESS+0.1;
 
-        // RIDER
-        i = 0;
-
-        // front foot
-        to_screen_x_y(new Point3D(front_foot_heel_x       ,0,strut.span+BOARD_THICKNESS),x,y,i++,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        to_screen_x_y(new Point3D(front_foot_heel_x - 0.10,0,strut.span+BOARD_THICKNESS),x,y,i++,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        // front leg.. etc
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.20));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 0.86 + rider_torso_height_correction));
-
-        // thick hand
-        // x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.20));
-        // y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.4));
-        // x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.50));
-
-        // y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.4));
-        // x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.50));
-        // y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6));
-        // x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.15));
-        // y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6));
-        // x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.15));
-
-
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.20));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.34 + rider_torso_height_correction));
-        // front hand
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.45));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.11 + rider_torso_height_correction));
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.58));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.5 + rider_torso_height_correction));
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.5));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6 + rider_torso_height_correction));
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.42));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.35 + rider_torso_height_correction));
-        // shoulder 
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.20));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6 + rider_torso_height_correction));
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.15));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6 + rider_torso_height_correction));
-        // top head
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.13));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.82 + rider_torso_height_correction));
-
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.13));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.82 + rider_torso_height_correction));
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.15));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6 + rider_torso_height_correction));
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.23));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6 + rider_torso_height_correction));
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.23));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.4 + rider_torso_height_correction));
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.20));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.35 + rider_torso_height_correction));
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.20));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 0.86 + rider_torso_height_correction));
-
-        // back foot
-        to_screen_x_y(new Point3D(back_foot_heel_x       ,0,strut.span+ BOARD_THICKNESS),x,y,i++,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        to_screen_x_y(new Point3D(back_foot_heel_x - 0.10,0,strut.span+ BOARD_THICKNESS),x,y,i++,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-
-        x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x));
-        y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 0.8 + rider_torso_height_correction));
+      to_screen_x_y(new Point3D(wsmb_x,0, wsmb_y),x,y,0,offx,scalex,offy,scaley,0,0);
+      wsmb_x = x[0]/scalex;
+      wsmb_y = y[0]/scaley; // rotation corrected, real coords not screen
+      i = 0;
 
-        off1Gg.setColor(Color.yellow);
-        off1Gg.fillPolygon(x,y,i);
+      // this is generic cyan colored sail, a bit big
+      //
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y));
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.15));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.9));
+      // // boom pt1
+      // int boom_idx_1 = i;
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.28));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.4));
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.6));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+2.3));
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.0));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.1));
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.3));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.6));
+      // 
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.5));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.9));
+      // 
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.8));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.6));
+      // 
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.96));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.0));
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.95));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+2.2));
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.78));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.3));
+      // int boom_idx_2 = i;
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.67));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.66));
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.4));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.4));
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.9));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.21));
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.9));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.21));
+      // x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.6));
+      // y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.13));
+      // 
+      // off1Gg.fillPolygon(x,y,i);
+      // off1Gg.setColor(Color.CYAN);
+      // off1Gg.fillPolygon(x,y,i);
+      // off1Gg.setColor(Color.BLACK);
+      // off1Gg.drawPolygon(x,y,i);
+      // off1Gg.setColor(Color.BLACK);
+      // off1Gg.drawLine(x[boom_idx_1]+2, y[boom_idx_1]+2, x[boom_idx_2]+2, y[boom_idx_2]+2);
+      // off1Gg.drawLine(x[boom_idx_1]-2, y[boom_idx_1]-2, x[boom_idx_2]-2, y[boom_idx_2]-2);
+
+
+      // goya sail 4.5-4.7
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.05));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.5));
+
+      int batten1_1 = i;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.095));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.83));
+
+      // boom pt1
+      int boom_idx_1 = i;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.275));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.51));
+
+      int batten2_1 = i;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.4));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.85));
+
+      int batten3_1 = i;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.81));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+2.6));
+
+      int batten4_1 = i;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.25));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.33));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.6));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.9));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+2.22));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.53));
+
+      int batten4_2 = i;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+2.25));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+3.43));
+
+      int batten3_2 = i;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+2.16));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+2.575));
+
+      int batten2_2 = i;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+2.06));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.65));
+
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.94));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.47));
+
+      int boom_idx_2 = i;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.72));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.72));
+      int batten1_2 = i;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.6));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.55));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.15));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.15));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.05));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.0));
+      off1Gg.setColor(color_light_cyan);
+      off1Gg.fillPolygon(x,y,i);
+
+      // outline, boom and battens
+      off1Gg.setColor(Color.BLACK);
+      off1Gg.drawPolygon(x,y,i);
+      off1Gg.drawLine(x[batten1_1], y[batten1_1], x[batten1_2], y[batten1_2]);
+      off1Gg.drawLine(x[batten2_1], y[batten2_1], x[batten2_2], y[batten2_2]);
+      off1Gg.drawLine(x[batten3_1], y[batten3_1], x[batten3_2], y[batten3_2]);
+      off1Gg.drawLine(x[batten4_1], y[batten4_1], x[batten4_2], y[batten4_2]);
+
+      //off1Gg.drawLine(x[boom_idx_1]-2, y[boom_idx_1]-2, x[boom_idx_2]-2, y[boom_idx_2]-2);
+      //off1Gg.drawLine(, , x[boom_idx_2]+2, y[boom_idx_2]+2);
+      int thk = 1; 
+      x[0] = x[boom_idx_1]+thk;
+      y[0] = y[boom_idx_1]-thk;
+      x[1] = x[boom_idx_1]-thk;
+      y[1] = y[boom_idx_1]+thk;
+      x[2] = x[boom_idx_2]-thk;
+      y[2] = y[boom_idx_2]+thk;
+      x[3] = x[boom_idx_2]+thk;
+      y[3] = y[boom_idx_2]-thk;
+      off1Gg.fillPolygon(x,y,4);            
+
+
+      // window1
+      i = 0;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.4));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.82));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.52));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.33));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.68));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.78));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.35));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.7));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.57));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.07));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.05));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+0.7));
+      off1Gg.setColor(Color.BLUE);
+      off1Gg.fillPolygon(x,y,i);
+
+      // window2
+      i = 0;
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+0.71));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.845));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.04));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+2.53));
+      x[i  ] = screen_off_x+toInt(scalex*(wsmb_x+1.325));
+      y[i++] = screen_off_y+toInt(scaley*(wsmb_y+1.77));
+      off1Gg.setColor(Color.BLUE);
+      off1Gg.fillPolygon(x,y,i);
+    }
 
+    // hand held wing
+    void paint_wing_rig (double rider_center_x) {
+      int i, j;
+      // arch idea... 
+      // double ws_mast_arch_0x = 5.0; // pretty arb...
+      // double ws_mast_arch_0y = strut.span;
+      // double ws_mast_base_x  = mast_xpos-WS_MASTBASE_MAST_LE;
+      // double ws_mast_base_y  = strut.span+BOARD_THICKNESS;
+      // double ws_mast_tip_x  = 0.55;
+      // double ws_mast_tip_y  = ws_mast_base_y + 4.2;
+      // double ws_mast_r = Math.sqrt((ws_mast_base_x - ws_mast_arch_0x)*(ws_mast_base_x - ws_mast_arch_0x) + (ws_mast_base_y - ws_mast_arch_0y)*(ws_mast_base_y - ws_mast_arch_0y)); 
+      // // these will be translated
+      // double ws_arc_x = ws_mast_base_x - ws_mast_r;
+      // double ws_arc_y = ws_mast_base_y - ws_mast_r;
+      // to_screen_x_y(new Point3D(ws_arc_x,0,ws_arc_y),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      // double arc_wh = 2*ws_mast_r;
+      // to_screen_x_y(new Point3D(arc_wh,0,arc_wh),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      // double arc_start = (180/ Math.PI *Math.atan2((ws_mast_base_y - ws_mast_arch_0y), (ws_mast_base_x - ws_mast_arch_0x)));
+      // double arc_stop  = (180/ Math.PI *Math.atan2((ws_mast_tip_y  - ws_mast_arch_0y), (ws_mast_tip_x  - ws_mast_arch_0x)));
+      // to_screen_x_y(new Point3D(arc_start,0,arc_start),x,y,2,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      // off1Gg.setColor(Color.WHITE);
+      // off1Gg.drawArc(x[0], y[0], x[1], y[1], x[2], y[2]);
+      // // System.out.println("-- x: " + java.util.Arrays.toString(x));
+      // // System.out.println("-- y: " + java.util.Arrays.toString(y));
+
+
+      // Duotone Slick 4.0. See duotone-slick-for-foilboard-sim.xcf
+      double[][] wing_le = {
+        {0, 0},
+        {0.152, 0},
+        {0.813, 0.203},
+        {0.94, 0.364},
+        {0.991, 0.779},
+        {0.914, 1.651},
+        {0.483, 2.421},
+        {0.195, 2.76},
+        {0.017, 2.794},
+        {-0.624, 2.633},
+        {-0.737, 2.523}
+      };
+
+      double[][] wing_te = {
+        {-0.686, 2.057},
+        {-0.728, 1.618},
+        {-0.804, 1.143},
+        {-0.474, 0.804},
+        {-0.186, 0.457}
+      };
+      double[][] wing_le_inn = {
+        {-0.61, 2.548},
+        {0.017, 2.675},
+        {0.135, 2.633},
+        {0.356, 2.354},
+        {0.686, 1.6},
+        {0.821, 0.779},
+        {0.804, 0.406},
+        {0.737, 0.288},
+        {0.127, 0.068}
+      };
+      double[][] wing_strut = {
+        {-0.813, 1.118},
+        {-0.254, 1.219},
+        {0.703, 1.507},
+        {0.737, 1.609},
+        {0.652, 1.668},
+        {-0.305, 1.372},
+        {-0.83, 1.168}
+      };
+
+      double[][] wing_wind1 = {
+        {0.152, 1.321},
+        {0.254, 0.754},
+        {0.483, 0.821},
+        {0.525, 1.439}
+      };
+
+      double[][] wing_wind2 = {
+        {0.11, 1.507},
+        {0.466, 1.626},
+        {0.076, 2.125},
+        {-0.135, 2.066}
+      };
+
+      double wngbx = rider_center_x;
+      double wngby = strut.span + BOARD_THICKNESS;
+      to_screen_x_y(new Point3D(wngbx,0, wngby),x,y,0,offx,scalex,offy,scaley,0,0);
+      wngbx = x[0]/scalex;
+      wngby = y[0]/scaley; // rotation corrected, real coords not screen
+
+      i = 0;
+      for (j = 0; j < wing_le.length; j++) {
+        x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_le[j][0]));
+        y[i++] = screen_off_y+toInt(scaley*(wngby+wing_le[j][1]));
+      }
+      int i_start_le_inn = i;
+      for (j = 0; j < wing_te.length; j++) {
+        x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_te[j][0]));
+        y[i++] = screen_off_y+toInt(scaley*(wngby+wing_te[j][1]));
+      }
+      off1Gg.setColor(color_light_cyan);
+      off1Gg.fillPolygon(x,y,i);
+      i = i_start_le_inn;
+      for (j = 0; j < wing_le_inn.length; j++) {
+        x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_le_inn[j][0]));
+        y[i++] = screen_off_y+toInt(scaley*(wngby+wing_le_inn[j][1]));
+      }
+      off1Gg.setColor(color_dark);
+      off1Gg.fillPolygon(x,y,i);
 
-        //off1Gg.setColor(Color.green);
-        //off1Gg.drawString("Flow",45,145);
-        //off1Gg.drawLine(40,155,40,125);
-        //x[0] = 35;  x[1] = 45; x[2] = 40;
-        //y[0] = 125;  y[1] = 125; y[2] = 115;
-        //off1Gg.fillPolygon(x,y,3);
-        double drag_x;
+      // stitch reinforcement, blue
+      off1Gg.setColor(color_sky_blue_light);
+      for (j = i-1, i = 1; i < i_start_le_inn && j > 0; i++, j--) {
+        off1Gg.drawLine(x[i], y[i], x[j], y[j]);
+      }
 
-        double force_xpos = 0; // distance from LE, + direction towards tail
-        force_xpos = wing.xpos + wing.chord_xoffs + wing.compute_lift_pos(); 
-        to_screen_x_y(new Point3D(force_xpos,0,wing.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      off1Gg.setColor(color_dark);
+      i = 0;
+      for (j = 0; j < wing_strut.length; j++) {
+        x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_strut[j][0]));
+        y[i++] = screen_off_y+toInt(scaley*(wngby+wing_strut[j][1]));
+      }
+      off1Gg.fillPolygon(x,y,i);
 
-        to_screen_x_y(new Point3D(force_xpos,0,wing.chord_zoffs + wing.lift*force_scale),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        drawVectorVert(wing.lift > 0 ? Color.green : Color.red, lang=="ru" ? "\u041a\u0440\u044b\u043b\u043e" :  "Wing Lift", x[0], y[0], y[1]);
+      i = 0;
+      for (j = 0; j < wing_wind1.length; j++) {
+        x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_wind1[j][0]));
+        y[i++] = screen_off_y+toInt(scaley*(wngby+wing_wind1[j][1]));
+      }
+      off1Gg.setColor(Color.BLUE);
+      off1Gg.fillPolygon(x,y,i);
+      i = 0;
+      for (j = 0; j < wing_wind2.length; j++) {
+        x[i  ] = screen_off_x+toInt(scalex*(wngbx-wing_wind2[j][0]));
+        y[i++] = screen_off_y+toInt(scaley*(wngby+wing_wind2[j][1]));
+      }
+      off1Gg.fillPolygon(x,y,i);
+    }
 
-        to_screen_x_y(new Point3D(force_xpos,0,wing.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        to_screen_x_y(new Point3D(force_xpos + wing.drag*force_scale,0,wing.chord_zoffs),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        drawVectorHoriz(Color.red, 
-                        lang=="ru" 
-                        ? "\u0421\u043e\u043f\u0440\u043e\u0442\u002e \u041a\u0440\u044b\u043b\u0430"
-                        : "Wing Drag", 
-                        y[0], x[0], x[1]);
+    void paint_rider (double front_foot_heel_x, double back_foot_heel_x,
+                      double rider_rot_center_x, double rider_rot_center_y,
+                      double rider_torso_height_correction) {
+      int i;
+      // RIDER
+      i = 0;
+
+      // front foot
+      to_screen_x_y(new Point3D(front_foot_heel_x       ,0,strut.span+BOARD_THICKNESS),x,y,i++,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      to_screen_x_y(new Point3D(front_foot_heel_x - 0.10,0,strut.span+BOARD_THICKNESS),x,y,i++,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      // front leg.. etc
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.20));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 0.86 + rider_torso_height_correction));
+
+      // thick hand
+      // x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.20));
+      // y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.4));
+      // x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.50));
+
+      // y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.4));
+      // x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.50));
+      // y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6));
+      // x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.15));
+      // y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6));
+      // x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.15));
+
+
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.20));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.34 + rider_torso_height_correction));
+      // front hand
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.45));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.11 + rider_torso_height_correction));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.58));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.5 + rider_torso_height_correction));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.5));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6 + rider_torso_height_correction));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.42));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.35 + rider_torso_height_correction));
+      // shoulder 
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.20));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6 + rider_torso_height_correction));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.15));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6 + rider_torso_height_correction));
+      // top head
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x - 0.13));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.82 + rider_torso_height_correction));
+
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.13));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.82 + rider_torso_height_correction));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.15));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6 + rider_torso_height_correction));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.23));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.6 + rider_torso_height_correction));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.23));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.4 + rider_torso_height_correction));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.20));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 1.35 + rider_torso_height_correction));
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x + 0.20));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 0.86 + rider_torso_height_correction));
+
+      // back foot
+      to_screen_x_y(new Point3D(back_foot_heel_x       ,0,strut.span+ BOARD_THICKNESS),x,y,i++,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      to_screen_x_y(new Point3D(back_foot_heel_x - 0.10,0,strut.span+ BOARD_THICKNESS),x,y,i++,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+
+      x[i  ] = screen_off_x+toInt(scalex*(rider_rot_center_x));
+      y[i++] = screen_off_y+toInt(scaley*(rider_rot_center_y-0.031 + 0.8 + rider_torso_height_correction));
+
+      off1Gg.setColor(Color.yellow);
+      off1Gg.fillPolygon(x,y,i);
+    }
 
-        force_xpos = stab.xpos + stab.chord_xoffs + stab.compute_lift_pos(); 
-        to_screen_x_y(new Point3D(force_xpos,0,stab.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        to_screen_x_y(new Point3D(force_xpos,0,stab.chord_zoffs + stab.lift*force_scale),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        drawVectorVert(stab.lift > 0 ? Color.green : Color.red, lang=="ru" ? "\u0421\u0442\u0430\u0431\u0438\u043b\u0438\u0437\u0430\u0442\u043e\u0440" : "Stab Lift", x[0], y[0], y[1]);
+    // lift and drag of wing, stab and (aux) fuse
+    void paint_foil_forces () {
+      //off1Gg.setColor(Color.green);
+      //off1Gg.drawString("Flow",45,145);
+      //off1Gg.drawLine(40,155,40,125);
+      //x[0] = 35;  x[1] = 45; x[2] = 40;
+      //y[0] = 125;  y[1] = 125; y[2] = 115;
+      //off1Gg.fillPolygon(x,y,3);
+
+      double force_xpos = 0; // distance from LE, + direction towards tail
+      force_xpos = wing.xpos + wing.chord_xoffs + wing.compute_lift_pos(); 
+      to_screen_x_y(new Point3D(force_xpos,0,wing.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+
+      to_screen_x_y(new Point3D(force_xpos,0,wing.chord_zoffs + wing.lift*force_scale),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      drawVectorVert(wing.lift > 0 ? Color.green : Color.red, lang=="ru" ? "\u041a\u0440\u044b\u043b\u043e" :  "Wing Lift", x[0], y[0], y[1]);
+
+      to_screen_x_y(new Point3D(force_xpos,0,wing.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      to_screen_x_y(new Point3D(force_xpos + wing.drag*force_scale,0,wing.chord_zoffs),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      drawVectorHoriz(Color.red, 
+                      lang=="ru" 
+                      ? "\u0421\u043e\u043f\u0440\u043e\u0442\u002e \u041a\u0440\u044b\u043b\u0430"
+                      : "Wing Drag", 
+                      y[0], x[0], x[1]);
+
+      force_xpos = stab.xpos + stab.chord_xoffs + stab.compute_lift_pos(); 
+      to_screen_x_y(new Point3D(force_xpos,0,stab.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      to_screen_x_y(new Point3D(force_xpos,0,stab.chord_zoffs + stab.lift*force_scale),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      drawVectorVert(stab.lift > 0 ? Color.green : Color.red, lang=="ru" ? "\u0421\u0442\u0430\u0431\u0438\u043b\u0438\u0437\u0430\u0442\u043e\u0440" : "Stab Lift", x[0], y[0], y[1]);
+
+      to_screen_x_y(new Point3D(force_xpos,0,stab.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      to_screen_x_y(new Point3D(force_xpos + stab.drag*force_scale,0,stab.chord_zoffs),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      drawVectorHoriz(Color.red, 
+                      lang=="ru" 
+                      ? "\u0421\u0442\u0430\u0431\u0438\u043b\u0438\u0437\u0430\u0442\u043e\u0440" 
+                      : "Stab Drag", 
+                      y[0], x[0], x[1]);
+
+
+      if (forces_aux) {
+        force_xpos = fuse.xpos + fuse.chord_xoffs + fuse.compute_lift_pos(); 
+
+        to_screen_x_y(new Point3D(force_xpos,0,fuse.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+        to_screen_x_y(new Point3D(force_xpos,0,fuse.chord_zoffs + fuse.lift*force_scale),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+        drawVectorVert(fuse.lift > 0 ? Color.green : Color.red, lang=="ru" ? "\u0424\u044e\u0437\u0435\u043b\u044f\u0436" : "Fuse Lift", x[0], y[0], y[1]);
+
+        to_screen_x_y(new Point3D(force_xpos,0,fuse.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+        to_screen_x_y(new Point3D(force_xpos + fuse.drag*force_scale,0,fuse.chord_zoffs),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+        drawVectorHoriz(Color.red, lang=="ru" ? "\u0424\u044e\u0437\u0435\u043b\u044f\u0436" : "Fuse Drag", y[0], x[0], x[1]);
+      }
+    }
 
-        to_screen_x_y(new Point3D(force_xpos,0,stab.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        to_screen_x_y(new Point3D(force_xpos + stab.drag*force_scale,0,stab.chord_zoffs),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+    // effective rider weight and drive at the board, and with Aux forces,
+    // the real ones plus board and rig weights
+    void paint_board_forces (double mast_xpos, double cg_x_pos_rot_x, double cg_x_pos_rot_y,
+                             double rider_rot_center_x, double rider_rot_center_x_real,
+                             double rider_cg_center_y, double drive_center_y) {
+      drawVectorVert(Color.red, 
+                     lang=="ru" 
+                     ? "\u0412\u0435\u0441 \u0028\u043f\u0440\u0438\u043b\u043e\u0436\u0435\u043d \u043a \u0434\u043e\u0441\u043a\u0435\u0029"                         
+                     : "Effective Rider Weight Pos", 
+                     screen_off_x+toInt(scalex*(cg_x_pos_rot_x)),
+                     screen_off_y+toInt(scaley*(cg_x_pos_rot_y)),
+                     screen_off_y+toInt(scaley*(cg_x_pos_rot_y -
+                                                // vpp.steady_flight_at_given_speed___load*force_scale
+                                                rider.weight*force_scale
+                                                )));
+
+      if (ignore_drive_moment // if so, do not need this arrow
+          || 
+          craft_type == EFOIL) // no need too: in the EFOIL case, the prop thrust is appled to the mast, not to the board by the feet.
+        ; // do nothing here
+      else 
         drawVectorHoriz(Color.red, 
                         lang=="ru" 
-                        ? "\u0421\u0442\u0430\u0431\u0438\u043b\u0438\u0437\u0430\u0442\u043e\u0440" 
-                        : "Stab Drag", 
-                        y[0], x[0], x[1]);
-
-
-        if (forces_aux) {
-          force_xpos = fuse.xpos + fuse.chord_xoffs + fuse.compute_lift_pos(); 
-          
-          to_screen_x_y(new Point3D(force_xpos,0,fuse.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-          to_screen_x_y(new Point3D(force_xpos,0,fuse.chord_zoffs + fuse.lift*force_scale),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-          drawVectorVert(fuse.lift > 0 ? Color.green : Color.red, lang=="ru" ? "\u0424\u044e\u0437\u0435\u043b\u044f\u0436" : "Fuse Lift", x[0], y[0], y[1]);
-
-          to_screen_x_y(new Point3D(force_xpos,0,fuse.chord_zoffs),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-          to_screen_x_y(new Point3D(force_xpos + fuse.drag*force_scale,0,fuse.chord_zoffs),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-          drawVectorHoriz(Color.red, lang=="ru" ? "\u0424\u044e\u0437\u0435\u043b\u044f\u0436" : "Fuse Drag", y[0], x[0], x[1]);
-        }
-
-        drawVectorVert(Color.red, 
+                        ? "\u0422\u044f\u0433\u0430 \u0028\u043f\u0440\u0438\u043b\u043e\u0436\u0435\u043d\u0430 \u043a \u0434\u043e\u0441\u043a\u0435\u0029"
+                        : "Effective FWD Drive", 
+                        screen_off_y+toInt(scaley*(cg_x_pos_rot_y)),
+                        screen_off_x+toInt(scalex*(cg_x_pos_rot_x)), 
+                        screen_off_x+toInt(scalex*(cg_x_pos_rot_x - total_drag()*force_scale)));
+
+      if (forces_aux) {
+        drawVectorVert(Color.orange, 
                        lang=="ru" 
-                       ? "\u0412\u0435\u0441 \u0028\u043f\u0440\u0438\u043b\u043e\u0436\u0435\u043d \u043a \u0434\u043e\u0441\u043a\u0435\u0029"                         
-                       : "Effective Rider Weight Pos", 
-                       screen_off_x+toInt(scalex*(cg_x_pos_rot_x)),
-                       screen_off_y+toInt(scaley*(cg_x_pos_rot_y)),
-                       screen_off_y+toInt(scaley*(cg_x_pos_rot_y -
+                       ? "\u0412\u0435\u0441 \u041c\u0430\u0442\u0440\u043e\u0441\u0430 \u0028\u0440\u0435\u0430\u043b\u044c\u043d\u0430\u044f \u0442\u043e\u0447\u043a\u0430\u0029"
+                       : "Rider Weight", 
+                       screen_off_x+toInt(scalex*(rider_rot_center_x)),
+                       screen_off_y+toInt(scaley* rider_cg_center_y), // wasFF (rider_rot_center_y-0.031+1.0)),
+                       screen_off_y+toInt(scaley*(rider_cg_center_y - // wasFF rider_rot_center_y-0.031+1.0- 
                                                   // vpp.steady_flight_at_given_speed___load*force_scale
                                                   rider.weight*force_scale
                                                   )));
-
-        if (in.opts.ignore_drive_moment // if so, do not need this arrow
-            || 
-            craft_type == EFOIL) // no need too: in the EFOIL case, the prop thrust is appled to the mast, not to the board by the feet.
-          ; // do nothing here
-        else 
-          drawVectorHoriz(Color.red, 
-                          lang=="ru" 
-                          ? "\u0422\u044f\u0433\u0430 \u0028\u043f\u0440\u0438\u043b\u043e\u0436\u0435\u043d\u0430 \u043a \u0434\u043e\u0441\u043a\u0435\u0029"
-                          : "Effective FWD Drive", 
-                          screen_off_y+toInt(scaley*(cg_x_pos_rot_y)),
-                          screen_off_x+toInt(scalex*(cg_x_pos_rot_x)), 
-                          screen_off_x+toInt(scalex*(cg_x_pos_rot_x - total_drag()*force_scale)));
-
-        if (forces_aux) {
-          drawVectorVert(Color.orange, 
+        drawVectorHoriz(Color.red, 
+                        lang=="ru" 
+                        ? "\u0414\u0430\u0432\u043B\u0435\u043D\u0438\u0435 \u0412\u0435\u0442\u0440\u0430"
+                        : "Body Wind Pressure", 
+                        screen_off_y+toInt(scaley*(rider_cg_center_y)),
+                        screen_off_x+toInt(scalex*(rider_rot_center_x)), 
+                        screen_off_x+toInt(scalex*(rider_rot_center_x + rider.drag*force_scale)));
+
+
+        if (!ignore_aux_weight_moments) {
+          // board weight or lift
+          double board_force = BOARD_WEIGHT - (FoilBoard.this.load - foil_lift()); 
+          boolean non_flying  = board_force < 0;
+          double arm = non_flying
+            ?
+            // lift arm is at BOARD_HYDRO_LIFT_LOC*BOARD_LENGTH, adjust for mast_xpos+MAST_LE_TO_TRANSOM
+            -BOARD_HYDRO_LIFT_LOC*BOARD_LENGTH +mast_xpos + MAST_LE_TO_TRANSOM
+            :
+            // board weight arm is BOARD_CG_K*BOARD_LENGTH, adjust for mast_xpos+MAST_LE_TO_TRANSOM
+            -BOARD_CG_K*BOARD_LENGTH +mast_xpos + MAST_LE_TO_TRANSOM;
+
+          to_screen_x_y(new Point3D(arm,0,strut.span+BOARD_THICKNESS/2),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+          to_screen_x_y(new Point3D(arm,0,strut.span+BOARD_THICKNESS/2-board_force*force_scale),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+          drawVectorVert(non_flying ? Color.green : Color.red, 
                          lang=="ru" 
-                         ? "\u0412\u0435\u0441 \u041c\u0430\u0442\u0440\u043e\u0441\u0430 \u0028\u0440\u0435\u0430\u043b\u044c\u043d\u0430\u044f \u0442\u043e\u0447\u043a\u0430\u0029"
-                         : "Rider Weight", 
-                         screen_off_x+toInt(scalex*(rider_rot_center_x)),
-                         screen_off_y+toInt(scaley* rider_cg_center_y), // wasFF (rider_rot_center_y-0.031+1.0)),
-                         screen_off_y+toInt(scaley*(rider_cg_center_y - // wasFF rider_rot_center_y-0.031+1.0- 
-                                                    // vpp.steady_flight_at_given_speed___load*force_scale
-                                                    rider.weight*force_scale
-                                                    )));
-          drawVectorHoriz(Color.red, 
-                          lang=="ru" 
-                          ? "\u0414\u0430\u0432\u043B\u0435\u043D\u0438\u0435 \u0412\u0435\u0442\u0440\u0430"
-                          : "Body Wind Pressure", 
-                          screen_off_y+toInt(scaley*(rider_cg_center_y)),
-                          screen_off_x+toInt(scalex*(rider_rot_center_x)), 
-                          screen_off_x+toInt(scalex*(rider_rot_center_x + rider.drag*force_scale)));
-
-
-          if (!in.opts.ignore_aux_weight_moments) {
-            // board weight or lift
-            double board_force = BOARD_WEIGHT - (FoilBoard.this.load - foil_lift()); 
-            boolean non_flying  = board_force < 0;
-            double arm = non_flying
-              ?
-              // lift arm is at BOARD_HYDRO_LIFT_LOC*BOARD_LENGTH, adjust for mast_xpos+MAST_LE_TO_TRANSOM
-              -BOARD_HYDRO_LIFT_LOC*BOARD_LENGTH +mast_xpos + MAST_LE_TO_TRANSOM
-              :
-              // board weight arm is BOARD_CG_K*BOARD_LENGTH, adjust for mast_xpos+MAST_LE_TO_TRANSOM
-              -BOARD_CG_K*BOARD_LENGTH +mast_xpos + MAST_LE_TO_TRANSOM;
+                         ? "\u0412\u0435\u0441 \u0414\u043e\u0441\u043a\u0438"
+                         : (non_flying ? "Board lift" : "Board Weight"),
+                         x[0], y[0], y[1]);
 
+          if (board.drag != 0) {
             to_screen_x_y(new Point3D(arm,0,strut.span+BOARD_THICKNESS/2),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-            to_screen_x_y(new Point3D(arm,0,strut.span+BOARD_THICKNESS/2-board_force*force_scale),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-            drawVectorVert(non_flying ? Color.green : Color.red, 
-                           lang=="ru" 
-                           ? "\u0412\u0435\u0441 \u0414\u043e\u0441\u043a\u0438"
-                           : (non_flying ? "Board lift" : "Board Weight"),
-                           x[0], y[0], y[1]);
-
-            if (board.drag != 0) {
-              to_screen_x_y(new Point3D(arm,0,strut.span+BOARD_THICKNESS/2),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-              to_screen_x_y(new Point3D(arm+(board.drag)*force_scale,0,strut.span+BOARD_THICKNESS/2),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-              drawVectorHoriz(Color.red, 
-                              lang=="ru" 
-                              ? "\u0421\u043e\u043f\u0440\u043e\u0442\u002e \u0414\u043e\u0441\u043a\u0438"
-                              : "Board Drag", 
-                              y[0], x[0], x[1]);
-            }
+            to_screen_x_y(new Point3D(arm+(board.drag)*force_scale,0,strut.span+BOARD_THICKNESS/2),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+            drawVectorHoriz(Color.red, 
+                            lang=="ru" 
+                            ? "\u0421\u043e\u043f\u0440\u043e\u0442\u002e \u0414\u043e\u0441\u043a\u0438"
+                            : "Board Drag", 
+                            y[0], x[0], x[1]);
+          }
 
 
-          }
+        }
 
-          // ws rig weight
-          if (!in.opts.ignore_aux_weight_moments) {
-            to_screen_x_y(new Point3D((mast_xpos-WS_MASTBASE_MAST_LE),0,strut.span+2*BOARD_THICKNESS),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-            to_screen_x_y(new Point3D((mast_xpos-WS_MASTBASE_MAST_LE),0,strut.span+2*BOARD_THICKNESS-(rider.weight*mast_foot_pressure_k+RIG_WEIGHT)*force_scale),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-            drawVectorVert(Color.red, "MFP", x[0], y[0], y[1]);
-          }
+        // ws rig weight
+        if (!ignore_aux_weight_moments) {
+          to_screen_x_y(new Point3D((mast_xpos-WS_MASTBASE_MAST_LE),0,strut.span+2*BOARD_THICKNESS),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+          to_screen_x_y(new Point3D((mast_xpos-WS_MASTBASE_MAST_LE),0,strut.span+2*BOARD_THICKNESS-(rider.weight*mast_foot_pressure_k+RIG_WEIGHT)*force_scale),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+          drawVectorVert(Color.red, "MFP", x[0], y[0], y[1]);
+        }
 
-          if (!in.opts.ignore_drive_moment) {
-            String text = lang=="ru" 
-              ? "\u0422\u044f\u0433\u0430 "+craft_drive_type_name_ru[craft_type]+"\u0430 \u0412\u043f\u0435\u0440\u0435\u0434 \u0028\u0440\u0435\u0430\u043b\u044c\u043d\u0430\u044f \u0442\u043e\u0447\u043a\u0430\u0029"
-              : craft_drive_type_name[craft_type] + " FWD Drive";
-            double drive_arrow_length = total_drag()*force_scale;
-            if (craft_type != EFOIL) { 
-              drawVectorHoriz(Color.orange, text, 
-                              screen_off_y+toInt(scaley*(drive_center_y)),
-                              screen_off_x+toInt(scalex*(rider_rot_center_x_real)),
-                              screen_off_x+toInt(scalex*(rider_rot_center_x_real - drive_arrow_length)));
-
-            } else { // EFOIL, drive vector comes from the motor
-              double motor_x = strut.xpos + motor.cowl_length+motor.length+motor.duct_length/2;
-              double motor_y = motor_y();
-              to_screen_x_y(new Point3D(motor_x, // so far - leading edge of the mast, not prop_x
-                                        0, motor_y // 0.15*strut.span //drive_center_y
-                                        ),
-                            x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-              to_screen_x_y(new Point3D(motor_x - drive_arrow_length, // so far - leading edge of the mast, not prop_x
-                                        0, motor_y // 0.15*strut.span // drive_center_y
-                                        ),
-                            x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-              drawVectorHoriz(Color.orange, text, 
-                              y[0], 
-                              x[0],
-                              x[1]);
-            }
+        if (!ignore_drive_moment) {
+          String text = lang=="ru" 
+            ? "\u0422\u044f\u0433\u0430 "+craft_drive_type_name_ru[craft_type]+"\u0430 \u0412\u043f\u0435\u0440\u0435\u0434 \u0028\u0440\u0435\u0430\u043b\u044c\u043d\u0430\u044f \u0442\u043e\u0447\u043a\u0430\u0029"
+            : craft_drive_type_name[craft_type] + " FWD Drive";
+          double drive_arrow_length = total_drag()*force_scale;
+          if (craft_type != EFOIL) { 
+            drawVectorHoriz(Color.orange, text, 
+                            screen_off_y+toInt(scaley*(drive_center_y)),
+                            screen_off_x+toInt(scalex*(rider_rot_center_x_real)),
+                            screen_off_x+toInt(scalex*(rider_rot_center_x_real - drive_arrow_length)));
+
+          } else { // EFOIL, drive vector comes from the motor
+            double motor_x = strut.xpos + motor.cowl_length+motor.length+motor.duct_length/2;
+            double motor_y = motor_y();
+            to_screen_x_y(new Point3D(motor_x, // so far - leading edge of the mast, not prop_x
+                                      0, motor_y // 0.15*strut.span //drive_center_y
+                                      ),
+                          x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+            to_screen_x_y(new Point3D(motor_x - drive_arrow_length, // so far - leading edge of the mast, not prop_x
+                                      0, motor_y // 0.15*strut.span // drive_center_y
+                                      ),
+                          x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+            drawVectorHoriz(Color.orange, text, 
+                            y[0], 
+                            x[0],
+                            x[1]);
           }
-
         }
 
-        drag_x = offx + strut.xpos + 0.5*strut.chord;
-        // why -offy/2 ? because offy is negative
-        to_screen_x_y(new Point3D(drag_x,0,-offy/2),x,y,0,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        to_screen_x_y(new Point3D(drag_x+(strut.drag)*force_scale,0,-offy/2),x,y,1,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        drawVectorHoriz(Color.red, 
-                        lang=="ru" 
-                        ? "\u0421\u043e\u043f\u0440\u043e\u0442\u002e \u041f\u0438\u043b\u043e\u043d\u0430"
-                        : "Mast Drag", 
-                        y[0], x[0], x[1]);
+      }
+    }
 
-      } else if (viewflg == VIEW_3D_MESH) { // draw 3D mesh view
+    void paint_mesh_view (int panel_width, int panel_height) {
+      in_top_view = mesh_z_angle == 0 && mesh_x_angle == -90;
+      in_side_view = mesh_z_angle == 0 && mesh_x_angle == 0;
+      in_front_view = mesh_x_angle == 0 && mesh_z_angle == -90;
 
-        in_top_view = mesh_z_angle == 0 && mesh_x_angle == -90;
-        in_side_view = mesh_z_angle == 0 && mesh_x_angle == 0;
-        in_front_view = mesh_x_angle == 0 && mesh_z_angle == -90;
+      off1Gg.setColor(color_very_dark);
+      off1Gg.fillRect(0,0,panel_width, panel_height);
 
-        off1Gg.setColor(color_very_dark);
-        off1Gg.fillRect(0,0,panel_width, panel_height);
-        
-        if (bg_image != null) {
-          if (IMG_ROT != 0 || IMG_SHEAR != 0 || IMG_SCALE != 1.0)
-            draw_transformed_mage(off1Gg);
-          else
-            off1Gg.drawImage(bg_image, IMG_X, IMG_Y, this);
+      if (bg_image != null) {
+        if (IMG_ROT != 0 || IMG_SHEAR != 0 || IMG_SCALE != 1.0)
+          draw_transformed_mage(off1Gg);
+        else
+          off1Gg.drawImage(bg_image, IMG_X, IMG_Y, this);
+      }
+
+      int screen_off_x = panel_width/2  + view_3d_shift_x + view_3d_shift_x_on_drag, 
+        screen_off_y   = panel_height/2 + view_3d_shift_y + view_3d_shift_y_on_drag; 
+
+      // 150 pixels is 1.5m
+      scalex = 4*zoom_slider_pos_y; scaley = -scalex;
+      offx = 0; // -strut.xpos - strut.chord/2;
+      offy = 0; // -strut.span/3;
+
+      drawPart3D(strut,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      drawPart3D( fuse,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      drawPart3D( wing,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+      drawPart3D( stab,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
+
+      if (in_top_view || in_side_view || in_front_view) { 
+        if (anchor.x < 0) { // request to set anchor to 0,0
+          model_space_point.x = model_space_point.y = model_space_point.z = 0;
+          to_screen_x_y(model_space_point, x, y, 0, scalex, offx, scaley, offy, screen_off_x, screen_off_y);
+          anchor.x = x[0]; anchor.y = y[0];
+        }
+
+        // show mouse distance from 0
+        Point3D p = model_space_point;
+        // int screen_off_x = panel_width/2  + view_3d_shift_x + view_3d_shift_x_on_drag, 
+        //   screen_off_y   = panel_height/2 + view_3d_shift_y + view_3d_shift_y_on_drag; 
+        // offx = -strut.xpos - strut.chord/2;
+        // offy = -strut.span/3;
+        from_screen_x_y_norot(p, mouse_x, mouse_y, offx, scalex, 0, scaley, screen_off_x, screen_off_y);
+        // distance from the anchor
+        Point3D a = new Point3D(0,0,0);
+        from_screen_x_y_norot(a, anchor.x, anchor.y, offx, scalex, 0, scaley, screen_off_x, screen_off_y);
+        double dist_x = p.x - a.x;
+        double dist_y = p.y - a.y;
+        double dist = Math.sqrt(dist_x*dist_x + dist_y*dist_y);
+        // System.out.println("-- dist: " + dist);
+        off1Gg.drawString("( "+filter1(p.x*100), panel_width-200, panel_height-12);
+        off1Gg.drawString("/   "+filter1(p.y*100)+ " )", panel_width-150, panel_height-12);
+        off1Gg.drawString("d,cm= "+filter1(dist*100), panel_width-80, panel_height-12);
+        // show crosshair(s)
+        if (crosshair_mode) {
+          off1Gg.setColor(Color.gray);
+          off1Gg.drawLine(0, mouse_y, panel_width, mouse_y);
+          off1Gg.drawLine(mouse_x, 0, mouse_x, panel_height);
+          off1Gg.setColor(color_dark_green);
+          off1Gg.drawLine(0, anchor.y, panel_width, anchor.y);
+          off1Gg.drawLine(anchor.x, 0, anchor.x, panel_height);
+          int dist_screen = (int)Math.sqrt((anchor.x - mouse_x)*(anchor.x - mouse_x) +
+                                      (anchor.y - mouse_y)*(anchor.y - mouse_y));
+          off1Gg.drawOval(anchor.x - dist_screen, anchor.y - dist_screen, dist_screen*2, dist_screen*2);
+          off1Gg.setColor(Color.white);
         }
+      }
+    }
 
-        int screen_off_x = panel_width/2  + view_3d_shift_x + view_3d_shift_x_on_drag, 
-          screen_off_y   = panel_height/2 + view_3d_shift_y + view_3d_shift_y_on_drag; 
+    // streamlines or flow animation around the current foil section,
+    // and its geometry
+    void paint_edge_view (int panel_width, int panel_height) {
+      int i,j,n;
+      double slope,radvec,xvec,yvec;
+      Color col = new Color(0,0,0);
+      if (planet == 0) col = Color.cyan;
+      if (planet == 1) col = Color.orange;
+      if (planet == 2) col = Color.green;
+      if (planet >= 3) col = Color.cyan;
 
-        // 150 pixels is 1.5m
-        scalex = 4*zoom_slider_pos_y; scaley = -scalex;
-        offx = 0; // -strut.xpos - strut.chord/2;
-        offy = 0; // -strut.span/3;
-       
-        drawPart3D(strut,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        drawPart3D( fuse,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        drawPart3D( wing,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-        drawPart3D( stab,offx,scalex,offy,scaley,screen_off_x,screen_off_y);
-
-        if (in_top_view || in_side_view || in_front_view) { 
-          if (anchor.x < 0) { // request to set anchor to 0,0
-            model_space_point.x = model_space_point.y = model_space_point.z = 0;
-            to_screen_x_y(model_space_point, x, y, 0, scalex, offx, scaley, offy, screen_off_x, screen_off_y);
-            anchor.x = x[0]; anchor.y = y[0];
+      off1Gg.setColor(color_very_dark);
+      off1Gg.fillRect(0,0,panel_width, panel_height);
+
+      if (velocity > .01 && field_mode != FIELD_OFF) 
+        draw_flow_field();
+      if (velocity > .01) {
+        /* plot airfoil flowfield */
+        radvec = .5;
+        for (j=STREAMLINES_SKIP_BOTTOM; j<=STREAMLINES_COUNT_HALF-1; ++j) {           /* streamlines lower half */
+          for (i=POINTS_COUNT_HALF; i<= POINTS_COUNT-1; ++i) {
+            x[0] = (int) (fact*xpl[j][i]) + xt;
+            y[0] = (int) (fact*(-ypl[j][i])) + yt;
+            slope = (ypl[j][i+1]-ypl[j][i])/(xpl[j][i+1]-xpl[j][i]);
+            xvec = xpl[j][i] + radvec / Math.sqrt(1.0 + slope*slope);
+            yvec = ypl[j][i] + slope * (xvec - xpl[j][i]);
+            x[1] = (int) (fact*xvec) + xt;
+            y[1] = (int) (fact*(-yvec)) + yt;
+            if (edge_view_type == DISPLAY_STREAMLINES) {                   /* MODS  21 JUL 99 */
+              off1Gg.setColor(Color.yellow);
+              x[1] = (int) (fact*xpl[j][i+1]) + xt;
+              y[1] = (int) (fact*(-ypl[j][i+1])) + yt;
+              off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+            } else if (edge_view_type == DISPLAY_DIRECTION  && (i/3*3 == i) ) {
+              off1Gg.setColor(col);
+              for (n=1; n <= 4; ++n) {
+                if (i == 6 + (n-1)*9) off1Gg.setColor(Color.yellow);
+              }
+              if (i/9*9 == i) off1Gg.setColor(Color.white);
+              off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+            } else if (edge_view_type == DISPLAY_ANIMATION  && ((i-animation_count)/3*3 == (i-animation_count)) ) {
+              if (color_flip) { 
+                if ((i-animation_count)/6*6 == (i-animation_count))
+                  off1Gg.setColor(Color.white);
+                else 
+                  off1Gg.setColor(col);
+              } else { 
+                if ((i-animation_count)/6*6 == (i-animation_count))
+                  off1Gg.setColor(col);
+                else 
+                  off1Gg.setColor(Color.white);
+              }
+              off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+            }
           }
+        }
 
-          // show mouse distance from 0
-          Point3D p = model_space_point;
-          // int screen_off_x = panel_width/2  + view_3d_shift_x + view_3d_shift_x_on_drag, 
-          //   screen_off_y   = panel_height/2 + view_3d_shift_y + view_3d_shift_y_on_drag; 
-          // offx = -strut.xpos - strut.chord/2;
-          // offy = -strut.span/3;
-          from_screen_x_y_norot(p, mouse_x, mouse_y, offx, scalex, 0, scaley, screen_off_x, screen_off_y);
-          // distance from the anchor
-          Point3D a = new Point3D(0,0,0);
-          from_screen_x_y_norot(a, anchor.x, anchor.y, offx, scalex, 0, scaley, screen_off_x, screen_off_y);
-          double dist_x = p.x - a.x;
-          double dist_y = p.y - a.y;
-          double dist = Math.sqrt(dist_x*dist_x + dist_y*dist_y);
-          // System.out.println("-- dist: " + dist);
-          off1Gg.drawString("( "+filter1(p.x*100), panel_width-200, panel_height-12);
-          off1Gg.drawString("/   "+filter1(p.y*100)+ " )", panel_width-150, panel_height-12);
-          off1Gg.drawString("d,cm= "+filter1(dist*100), panel_width-80, panel_height-12);
-          // show crosshair(s)
-          if (crosshair_mode) {
-            off1Gg.setColor(Color.gray);
-            off1Gg.drawLine(0, mouse_y, panel_width, mouse_y);
-            off1Gg.drawLine(mouse_x, 0, mouse_x, panel_height);
-            off1Gg.setColor(color_dark_green);
-            off1Gg.drawLine(0, anchor.y, panel_width, anchor.y);
-            off1Gg.drawLine(anchor.x, 0, anchor.x, panel_height);
-            int dist_screen = (int)Math.sqrt((anchor.x - mouse_x)*(anchor.x - mouse_x) +
-                                        (anchor.y - mouse_y)*(anchor.y - mouse_y));
-            off1Gg.drawOval(anchor.x - dist_screen, anchor.y - dist_screen, dist_screen*2, dist_screen*2);
-            off1Gg.setColor(Color.white);
+        off1Gg.setColor(Color.white); /* stagnation */
+        x[1] = (int) (fact*xpl[STREAMLINES_COUNT_HALF][1]) + xt;
+        y[1] = (int) (fact*(-ypl[STREAMLINES_COUNT_HALF][1])) + yt;
+        for (i=2; i<= POINTS_COUNT_HALF-1; ++i) {
+          x[0] = x[1];
+          y[0] = y[1];
+          x[1] = (int) (fact*xpl[STREAMLINES_COUNT_HALF][i]) + xt;
+          y[1] = (int) (fact*(-ypl[STREAMLINES_COUNT_HALF][i])) + yt;
+          if (edge_view_type <= 2) {             /* MODS  21 JUL 99 */
+            off1Gg.drawLine(x[0],y[0],x[1],y[1]);
           }
         }
-          
-      } else { // Edge
-
-        off1Gg.setColor(color_very_dark);
-        off1Gg.fillRect(0,0,panel_width, panel_height);
-
-        col_bg = color_very_dark;
-        if (velocity > .01) {
-          /* plot airfoil flowfield */
-          radvec = .5;
-          for (j=STREAMLINES_SKIP_BOTTOM; j<=STREAMLINES_COUNT_HALF-1; ++j) {           /* streamlines lower half */
-            for (i=POINTS_COUNT_HALF; i<= POINTS_COUNT-1; ++i) {
-              x[0] = (int) (fact*xpl[j][i]) + xt;
-              y[0] = (int) (fact*(-ypl[j][i])) + yt;
-              slope = (ypl[j][i+1]-ypl[j][i])/(xpl[j][i+1]-xpl[j][i]);
-              xvec = xpl[j][i] + radvec / Math.sqrt(1.0 + slope*slope);
-              yvec = ypl[j][i] + slope * (xvec - xpl[j][i]);
+        x[1] = (int) (fact*xpl[STREAMLINES_COUNT_HALF][POINTS_COUNT_HALF+1]) + xt;
+        y[1] = (int) (fact*(-ypl[STREAMLINES_COUNT_HALF][POINTS_COUNT_HALF+1])) + yt;
+        for (i=POINTS_COUNT_HALF+2; i<= POINTS_COUNT; ++i) {
+          x[0] = x[1];
+          y[0] = y[1];
+          x[1] = (int) (fact*xpl[STREAMLINES_COUNT_HALF][i]) + xt;
+          y[1] = (int) (fact*(-ypl[STREAMLINES_COUNT_HALF][i])) + yt;
+          if (edge_view_type <= 2) {                         /* MODS  21 JUL 99 */
+            off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+          }
+        }
+        /*  probe location */
+        if (pboflag > 0 && pypl <= 0.0) {
+          off1Gg.setColor(Color.magenta);
+          off1Gg.fillOval((int) (fact*pxpl) + xt,
+                          (int) (fact*(-pypl)) + yt - 2,5,5);
+          off1Gg.setColor(Color.white);
+          x[0] = (int) (fact*(pxpl + .1)) +xt;
+          y[0] = (int) (fact*(-pypl)) + yt;
+          x[1] = (int) (fact*(pxpl + .5)) +xt;
+          y[1] = (int) (fact*(-pypl)) + yt;
+          x[2] = (int) (fact*(pxpl + .5)) +xt;
+          y[2] = (int) (fact*(-pypl +50.)) +yt;
+          off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+          off1Gg.drawLine(x[1],y[1],x[2],y[2]);
+          if (pboflag == 3) {    /* smoke trail  MODS  21 JUL 99 */
+            off1Gg.setColor(Color.green);
+            for (i=1; i<= POINTS_COUNT-1; ++i) {
+              x[0] = (int) (fact*xpl[19][i]) + xt;
+              y[0] = (int) (fact*(-ypl[19][i])) + yt;
+              slope = (ypl[19][i+1]-ypl[19][i])/(xpl[19][i+1]-xpl[19][i]);
+              xvec = xpl[19][i] + radvec / Math.sqrt(1.0 + slope*slope);
+              yvec = ypl[19][i] + slope * (xvec - xpl[19][i]);
               x[1] = (int) (fact*xvec) + xt;
               y[1] = (int) (fact*(-yvec)) + yt;
-              if (edge_view_type == DISPLAY_STREAMLINES) {                   /* MODS  21 JUL 99 */
-                off1Gg.setColor(Color.yellow);
-                x[1] = (int) (fact*xpl[j][i+1]) + xt;
-                y[1] = (int) (fact*(-ypl[j][i+1])) + yt;
-                off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-              } else if (edge_view_type == DISPLAY_DIRECTION  && (i/3*3 == i) ) {
-                off1Gg.setColor(col);
-                for (n=1; n <= 4; ++n) {
-                  if (i == 6 + (n-1)*9) off1Gg.setColor(Color.yellow);
-                }
-                if (i/9*9 == i) off1Gg.setColor(Color.white);
-                off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-              } else if (edge_view_type == DISPLAY_ANIMATION  && ((i-animation_count)/3*3 == (i-animation_count)) ) {
-                if (color_flip) { 
-                  if ((i-animation_count)/6*6 == (i-animation_count))
-                    off1Gg.setColor(Color.white);
-                  else 
-                    off1Gg.setColor(col);
-                } else { 
-                  if ((i-animation_count)/6*6 == (i-animation_count))
-                    off1Gg.setColor(col);
-                  else 
-                    off1Gg.setColor(Color.white);
-                }
+              if ((i-animation_count)/3*3 == (i-animation_count) ) {
                 off1Gg.drawLine(x[0],y[0],x[1],y[1]);
               }
             }
           }
- 
-          off1Gg.setColor(Color.white); /* stagnation */
-          x[1] = (int) (fact*xpl[STREAMLINES_COUNT_HALF][1]) + xt;
-          y[1] = (int) (fact*(-ypl[STREAMLINES_COUNT_HALF][1])) + yt;
-          for (i=2; i<= POINTS_COUNT_HALF-1; ++i) {
+        }
+
+        //  wing surface
+        if (viewflg == VIEW_3D_MESH) {           // 3d geom, mesh for now
+          off1Gg.setColor(color_very_dark);
+          x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt1;
+          y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt1;
+          x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt2;
+          y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt2;
+          for (i=1; i<= POINTS_COUNT_HALF-1; ++i) {
             x[0] = x[1];
             y[0] = y[1];
-            x[1] = (int) (fact*xpl[STREAMLINES_COUNT_HALF][i]) + xt;
-            y[1] = (int) (fact*(-ypl[STREAMLINES_COUNT_HALF][i])) + yt;
-            if (edge_view_type <= 2) {             /* MODS  21 JUL 99 */
-              off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-            }
+            x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF-i])) + xt1;
+            y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF-i])) + yt1;
+            x[3] = x[2];
+            y[3] = y[2];
+            x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF-i])) + xt2;
+            y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF-i])) + yt2;
+            off1Gg.fillPolygon(x,y,4);
           }
-          x[1] = (int) (fact*xpl[STREAMLINES_COUNT_HALF][POINTS_COUNT_HALF+1]) + xt;
-          y[1] = (int) (fact*(-ypl[STREAMLINES_COUNT_HALF][POINTS_COUNT_HALF+1])) + yt;
-          for (i=POINTS_COUNT_HALF+2; i<= POINTS_COUNT; ++i) {
-            x[0] = x[1];
-            y[0] = y[1];
-            x[1] = (int) (fact*xpl[STREAMLINES_COUNT_HALF][i]) + xt;
-            y[1] = (int) (fact*(-ypl[STREAMLINES_COUNT_HALF][i])) + yt;
-            if (edge_view_type <= 2) {                         /* MODS  21 JUL 99 */
+        }
+
+        for (j=STREAMLINES_COUNT_HALF+1; 
+             j<=STREAMLINES_COUNT; 
+             ++j) {          /* upper half */
+          for (i= POINTS_COUNT_HALF; i<= POINTS_COUNT-1; ++i) {
+            x[0] = (int) (fact*xpl[j][i]) + xt;
+            y[0] = (int) (fact*(-ypl[j][i])) + yt;
+            slope = (ypl[j][i+1]-ypl[j][i])/(xpl[j][i+1]-xpl[j][i]);
+            xvec = xpl[j][i] + radvec / Math.sqrt(1.0 + slope*slope);
+            yvec = ypl[j][i] + slope * (xvec - xpl[j][i]);
+            x[1] = (int) (fact*xvec) + xt;
+            y[1] = (int) (fact*(-yvec)) + yt;
+            if (edge_view_type == DISPLAY_STREAMLINES) {                     /* MODS  21 JUL 99 */
+              off1Gg.setColor(col);
+              x[1] = (int) (fact*xpl[j][i+1]) + xt;
+              y[1] = (int) (fact*(-ypl[j][i+1])) + yt;
               off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-            }
-          }
-          /*  probe location */
-          if (pboflag > 0 && pypl <= 0.0) {
-            off1Gg.setColor(Color.magenta);
-            off1Gg.fillOval((int) (fact*pxpl) + xt,
-                            (int) (fact*(-pypl)) + yt - 2,5,5);
-            off1Gg.setColor(Color.white);
-            x[0] = (int) (fact*(pxpl + .1)) +xt;
-            y[0] = (int) (fact*(-pypl)) + yt;
-            x[1] = (int) (fact*(pxpl + .5)) +xt;
-            y[1] = (int) (fact*(-pypl)) + yt;
-            x[2] = (int) (fact*(pxpl + .5)) +xt;
-            y[2] = (int) (fact*(-pypl +50.)) +yt;
-            off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-            off1Gg.drawLine(x[1],y[1],x[2],y[2]);
-            if (pboflag == 3) {    /* smoke trail  MODS  21 JUL 99 */
-              off1Gg.setColor(Color.green);
-              for (i=1; i<= POINTS_COUNT-1; ++i) {
-                x[0] = (int) (fact*xpl[19][i]) + xt;
-                y[0] = (int) (fact*(-ypl[19][i])) + yt;
-                slope = (ypl[19][i+1]-ypl[19][i])/(xpl[19][i+1]-xpl[19][i]);
-                xvec = xpl[19][i] + radvec / Math.sqrt(1.0 + slope*slope);
-                yvec = ypl[19][i] + slope * (xvec - xpl[19][i]);
-                x[1] = (int) (fact*xvec) + xt;
-                y[1] = (int) (fact*(-yvec)) + yt;
-                if ((i-animation_count)/3*3 == (i-animation_count) ) {
-                  off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-                }
+            } else if (edge_view_type == DISPLAY_DIRECTION && (i/3*3 == i) ) {
+              off1Gg.setColor(col);   /* MODS  27 JUL 99 */
+              for (n=1; n <= 4; ++n) {
+                if (i == 6 + (n-1)*9) off1Gg.setColor(Color.yellow);
               }
+              if (i/9*9 == i) off1Gg.setColor(Color.white);
+              off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+            } else if (edge_view_type == DISPLAY_ANIMATION && ((i-animation_count)/3*3 == (i-animation_count)) ) {
+              if (color_flip) {
+                if ((i-animation_count)/6*6 == (i-animation_count))
+                  off1Gg.setColor(Color.white);
+                else 
+                  off1Gg.setColor(col);
+              } else {
+                if ((i-animation_count)/6*6 == (i-animation_count))
+                  off1Gg.setColor(col);
+                else 
+                  off1Gg.setColor(Color.white);
+              }
+              off1Gg.drawLine(x[0],y[0],x[1],y[1]);
             }
           }
- 
-          //  wing surface
-          if (viewflg == VIEW_3D_MESH) {           // 3d geom, mesh for now
-            off1Gg.setColor(color_very_dark);
-            x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt1;
-            y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt1;
-            x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt2;
-            y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt2;
-            for (i=1; i<= POINTS_COUNT_HALF-1; ++i) {
-              x[0] = x[1];
-              y[0] = y[1];
-              x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF-i])) + xt1;
-              y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF-i])) + yt1;
-              x[3] = x[2];
-              y[3] = y[2];
-              x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF-i])) + xt2;
-              y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF-i])) + yt2;
-              off1Gg.fillPolygon(x,y,4);
-            }
-          }
-
-          for (j=STREAMLINES_COUNT_HALF+1; 
-               j<=STREAMLINES_COUNT; 
-               ++j) {          /* upper half */
-            for (i= POINTS_COUNT_HALF; i<= POINTS_COUNT-1; ++i) {
-              x[0] = (int) (fact*xpl[j][i]) + xt;
-              y[0] = (int) (fact*(-ypl[j][i])) + yt;
-              slope = (ypl[j][i+1]-ypl[j][i])/(xpl[j][i+1]-xpl[j][i]);
-              xvec = xpl[j][i] + radvec / Math.sqrt(1.0 + slope*slope);
-              yvec = ypl[j][i] + slope * (xvec - xpl[j][i]);
+        }
+        /*  probe location */
+        if (pboflag > 0 && pypl > 0.0) {
+          off1Gg.setColor(Color.magenta);
+          off1Gg.fillOval((int) (fact*pxpl) + xt,
+                          (int) (fact*(-pypl)) + yt - 2,5,5);
+          off1Gg.setColor(Color.white);
+          x[0] = (int) (fact*(pxpl + .1)) +xt;
+          y[0] = (int) (fact*(-pypl)) + yt;
+          x[1] = (int) (fact*(pxpl + .5)) +xt;
+          y[1] = (int) (fact*(-pypl)) + yt;
+          x[2] = (int) (fact*(pxpl + .5)) +xt;
+          y[2] = (int) (fact*(-pypl -50.)) +yt;
+          off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+          off1Gg.drawLine(x[1],y[1],x[2],y[2]);
+          if (pboflag == 3) {    /* smoke trail  MODS  21 JUL 99 */
+            off1Gg.setColor(Color.green);
+            for (i=1; i<= POINTS_COUNT-1; ++i) {
+              x[0] = (int) (fact*xpl[19][i]) + xt;
+              y[0] = (int) (fact*(-ypl[19][i])) + yt;
+              slope = (ypl[19][i+1]-ypl[19][i])/(xpl[19][i+1]-xpl[19][i]);
+              xvec = xpl[19][i] + radvec / Math.sqrt(1.0 + slope*slope);
+              yvec = ypl[19][i] + slope * (xvec - xpl[19][i]);
               x[1] = (int) (fact*xvec) + xt;
               y[1] = (int) (fact*(-yvec)) + yt;
-              if (edge_view_type == DISPLAY_STREAMLINES) {                     /* MODS  21 JUL 99 */
-                off1Gg.setColor(col);
-                x[1] = (int) (fact*xpl[j][i+1]) + xt;
-                y[1] = (int) (fact*(-ypl[j][i+1])) + yt;
-                off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-              } else if (edge_view_type == DISPLAY_DIRECTION && (i/3*3 == i) ) {
-                off1Gg.setColor(col);   /* MODS  27 JUL 99 */
-                for (n=1; n <= 4; ++n) {
-                  if (i == 6 + (n-1)*9) off1Gg.setColor(Color.yellow);
-                }
-                if (i/9*9 == i) off1Gg.setColor(Color.white);
-                off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-              } else if (edge_view_type == DISPLAY_ANIMATION && ((i-animation_count)/3*3 == (i-animation_count)) ) {
-                if (color_flip) {
-                  if ((i-animation_count)/6*6 == (i-animation_count))
-                    off1Gg.setColor(Color.white);
-                  else 
-                    off1Gg.setColor(col);
-                } else {
-                  if ((i-animation_count)/6*6 == (i-animation_count))
-                    off1Gg.setColor(col);
-                  else 
-                    off1Gg.setColor(Color.white);
-                }
+              if ((i-animation_count)/3*3 == (i-animation_count) ) {
                 off1Gg.drawLine(x[0],y[0],x[1],y[1]);
               }
             }
           }
-          /*  probe location */
-          if (pboflag > 0 && pypl > 0.0) {
-            off1Gg.setColor(Color.magenta);
-            off1Gg.fillOval((int) (fact*pxpl) + xt,
-                            (int) (fact*(-pypl)) + yt - 2,5,5);
-            off1Gg.setColor(Color.white);
-            x[0] = (int) (fact*(pxpl + .1)) +xt;
-            y[0] = (int) (fact*(-pypl)) + yt;
-            x[1] = (int) (fact*(pxpl + .5)) +xt;
-            y[1] = (int) (fact*(-pypl)) + yt;
-            x[2] = (int) (fact*(pxpl + .5)) +xt;
-            y[2] = (int) (fact*(-pypl -50.)) +yt;
-            off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-            off1Gg.drawLine(x[1],y[1],x[2],y[2]);
-            if (pboflag == 3) {    /* smoke trail  MODS  21 JUL 99 */
-              off1Gg.setColor(Color.green);
-              for (i=1; i<= POINTS_COUNT-1; ++i) {
-                x[0] = (int) (fact*xpl[19][i]) + xt;
-                y[0] = (int) (fact*(-ypl[19][i])) + yt;
-                slope = (ypl[19][i+1]-ypl[19][i])/(xpl[19][i+1]-xpl[19][i]);
-                xvec = xpl[19][i] + radvec / Math.sqrt(1.0 + slope*slope);
-                yvec = ypl[19][i] + slope * (xvec - xpl[19][i]);
-                x[1] = (int) (fact*xvec) + xt;
-                y[1] = (int) (fact*(-yvec)) + yt;
-                if ((i-animation_count)/3*3 == (i-animation_count) ) {
-                  off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-                }
-              }
-            }
+        }
+      }
+
+      if (viewflg == VIEW_EDGE)
+        paint_edge_geometry();
+      if (viewflg == 1000 ) // this is old Side-3d view
+        paint_old_side_view();
+    }
+
+    void paint_edge_geometry () {
+      int i,n,inmax;
+      Foil f = current_part.foil;
+      // draw the airfoil geometry
+      if (f.geometry != null) { // use xm, ym directly
+        off1Gg.setColor(Color.yellow);
+        x[1] = (int) (fact*(xm[0][0])) + xt;
+        y[1] = (int) (fact*(-ym[0][0])) + yt;
+        for (i=1; i< 61; ++i) {
+          x[0] = x[1];
+          y[0] = y[1];
+          x[1] = (int) (fact*(xm[0][i])) + xt;
+          y[1] = (int) (fact*(-ym[0][i])) + yt;
+          off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+        }
+        if (f.camber_line != null) { // add camber line 
+          // scale and rotate on fly
+          double rad_aoa = Math.toRadians(effective_aoa());
+          off1Gg.setColor(Color.red);
+          Point2D[] cl = f.camber_line;
+          double dx = fact*(3.5 * (cl[0].x - 0.5));
+          double dy = fact*(-3.5 * cl[0].y);
+          double rot_dx = dx*Math.cos(rad_aoa) - dy*Math.sin(rad_aoa);
+          double rot_dy = dx*Math.sin(rad_aoa) + dy*Math.cos(rad_aoa);
+          int prev_x =  (int)(rot_dx) + xt; 
+          // System.out.println("-- prev_x: " + prev_x);
+          int prev_y =  (int)(rot_dy) + yt; 
+          // System.out.println("-- prev_y: " + prev_y);
+          for (n=1; n < 30; ++n) {
+            dx = fact*(3.5 * (cl[n].x - 0.5));
+            dy = fact*(-3.5 * cl[n].y);
+            rot_dx = dx*Math.cos(rad_aoa) - dy*Math.sin(rad_aoa);
+            rot_dy = dx*Math.sin(rad_aoa) + dy*Math.cos(rad_aoa);
+            int curr_x = (int)(rot_dx) + xt; 
+            // System.out.println("-- curr_x: " + curr_x);
+            int curr_y = (int)(rot_dy) + yt; 
+            // System.out.println("-- curr_y: " + curr_y);
+            off1Gg.drawLine(prev_x, prev_y, curr_x, curr_y);
+            prev_x = curr_x;
+            prev_y = curr_y;
           }
         }
-        if (viewflg == VIEW_EDGE) {
-          // draw the airfoil geometry
-          if (f.geometry != null) { // use xm, ym directly
+      } else {
+        x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt;
+        y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt;
+        x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt;
+        y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt;
+        //camb_x[0] = 0; // (x[1] + x[2]) / 2;
+        //camb_y[0] = 0; // (y[1] + y[2]) / 2;
+        for (i=1; i<= POINTS_COUNT_HALF-1; ++i) {
+          x[0] = x[1];
+          y[0] = y[1];
+          x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF-i])) + xt;
+          y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF-i])) + yt;
+          x[3] = x[2];
+          y[3] = y[2];
+          x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF+i])) + xt;
+          y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF+i])) + yt;
+          camb_x[i] = (x[1] + x[2]) / 2;
+          camb_y[i] = (y[1] + y[2]) / 2;
+          if (f == FOIL_FLAT_PLATE) {
             off1Gg.setColor(Color.yellow);
-            x[1] = (int) (fact*(xm[0][0])) + xt;
-            y[1] = (int) (fact*(-ym[0][0])) + yt;
-            for (i=1; i< 61; ++i) {
-              x[0] = x[1];
-              y[0] = y[1];
-              x[1] = (int) (fact*(xm[0][i])) + xt;
-              y[1] = (int) (fact*(-ym[0][i])) + yt;
-              off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-            }
-            if (f.camber_line != null) { // add camber line 
-              // scale and rotate on fly
-              double rad_aoa = Math.toRadians(effective_aoa());
-              off1Gg.setColor(Color.red);
-              Point2D[] cl = f.camber_line;
-              double dx = fact*(3.5 * (cl[0].x - 0.5));
-              double dy = fact*(-3.5 * cl[0].y);
-              double rot_dx = dx*Math.cos(rad_aoa) - dy*Math.sin(rad_aoa);
-              double rot_dy = dx*Math.sin(rad_aoa) + dy*Math.cos(rad_aoa);
-              int prev_x =  (int)(rot_dx) + xt; 
-              // System.out.println("-- prev_x: " + prev_x);
-              int prev_y =  (int)(rot_dy) + yt; 
-              // System.out.println("-- prev_y: " + prev_y);
-              for (n=1; n < 30; ++n) {
-                dx = fact*(3.5 * (cl[n].x - 0.5));
-                dy = fact*(-3.5 * cl[n].y);
-                rot_dx = dx*Math.cos(rad_aoa) - dy*Math.sin(rad_aoa);
-                rot_dy = dx*Math.sin(rad_aoa) + dy*Math.cos(rad_aoa);
-                int curr_x = (int)(rot_dx) + xt; 
-                // System.out.println("-- curr_x: " + curr_x);
-                int curr_y = (int)(rot_dy) + yt; 
-                // System.out.println("-- curr_y: " + curr_y);
-                off1Gg.drawLine(prev_x, prev_y, curr_x, curr_y);
-                prev_x = curr_x;
-                prev_y = curr_y;
-              }
-            }
-          } else {
-            x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt;
-            y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt;
-            x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt;
-            y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt;
-            //camb_x[0] = 0; // (x[1] + x[2]) / 2;
-            //camb_y[0] = 0; // (y[1] + y[2]) / 2;
-            for (i=1; i<= POINTS_COUNT_HALF-1; ++i) {
-              x[0] = x[1];
-              y[0] = y[1];
-              x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF-i])) + xt;
-              y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF-i])) + yt;
-              x[3] = x[2];
-              y[3] = y[2];
-              x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF+i])) + xt;
-              y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF+i])) + yt;
-              camb_x[i] = (x[1] + x[2]) / 2;
-              camb_y[i] = (y[1] + y[2]) / 2;
-              if (f == FOIL_FLAT_PLATE) {
-                off1Gg.setColor(Color.yellow);
-                off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-              }
-              else {
-                off1Gg.setColor(Color.white);
-                //off1Gg.fillPolygon(x,y,4);
-                //off1Gg.drawPolygon(x,y,4);
-                off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-                off1Gg.drawLine(x[2],y[2],x[3],y[3]);
-                // off1Gg.setColor(Color.red);
-                // off1Gg.drawLine(camb_x[i-1], camb_y[i-1], camb_x[i], camb_y[i]);
-              }
-            }
+            off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+          }
+          else {
+            off1Gg.setColor(Color.white);
+            //off1Gg.fillPolygon(x,y,4);
+            //off1Gg.drawPolygon(x,y,4);
+            off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+            off1Gg.drawLine(x[2],y[2],x[3],y[3]);
+            // off1Gg.setColor(Color.red);
+            // off1Gg.drawLine(camb_x[i-1], camb_y[i-1], camb_x[i], camb_y[i]);
+          }
+        }
 
-            // always draw camber line
-            inmax = 1;
-            if (!foil_is_cylinder_or_ball(f)) {
-              off1Gg.setColor(Color.red);
-              { 
-                for (n=1; n <= POINTS_COUNT; ++n) {
-                  if (xpl[0][n] > xpl[0][inmax]) inmax = n;
-                }
-                x[1] = (int) (fact*(xpl[0][inmax] -
-                                    4.0*Math.cos(convdr*effective_aoa())))+xt;
-                y[1] = (int) (fact*(-ypl[0][inmax] -
-                                    4.0*Math.sin(convdr*effective_aoa())))+yt;
-                off1Gg.drawLine(x[1],y[1],camb_x[5],camb_y[5]);
-                for (i=7; i<= POINTS_COUNT_HALF-6; i = i+2) {
-                  off1Gg.drawLine(camb_x[i],camb_y[i],camb_x[i+1],camb_y[i+1]);
-                }
-              }
+        // always draw camber line
+        inmax = 1;
+        if (!foil_is_cylinder_or_ball(f)) {
+          off1Gg.setColor(Color.red);
+          { 
+            for (n=1; n <= POINTS_COUNT; ++n) {
+              if (xpl[0][n] > xpl[0][inmax]) inmax = n;
             }
-
-            // put some info on the geometry
-            if (edge_view_type == DISPLAY_GEOMETRY) {
-              if (!foil_is_cylinder_or_ball(f)) {
-                off1Gg.setColor(Color.green);
-                x[0] = (int) (fact*(xpl[0][inmax])) + xt;
-                y[0] = (int) (fact*(-ypl[0][inmax])) + yt;
-                off1Gg.drawLine(x[0],y[0],x[0]-250,y[0]);
-                off1Gg.drawString("Reference",30,y[0]+10);
-                off1Gg.drawString("Angle",x[0]+20,y[0]);
-      
-                off1Gg.setColor(Color.cyan);
-                x[1] = (int) (fact*(xpl[0][inmax] -
-                                    4.0*Math.cos(convdr*effective_aoa())))+xt;
-                y[1] = (int) (fact*(-ypl[0][inmax] -
-                                    4.0*Math.sin(convdr*effective_aoa())))+yt;
-                off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-                off1Gg.drawString("Chord Line",x[0]+20,y[0]+20);
-   
-                off1Gg.setColor(Color.red);
-                off1Gg.drawString("Mean Camber Line",x[0]-70,y[1]-10);
-              } else {
-                off1Gg.setColor(Color.red);
-                x[0] = (int) (fact*(xpl[0][1])) + xt;
-                y[0] = (int) (fact*(-ypl[0][1])) + yt;
-                x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) +xt;
-                y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt;
-                off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-                off1Gg.drawString("Diameter",x[0]+20,y[0]+20);
-              }
-   
-              off1Gg.setColor(Color.green);
-              off1Gg.drawString("Flow",30,145);
-              off1Gg.drawLine(30,152,60,152);
-              x[0] = 60;  x[1] = 60; x[2] = 70;
-              y[0] = 157;  y[1] = 147; y[2] = 152;
-              off1Gg.fillPolygon(x,y,3);
+            x[1] = (int) (fact*(xpl[0][inmax] -
+                                4.0*Math.cos(convdr*effective_aoa())))+xt;
+            y[1] = (int) (fact*(-ypl[0][inmax] -
+                                4.0*Math.sin(convdr*effective_aoa())))+yt;
+            off1Gg.drawLine(x[1],y[1],camb_x[5],camb_y[5]);
+            for (i=7; i<= POINTS_COUNT_HALF-6; i = i+2) {
+              off1Gg.drawLine(camb_x[i],camb_y[i],camb_x[i+1],camb_y[i+1]);
             }
-            //  spin the cylinder and ball
-            if (foil_is_cylinder_or_ball(f)) {
-              x[0] = (int) (fact* (.5*(xpl[0][1] + xpl[0][POINTS_COUNT_HALF]) +
-                                   solver.rval * Math.cos(convdr*(ball_spin_angle + 180.)))) + xt;
-              y[0] = (int) (fact* (-ypl[0][1] +
-                                   solver.rval * Math.sin(convdr*(ball_spin_angle + 180.)))) + yt;
-              x[1] = (int) (fact* (.5*(xpl[0][1] + xpl[0][POINTS_COUNT_HALF]) +
-                                   solver.rval * Math.cos(convdr*ball_spin_angle))) + xt;
-              y[1] = (int) (fact* (-ypl[0][1] +
-                                   solver.rval * Math.sin(convdr*ball_spin_angle))) + yt;
-              off1Gg.setColor(Color.red);
-              off1Gg.drawLine(x[0],y[0],x[1],y[1]);
-            } 
           }
         }
-        if (viewflg == 1000 ) { // this is old Side-3d view
-          //   front foil
-          off1Gg.setColor(Color.white);
-          x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt2;
-          y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt2;
-          x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt2;
-          y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt2;
-          for (i=1; i<= POINTS_COUNT_HALF-1; ++i) {
-            x[0] = x[1];
-            y[0] = y[1];
-            x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF-i])) + xt2;
-            y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF-i])) + yt2;
-            x[3] = x[2];
-            y[3] = y[2];
-            x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF+i])) + xt2;
-            y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF+i])) + yt2;
-            camb_x[i] = (x[1] + x[2]) / 2;
-            camb_y[i] = (y[1] + y[2]) / 2;
-            off1Gg.fillPolygon(x,y,4);
-          }
-          // put some info on the geometry
-          if (edge_view_type == DISPLAY_GEOMETRY) {
+
+        // put some info on the geometry
+        if (edge_view_type == DISPLAY_GEOMETRY) {
+          if (!foil_is_cylinder_or_ball(f)) {
             off1Gg.setColor(Color.green);
-            x[1] = (int) (fact*(xpl[0][1])) + xt1 + 20;
-            y[1] = (int) (fact*(-ypl[0][1])) + yt1;
-            x[2] = (int) (fact*(xpl[0][1])) + xt2 + 20;
-            y[2] = (int) (fact*(-ypl[0][1])) + yt2;
-            off1Gg.drawLine(x[1],y[1],x[2],y[2]);
-            off1Gg.drawString("Span",x[2]+10,y[2]+10);
-
-            x[1] = (int) (fact*(xpl[0][1])) + xt2;
-            y[1] = (int) (fact*(-ypl[0][1])) + yt2 + 15;
-            x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt2;
-            y[2] = y[1];
-            off1Gg.drawLine(x[1],y[1],x[2],y[2]);
-            if (!foil_is_cylinder_or_ball(f)) 
-              off1Gg.drawString("Chord",x[2]+10,y[2]+15);
-            else off1Gg.drawString("Diameter",x[2]+10,y[2]+15);
-
-            off1Gg.drawString("Flow",40,75);
-            off1Gg.drawLine(30,82,60,82);
-            x[0] = 60;  x[1] = 60; x[2] = 70;
-            y[0] = 87;  y[1] = 77; y[2] = 82;
-            off1Gg.fillPolygon(x,y,3);
-          }
-          //  spin the cylinder and ball
-          if (foil_is_cylinder_or_ball(f)) {
-            x[0] = (int) (fact* (.5*(xpl[0][1] + xpl[0][POINTS_COUNT_HALF]) +
-                                 solver.rval * Math.cos(convdr*(ball_spin_angle + 180.)))) + xt2;
-            y[0] = (int) (fact* (-ypl[0][1] +
-                                 solver.rval * Math.sin(convdr*(ball_spin_angle + 180.)))) + yt2;
-            x[1] = (int) (fact* (.5*(xpl[0][1] + xpl[0][POINTS_COUNT_HALF]) +
-                                 solver.rval * Math.cos(convdr*ball_spin_angle))) + xt2;
-            y[1] = (int) (fact* (-ypl[0][1] +
-                                 solver.rval * Math.sin(convdr*ball_spin_angle))) + yt2;
+            x[0] = (int) (fact*(xpl[0][inmax])) + xt;
+            y[0] = (int) (fact*(-ypl[0][inmax])) + yt;
+            off1Gg.drawLine(x[0],y[0],x[0]-250,y[0]);
+            off1Gg.drawString("Reference",30,y[0]+10);
+            off1Gg.drawString("Angle",x[0]+20,y[0]);
+
+            off1Gg.setColor(Color.cyan);
+            x[1] = (int) (fact*(xpl[0][inmax] -
+                                4.0*Math.cos(convdr*effective_aoa())))+xt;
+            y[1] = (int) (fact*(-ypl[0][inmax] -
+                                4.0*Math.sin(convdr*effective_aoa())))+yt;
+            off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+            off1Gg.drawString("Chord Line",x[0]+20,y[0]+20);
+
             off1Gg.setColor(Color.red);
+            off1Gg.drawString("Mean Camber Line",x[0]-70,y[1]-10);
+          } else {
+            off1Gg.setColor(Color.red);
+            x[0] = (int) (fact*(xpl[0][1])) + xt;
+            y[0] = (int) (fact*(-ypl[0][1])) + yt;
+            x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) +xt;
+            y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt;
             off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+            off1Gg.drawString("Diameter",x[0]+20,y[0]+20);
           }
+
+          off1Gg.setColor(Color.green);
+          off1Gg.drawString("Flow",30,145);
+          off1Gg.drawLine(30,152,60,152);
+          x[0] = 60;  x[1] = 60; x[2] = 70;
+          y[0] = 157;  y[1] = 147; y[2] = 152;
+          off1Gg.fillPolygon(x,y,3);
         }
+        //  spin the cylinder and ball
+        if (foil_is_cylinder_or_ball(f)) {
+          x[0] = (int) (fact* (.5*(xpl[0][1] + xpl[0][POINTS_COUNT_HALF]) +
+                               solver.rval * Math.cos(convdr*(ball_spin_angle + 180.)))) + xt;
+          y[0] = (int) (fact* (-ypl[0][1] +
+                               solver.rval * Math.sin(convdr*(ball_spin_angle + 180.)))) + yt;
+          x[1] = (int) (fact* (.5*(xpl[0][1] + xpl[0][POINTS_COUNT_HALF]) +
+                               solver.rval * Math.cos(convdr*ball_spin_angle))) + xt;
+          y[1] = (int) (fact* (-ypl[0][1] +
+                               solver.rval * Math.sin(convdr*ball_spin_angle))) + yt;
+          off1Gg.setColor(Color.red);
+          off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+        } 
+      }
+    }
+
+    // this is old Side-3d view
+    void paint_old_side_view () {
+      int i;
+      Foil f = current_part.foil;
+      //   front foil
+      off1Gg.setColor(Color.white);
+      x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt2;
+      y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt2;
+      x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt2;
+      y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF])) + yt2;
+      for (i=1; i<= POINTS_COUNT_HALF-1; ++i) {
+        x[0] = x[1];
+        y[0] = y[1];
+        x[1] = (int) (fact*(xpl[0][POINTS_COUNT_HALF-i])) + xt2;
+        y[1] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF-i])) + yt2;
+        x[3] = x[2];
+        y[3] = y[2];
+        x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF+i])) + xt2;
+        y[2] = (int) (fact*(-ypl[0][POINTS_COUNT_HALF+i])) + yt2;
+        camb_x[i] = (x[1] + x[2]) / 2;
+        camb_y[i] = (y[1] + y[2]) / 2;
+        off1Gg.fillPolygon(x,y,4);
+      }
+      // put some info on the geometry
+      if (edge_view_type == DISPLAY_GEOMETRY) {
+        off1Gg.setColor(Color.green);
+        x[1] = (int) (fact*(xpl[0][1])) + xt1 + 20;
+        y[1] = (int) (fact*(-ypl[0][1])) + yt1;
+        x[2] = (int) (fact*(xpl[0][1])) + xt2 + 20;
+        y[2] = (int) (fact*(-ypl[0][1])) + yt2;
+        off1Gg.drawLine(x[1],y[1],x[2],y[2]);
+        off1Gg.drawString("Span",x[2]+10,y[2]+10);
+
+        x[1] = (int) (fact*(xpl[0][1])) + xt2;
+        y[1] = (int) (fact*(-ypl[0][1])) + yt2 + 15;
+        x[2] = (int) (fact*(xpl[0][POINTS_COUNT_HALF])) + xt2;
+        y[2] = y[1];
+        off1Gg.drawLine(x[1],y[1],x[2],y[2]);
+        if (!foil_is_cylinder_or_ball(f)) 
+          off1Gg.drawString("Chord",x[2]+10,y[2]+15);
+        else off1Gg.drawString("Diameter",x[2]+10,y[2]+15);
+
+        off1Gg.drawString("Flow",40,75);
+        off1Gg.drawLine(30,82,60,82);
+        x[0] = 60;  x[1] = 60; x[2] = 70;
+        y[0] = 87;  y[1] = 77; y[2] = 82;
+        off1Gg.fillPolygon(x,y,3);
       }
+      //  spin the cylinder and ball
+      if (foil_is_cylinder_or_ball(f)) {
+        x[0] = (int) (fact* (.5*(xpl[0][1] + xpl[0][POINTS_COUNT_HALF]) +
+                             solver.rval * Math.cos(convdr*(ball_spin_angle + 180.)))) + xt2;
+        y[0] = (int) (fact* (-ypl[0][1] +
+                             solver.rval * Math.sin(convdr*(ball_spin_angle + 180.)))) + yt2;
+        x[1] = (int) (fact* (.5*(xpl[0][1] + xpl[0][POINTS_COUNT_HALF]) +
+                             solver.rval * Math.cos(convdr*ball_spin_angle))) + xt2;
+        y[1] = (int) (fact* (-ypl[0][1] +
+                             solver.rval * Math.sin(convdr*ball_spin_angle))) + yt2;
+        off1Gg.setColor(Color.red);
+        off1Gg.drawLine(x[0],y[0],x[1],y[1]);
+      }
+    }
 
+    // View: and Display: menus on top
+    void paint_view_menu (int panel_width, int panel_height) {
       off1Gg.setColor(Color.white);
       off1Gg.drawString("View:",35,10);
       if (viewflg == VIEW_EDGE) off1Gg.setColor(Color.yellow);
@@ -11644,8 +14280,13 @@ public class FoilBoard extends JApplet {
         if (edge_view_type == 3) off1Gg.setColor(Color.yellow);
         else off1Gg.setColor(Color.cyan);
         off1Gg.drawString("Geometry",260,25);
+        off1Gg.setColor(field_mode != FIELD_OFF ? Color.yellow : Color.cyan);
+        off1Gg.drawString(field_mode == FIELD_PRESSURE ? "Field: Cp" :
+                          field_mode == FIELD_VELOCITY ? "Field: V" : "Field: off", 340,25);
       }
+    }
 
+    void paint_view_controls (int panel_width, int panel_height) {
       // Controls 
 
       drawSliderWidget("Zoom", 0, zoom_slider_pos_y, zoom_widget_active);
@@ -11700,13 +14341,7 @@ public class FoilBoard extends JApplet {
           off1Gg.drawString("Part: " + part_button.getLabel(), 300, 30);
         off1Gg.setFont(currentFont);
       }
-
-      // Draw Speed & Pitch Footer
-      off1Gg.drawString("V: " + speed_kts_mph_kmh_ms_info, 20, panel_height-4);
-      off1Gg.drawString("Pitch: " + filter1(craft_pitch) + " degr", 300, panel_height-4);
-      // Done! make visible
-      g.drawImage(offImg1,0,0,this);   
-    } // Viewer.paint ()
+    }
 
 
 
@@ -12073,13 +14708,15 @@ public class FoilBoard extends JApplet {
     
   } // end Viewer
 
-  class Plot extends Canvas implements Runnable {
+  class Plot extends Canvas {
     FoilBoard app;
-    Thread run2;
 
     int axis_y_label_width, axis_x_label_width, plot_trace_count;
 
     double begx,endx,begy,endy; // cryptic FoilSimIII name 
+    // current part at the current aoa, for the load_*_plot methods. These
+    // cryptic var names are FoilSimIII legacy. TODO: rename
+    double lftref,clref,drgref,cdref;
     String labx,labxu,laby,labyu; // cryptic FoilSimIII name 
     int ntikx,ntiky,npt, start_pt = 1; // cryptic FoilSimIII name 
     Point locp, ancp; // cryptic FoilSimIII name 
@@ -12104,7 +14741,6 @@ public class FoilBoard extends JApplet {
 
     Plot (FoilBoard target) { 
       setBackground(Color.blue);
-      run2 = null;
 
       this.addMouseListener(new MouseListener() {
           @SuppressWarnings("deprecation")
@@ -12145,818 +14781,67 @@ public class FoilBoard extends JApplet {
     int rescale_bt_y;
     boolean should_rescale_p = false;
 
-    public void start() {
-      if (run2 == null) {
-        run2 = new Thread(this);
-        run2.start();
-      }
-    }
-
-    //      public void run() {
-    //        int timer;
-    // 
-    //        timer = 100;
-    //        while (true) {
-    //          try { Thread.sleep(timer); }
-    //          catch (InterruptedException e) {}
-    //          out_top.plot.repaint();
-    //        }
-    //      }
-      
-    /**
-     * @j2sNative
-     * 
-     * this.repaint();
-     * var self = this; setTimeout(function() {self.run();}, 100);
-     */
-    public void run() {
-      int timer;
- 
-      timer = 100;
-      while (true) {
-        try { Thread.sleep(timer); }
-        catch (InterruptedException e) {}
-        out_top.plot.repaint();
-      }
-    }
-
     // Plot.loadPlot
     public void loadPlot () {
       // new Exception("Plot.loadPlot").printStackTrace(System.out);
+      request_repaint(); // fires after we are done here
 
-      // see comments for no_vpp_sweeps flag
-      if (no_vpp_sweeps && 
-          (plot_type == PLOT_TYPE_CG_VS_SPEED ||
-           plot_type == PLOT_TYPE_CURR_PART_VS_SPEED) ) 
-        return;
-
-      // These cryptic var names are FoilSimIII legacy. TODO: eliminate
-      // some, rename the rest
-      double rad,ang,xc,yc,lftref,clref,drgref,cdref;
-      double del,spd,awng,ppl,tpl,hpl,angl;
-      int index,ic;
-
-      double aoa_absolute = effective_aoa();
-
-      Foil f = current_part.foil;
-
-      clref =  getCl_plot(current_part.camber/25,current_part.thickness/25,aoa_absolute);
-      if (Math.abs(clref) <= .001) clref = .001;    /* protection */
-
-      lftref = clref * q0_SI * current_part.area;
-        
-      double alfd = aoa_absolute;
-      //   attempt to fix symmetry problem
-      if (fix_symmetry_problem && current_part.camber < 0.0) alfd = - aoa_absolute;
-      //
-
-      cdref = // was: solver.get_Cd(clref, alfd, current_part.thickness, current_part.camber);
-        solver.get_Cd(alfd);
-
-      drgref = cdref * q0_SI * current_part.area;
-
-      if (current_part == strut) {
-        // typically only 30% sits in water
-        drgref *= (1- alt_val/100);
-      }
-   
-      //  load up the current plot
-      switch (plot_type) {
-      case PLOT_TYPE_PRESSURE: { // pressure variation 
-        npt = POINTS_COUNT_HALF;
-        plot_trace_count = 3;
-        axis_y_label_width = axis_x_label_width = 2;
-        for (index = 1; index <= npt; ++ index) {
-          if (!foil_is_cylinder_or_ball(f)) {
-            plotx[0][index] =100.*(xpl[0][POINTS_COUNT_HALF-index + 1]/4.0 + .5);
-            plotx[1][index] =100.*(xpl[0][POINTS_COUNT_HALF+index - 1]/4.0 + .5);
-            plotx[2][index] =100.*(xpl[0][POINTS_COUNT_HALF+index - 1]/4.0 + .5);
-          } else {
-            plotx[0][index]=100.*(xpl[0][POINTS_COUNT_HALF-index+1]/(2.0*radius/lconv)+.5);
-            plotx[1][index]=100.*(xpl[0][POINTS_COUNT_HALF+index-1]/(2.0*radius/lconv)+.5);
-            plotx[2][index]=100.*(xpl[0][POINTS_COUNT_HALF+index-1]/(2.0*radius/lconv)+.5);
-          }
-          ploty[0][index] = plp[POINTS_COUNT_HALF-index + 1];
-          ploty[1][index] = plp[POINTS_COUNT_HALF+index - 1];
-          ploty[2][index] = ps0/2116. * pconv;
-          // **** Impose pstatic on surface plot for stalled foil
-          if (stall_model_type != STALL_MODEL_IDEAL_FLOW && index > 7) {
-            double apos = stall_model_type == STALL_MODEL_DFLT ? +10 : stall_model_apos;
-            double aneg = stall_model_type == STALL_MODEL_DFLT ? -10 : stall_model_aneg;
-            if (aoa_absolute > apos) ploty[0][index] = ploty[2][index];
-            if (aoa_absolute < aneg) ploty[1][index] = ploty[2][index];
-          }
-          // *******
-        }
-        begx = 0.0;
-        endx = 100.;
-        ntikx = 5;
-        ntiky = 5;
-        //       endy=1.02 * ps0/2116. * pconv;
-        //       begy=.95 * ps0/2116. * pconv;
-        laby = String.valueOf("Press");
-        if (lunits == IMPERIAL) labyu = String.valueOf("psi");
-        if (lunits == 1) labyu = String.valueOf("k-Pa");
-        labx = String.valueOf(" X ");
-        if (!foil_is_cylinder_or_ball(f)) labxu = String.valueOf("% chord");
-        else labxu = String.valueOf("% diameter");
-        break;
-      }
-      case PLOT_TYPE_VELOCITY: {   // velocity variation
-        npt = POINTS_COUNT_HALF;
-        plot_trace_count = 3;
-        axis_y_label_width = 2;
-        axis_x_label_width = 1;
-        for (index = 1; index <= npt; ++ index) {
-          if (!foil_is_cylinder_or_ball(f)) {
-            plotx[0][index] = 100.*(xpl[0][POINTS_COUNT_HALF-index+1]/4.0+.5);
-            plotx[1][index] = 100.*(xpl[0][POINTS_COUNT_HALF+index-1]/4.0+.5);
-            plotx[2][index] = 100.*(xpl[0][POINTS_COUNT_HALF-index+1]/4.0+.5);
-          } else {
-            plotx[0][index]=100.*(xpl[0][POINTS_COUNT_HALF-index+1]/(2.0*radius/lconv)+.5);
-            plotx[1][index]=100.*(xpl[0][POINTS_COUNT_HALF+index-1]/(2.0*radius/lconv)+.5);
-            plotx[2][index]=100.*(xpl[0][POINTS_COUNT_HALF+index-1]/(2.0*radius/lconv)+.5);
-          }
-          ploty[0][index] = plv[POINTS_COUNT_HALF-index+1];
-          ploty[1][index] = plv[POINTS_COUNT_HALF+index-1];
-          ploty[2][index] = velocity;
-          // **** Impose free stream vel on surface plot for stalled foil
-          if (stall_model_type != STALL_MODEL_IDEAL_FLOW && index > 7) {
-            double apos = stall_model_type == STALL_MODEL_DFLT ? +10 : stall_model_apos;
-            double aneg = stall_model_type == STALL_MODEL_DFLT ? -10 : stall_model_aneg;
-            if (aoa_absolute > apos) ploty[0][index] = ploty[2][index];
-            if (aoa_absolute < aneg) ploty[1][index] = ploty[2][index];
-          }
-          // *******
-        }
-        begx = 0.0;
-        endx = 100.;
-        ntikx = 5;
-        ntiky = 6;
-        //      begy = 0.0;
-        //      endy = 500.;
-        laby = String.valueOf("Vel");
-        if (lunits == IMPERIAL) labyu = String.valueOf("mph");
-        if (lunits == 1) labyu = String.valueOf("kmh");
-        labx = String.valueOf(" X ");
-        if (!foil_is_cylinder_or_ball(f)) labxu = String.valueOf("% chord");
-        else labxu = String.valueOf("% diameter");
-
-        //  load up performance plots
-        break;
-      }
-      case PLOT_TYPE_ANGLE: { // lift/cl/drag/cd versus angle
-        npt = 21;
-        plot_trace_count = (plot_y_val == PLOT_OUT_DRAG) ? 3 : 1;
-        axis_x_label_width = 2;  axis_y_label_width = 3;
-        begx=-20.0; endx=20.0; ntikx=5;
-        labx = String.valueOf("Angle");
-        labxu = String.valueOf("degrees");
-        del = 40.0 / (npt-1);
-
-        // fill array of x/y pairs
-        for (ic=1; ic <=npt; ++ic) {
-          angl = -20.0 + (ic-1)*del;
-          double clpl = getCl_plot(current_part.camber/25,current_part.thickness/25,angl);
-          alfd = angl;
-          double thkd = current_part.thickness;
-          double camd = current_part.camber;
-
-          //   attempt to fix symmetry problem
-          if (fix_symmetry_problem && camd < 0.0) alfd = - angl;
-          //
-
-          double cdpl = solver.get_Cd(clpl, alfd, thkd, camd);
-          plotx[0][ic] = angl;
-
-          switch (plot_y_val) {
-          case PLOT_OUT_LIFT:
-            ploty[0][ic] = lftref * clpl/clref; 
-            break;
-          case PLOT_OUT_CL:
-            ploty[0][ic] = clpl; 
-            break;
-          case PLOT_OUT_DRAG: 
-            ploty[0][ic] = drgref * cdpl/cdref;
-            break;
-          case PLOT_OUT_CD:  
-            ploty[0][ic] = cdpl;
-            break;
-          case PLOT_OUT_CM:  
-            ploty[0][ic] = current_part.compute_cm(alfd); // incl AR correction
-            break;
-          default:;
-            System.out.println("missing PLOT_OUT_...: case");
-          }
-        }
-
-        // decorate
-        ntiky = 5;
-        plotx[1][0] = aoa_absolute;
-        switch (plot_y_val) {
-        case PLOT_OUT_LIFT:
-          laby = String.valueOf("Lift");
-          if (lunits == IMPERIAL) labyu = String.valueOf("lbs");
-          if (lunits == 1) labyu = String.valueOf("N");
-          ploty[1][0] = lftref;
-          break;
-        case PLOT_OUT_CL:
-          laby = String.valueOf("Cl");
-          labyu = String.valueOf("");
-          ploty[1][0] = current_part.cl;
-          break;
-        case PLOT_OUT_DRAG:
-          laby = String.valueOf("Drag");
-          if (lunits == IMPERIAL) labyu = String.valueOf("lbs");
-          if (lunits == 1) labyu = String.valueOf("N");
-          ploty[1][0] = drgref;
-          break;
-        case PLOT_OUT_CD:
-          laby = String.valueOf("Cd");
-          labyu = String.valueOf("");
-          ploty[1][0] = current_part.cd;
-          break;
-        case PLOT_OUT_CM:
-          laby = String.valueOf("Cm1");
-          labyu = String.valueOf("");
-          ploty[1][0] = current_part.cm;
-          break;
-        default:
-        } 
-      
-        break;
-      }
-      case PLOT_TYPE_THICKNESS: { // lift/cl/drag/cd versus thickness
-        npt = 20;
-        plot_trace_count = 1;
-        axis_x_label_width = 3;  axis_y_label_width = 3;
-        begx=0.0; 
-        endx=20.0; 
-        ntikx=5;
-        labx = String.valueOf("Thickness ");
-        labxu = String.valueOf("% chord");
-        del = 1.0 / (npt);
-        for (ic=1; ic <=npt; ++ic) {
-          double thkpl = .05 + (ic-1)*del;
-          double clpl = getCl_plot(current_part.camber/25,thkpl,aoa_absolute);
-          alfd = aoa_absolute;
-          double thkd = thkpl*25.0;
-          double camd = current_part.camber;
-          //   attempt to fix symmetry problem
-          if (fix_symmetry_problem && camd < 0.0) alfd = - aoa_absolute;
-          //
-          double cdpl = solver.get_Cd(clpl, alfd, thkd, camd);
-
-          if ( plot_y_val == PLOT_OUT_LIFT || plot_y_val == PLOT_OUT_CL) {
-            plotx[0][ic] = thkpl*25.;
-            if (plot_y_val == PLOT_OUT_LIFT)
-              ploty[0][ic] = lftref * clpl/clref;
-            else 
-              ploty[0][ic] = clpl;
-          }
-          else {
-            plotx[0][ic] = thkd;
-            if (plot_y_val == PLOT_OUT_DRAG)
-              ploty[0][ic] = drgref * cdpl/cdref;
-            else
-              ploty[0][ic] = cdpl;
-          }
-        }
-        ntiky = 5;
-        plotx[1][0] = current_part.thickness;
-        switch (plot_y_val) {
-        case PLOT_OUT_LIFT:
-          laby = String.valueOf("Lift");
-          labyu = current_display_force_unit_string();
-          ploty[1][0] = lftref;
-          break;
-        case PLOT_OUT_CL:
-          laby = String.valueOf("Cl");
-          ploty[1][0] = current_part.cl;
-          break;
-        case PLOT_OUT_DRAG:
-          laby = String.valueOf("Drag");
-          labyu = current_display_force_unit_string();
-          ploty[1][0] = drgref;
-          ploty[0][npt]= ploty[0][npt-1]= ploty[0][npt-2]=ploty[0][npt-3]=ploty[0][npt-4];
-          break;
-        case PLOT_OUT_CD:
-          laby = String.valueOf("Cd");
-          ploty[1][0] = current_part.cd;
-          ploty[0][npt] = ploty[0][npt-1] = ploty[0][npt-2]=ploty[0][npt-3]=ploty[0][npt-4];
-          break;
-        case PLOT_OUT_CM:
-          laby = String.valueOf("Cm2");
-          ploty[1][0] = current_part.cm;
-          //ploty[0][npt] = ploty[0][npt-1] = ploty[0][npt-2]=ploty[0][npt-3]=ploty[0][npt-4];
-          break;
-        default:
-        }
-        break;
-      }
-      case PLOT_TYPE_CAMBER: { // lift/cl/drag/cd versus camber
-        npt = 21;
-        plot_trace_count = 1;
-        axis_x_label_width = 4;  axis_y_label_width = 3;
-        begx=-20.; 
-        endx=20.; 
-        ntikx=5;
-        labx = String.valueOf("Camber ");
-        labxu = String.valueOf("% chord");
-        del = 2.0 / (npt-1);
-        for (ic=1; ic <=npt; ++ic) {
-          double campl = -1.0 + (ic-1)*del;
-          double clpl = getCl_plot(campl,current_part.thickness/25,aoa_absolute);
-          alfd = aoa_absolute;
-          double thkd = current_part.thickness;
-          double camd = campl * 25.0;
-          //   attempt to fix symmetry problem
-          if (fix_symmetry_problem && camd < 0.0) alfd = - aoa_absolute;
-          //
-          double cdpl = solver.get_Cd(clpl, alfd, thkd, camd);
-
-          if ( plot_y_val == PLOT_OUT_LIFT || plot_y_val == PLOT_OUT_CL) {
-            plotx[0][ic] = campl*25.0;
-            if (plot_y_val == PLOT_OUT_LIFT)
-              ploty[0][ic] = lftref * clpl/clref;
-            else 
-              ploty[0][ic] = clpl;
-          }
-          else {
-            plotx[0][ic] = camd;
-            if (plot_y_val == PLOT_OUT_DRAG)
-              ploty[0][ic] = drgref * cdpl/cdref;
-            else
-              ploty[0][ic] = cdpl;
-          }
-        }
-        ntiky = 5;
-        plotx[1][0] = current_part.camber;
-        switch (plot_y_val) {
-        case PLOT_OUT_LIFT:
-          laby = String.valueOf("Lift");
-          labyu = current_display_force_unit_string();
-          ploty[1][0] = lftref;
-          break;
-        case PLOT_OUT_CL:
-          laby = String.valueOf("Cl");
-          ploty[1][0] = current_part.cl;
-          break;
-        case PLOT_OUT_DRAG:
-          laby = String.valueOf("Drag");
-          labyu = current_display_force_unit_string();
-          ploty[1][0] = drgref;
-          ploty[0][1] = ploty[0][2]= ploty[0][3];
-          ploty[0][npt] = ploty[0][npt -1] = ploty[0][npt - 2];
-          break;
-        case PLOT_OUT_CD:
-          laby = String.valueOf("Cd");
-          ploty[1][0] = current_part.cd;
-          ploty[0][1] = ploty[0][2]= ploty[0][3];
-          ploty[0][npt] = ploty[0][npt -1] = ploty[0][npt-2];
-          break;
-        case PLOT_OUT_CM:
-          laby = String.valueOf("Cm");
-          ploty[1][0] = current_part.cm;
-          //ploty[0][1] = ploty[0][2]= ploty[0][3];
-          //ploty[0][npt] = ploty[0][npt -1] = ploty[0][npt-2];
-          break;
-        default:
-        }
-        break;
-      }
-      case PLOT_TYPE_CG_VS_SPEED: {
-        // rider position versus speed
-        on_cg_plotting = true; // for debugging only 
-
-        ntiky = 8;
-        laby = "";
-        labyu = "";
-
-        npt = 90;
-        start_pt = 1;
-        plot_trace_count = 5;
-        axis_x_label_width = 5;  axis_y_label_width = 3;
-
-        labx = String.valueOf("Speed ");
-        // spd = Math.min(8, velocity);
-        spd = 8;
-        labxu = current_display_speed_unit_string();
-        double beg_spd = 5; // 4+load/100; //ad hoc  old: min_takeoff_speed == 0 ? 15 : min_takeoff_speed; // velocity/2; // 10;
-        double end_spd = 50;
-        del = (npt == 1) ? 0 : (end_spd-beg_spd)/(npt-1);
-
-        plotx[0][0] = plotx[1][0]  = plotx[2][0] = plotx[3][0] = plotx[4][0] = speed_kmh_to_display_units(velocity);
-        ploty[0][0] = -dash.cg_pos_board_level * 
-          ((display_units == METRIC || display_units == METRIC_2) ? 100 : 39.3701);
-        ploty[1][0] = (display_units == METRIC) 
-          ? 0.10197*total_drag() : force_n_to_display_units(total_drag());
-        ploty[2][0] = craft_pitch;
-        ploty[3][0] = foil_lift()/total_drag();
-        ploty[4][0] = -dash.cg_pos_of_rider * 
-          ((display_units == METRIC || display_units == METRIC_2) ? 100 : 39.3701);
-
-        boolean saved_flag = can_do_gui_updates;
-        can_do_gui_updates = false;;
-        double saved_velocity = velocity;
-        double saved_craft_pitch = craft_pitch;
-
-        for (spd = end_spd, ic=npt; ic >= 1; ic--, spd-=del) {
-          velocity = spd;
-          //? vpp.steady_flight_at_given_speed(5, craft_pitch);
-          if (spd == end_spd)
-            vpp.steady_flight_at_given_speed(2, 0);
-          else
-            vpp.steady_flight_at_given_speed(1, craft_pitch);
-          // recomp_all_parts(); // just in case
-          double total_drag = total_drag();
-
-
-          double foil_lift = foil_lift();
-          if (foil_lift < load) { // halt
-            start_pt = ic+1;
-            break;
-          }
-              
-          plotx[0][ic] = 
-            plotx[1][ic] = 
-            plotx[2][ic] = 
-            plotx[3][ic] = 
-            plotx[4][ic] = speed_kmh_to_display_units(velocity);
-
-          ploty[0][ic] = -dash.cg_pos_board_level * 
-            ((display_units == METRIC || display_units == METRIC_2) ? 100 : 39.3701);
-          ploty[1][ic] = (display_units == METRIC) 
-            ? 0.10197*total_drag : force_n_to_display_units(total_drag);
-          ploty[2][ic] = craft_pitch;
-          ploty[3][ic] = foil_lift/total_drag;
-          ploty[4][ic] = -dash.cg_pos_of_rider * 
-            ((display_units == METRIC || display_units == METRIC_2) ? 100 : 39.3701);
-        }
-
-        velocity = saved_velocity;
-
-        // instead rely on PartPack now
-        vpp.steady_flight_at_given_speed(5, 0);
-        craft_pitch = saved_craft_pitch;
-
-        // this is needed for imported foils so that outline is recomputed
-        solver.compute_foil_geometry(effective_aoa());
-
-        can_do_gui_updates = saved_flag;
-        on_cg_plotting = false;
-
-        break;
-      }
-
-      case PLOT_TYPE_CURR_PART_VS_SPEED: { // various drag sources versus speed
-        ntiky = 7;
-        laby = current_display_force_unit_string();
-        labyu = "";
-
-        npt = 40;
-        plot_trace_count = 5;
-        axis_x_label_width = 5;  axis_y_label_width = 3;
-
-        labx = String.valueOf("Speed");
-        // spd = Math.min(8, velocity);
-        spd = 8;
-        labxu = current_display_speed_unit_string();
-        double beg_spd = 5;
-        double end_spd = 50;
-        del = (npt == 1) ? 0 : (end_spd-beg_spd)/(npt-1);
-
-        boolean saved_flag = can_do_gui_updates;
-        can_do_gui_updates = false;;
-        //recomp_all_parts(); // only make sure we sync cache with saved part props
-        double saved_velocity = velocity;
-
-        plotx[0][0] = plotx[1][0]  = plotx[2][0] = plotx[3][0] = plotx[4][0] = 
-          speed_kmh_to_display_units(velocity);
-
-        ploty[0][0] = Math.log10(force_n_to_display_units(current_part.drag)); // total
-        ploty[1][0] = Math.log10(force_n_to_display_units(current_part.drag_profile));
-        ploty[2][0] = Math.log10(force_n_to_display_units(current_part.drag_aux));
-        ploty[3][0] = Math.log10(force_n_to_display_units(current_part.drag_junc));
-        ploty[4][0] = Math.log10(force_n_to_display_units(current_part.drag_spray));
-          
-        for (spd = end_spd, ic=npt; ic >= 1; ic--, spd-=del) {
-          velocity = spd;
-          //? vpp.steady_flight_at_given_speed(5, craft_pitch);
-          vpp.steady_flight_at_given_speed(5, 0);
-          // recomp_all_parts(); // just in case
-
-          plotx[0][ic] = 
-            plotx[1][ic] = 
-            plotx[2][ic] = 
-            plotx[3][ic] = 
-            plotx[4][ic] = 
-            speed_kmh_to_display_units(velocity);
-
-          ploty[0][ic] = Math.log10(force_n_to_display_units(current_part.drag)); // total
-          ploty[1][ic] = Math.log10(force_n_to_display_units(current_part.drag_profile));
-          ploty[2][ic] = Math.log10(force_n_to_display_units(current_part.drag_aux));
-          ploty[3][ic] = Math.log10(force_n_to_display_units(current_part.drag_junc));
-          ploty[4][ic] = Math.log10(force_n_to_display_units(current_part.drag_spray));
-
-        }
-
-        velocity = saved_velocity;
-        vpp.steady_flight_at_given_speed(5, 0);
-        can_do_gui_updates = saved_flag;
-        // this is needed for imported foils so that outline is recomputed
-        solver.compute_foil_geometry(effective_aoa());
-            
-        break;
-      }
-
-      case PLOT_TYPE_DRAG_TOTALS_VS_SPEED: { // various drag sources versus speed
-        ntiky = 7;
-        laby = current_display_force_unit_string();
-        labyu = "";
-
-        npt = 40;
-        plot_trace_count = 5;
-        axis_x_label_width = 5;  axis_y_label_width = 3;
-
-        labx = String.valueOf("Speed");
-        // spd = Math.min(8, velocity);
-        spd = 8;
-        labxu = current_display_speed_unit_string();
-        double beg_spd = 5;
-        double end_spd = 50;
-        del = (npt == 1) ? 0 : (end_spd-beg_spd)/(npt-1);
-
-        boolean saved_flag = can_do_gui_updates;
-        can_do_gui_updates = false;;
-        //recomp_all_parts(); // only make sure we sync cache with saved part props
-        double saved_velocity = velocity;
-
-        plotx[0][0] = plotx[1][0]  = plotx[2][0] = plotx[3][0] = plotx[4][0] = 
-          speed_kmh_to_display_units(velocity);
-
-        ploty[0][0] = Math.log10(force_n_to_display_units(wing.drag));
-        ploty[1][0] = Math.log10(force_n_to_display_units(stab.drag));
-        ploty[2][0] = Math.log10(force_n_to_display_units(strut.drag));
-        ploty[3][0] = Math.log10(force_n_to_display_units(fuse.drag));
-        ploty[4][0] = Math.log10(force_n_to_display_units
-                                 (wing.drag_junc + stab.drag_junc + strut.drag_junc + fuse.drag_junc));
-          
-
-        for (spd = end_spd, ic=npt; ic >= 1; ic--, spd-=del) {
-          velocity = spd;
-          //? vpp.steady_flight_at_given_speed(5, craft_pitch);
-          vpp.steady_flight_at_given_speed(5, 0);
-          // recomp_all_parts(); // just in case
-
-          plotx[0][ic] = 
-            plotx[1][ic] = 
-            plotx[2][ic] = 
-            plotx[3][ic] = 
-            plotx[4][ic] = 
-            speed_kmh_to_display_units(velocity);
-
-          ploty[0][ic] = Math.log10(force_n_to_display_units(wing.drag));
-          ploty[1][ic] = Math.log10(force_n_to_display_units(stab.drag));
-          ploty[2][ic] = Math.log10(force_n_to_display_units(strut.drag));
-          ploty[3][ic] = Math.log10(force_n_to_display_units(fuse.drag));
-          ploty[4][ic] = Math.log10(force_n_to_display_units
-                                    (wing.drag_junc + stab.drag_junc + strut.drag_junc + fuse.drag_junc));
-        }
-
-        velocity = saved_velocity;
-        vpp.steady_flight_at_given_speed(5, 0);
-        can_do_gui_updates = saved_flag;
-        // this is needed for imported foils so that outline is recomputed
-        solver.compute_foil_geometry(effective_aoa());
-            
-
-        break;
-      }
-
-      case PLOT_TYPE_ALTITUDE: { // lift and drag versus altitude
-        npt = 20;
-        plot_trace_count = 1;
-        axis_x_label_width = 6;  axis_y_label_width = 3;
-        begx=0.0; 
-        endx=50.0; 
-        ntikx=6;
-        if (lunits == IMPERIAL) endx = 50.0;
-        if (lunits == 1) endx = 15.0;
-        labx = String.valueOf("Altitude");
-        if (lunits == IMPERIAL) labxu = String.valueOf("k-ft");
-        if (lunits == 1) labxu = String.valueOf("km");
-        del = altmax / npt;
-        for (ic=1; ic <=npt; ++ic) {
-          hpl = (ic-1)*del;
-          plotx[0][ic] = lconv*hpl/1000.;
-          tpl = 518.6;
-          ppl = 2116.;
-          if (planet == 0) {
-            if (hpl < 36152.)   {
-              tpl = 518.6 - 3.56 * hpl /1000.;
-              ppl = 2116. * Math.pow(tpl/518.6, 5.256);
-            }
-            else {
-              tpl = 389.98;
-              ppl = 2116. * .236 * Math.exp((36000.-hpl)/(53.35*tpl));
-            }
-            if (plot_y_val_2 == 0) 
-              ploty[0][ic] = lftref * ppl/(tpl*53.3*32.17) / rho_EN;
-            else
-              ploty[0][ic] = drgref * ppl/(tpl*53.3*32.17) / rho_EN;
-          }
-          if (planet == 1) {
-            if (hpl <= 22960.) {
-              tpl = 434.02 - .548 * hpl/1000.;
-              ppl = 14.62 * Math.pow(2.71828,-.00003 * hpl);
-            }
-            if (hpl > 22960.) {
-              tpl = 449.36 - 1.217 * hpl/1000.;
-              ppl = 14.62 * Math.pow(2.71828,-.00003 * hpl);
-            }
-            if (plot_y_val_2 == 0) 
-              ploty[0][ic] = lftref * ppl/(tpl*1149.) / rho_EN;
-            else 
-              ploty[0][ic] = drgref * ppl/(tpl*1149.) / rho_EN;
-          }
-          if (planet == 2) {
-            if (plot_y_val_2 == 0) 
-              ploty[0][ic] = lftref;
-            else 
-              ploty[0][ic] = drgref;
-          }
-        }
-        ntiky = 5;
-        if (plot_y_val_2 == 0) laby = String.valueOf("Lift");
-        if (plot_y_val_2 == 1) laby = String.valueOf("Drag");
-        plotx[1][0] = alt_val/100.;
-        if (plot_y_val_2 == 0) ploty[1][0] = lftref;
-        if (plot_y_val_2 == 1) ploty[1][0] = drgref;
-        if (lunits == IMPERIAL) labyu = String.valueOf("lbs");
-        if (lunits == 1) labyu = String.valueOf("N");
-          
-        break;
-      }
-      case PLOT_TYPE_WING_AREA: { // lift and drag versus area
-        npt = 2;
-        plot_trace_count = 1;
-        axis_x_label_width = 7;  axis_y_label_width = 3;
-        begx=0.0; ntikx=6;
-        labx = String.valueOf("Area ");
-        if (lunits == IMPERIAL) {
-          labxu = String.valueOf("sq ft");
-          endx = 2000.0;
-          labyu = String.valueOf("lbs");
-          plotx[0][1] = 0.0;
-          ploty[0][1] = 0.0;
-          plotx[0][2] = 2000.;
-          if (plot_y_val_2 == 0) ploty[0][2] = lftref * 2000. /current_part.area;
-          if (plot_y_val_2 == 1) ploty[0][2] = drgref * 2000. /current_part.area;
-        }
-        if (lunits == 1) {
-          labxu = String.valueOf("sq m");
-          endx = 200.;
-          labyu = String.valueOf("N");
-          plotx[0][1] = 0.0;
-          ploty[0][1] = 0.0;
-          plotx[0][2] = 200.;
-          if (plot_y_val_2 == 0) ploty[0][2] = lftref * 200. /current_part.area; 
-          if (plot_y_val_2 == 1) ploty[0][2] = drgref * 200. /current_part.area; 
-        }
-
-        ntiky = 5;
-        plotx[1][0] = current_part.area;
-        if (plot_y_val_2 == 0) {
-          laby = String.valueOf("Lift");
-          ploty[1][0] = lftref;
-        }
-        else {
-          laby = String.valueOf("Drag");
-          ploty[1][0] = drgref;
-        }
-          
-        break;
-      }
-      case PLOT_TYPE_DENSITY: { // lift and drag versus density
-        npt = 2;
-        plot_trace_count = 1;
-        axis_x_label_width = 7; axis_y_label_width = 3;
-        begx=0.0; ntikx=6;
-        labx = String.valueOf("Density ");
-        if (planet == 0) {
-          if (lunits == IMPERIAL) {
-            labxu = String.valueOf("x 10,000 slug/cu ft");
-            endx = 25.0;
-            plotx[0][1] = 0.0;
-            ploty[0][1] = 0.0;
-            plotx[0][2] = 23.7;
-            if (plot_y_val_2 == 0) ploty[0][2] = lftref * 23.7 /(rho_EN*10000.);
-            if (plot_y_val_2 == 1) ploty[0][2] = drgref * 23.7 /(rho_EN*10000.);
-            plotx[1][0] = rho_EN*10000.;
-          }
-          if (lunits == 1) {
-            labxu = String.valueOf("g/cu m");
-            endx = 1250.;
-            plotx[0][1] = 0.0;
-            ploty[0][1] = 0.0;
-            plotx[0][2] = 1226;
-            if (plot_y_val_2 == 0) ploty[0][2] = lftref * 23.7 /(rho_EN*10000.);
-            if (plot_y_val_2 == 1) ploty[0][2] = drgref * 23.7 /(rho_EN*10000.);
-            plotx[1][0] = rho_EN*1000.*515.4;
-          }
-        }
+      // see comments for no_vpp_sweeps flag
+      if (no_vpp_sweeps && 
+          (plot_type == PLOT_TYPE_CG_VS_SPEED ||
+           plot_type == PLOT_TYPE_CURR_PART_VS_SPEED) ) 
+        return;
 
-        if (planet == 1) {
-          if (lunits == IMPERIAL) {
-            labxu = String.valueOf("x 100,000 slug/cu ft");
-            endx = 5.0;
-            plotx[0][1] = 0.0;
-            ploty[0][1] = 0.0;
-            plotx[0][2] = 2.93;
-            if (plot_y_val_2 == 0) ploty[0][2] = lftref * 2.93 /(rho_EN*100000.);
-            if (plot_y_val_2 == 1) ploty[0][2] = drgref * 2.93 /(rho_EN*100000.);
-            plotx[1][0] = rho_EN*100000.;
-          }
-          if (lunits == 1) {
-            labxu = String.valueOf("g/cu m");
-            endx = 15.;
-            plotx[0][1] = 0.0;
-            ploty[0][1] = 0.0;
-            plotx[0][2] = 15.1;
-            if (plot_y_val_2 == 0) ploty[0][2] = lftref * 2.93 /(rho_EN*100000.);
-            if (plot_y_val_2 == 1) ploty[0][2] = drgref * 2.93 /(rho_EN*100000.);
-            plotx[1][0] = rho_EN*1000.*515.4;
-          }
-        }
-        ntiky = 5;
-        if (plot_y_val_2 == PLOT_OUT_2_LIFT) {
-          laby = String.valueOf("Lift");
-          ploty[1][0] = lftref;
-        } else if (plot_y_val_2 == PLOT_OUT_2_DRAG) { 
-          laby = String.valueOf("Drag");
-          ploty[1][0] = drgref;
-        }
+      Object jfr = jfr_load_plot.begin();
+      double aoa_absolute = effective_aoa();
 
-        labyu = current_display_force_unit_string();
-        break;
-      }
-      case PLOT_TYPE_LIFT_DRAG_POLARS: { // lift/drag polar
-        npt = 40;
-        plot_trace_count = 3;
-        axis_x_label_width = 4;  axis_y_label_width = 3;
-        ntikx=5;
-        del = 1;
-        angl = -20;
-        for (ic=0; angl<=20; ++ic, angl+=del) {
-          double thkd = current_part.thickness;
-          double camd = current_part.camber;
-
-          // note that below is always with Reynolds correction ON which is correct.
-          // boolean ar_lift_corr_saved = ar_lift_corr;
-          boolean induced_drag_on_saved = induced_drag_on;
-          // no AR correction - infinite 2D foil lift
-          induced_drag_on = false;
-          double cl_2D = ploty[0][ic] = f.get_Cl(angl); 
-          boolean skin_drag_on_saved = skin_drag_on;
-          skin_drag_on = false;
-          // plain 2D form/pressure drag - no induced drag, no skin drag              
-          plotx[0][ic] = solver.get_Cd(cl_2D, alfd, thkd, camd);
-              
-          // clpl is lift including AR corection
-          double clpl = getCl_plot(camd/25, thkd/25, angl);
-          ploty[1][ic] = ploty[2][ic] = clpl;
-
-          alfd = angl;
-          // attempt to fix symmetry problem
-          if (fix_symmetry_problem && camd < 0.0) alfd = - angl;
-
-          // now, skin drag ON
-          skin_drag_on = true;
-          // thsis now includes skin drag but no induced yet
-          plotx[1][ic] = solver.get_Cd(clpl, alfd, thkd, camd);
-          // now,  with skin and induced drag on
-          induced_drag_on = true;
-          plotx[2][ic] = solver.get_Cd(clpl, alfd, thkd, camd);
-
-          // reset all flags
-          induced_drag_on = induced_drag_on_saved;
-          skin_drag_on = skin_drag_on_saved;
-        }
-        ntiky = 5;
-        plotx[1][0] = cdref;
-        ploty[1][0] = clref;
-        labx = String.valueOf("");
-        labxu = String.valueOf("");
-        laby = String.valueOf("Cl");
-        labyu = String.valueOf("");
-            
-        break;
+      clref =  getCl_plot(current_part.camber/25,current_part.thickness/25,aoa_absolute);
+      if (Math.abs(clref) <= .001) clref = .001;    /* protection */
+
+      lftref = clref * q0_SI * current_part.area;
+        
+      double alfd = aoa_absolute;
+      //   attempt to fix symmetry problem
+      if (fix_symmetry_problem && current_part.camber < 0.0) alfd = - aoa_absolute;
+      //
+
+      cdref = // was: solver.get_Cd(clref, alfd, current_part.thickness, current_part.camber);
+        solver.get_Cd(alfd);
+
+      drgref = cdref * q0_SI * current_part.area;
+
+      if (current_part == strut) {
+        // typically only 30% sits in water
+        drgref *= (1- alt_val/100);
       }
+   
+      //  load up the current plot, one method per plot type so that
+      //  each is small enough for the JIT
+      switch (plot_type) {
+      case PLOT_TYPE_PRESSURE: load_pressure_plot(aoa_absolute); break;
+      case PLOT_TYPE_VELOCITY: load_velocity_plot(aoa_absolute); break;
+      case PLOT_TYPE_ANGLE: load_angle_plot(aoa_absolute); break;
+      case PLOT_TYPE_THICKNESS: load_thickness_plot(aoa_absolute); break;
+      case PLOT_TYPE_CAMBER: load_camber_plot(aoa_absolute); break;
+      case PLOT_TYPE_CG_VS_SPEED: load_cg_vs_speed_plot(); break;
+      case PLOT_TYPE_CURR_PART_VS_SPEED: load_curr_part_vs_speed_plot(); break;
+      case PLOT_TYPE_DRAG_TOTALS_VS_SPEED: load_drag_totals_vs_speed_plot(); break;
+      case PLOT_TYPE_ALTITUDE: load_altitude_plot(); break;
+      case PLOT_TYPE_WING_AREA: load_wing_area_plot(); break;
+      case PLOT_TYPE_DENSITY: load_density_plot(); break;
+      case PLOT_TYPE_LIFT_DRAG_POLARS: load_polars_plot(alfd); break;
       default:;
       }
 
-      // determine y - range, aux comp
+      set_plot_range();
+      if (jfr != null) 
+        jfr_load_plot.commit(jfr, t_foil_name, plot_type < PLOT_TYPE_NAMES.length ? PLOT_TYPE_NAMES[plot_type] : "" + plot_type, 
+                             current_part.name, npt);
+    } // end Plot.loadPlot
+
+    // plot ranges and ticks for what load_*_plot just loaded
+    void set_plot_range () {
+      int index;
       switch (plot_type) {
       case PLOT_TYPE_ANGLE: 
         switch (plot_y_val) {
@@ -13151,7 +15036,741 @@ public class FoilBoard extends JApplet {
       }          
       default:;
       }         
-    } // end Plot.loadPlot
+    }
+
+    // pressure variation
+    void load_pressure_plot (double aoa_absolute) {
+      int index;
+      Foil f = current_part.foil;
+      npt = POINTS_COUNT_HALF;
+      plot_trace_count = 3;
+      axis_y_label_width = axis_x_label_width = 2;
+      for (index = 1; index <= npt; ++ index) {
+        if (!foil_is_cylinder_or_ball(f)) {
+          plotx[0][index] =100.*(xpl[0][POINTS_COUNT_HALF-index + 1]/4.0 + .5);
+          plotx[1][index] =100.*(xpl[0][POINTS_COUNT_HALF+index - 1]/4.0 + .5);
+          plotx[2][index] =100.*(xpl[0][POINTS_COUNT_HALF+index - 1]/4.0 + .5);
+        } else {
+          plotx[0][index]=100.*(xpl[0][POINTS_COUNT_HALF-index+1]/(2.0*radius/lconv)+.5);
+          plotx[1][index]=100.*(xpl[0][POINTS_COUNT_HALF+index-1]/(2.0*radius/lconv)+.5);
+          plotx[2][index]=100.*(xpl[0][POINTS_COUNT_HALF+index-1]/(2.0*radius/lconv)+.5);
+        }
+        ploty[0][index] = plp[POINTS_COUNT_HALF-index + 1];
+        ploty[1][index] = plp[POINTS_COUNT_HALF+index - 1];
+        ploty[2][index] = ps0/2116. * pconv;
+        // **** Impose pstatic on surface plot for stalled foil
+        if (stall_model_type != STALL_MODEL_IDEAL_FLOW && index > 7) {
+          double apos = stall_model_type == STALL_MODEL_DFLT ? +10 : stall_model_apos;
+          double aneg = stall_model_type == STALL_MODEL_DFLT ? -10 : stall_model_aneg;
+          if (aoa_absolute > apos) ploty[0][index] = ploty[2][index];
+          if (aoa_absolute < aneg) ploty[1][index] = ploty[2][index];
+        }
+        // *******
+      }
+      begx = 0.0;
+      endx = 100.;
+      ntikx = 5;
+      ntiky = 5;
+      //       endy=1.02 * ps0/2116. * pconv;
+      //       begy=.95 * ps0/2116. * pconv;
+      laby = String.valueOf("Press");
+      if (lunits == IMPERIAL) labyu = String.valueOf("psi");
+      if (lunits == 1) labyu = String.valueOf("k-Pa");
+      labx = String.valueOf(" X ");
+      if (!foil_is_cylinder_or_ball(f)) labxu = String.valueOf("% chord");
+      else labxu = String.valueOf("% diameter");
+    }
+
+    // velocity variation
+    void load_velocity_plot (double aoa_absolute) {
+      int index;
+      Foil f = current_part.foil;
+      npt = POINTS_COUNT_HALF;
+      plot_trace_count = 3;
+      axis_y_label_width = 2;
+      axis_x_label_width = 1;
+      for (index = 1; index <= npt; ++ index) {
+        if (!foil_is_cylinder_or_ball(f)) {
+          plotx[0][index] = 100.*(xpl[0][POINTS_COUNT_HALF-index+1]/4.0+.5);
+          plotx[1][index] = 100.*(xpl[0][POINTS_COUNT_HALF+index-1]/4.0+.5);
+          plotx[2][index] = 100.*(xpl[0][POINTS_COUNT_HALF-index+1]/4.0+.5);
+        } else {
+          plotx[0][index]=100.*(xpl[0][POINTS_COUNT_HALF-index+1]/(2.0*radius/lconv)+.5);
+          plotx[1][index]=100.*(xpl[0][POINTS_COUNT_HALF+index-1]/(2.0*radius/lconv)+.5);
+          plotx[2][index]=100.*(xpl[0][POINTS_COUNT_HALF+index-1]/(2.0*radius/lconv)+.5);
+        }
+        ploty[0][index] = plv[POINTS_COUNT_HALF-index+1];
+        ploty[1][index] = plv[POINTS_COUNT_HALF+index-1];
+        ploty[2][index] = velocity;
+        // **** Impose free stream vel on surface plot for stalled foil
+        if (stall_model_type != STALL_MODEL_IDEAL_FLOW && index > 7) {
+          double apos = stall_model_type == STALL_MODEL_DFLT ? +10 : stall_model_apos;
+          double aneg = stall_model_type == STALL_MODEL_DFLT ? -10 : stall_model_aneg;
+          if (aoa_absolute > apos) ploty[0][index] = ploty[2][index];
+          if (aoa_absolute < aneg) ploty[1][index] = ploty[2][index];
+        }
+        // *******
+      }
+      begx = 0.0;
+      endx = 100.;
+      ntikx = 5;
+      ntiky = 6;
+      //      begy = 0.0;
+      //      endy = 500.;
+      laby = String.valueOf("Vel");
+      if (lunits == IMPERIAL) labyu = String.valueOf("mph");
+      if (lunits == 1) labyu = String.valueOf("kmh");
+      labx = String.valueOf(" X ");
+      if (!foil_is_cylinder_or_ball(f)) labxu = String.valueOf("% chord");
+      else labxu = String.valueOf("% diameter");
+
+      //  load up performance plots
+    }
+
+    // lift/cl/drag/cd versus angle
+    void load_angle_plot (double aoa_absolute) {
+      double del,angl,alfd;
+      int ic;
+      npt = 21;
+      plot_trace_count = (plot_y_val == PLOT_OUT_DRAG) ? 3 : 1;
+      axis_x_label_width = 2;  axis_y_label_width = 3;
+      begx=-20.0; endx=20.0; ntikx=5;
+      labx = String.valueOf("Angle");
+      labxu = String.valueOf("degrees");
+      del = 40.0 / (npt-1);
+
+      // fill array of x/y pairs
+      for (ic=1; ic <=npt; ++ic) {
+        angl = -20.0 + (ic-1)*del;
+        double clpl = getCl_plot(current_part.camber/25,current_part.thickness/25,angl);
+        alfd = angl;
+        double thkd = current_part.thickness;
+        double camd = current_part.camber;
+
+        //   attempt to fix symmetry problem
+        if (fix_symmetry_problem && camd < 0.0) alfd = - angl;
+        //
+
+        double cdpl = solver.get_Cd(clpl, alfd, thkd, camd);
+        plotx[0][ic] = angl;
+
+        switch (plot_y_val) {
+        case PLOT_OUT_LIFT:
+          ploty[0][ic] = lftref * clpl/clref; 
+          break;
+        case PLOT_OUT_CL:
+          ploty[0][ic] = clpl; 
+          break;
+        case PLOT_OUT_DRAG: 
+          ploty[0][ic] = drgref * cdpl/cdref;
+          break;
+        case PLOT_OUT_CD:  
+          ploty[0][ic] = cdpl;
+          break;
+        case PLOT_OUT_CM:  
+          ploty[0][ic] = current_part.compute_cm(alfd); // incl AR correction
+          break;
+        default:;
+          System.out.println("missing PLOT_OUT_...: case");
+        }
+      }
+
+      // decorate
+      ntiky = 5;
+      plotx[1][0] = aoa_absolute;
+      switch (plot_y_val) {
+      case PLOT_OUT_LIFT:
+        laby = String.valueOf("Lift");
+        if (lunits == IMPERIAL) labyu = String.valueOf("lbs");
+        if (lunits == 1) labyu = String.valueOf("N");
+        ploty[1][0] = lftref;
+        break;
+      case PLOT_OUT_CL:
+        laby = String.valueOf("Cl");
+        labyu = String.valueOf("");
+        ploty[1][0] = current_part.cl;
+        break;
+      case PLOT_OUT_DRAG:
+        laby = String.valueOf("Drag");
+        if (lunits == IMPERIAL) labyu = String.valueOf("lbs");
+        if (lunits == 1) labyu = String.valueOf("N");
+        ploty[1][0] = drgref;
+        break;
+      case PLOT_OUT_CD:
+        laby = String.valueOf("Cd");
+        labyu = String.valueOf("");
+        ploty[1][0] = current_part.cd;
+        break;
+      case PLOT_OUT_CM:
+        laby = String.valueOf("Cm1");
+        labyu = String.valueOf("");
+        ploty[1][0] = current_part.cm;
+        break;
+      default:
+      } 
+    }
+
+    // lift/cl/drag/cd versus thickness
+    void load_thickness_plot (double aoa_absolute) {
+      double del,alfd;
+      int ic;
+      npt = 20;
+      plot_trace_count = 1;
+      axis_x_label_width = 3;  axis_y_label_width = 3;
+      begx=0.0; 
+      endx=20.0; 
+      ntikx=5;
+      labx = String.valueOf("Thickness ");
+      labxu = String.valueOf("% chord");
+      del = 1.0 / (npt);
+      for (ic=1; ic <=npt; ++ic) {
+        double thkpl = .05 + (ic-1)*del;
+        double clpl = getCl_plot(current_part.camber/25,thkpl,aoa_absolute);
+        alfd = aoa_absolute;
+        double thkd = thkpl*25.0;
+        double camd = current_part.camber;
+        //   attempt to fix symmetry problem
+        if (fix_symmetry_problem && camd < 0.0) alfd = - aoa_absolute;
+        //
+        double cdpl = solver.get_Cd(clpl, alfd, thkd, camd);
+
+        if ( plot_y_val == PLOT_OUT_LIFT || plot_y_val == PLOT_OUT_CL) {
+          plotx[0][ic] = thkpl*25.;
+          if (plot_y_val == PLOT_OUT_LIFT)
+            ploty[0][ic] = lftref * clpl/clref;
+          else 
+            ploty[0][ic] = clpl;
+        }
+        else {
+          plotx[0][ic] = thkd;
+          if (plot_y_val == PLOT_OUT_DRAG)
+            ploty[0][ic] = drgref * cdpl/cdref;
+          else
+            ploty[0][ic] = cdpl;
+        }
+      }
+      ntiky = 5;
+      plotx[1][0] = current_part.thickness;
+      switch (plot_y_val) {
+      case PLOT_OUT_LIFT:
+        laby = String.valueOf("Lift");
+        labyu = current_display_force_unit_string();
+        ploty[1][0] = lftref;
+        break;
+      case PLOT_OUT_CL:
+        laby = String.valueOf("Cl");
+        ploty[1][0] = current_part.cl;
+        break;
+      case PLOT_OUT_DRAG:
+        laby = String.valueOf("Drag");
+        labyu = current_display_force_unit_string();
+        ploty[1][0] = drgref;
+        ploty[0][npt]= ploty[0][npt-1]= ploty[0][npt-2]=ploty[0][npt-3]=ploty[0][npt-4];
+        break;
+      case PLOT_OUT_CD:
+        laby = String.valueOf("Cd");
+        ploty[1][0] = current_part.cd;
+        ploty[0][npt] = ploty[0][npt-1] = ploty[0][npt-2]=ploty[0][npt-3]=ploty[0][npt-4];
+        break;
+      case PLOT_OUT_CM:
+        laby = String.valueOf("Cm2");
+        ploty[1][0] = current_part.cm;
+        //ploty[0][npt] = ploty[0][npt-1] = ploty[0][npt-2]=ploty[0][npt-3]=ploty[0][npt-4];
+        break;
+      default:
+      }
+    }
+
+    // lift/cl/drag/cd versus camber
+    void load_camber_plot (double aoa_absolute) {
+      double del,alfd;
+      int ic;
+      npt = 21;
+      plot_trace_count = 1;
+      axis_x_label_width = 4;  axis_y_label_width = 3;
+      begx=-20.; 
+      endx=20.; 
+      ntikx=5;
+      labx = String.valueOf("Camber ");
+      labxu = String.valueOf("% chord");
+      del = 2.0 / (npt-1);
+      for (ic=1; ic <=npt; ++ic) {
+        double campl = -1.0 + (ic-1)*del;
+        double clpl = getCl_plot(campl,current_part.thickness/25,aoa_absolute);
+        alfd = aoa_absolute;
+        double thkd = current_part.thickness;
+        double camd = campl * 25.0;
+        //   attempt to fix symmetry problem
+        if (fix_symmetry_problem && camd < 0.0) alfd = - aoa_absolute;
+        //
+        double cdpl = solver.get_Cd(clpl, alfd, thkd, camd);
+
+        if ( plot_y_val == PLOT_OUT_LIFT || plot_y_val == PLOT_OUT_CL) {
+          plotx[0][ic] = campl*25.0;
+          if (plot_y_val == PLOT_OUT_LIFT)
+            ploty[0][ic] = lftref * clpl/clref;
+          else 
+            ploty[0][ic] = clpl;
+        }
+        else {
+          plotx[0][ic] = camd;
+          if (plot_y_val == PLOT_OUT_DRAG)
+            ploty[0][ic] = drgref * cdpl/cdref;
+          else
+            ploty[0][ic] = cdpl;
+        }
+      }
+      ntiky = 5;
+      plotx[1][0] = current_part.camber;
+      switch (plot_y_val) {
+      case PLOT_OUT_LIFT:
+        laby = String.valueOf("Lift");
+        labyu = current_display_force_unit_string();
+        ploty[1][0] = lftref;
+        break;
+      case PLOT_OUT_CL:
+        laby = String.valueOf("Cl");
+        ploty[1][0] = current_part.cl;
+        break;
+      case PLOT_OUT_DRAG:
+        laby = String.valueOf("Drag");
+        labyu = current_display_force_unit_string();
+        ploty[1][0] = drgref;
+        ploty[0][1] = ploty[0][2]= ploty[0][3];
+        ploty[0][npt] = ploty[0][npt -1] = ploty[0][npt - 2];
+        break;
+      case PLOT_OUT_CD:
+        laby = String.valueOf("Cd");
+        ploty[1][0] = current_part.cd;
+        ploty[0][1] = ploty[0][2]= ploty[0][3];
+        ploty[0][npt] = ploty[0][npt -1] = ploty[0][npt-2];
+        break;
+      case PLOT_OUT_CM:
+        laby = String.valueOf("Cm");
+        ploty[1][0] = current_part.cm;
+        //ploty[0][1] = ploty[0][2]= ploty[0][3];
+        //ploty[0][npt] = ploty[0][npt -1] = ploty[0][npt-2];
+        break;
+      default:
+      }
+    }
+
+    // rider position versus speed
+    void load_cg_vs_speed_plot () {
+      double del,spd;
+      int ic;
+      on_cg_plotting = true; // for debugging only 
+
+      ntiky = 8;
+      laby = "";
+      labyu = "";
+
+      npt = 90;
+      start_pt = 1;
+      plot_trace_count = 5;
+      axis_x_label_width = 5;  axis_y_label_width = 3;
+
+      labx = String.valueOf("Speed ");
+      // spd = Math.min(8, velocity);
+      spd = 8;
+      labxu = current_display_speed_unit_string();
+      double beg_spd = 5; // 4+load/100; //ad hoc  old: min_takeoff_speed == 0 ? 15 : min_takeoff_speed; // velocity/2; // 10;
+      double end_spd = 50;
+      del = (npt == 1) ? 0 : (end_spd-beg_spd)/(npt-1);
+
+      plotx[0][0] = plotx[1][0]  = plotx[2][0] = plotx[3][0] = plotx[4][0] = speed_kmh_to_display_units(velocity);
+      ploty[0][0] = -cg_pos_board_level * 
+        ((display_units == METRIC || display_units == METRIC_2) ? 100 : 39.3701);
+      ploty[1][0] = (display_units == METRIC) 
+        ? 0.10197*total_drag() : force_n_to_display_units(total_drag());
+      ploty[2][0] = craft_pitch;
+      ploty[3][0] = foil_lift()/total_drag();
+      ploty[4][0] = -cg_pos_of_rider * 
+        ((display_units == METRIC || display_units == METRIC_2) ? 100 : 39.3701);
+
+      // the sweep runs on engine copies, this instance's state stays intact
+      double[] speeds = new double[npt];
+      for (spd = end_spd, ic=npt; ic >= 1; ic--, spd-=del) 
+        speeds[npt-ic] = spd;
+      VPP.SweepPoint[] sweep = vpp.steady_flight_sweep(speeds, load);
+
+      for (ic=npt; ic >= 1; ic--) {
+        VPP.SweepPoint pt = sweep[npt-ic];
+        if (pt.lift < load) { // halt
+          start_pt = ic+1;
+          break;
+        }
+
+        plotx[0][ic] = 
+          plotx[1][ic] = 
+          plotx[2][ic] = 
+          plotx[3][ic] = 
+          plotx[4][ic] = speed_kmh_to_display_units(pt.speed);
+
+        ploty[0][ic] = -pt.cg_pos_board_level * 
+          ((display_units == METRIC || display_units == METRIC_2) ? 100 : 39.3701);
+        ploty[1][ic] = (display_units == METRIC) 
+          ? 0.10197*pt.drag : force_n_to_display_units(pt.drag);
+        ploty[2][ic] = pt.pitch;
+        ploty[3][ic] = pt.lift/pt.drag;
+        ploty[4][ic] = -pt.cg_pos_of_rider * 
+          ((display_units == METRIC || display_units == METRIC_2) ? 100 : 39.3701);
+      }
+
+      on_cg_plotting = false;
+    }
+
+    // various drag sources versus speed
+    void load_curr_part_vs_speed_plot () {
+      double del,spd;
+      int ic;
+      ntiky = 7;
+      laby = current_display_force_unit_string();
+      labyu = "";
+
+      npt = 40;
+      plot_trace_count = 5;
+      axis_x_label_width = 5;  axis_y_label_width = 3;
+
+      labx = String.valueOf("Speed");
+      // spd = Math.min(8, velocity);
+      spd = 8;
+      labxu = current_display_speed_unit_string();
+      double beg_spd = 5;
+      double end_spd = 50;
+      del = (npt == 1) ? 0 : (end_spd-beg_spd)/(npt-1);
+
+      boolean saved_flag = can_do_gui_updates;
+      can_do_gui_updates = false;;
+      //recomp_all_parts(); // only make sure we sync cache with saved part props
+      double saved_velocity = velocity;
+
+      plotx[0][0] = plotx[1][0]  = plotx[2][0] = plotx[3][0] = plotx[4][0] = 
+        speed_kmh_to_display_units(velocity);
+
+      ploty[0][0] = Math.log10(force_n_to_display_units(current_part.drag)); // total
+      ploty[1][0] = Math.log10(force_n_to_display_units(current_part.drag_profile));
+      ploty[2][0] = Math.log10(force_n_to_display_units(current_part.drag_aux));
+      ploty[3][0] = Math.log10(force_n_to_display_units(current_part.drag_junc));
+      ploty[4][0] = Math.log10(force_n_to_display_units(current_part.drag_spray));
+
+      for (spd = end_spd, ic=npt; ic >= 1; ic--, spd-=del) {
+        velocity = spd;
+        //? vpp.steady_flight_at_given_speed(5, craft_pitch);
+        vpp.steady_flight_at_given_speed(5, 0);
+        // recomp_all_parts(); // just in case
+
+        plotx[0][ic] = 
+          plotx[1][ic] = 
+          plotx[2][ic] = 
+          plotx[3][ic] = 
+          plotx[4][ic] = 
+          speed_kmh_to_display_units(velocity);
+
+        ploty[0][ic] = Math.log10(force_n_to_display_units(current_part.drag)); // total
+        ploty[1][ic] = Math.log10(force_n_to_display_units(current_part.drag_profile));
+        ploty[2][ic] = Math.log10(force_n_to_display_units(current_part.drag_aux));
+        ploty[3][ic] = Math.log10(force_n_to_display_units(current_part.drag_junc));
+        ploty[4][ic] = Math.log10(force_n_to_display_units(current_part.drag_spray));
+
+      }
+
+      velocity = saved_velocity;
+      vpp.steady_flight_at_given_speed(5, 0);
+      can_do_gui_updates = saved_flag;
+      // this is needed for imported foils so that outline is recomputed
+      solver.compute_foil_geometry(effective_aoa());
+    }
+
+    // various drag sources versus speed
+    void load_drag_totals_vs_speed_plot () {
+      double del,spd;
+      int ic;
+      ntiky = 7;
+      laby = current_display_force_unit_string();
+      labyu = "";
+
+      npt = 40;
+      plot_trace_count = 5;
+      axis_x_label_width = 5;  axis_y_label_width = 3;
+
+      labx = String.valueOf("Speed");
+      // spd = Math.min(8, velocity);
+      spd = 8;
+      labxu = current_display_speed_unit_string();
+      double beg_spd = 5;
+      double end_spd = 50;
+      del = (npt == 1) ? 0 : (end_spd-beg_spd)/(npt-1);
+
+      boolean saved_flag = can_do_gui_updates;
+      can_do_gui_updates = false;;
+      //recomp_all_parts(); // only make sure we sync cache with saved part props
+      double saved_velocity = velocity;
+
+      plotx[0][0] = plotx[1][0]  = plotx[2][0] = plotx[3][0] = plotx[4][0] = 
+        speed_kmh_to_display_units(velocity);
+
+      ploty[0][0] = Math.log10(force_n_to_display_units(wing.drag));
+      ploty[1][0] = Math.log10(force_n_to_display_units(stab.drag));
+      ploty[2][0] = Math.log10(force_n_to_display_units(strut.drag));
+      ploty[3][0] = Math.log10(force_n_to_display_units(fuse.drag));
+      ploty[4][0] = Math.log10(force_n_to_display_units
+                               (wing.drag_junc + stab.drag_junc + strut.drag_junc + fuse.drag_junc));
+
+
+      for (spd = end_spd, ic=npt; ic >= 1; ic--, spd-=del) {
+        velocity = spd;
+        //? vpp.steady_flight_at_given_speed(5, craft_pitch);
+        vpp.steady_flight_at_given_speed(5, 0);
+        // recomp_all_parts(); // just in case
+
+        plotx[0][ic] = 
+          plotx[1][ic] = 
+          plotx[2][ic] = 
+          plotx[3][ic] = 
+          plotx[4][ic] = 
+          speed_kmh_to_display_units(velocity);
+
+        ploty[0][ic] = Math.log10(force_n_to_display_units(wing.drag));
+        ploty[1][ic] = Math.log10(force_n_to_display_units(stab.drag));
+        ploty[2][ic] = Math.log10(force_n_to_display_units(strut.drag));
+        ploty[3][ic] = Math.log10(force_n_to_display_units(fuse.drag));
+        ploty[4][ic] = Math.log10(force_n_to_display_units
+                                  (wing.drag_junc + stab.drag_junc + strut.drag_junc + fuse.drag_junc));
+      }
+
+      velocity = saved_velocity;
+      vpp.steady_flight_at_given_speed(5, 0);
+      can_do_gui_updates = saved_flag;
+      // this is needed for imported foils so that outline is recomputed
+      solver.compute_foil_geometry(effective_aoa());
+    }
+
+    // lift and drag versus altitude
+    void load_altitude_plot () {
+      double del,ppl,tpl,hpl;
+      int ic;
+      npt = 20;
+      plot_trace_count = 1;
+      axis_x_label_width = 6;  axis_y_label_width = 3;
+      begx=0.0; 
+      endx=50.0; 
+      ntikx=6;
+      if (lunits == IMPERIAL) endx = 50.0;
+      if (lunits == 1) endx = 15.0;
+      labx = String.valueOf("Altitude");
+      if (lunits == IMPERIAL) labxu = String.valueOf("k-ft");
+      if (lunits == 1) labxu = String.valueOf("km");
+      del = altmax / npt;
+      for (ic=1; ic <=npt; ++ic) {
+        hpl = (ic-1)*del;
+        plotx[0][ic] = lconv*hpl/1000.;
+        tpl = 518.6;
+        ppl = 2116.;
+        if (planet == 0) {
+          if (hpl < 36152.)   {
+            tpl = 518.6 - 3.56 * hpl /1000.;
+            ppl = 2116. * Math.pow(tpl/518.6, 5.256);
+          }
+          else {
+            tpl = 389.98;
+            ppl = 2116. * .236 * Math.exp((36000.-hpl)/(53.35*tpl));
+          }
+          if (plot_y_val_2 == 0) 
+            ploty[0][ic] = lftref * ppl/(tpl*53.3*32.17) / rho_EN;
+          else
+            ploty[0][ic] = drgref * ppl/(tpl*53.3*32.17) / rho_EN;
+        }
+        if (planet == 1) {
+          if (hpl <= 22960.) {
+            tpl = 434.02 - .548 * hpl/1000.;
+            ppl = 14.62 * Math.pow(2.71828,-.00003 * hpl);
+          }
+          if (hpl > 22960.) {
+            tpl = 449.36 - 1.217 * hpl/1000.;
+            ppl = 14.62 * Math.pow(2.71828,-.00003 * hpl);
+          }
+          if (plot_y_val_2 == 0) 
+            ploty[0][ic] = lftref * ppl/(tpl*1149.) / rho_EN;
+          else 
+            ploty[0][ic] = drgref * ppl/(tpl*1149.) / rho_EN;
+        }
+        if (planet == 2) {
+          if (plot_y_val_2 == 0) 
+            ploty[0][ic] = lftref;
+          else 
+            ploty[0][ic] = drgref;
+        }
+      }
+      ntiky = 5;
+      if (plot_y_val_2 == 0) laby = String.valueOf("Lift");
+      if (plot_y_val_2 == 1) laby = String.valueOf("Drag");
+      plotx[1][0] = alt_val/100.;
+      if (plot_y_val_2 == 0) ploty[1][0] = lftref;
+      if (plot_y_val_2 == 1) ploty[1][0] = drgref;
+      if (lunits == IMPERIAL) labyu = String.valueOf("lbs");
+      if (lunits == 1) labyu = String.valueOf("N");
+    }
+
+    // lift and drag versus area
+    void load_wing_area_plot () {
+      npt = 2;
+      plot_trace_count = 1;
+      axis_x_label_width = 7;  axis_y_label_width = 3;
+      begx=0.0; ntikx=6;
+      labx = String.valueOf("Area ");
+      if (lunits == IMPERIAL) {
+        labxu = String.valueOf("sq ft");
+        endx = 2000.0;
+        labyu = String.valueOf("lbs");
+        plotx[0][1] = 0.0;
+        ploty[0][1] = 0.0;
+        plotx[0][2] = 2000.;
+        if (plot_y_val_2 == 0) ploty[0][2] = lftref * 2000. /current_part.area;
+        if (plot_y_val_2 == 1) ploty[0][2] = drgref * 2000. /current_part.area;
+      }
+      if (lunits == 1) {
+        labxu = String.valueOf("sq m");
+        endx = 200.;
+        labyu = String.valueOf("N");
+        plotx[0][1] = 0.0;
+        ploty[0][1] = 0.0;
+        plotx[0][2] = 200.;
+        if (plot_y_val_2 == 0) ploty[0][2] = lftref * 200. /current_part.area; 
+        if (plot_y_val_2 == 1) ploty[0][2] = drgref * 200. /current_part.area; 
+      }
+
+      ntiky = 5;
+      plotx[1][0] = current_part.area;
+      if (plot_y_val_2 == 0) {
+        laby = String.valueOf("Lift");
+        ploty[1][0] = lftref;
+      }
+      else {
+        laby = String.valueOf("Drag");
+        ploty[1][0] = drgref;
+      }
+    }
+
+    // lift and drag versus density
+    void load_density_plot () {
+      npt = 2;
+      plot_trace_count = 1;
+      axis_x_label_width = 7; axis_y_label_width = 3;
+      begx=0.0; ntikx=6;
+      labx = String.valueOf("Density ");
+      if (planet == 0) {
+        if (lunits == IMPERIAL) {
+          labxu = String.valueOf("x 10,000 slug/cu ft");
+          endx = 25.0;
+          plotx[0][1] = 0.0;
+          ploty[0][1] = 0.0;
+          plotx[0][2] = 23.7;
+          if (plot_y_val_2 == 0) ploty[0][2] = lftref * 23.7 /(rho_EN*10000.);
+          if (plot_y_val_2 == 1) ploty[0][2] = drgref * 23.7 /(rho_EN*10000.);
+          plotx[1][0] = rho_EN*10000.;
+        }
+        if (lunits == 1) {
+          labxu = String.valueOf("g/cu m");
+          endx = 1250.;
+          plotx[0][1] = 0.0;
+          ploty[0][1] = 0.0;
+          plotx[0][2] = 1226;
+          if (plot_y_val_2 == 0) ploty[0][2] = lftref * 23.7 /(rho_EN*10000.);
+          if (plot_y_val_2 == 1) ploty[0][2] = drgref * 23.7 /(rho_EN*10000.);
+          plotx[1][0] = rho_EN*1000.*515.4;
+        }
+      }
+
+      if (planet == 1) {
+        if (lunits == IMPERIAL) {
+          labxu = String.valueOf("x 100,000 slug/cu ft");
+          endx = 5.0;
+          plotx[0][1] = 0.0;
+          ploty[0][1] = 0.0;
+          plotx[0][2] = 2.93;
+          if (plot_y_val_2 == 0) ploty[0][2] = lftref * 2.93 /(rho_EN*100000.);
+          if (plot_y_val_2 == 1) ploty[0][2] = drgref * 2.93 /(rho_EN*100000.);
+          plotx[1][0] = rho_EN*100000.;
+        }
+        if (lunits == 1) {
+          labxu = String.valueOf("g/cu m");
+          endx = 15.;
+          plotx[0][1] = 0.0;
+          ploty[0][1] = 0.0;
+          plotx[0][2] = 15.1;
+          if (plot_y_val_2 == 0) ploty[0][2] = lftref * 2.93 /(rho_EN*100000.);
+          if (plot_y_val_2 == 1) ploty[0][2] = drgref * 2.93 /(rho_EN*100000.);
+          plotx[1][0] = rho_EN*1000.*515.4;
+        }
+      }
+      ntiky = 5;
+      if (plot_y_val_2 == PLOT_OUT_2_LIFT) {
+        laby = String.valueOf("Lift");
+        ploty[1][0] = lftref;
+      } else if (plot_y_val_2 == PLOT_OUT_2_DRAG) { 
+        laby = String.valueOf("Drag");
+        ploty[1][0] = drgref;
+      }
+
+      labyu = current_display_force_unit_string();
+    }
+
+    // lift/drag polar. alfd is the one loadPlot computed, the first
+    // point's 2D drag uses it before the loop sets it
+    void load_polars_plot (double alfd) {
+      double del,angl;
+      int ic;
+      Foil f = current_part.foil;
+      npt = 40;
+      plot_trace_count = 3;
+      axis_x_label_width = 4;  axis_y_label_width = 3;
+      ntikx=5;
+      del = 1;
+      angl = -20;
+      for (ic=0; angl<=20; ++ic, angl+=del) {
+        double thkd = current_part.thickness;
+        double camd = current_part.camber;
+
+        // note that below is always with Reynolds correction ON which is correct.
+        // boolean ar_lift_corr_saved = ar_lift_corr;
+        boolean induced_drag_on_saved = induced_drag_on;
+        // no AR correction - infinite 2D foil lift
+        induced_drag_on = false;
+        double cl_2D = ploty[0][ic] = f.get_Cl(angl); 
+        boolean skin_drag_on_saved = skin_drag_on;
+        skin_drag_on = false;
+        // plain 2D form/pressure drag - no induced drag, no skin drag              
+        plotx[0][ic] = solver.get_Cd(cl_2D, alfd, thkd, camd);
+
+        // clpl is lift including AR corection
+        double clpl = getCl_plot(camd/25, thkd/25, angl);
+        ploty[1][ic] = ploty[2][ic] = clpl;
+
+        alfd = angl;
+        // attempt to fix symmetry problem
+        if (fix_symmetry_problem && camd < 0.0) alfd = - angl;
+
+        // now, skin drag ON
+        skin_drag_on = true;
+        // thsis now includes skin drag but no induced yet
+        plotx[1][ic] = solver.get_Cd(clpl, alfd, thkd, camd);
+        // now,  with skin and induced drag on
+        induced_drag_on = true;
+        plotx[2][ic] = solver.get_Cd(clpl, alfd, thkd, camd);
+
+        // reset all flags
+        induced_drag_on = induced_drag_on_saved;
+        skin_drag_on = skin_drag_on_saved;
+      }
+      ntiky = 5;
+      plotx[1][0] = cdref;
+      ploty[1][0] = clref;
+      labx = String.valueOf("");
+      labxu = String.valueOf("");
+      laby = String.valueOf("Cl");
+      labyu = String.valueOf("");
+    }
 
 
     // camb_val and thic_val are in %/25, angl is in degrees
@@ -13759,9 +16378,48 @@ public class FoilBoard extends JApplet {
     }
   } // end class Plot 
 
+  // A report template compiled once: the literal pieces between $KEY
+  // slots. render() fills all slots in one pass instead of a chain of
+  // String.replace calls each copying the whole text.
+  static class ReportTemplate {
+    String[] pieces; // pieces.length == slots.length + 1
+    int[] slots;     // index into keys/values
+
+    ReportTemplate (String text, String[] keys) {
+      ArrayList<String> pcs = new ArrayList<String>();
+      ArrayList<Integer> sls = new ArrayList<Integer>();
+      int from = 0, i = text.indexOf('$');
+      while (i >= 0) {
+        int key = -1;
+        for (int k = 0; k < keys.length; k++) // longest match wins
+          if (text.startsWith(keys[k], i) && (key < 0 || keys[k].length() > keys[key].length()))
+            key = k;
+        if (key >= 0) {
+          pcs.add(text.substring(from, i));
+          sls.add(Integer.valueOf(key));
+          from = i + keys[key].length();
+        }
+        i = text.indexOf('$', key >= 0 ? from : i + 1);
+      }
+      pcs.add(text.substring(from));
+      pieces = new String[pcs.size()];
+      for (int k = 0; k < pieces.length; k++) pieces[k] = pcs.get(k);
+      slots = new int[sls.size()];
+      for (int k = 0; k < slots.length; k++) slots[k] = sls.get(k);
+    }
+
+    String render (String[] values) {
+      StringBuilder sb = new StringBuilder(4096);
+      for (int k = 0; k < slots.length; k++) 
+        sb.append(pieces[k]).append(values[slots[k]]);
+      return sb.append(pieces[slots.length]).toString();
+    }
+  }
+
   class PerfWeb extends Panel {
     FoilBoard app;
     JEditorPane prnt;
+    long shown_version = -1;
 
     PerfWeb (FoilBoard target) {
       setLayout(new GridLayout(1,1,0,0));
@@ -13791,27 +16449,46 @@ public class FoilBoard extends JApplet {
       
     }
 
+    // setText relayouts and repaints the pane, so only when changed
     void updateReport () { 
+      if (shown_version == state_version) return;
       long start = System.currentTimeMillis();
-      prnt.setText(genReport()); 
+      prnt.setText(report()); 
+      shown_version = state_version;
       // System.out.println("-- PerfWeb updateReport, ms: " + (System.currentTimeMillis() - start));
     }
-      
-    String genReport () {
-      String l_u = current_display_size_unit_string();
-      String v_u = current_display_speed_unit_string();
-      String f_u = current_display_force_unit_string();
-      String html_text = 
+
+    String report;
+    long report_version = -1;
+
+    // genReport() cached against state_version
+    String report () {
+      if (report == null || report_version != state_version) {
+        report = genReport();
+        report_version = state_version;
+      }
+      return report;
+    }
+
+    final String[] report_keys = {
+      "$LU", "$VU", "$FU", "$DATE", "$NAME",
+      "$TKS", "$TKL", "$TKD", "$TKX", "$CRS", "$CRL", "$CRD", "$CRX", "$RCS", "$RCL", "$RCD", "$RCX",
+      "$WS", "$WC", "$WT", "$Wa", "$WA", "$WF",
+      "$SS", "$SC", "$ST", "$Sa", "$SA", "$SF",
+      "$FS", "$FC", "$FT", "$Fa", "$FA", "$FF",
+      "$MS", "$MC", "$MT", "$Ma", "$MA", "$MF" };
+
+    final ReportTemplate report_template = new ReportTemplate(
         "<style>\n table {border:1px solid black;border-collapse:collapse;width:100%}\n"+
         " th, td {padding:0px;text-align:right;}\n</style>\n\n" + 
         "<body style='font-size:14pt'>\n" + 
-        "<b>$NAME</b>\n" +  dateString() +
+        "<b>$NAME</b>\n$DATE" +
         // "<br>Specs" + 
         "<table border='0'>\n"+
         "<thead >\n"+
         "<tr style='background-color:yellow'>\n"+
-        "<th>Part</th><th>Span<br>"+l_u+"</th><th>Chord<br>"+l_u+"</th><th>Thickness<br>averg,"+l_u+"</th>\n"+
-        "<th>Angle<br>deg</th><th>Area<br>"+l_u+"2</th><th>Foil(Profile)</th></tr></thead>\n"+
+        "<th>Part</th><th>Span<br>$LU</th><th>Chord<br>$LU</th><th>Thickness<br>averg,$LU</th>\n"+
+        "<th>Angle<br>deg</th><th>Area<br>$LU2</th><th>Foil(Profile)</th></tr></thead>\n"+
         "<tbody>\n"+
         "  <tr style='background-color:#ffffff'><td>Wing</td><td>$WS</td><td>$WC</td><td>$WT</td><td>$Wa</td><td>$WA</td><td>$WF</td></tr>\n"+
         "  <tr style='background-color:#f0f0f0'><td>Stab</td><td>$SS</td><td>$SC</td><td>$ST</td><td>$Sa</td><td>$SA</td><td>$SF</td></tr>\n"+
@@ -13821,66 +16498,56 @@ public class FoilBoard extends JApplet {
         "<table border='0'>\n"+
         "<thead >\n"+
         "<tr style='background-color:yellow'>\n"+
-        "<th>Performance Evaluation</th><th>Speed<br>"+v_u+"</th><th>Lift<br>"+f_u+"</th><th>Drag<br>"+f_u+"</th><th>Rider C.G.<br>Location</th></tr></thead>\n"+
+        "<th>Performance Evaluation</th><th>Speed<br>$VU</th><th>Lift<br>$FU</th><th>Drag<br>$FU</th><th>Rider C.G.<br>Location</th></tr></thead>\n"+
         "<tbody>\n"+
         "  <tr style='background-color:#ffffff'><td>Takeoff (Min Speed)</td><td>$TKS</td><td>$TKL</td><td>$TKD</td><td>$TKX</td></tr>\n"+
         "  <tr style='background-color:#f0f0f0'><td>Cruise (Least Drag)</td><td>$CRS</td><td>$CRL</td><td>$CRD</td><td>$CRX</td></tr>\n"+
         "  <tr style='background-color:#ffffff'><td>Race (Max Speed)</td><td>$RCS</td><td>$RCL</td><td>$RCD</td><td>$RCX</td></tr>\n"+
-        "</tbody></table>\n\n</body>"
-        ;
+        "</tbody></table>\n\n</body>", 
+        report_keys);
 
-      html_text = html_text.replace("$TKS", toStringOptQMFilter1(min_takeoff_speed));
-      html_text = html_text.replace("$TKL", toStringOptQMFilter0(min_takeoff_lift));
-      html_text = html_text.replace("$TKD", toStringOptQMFilter0(min_takeoff_drag));
-      html_text = html_text.replace("$TKX", cg_text(min_takeoff_cg));
-      html_text = html_text.replace("$CRS", toStringOptQMFilter1(cruising_speed));
-      html_text = html_text.replace("$CRL", toStringOptQMFilter0(cruising_lift));
-      html_text = html_text.replace("$CRD", toStringOptQMFilter0(cruising_drag));
-      html_text = html_text.replace("$CRX", cg_text(cruising_cg));
-      html_text = html_text.replace("$RCS", toStringOptQMFilter1(max_speed_speed));
-      html_text = html_text.replace("$RCL", toStringOptQMFilter0(max_speed_lift));
-      html_text = html_text.replace("$RCD", toStringOptQMFilter0(max_speed_drag));
-      html_text = html_text.replace("$RCX", cg_text(max_speed_cg));
-
-
-      html_text = html_text.replace("$NAME", t_foil_name);
-
-      html_text = html_text.replace("$WS", ""+make_size_info_in_display_units(wing.span,false));
-      html_text = html_text.replace("$WC", ""+make_size_info_in_display_units(wing.chord,false));
-      html_text = html_text.replace("$WT", ""+make_size_info_in_display_units(wing.chord*wing.thickness/100,false)); // 100*ch*th/100%
-      html_text = html_text.replace("$Wa", ""+filter1(wing.aoa));
-      html_text = html_text.replace("$WA", ""+make_area_info_in_display_units(wing.span*wing.chord,false));
-      html_text = html_text.replace("$WF", wing.foil_descr());
-
-      html_text = html_text.replace("$SS", ""+make_size_info_in_display_units(stab.span,false));
-      html_text = html_text.replace("$SC", ""+make_size_info_in_display_units(stab.chord,false));
-      html_text = html_text.replace("$ST", ""+make_size_info_in_display_units(stab.chord*stab.thickness/100,false));
-      html_text = html_text.replace("$Sa", ""+filter1(stab.aoa));
-      html_text = html_text.replace("$SA", ""+make_area_info_in_display_units(stab.span*stab.chord,false));
-      html_text = html_text.replace("$SF", stab.foil_descr());
-
-      html_text = html_text.replace("$MS", ""+make_size_info_in_display_units(strut.span,false));
-      html_text = html_text.replace("$MC", ""+make_size_info_in_display_units(strut.chord,false));
-      html_text = html_text.replace("$MT", ""+make_size_info_in_display_units(strut.chord*strut.thickness/100,false));
-      html_text = html_text.replace("$Ma", ""+filter1(strut.aoa));
-      html_text = html_text.replace("$MA", ""+make_area_info_in_display_units(strut.span*strut.chord,false));
-      html_text = html_text.replace("$MF", strut.foil_descr());
-
-      html_text = html_text.replace("$FS", ""+make_size_info_in_display_units(fuse.span,false));
-      html_text = html_text.replace("$FC", ""+make_size_info_in_display_units(fuse.chord,false));
-      html_text = html_text.replace("$FT", ""+make_size_info_in_display_units(fuse.chord*fuse.thickness/100,false));
-      html_text = html_text.replace("$Fa", ""+filter1(fuse.aoa));
-      html_text = html_text.replace("$FA", ""+make_area_info_in_display_units(fuse.span*fuse.chord,false));
-      html_text = html_text.replace("$FF", fuse.foil_descr());
-
-      return html_text;
+    String genReport () {
+      String[] v = new String[report_keys.length];
+      int i = 0;
+      v[i++] = current_display_size_unit_string();
+      v[i++] = current_display_speed_unit_string();
+      v[i++] = current_display_force_unit_string();
+      v[i++] = dateString();
+      v[i++] = t_foil_name;
+
+      v[i++] = toStringOptQMFilter1(min_takeoff_speed);
+      v[i++] = toStringOptQMFilter0(min_takeoff_lift);
+      v[i++] = toStringOptQMFilter0(min_takeoff_drag);
+      v[i++] = cg_text(min_takeoff_cg);
+      v[i++] = toStringOptQMFilter1(cruising_speed);
+      v[i++] = toStringOptQMFilter0(cruising_lift);
+      v[i++] = toStringOptQMFilter0(cruising_drag);
+      v[i++] = cg_text(cruising_cg);
+      v[i++] = toStringOptQMFilter1(max_speed_speed);
+      v[i++] = toStringOptQMFilter0(max_speed_lift);
+      v[i++] = toStringOptQMFilter0(max_speed_drag);
+      v[i++] = cg_text(max_speed_cg);
+
+      // same order as the rows: Wing, Stab, Fuse, Mast
+      Part[] parts = {wing, stab, fuse, strut};
+      for (int k = 0; k < parts.length; k++) {
+        Part p = parts[k];
+        v[i++] = ""+make_size_info_in_display_units(p.span,false);
+        v[i++] = ""+make_size_info_in_display_units(p.chord,false);
+        v[i++] = ""+make_size_info_in_display_units(p.chord*p.thickness/100,false); // 100*ch*th/100%
+        v[i++] = ""+filter1(p.aoa);
+        v[i++] = ""+make_area_info_in_display_units(p.span*p.chord,false);
+        v[i++] = p.foil_descr();
+      }
 
+      return report_template.render(v);
     }
   } // PerfWeb
 
   class PerfWebSrc extends Panel {
     FoilBoard app;
     JTextArea text;
+    long shown_version = -1;
 
     PerfWebSrc (FoilBoard target) {
       setLayout(new GridLayout(1,1,0,0));
@@ -13890,7 +16557,10 @@ public class FoilBoard extends JApplet {
     }
     public void paint (Graphics g) {
       // System.out.println("-- paint " + this);
-      text.setText(perfweb.genReport());
+      if (shown_version != state_version) {
+        text.setText(perfweb.report());
+        shown_version = state_version;
+      }
       super.paint(g);
     }
   } // PerfWebSrc
@@ -13909,16 +16579,20 @@ public class FoilBoard extends JApplet {
       // layout = new CardLayout();
       // setLayout(layout);
 
-      probe = new Probe(app);
-      geometry = new Geometry(app);
-      data = new Data(app);
+      // only Summary is shown at first, the rest are made when first
+      // selected, see LazyTab
       
       // TODO: regen this on update (if active)
       // perfweb = new PerfWeb(app);
       addTab("Summary", null, perfweb, "Shape and Performance Summary");
-      addTab("Geometry", null, geometry, "Hydrofoil components geometry,\nfoil/profile geometry tables or links");
-      addTab("Data", null, data, "Hydrofoil components data,\nincluding size, shape etc");
-      addTab("Probe", null, probe, "Fluid Flow Probe Display");
+      addTab("Geometry", null, new LazyTab("Geometry") { Panel make () { return geometry = new Geometry(app); }}, 
+             "Hydrofoil components geometry,\nfoil/profile geometry tables or links");
+      addTab("Data", null, new LazyTab("Data") { Panel make () { return data = new Data(app); }}, 
+             "Hydrofoil components data,\nincluding size, shape etc");
+      addTab("Probe", null, new LazyTab("Probe") { Panel make () { return probe = new Probe(app); }}, 
+             "Fluid Flow Probe Display");
+      addTab("Diagnostics", null, new LazyTab("Diagnostics") { Panel make () { return new Diagnostics(app); }}, 
+             "Convergence diagnostics of the latest VPP goal seeks");
       // old: addTab("Plot", null, pp, "Show Plot");
 
 
@@ -13955,6 +16629,9 @@ public class FoilBoard extends JApplet {
       this.addChangeListener(new javax.swing.event.ChangeListener() {
                     @Override
                     public void stateChanged(javax.swing.event.ChangeEvent e) {
+                      realize_lazy_tab((Out)e.getSource());
+                      // Diagnostics is refreshed here and by updateTotals, not when painted
+                      if (getSelectedComponent() instanceof Diagnostics) load_selected_tab_panel();
                       // e.getSource();
                       // System.out.println("-- e: " + e);
                       //System.out.println("Selected paneNo : " + .getSelectedIndex());
@@ -14205,6 +16882,57 @@ public class FoilBoard extends JApplet {
       }  // RightPanel
     }  // Probe
 
+    // SeekDiag records of the latest VPP goal seeks, newest first. Copy
+    // CSV puts them on the clipboard as -batch -diag prints them.
+    class Diagnostics extends Panel {
+      private static final long serialVersionUID = 1L;
+      JTextArea text;
+      int shown_count = -1;
+
+      Diagnostics (FoilBoard target) {
+        setLayout(new BorderLayout());
+        Panel buttons = new Panel(new GridLayout(1,4,5,5));
+        buttons.add(new_button("Copy CSV", new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+              SeekDiag[] seeks = recent_seeks();
+              StringBuilder csv = new StringBuilder(SeekDiag.CSV_HEADER + "\n");
+              for (int i = 0; i < seeks.length; i++) csv.append(seeks[i].csv()).append('\n');
+              try {
+                Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new java.awt.datatransfer.StringSelection(csv.toString()), null);
+              } catch (Exception ex) {
+                System.out.println("-- Diagnostics: can not copy: " + ex);
+              }
+            }}, "Copy all goal seek records to the Clipboard as CSV"));
+        buttons.add(new_button("Clear", new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+              clear_seek_log();
+              loadPanel();
+            }}, "Forget all goal seek records"));
+        buttons.add(new JLabel(""));
+        buttons.add(new JLabel(""));
+        add(buttons, BorderLayout.NORTH);
+        text = new JTextArea();
+        text.setEditable(false);
+        add(new JScrollPane(text), BorderLayout.CENTER);
+      }
+
+      @Override
+      public void loadPanel () {
+        int count = seek_log_total();
+        if (shown_count == count) return;
+        shown_count = count;
+        SeekDiag[] seeks = recent_seeks();
+        StringBuilder sb = new StringBuilder(4096);
+        if (seeks.length == 0) 
+          sb.append("No goal seeks yet. Run one on the Flight tab; results from the disk cache do not show here.\n");
+        for (int i = seeks.length-1; i >= 0; i--) seeks[i].print(sb);
+        text.setText(sb.toString());
+        text.setCaretPosition(0);
+      }
+    }
+
     class Geometry extends Panel {
       FoilBoard app; GeometryText text;
 
@@ -14349,6 +17077,7 @@ public class FoilBoard extends JApplet {
     class Data extends Panel {
       FoilBoard app;
       JTextArea text;
+      long shown_version = -1;
 
       Data (FoilBoard target) {
         setLayout(new GridLayout(1,1,0,0));
@@ -14370,14 +17099,15 @@ public class FoilBoard extends JApplet {
         super.paint(g);
       }
 
+      // built in a buffer and set once, and only if state_version moved
       void genReport() {
         //?? pboflag = 0;
+        if (shown_version == state_version) return;
+        shown_version = state_version;
 
         current_part.save_state(); 
 
-        JTextArea ta = text;
-
-        ta.setText("");
+        StringBuilder ta = new StringBuilder(4096);
 
         if (!t_foil_name.equals("Test"))
           ta.append("Hydrofoil: " + t_foil_name);
@@ -14483,9 +17213,10 @@ public class FoilBoard extends JApplet {
         if (max_speed_info != null) 
           ta.append( "\n\n" + max_speed_info);
 
+        text.setText(ta.toString());
         // ensure end ta.setCaretPosition(ta.getText().length());
         // ensure start
-        ta.setCaretPosition(0);
+        text.setCaretPosition(0);
       }
     }  // Data
 
@@ -14612,6 +17343,8 @@ public class FoilBoard extends JApplet {
       FoilBoard app;
       JTextArea text;
 
+      long shown_version = -1;
+
       PerfWebSrc (FoilBoard target) {
         setLayout(new GridLayout(1,1,0,0));
         text = new JTextArea();
@@ -14620,7 +17353,10 @@ public class FoilBoard extends JApplet {
       }
       public void paint (Graphics g) {
         // System.out.println("-- paint " + this);
-        text.setText(perfweb.genReport());
+        if (shown_version != state_version) {
+          text.setText(perfweb.report());
+          shown_version = state_version;
+        }
         super.paint(g);
       }
     }